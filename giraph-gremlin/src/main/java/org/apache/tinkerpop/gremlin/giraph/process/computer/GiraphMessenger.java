@@ -55,11 +55,12 @@ public final class GiraphMessenger<M> implements Messenger<M> {
     public void sendMessage(final MessageScope messageScope, final M message) {
         if (messageScope instanceof MessageScope.Local) {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
-            final Traversal.Admin<Vertex, Edge> incidentTraversal = GiraphMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.giraphVertex.getValue().get());
+            final Vertex vertex = this.giraphVertex.getValue().get();
+            final Traversal.Admin<Vertex, Edge> incidentTraversal = GiraphMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), vertex);
             final Direction direction = GiraphMessenger.getOppositeDirection(incidentTraversal);
             incidentTraversal.forEachRemaining(edge ->
                     this.giraphComputation.sendMessage(
-                            new ObjectWritable<>(edge.vertices(direction).next().id()),
+                            new ObjectWritable<>(GiraphMessenger.getReceiver(vertex, edge, direction).id()),
                             new ObjectWritable<>(localMessageScope.getEdgeFunction().apply(message, edge))));
         } else {
             final MessageScope.Global globalMessageScope = (MessageScope.Global) messageScope;
@@ -73,6 +74,13 @@ public final class GiraphMessenger<M> implements Messenger<M> {
         return (T) incidentTraversal;
     }
 
+    private static Vertex getReceiver(final Vertex sender, final Edge edge, final Direction direction) {
+        if (Direction.BOTH != direction)
+            return edge.vertices(direction).next();
+        // the receiver of a message along both directions is the other end of the edge
+        return edge.outVertex().id().equals(sender.id()) ? edge.inVertex() : edge.outVertex();
+    }
+
     private static Direction getOppositeDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection().opposite();
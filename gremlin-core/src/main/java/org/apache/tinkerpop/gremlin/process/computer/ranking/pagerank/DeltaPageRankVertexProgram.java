@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A PageRank that pushes changes rather than ranks. Every vertex starts with a residual that is its share of the
+ * teleportation energy, which is spread evenly over all vertices or, for a personalized PageRank, over the vertices
+ * that pass the seed traversal. A vertex whose residual is above the threshold adds it to its rank and sends the
+ * damped residual to its adjacent vertices, while a vertex whose residual is below the threshold keeps it and sends
+ * nothing, so vertices that have converged stop producing messages. The energy that reaches a vertex without edges is
+ * teleported back to the seeds. The computation ends once the energy in flight, as summed in the {@link Memory}, is
+ * below epsilon or after the maximum number of iterations. Without a threshold, a vertex pushes any residual above
+ * epsilon divided by the number of vertices, which bounds the energy held back by epsilon.
+ */
+public class DeltaPageRankVertexProgram implements VertexProgram<Double> {
+
+    public static final String PAGE_RANK = PageRankVertexProgram.PAGE_RANK;
+    private static final String EDGE_COUNT = "gremlin.deltaPageRankVertexProgram.edgeCount";
+    private static final String TELEPORTATION = "gremlin.deltaPageRankVertexProgram.teleportation";
+    private static final String RESIDUAL = "gremlin.deltaPageRankVertexProgram.residual";
+    private static final String PROPERTY = "gremlin.deltaPageRankVertexProgram.property";
+    private static final String ALPHA = "gremlin.deltaPageRankVertexProgram.alpha";
+    private static final String EPSILON = "gremlin.deltaPageRankVertexProgram.epsilon";
+    private static final String THRESHOLD = "gremlin.deltaPageRankVertexProgram.threshold";
+    private static final String MAX_ITERATIONS = "gremlin.deltaPageRankVertexProgram.maxIterations";
+    private static final String EDGE_TRAVERSAL = "gremlin.deltaPageRankVertexProgram.edgeTraversal";
+    private static final String SEED_TRAVERSAL = "gremlin.deltaPageRankVertexProgram.seedTraversal";
+    private static final String VERTEX_COUNT = "gremlin.deltaPageRankVertexProgram.vertexCount";
+    private static final String SEED_COUNT = "gremlin.deltaPageRankVertexProgram.seedCount";
+    private static final String DANGLING_ENERGY = "gremlin.deltaPageRankVertexProgram.danglingEnergy";
+    private static final String ENERGY_IN_FLIGHT = "gremlin.deltaPageRankVertexProgram.energyInFlight";
+
+    private MessageScope.Local<Double> incidentMessageScope = MessageScope.Local.of(__::outE);
+    private MessageScope.Local<Double> countMessageScope = MessageScope.Local.of(new MessageScope.Local.ReverseTraversalSupplier(this.incidentMessageScope));
+    private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private PureTraversal<Vertex, ?> seedTraversal = null;
+    private double alpha = 0.85d;
+    private double epsilon = 0.00001d;
+    private double threshold = Double.NaN;
+    private int maxIterations = 30;
+    private String property = PAGE_RANK;
+    private Set<VertexComputeKey> vertexComputeKeys;
+    private Set<MemoryComputeKey> memoryComputeKeys;
+
+    private DeltaPageRankVertexProgram() {
+
+    }
+
+    @Override
+    public void loadState(final Graph graph, final Configuration configuration) {
+        if (configuration.containsKey(SEED_TRAVERSAL))
+            this.seedTraversal = PureTraversal.loadState(configuration, SEED_TRAVERSAL, graph);
+        if (configuration.containsKey(EDGE_TRAVERSAL)) {
+            this.edgeTraversal = PureTraversal.loadState(configuration, EDGE_TRAVERSAL, graph);
+            this.incidentMessageScope = MessageScope.Local.of(() -> this.edgeTraversal.get().clone());
+            this.countMessageScope = MessageScope.Local.of(new MessageScope.Local.ReverseTraversalSupplier(this.incidentMessageScope));
+        }
+        this.alpha = configuration.getDouble(ALPHA, this.alpha);
+        this.epsilon = configuration.getDouble(EPSILON, this.epsilon);
+        this.threshold = configuration.getDouble(THRESHOLD, Double.NaN);
+        this.maxIterations = configuration.getInt(MAX_ITERATIONS, 30);
+        this.property = configuration.getString(PROPERTY, PAGE_RANK);
+        this.vertexComputeKeys = new HashSet<>(Arrays.asList(
+                VertexComputeKey.of(this.property, false),
+                VertexComputeKey.of(EDGE_COUNT, true),
+                VertexComputeKey.of(TELEPORTATION, true),
+                VertexComputeKey.of(RESIDUAL, true)));
+        this.memoryComputeKeys = new HashSet<>(Arrays.asList(
+                MemoryComputeKey.of(VERTEX_COUNT, Operator.sum, true, true),
+                MemoryComputeKey.of(SEED_COUNT, Operator.sum, true, true),
+                MemoryComputeKey.of(DANGLING_ENERGY, Operator.sum, true, true),
+                MemoryComputeKey.of(ENERGY_IN_FLIGHT, Operator.sum, false, true)));
+    }
+
+    @Override
+    public void storeState(final Configuration configuration) {
+        VertexProgram.super.storeState(configuration);
+        configuration.setProperty(ALPHA, this.alpha);
+        configuration.setProperty(EPSILON, this.epsilon);
+        if (!Double.isNaN(this.threshold))
+            configuration.setProperty(THRESHOLD, this.threshold);
+        configuration.setProperty(PROPERTY, this.property);
+        configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        if (null != this.edgeTraversal)
+            this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
+        if (null != this.seedTraversal)
+            this.seedTraversal.storeState(configuration, SEED_TRAVERSAL);
+    }
+
+    @Override
+    public GraphComputer.ResultGraph getPreferredResultGraph() {
+        return GraphComputer.ResultGraph.NEW;
+    }
+
+    @Override
+    public GraphComputer.Persist getPreferredPersist() {
+        return GraphComputer.Persist.VERTEX_PROPERTIES;
+    }
+
+    @Override
+    public Set<VertexComputeKey> getVertexComputeKeys() {
+        return this.vertexComputeKeys;
+    }
+
+    @Override
+    public Optional<MessageCombiner<Double>> getMessageCombiner() {
+        return (Optional) PageRankMessageCombiner.instance();
+    }
+
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return this.memoryComputeKeys;
+    }
+
+    @Override
+    public Set<MessageScope> getMessageScopes(final Memory memory) {
+        final Set<MessageScope> set = new HashSet<>();
+        set.add(memory.isInitialIteration() ? this.countMessageScope : this.incidentMessageScope);
+        return set;
+    }
+
+    @Override
+    public DeltaPageRankVertexProgram clone() {
+        try {
+            final DeltaPageRankVertexProgram clone = (DeltaPageRankVertexProgram) super.clone();
+            if (null != this.seedTraversal)
+                clone.seedTraversal = this.seedTraversal.clone();
+            return clone;
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(VERTEX_COUNT, 0.0d);
+        memory.set(SEED_COUNT, 0.0d);
+        memory.set(DANGLING_ENERGY, 0.0d);
+        memory.set(ENERGY_IN_FLIGHT, 1.0d);
+    }
+
+    @Override
+    public void execute(final Vertex vertex, final Messenger<Double> messenger, final Memory memory) {
+        if (memory.isInitialIteration()) {
+            messenger.sendMessage(this.countMessageScope, 1.0d);
+            memory.add(VERTEX_COUNT, 1.0d);
+            if (null == this.seedTraversal || TraversalUtil.test(vertex, this.seedTraversal.get()))
+                memory.add(SEED_COUNT, 1.0d);
+            return;
+        }
+        final double edgeCount;
+        final double teleportation;
+        double pageRank;
+        double residual;
+        if (1 == memory.getIteration()) {
+            edgeCount = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
+            final double seedCount = memory.<Double>get(SEED_COUNT);
+            teleportation = seedCount > 0.0d && (null == this.seedTraversal || TraversalUtil.test(vertex, this.seedTraversal.get())) ?
+                    1.0d / seedCount :
+                    0.0d;
+            vertex.property(VertexProperty.Cardinality.single, EDGE_COUNT, edgeCount);
+            vertex.property(VertexProperty.Cardinality.single, TELEPORTATION, teleportation);
+            pageRank = 0.0d;
+            residual = (1.0d - this.alpha) * teleportation;
+        } else {
+            edgeCount = vertex.value(EDGE_COUNT);
+            teleportation = vertex.value(TELEPORTATION);
+            pageRank = vertex.value(this.property);
+            residual = vertex.<Double>value(RESIDUAL) + IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
+        }
+        // the energy that reached vertices without edges in the last iteration is teleported back to the seeds
+        final double danglingEnergy = memory.get(DANGLING_ENERGY);
+        if (danglingEnergy > 0.0d && teleportation > 0.0d) {
+            final double localDanglingEnergy = danglingEnergy * teleportation;
+            residual = residual + localDanglingEnergy;
+            memory.add(DANGLING_ENERGY, -localDanglingEnergy);
+        }
+        final double threshold = Double.isNaN(this.threshold) ? this.epsilon / memory.<Double>get(VERTEX_COUNT) : this.threshold;
+        if (residual > threshold) {
+            pageRank = pageRank + residual;
+            final double energy = this.alpha * residual;
+            if (edgeCount > 0.0d)
+                messenger.sendMessage(this.incidentMessageScope, energy / edgeCount);
+            else
+                memory.add(DANGLING_ENERGY, energy);
+            memory.add(ENERGY_IN_FLIGHT, energy);
+            residual = 0.0d;
+        }
+        vertex.property(VertexProperty.Cardinality.single, this.property, pageRank);
+        vertex.property(VertexProperty.Cardinality.single, RESIDUAL, residual);
+    }
+
+    @Override
+    public boolean terminate(final Memory memory) {
+        final boolean terminate = memory.<Double>get(ENERGY_IN_FLIGHT) < this.epsilon || memory.getIteration() >= this.maxIterations;
+        memory.set(ENERGY_IN_FLIGHT, 0.0d);
+        return terminate;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexProgramString(this, "alpha=" + this.alpha + ", epsilon=" + this.epsilon + ", iterations=" + this.maxIterations);
+    }
+
+    //////////////////////////////
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder extends AbstractVertexProgramBuilder<Builder> {
+
+        private Builder() {
+            super(DeltaPageRankVertexProgram.class);
+        }
+
+        public Builder iterations(final int iterations) {
+            this.configuration.setProperty(MAX_ITERATIONS, iterations);
+            return this;
+        }
+
+        public Builder alpha(final double alpha) {
+            this.configuration.setProperty(ALPHA, alpha);
+            return this;
+        }
+
+        public Builder property(final String key) {
+            this.configuration.setProperty(PROPERTY, key);
+            return this;
+        }
+
+        public Builder epsilon(final double epsilon) {
+            this.configuration.setProperty(EPSILON, epsilon);
+            return this;
+        }
+
+        /**
+         * The smallest residual a vertex pushes to its adjacent vertices.
+         */
+        public Builder threshold(final double threshold) {
+            this.configuration.setProperty(THRESHOLD, threshold);
+            return this;
+        }
+
+        public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+
+        /**
+         * The vertices that pass the traversal share the teleportation energy, which makes the ranks personalized
+         * to them.
+         */
+        public Builder seeds(final Traversal.Admin<Vertex, ?> seedTraversal) {
+            PureTraversal.storeState(this.configuration, SEED_TRAVERSAL, seedTraversal);
+            return this;
+        }
+    }
+
+    ////////////////////////////
+
+    @Override
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresVertexPropertyAddition() {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.search.path;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.javatuples.Pair;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Combines the paths sent to a vertex by keeping, for each source, only the shortest of them.
+ */
+public class ShortestPathMessageCombiner implements MessageCombiner<Map<Object, Pair<Double, List<Object>>>> {
+
+    private static final Optional<ShortestPathMessageCombiner> INSTANCE = Optional.of(new ShortestPathMessageCombiner());
+
+    private ShortestPathMessageCombiner() {
+
+    }
+
+    @Override
+    public Map<Object, Pair<Double, List<Object>>> combine(final Map<Object, Pair<Double, List<Object>>> messageA,
+                                                           final Map<Object, Pair<Double, List<Object>>> messageB) {
+        final Map<Object, Pair<Double, List<Object>>> combined = new HashMap<>(messageA);
+        for (final Map.Entry<Object, Pair<Double, List<Object>>> entry : messageB.entrySet()) {
+            final Pair<Double, List<Object>> current = combined.get(entry.getKey());
+            if (null == current || ShortestPathVertexProgram.isShorter(entry.getValue(), current))
+                combined.put(entry.getKey(), entry.getValue());
+        }
+        return combined;
+    }
+
+    public static Optional<ShortestPathMessageCombiner> instance() {
+        return INSTANCE;
+    }
+}
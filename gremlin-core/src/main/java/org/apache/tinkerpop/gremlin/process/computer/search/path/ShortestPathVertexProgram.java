@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.search.path;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.javatuples.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Finds the shortest paths from a set of source vertices to every vertex they can reach, in the manner of a
+ * distributed Bellman-Ford search. Each source sends its path along the edges of the edge traversal, which is
+ * {@code outE()} by default, and every vertex keeps and passes on a path only when it is shorter than the one it
+ * already holds for that source. The length of a path is the sum of the values of the distance traversal over its
+ * edges, or the number of its edges when there is no distance traversal, so the distances must not be negative.
+ * Paths longer than the maximum distance are dropped, and the search ends once no vertex learns a shorter path or
+ * after the maximum number of iterations. The vertices that pass the target traversal then hold, keyed by the
+ * identifier of each source that reached them, the distance in the {@link #DISTANCE} property and the identifiers of
+ * the vertices of the path in the {@link #PATH} property.
+ */
+public class ShortestPathVertexProgram extends StaticVertexProgram<Map<Object, Pair<Double, List<Object>>>> {
+
+    public static final String DISTANCE = "gremlin.shortestPathVertexProgram.distance";
+    public static final String PATH = "gremlin.shortestPathVertexProgram.path";
+    private static final String STATE = "gremlin.shortestPathVertexProgram.state";
+    private static final String DISTANCE_PROPERTY = "gremlin.shortestPathVertexProgram.distanceProperty";
+    private static final String PATH_PROPERTY = "gremlin.shortestPathVertexProgram.pathProperty";
+    private static final String MAX_ITERATIONS = "gremlin.shortestPathVertexProgram.maxIterations";
+    private static final String MAX_DISTANCE = "gremlin.shortestPathVertexProgram.maxDistance";
+    private static final String EDGE_TRAVERSAL = "gremlin.shortestPathVertexProgram.edgeTraversal";
+    private static final String DISTANCE_TRAVERSAL = "gremlin.shortestPathVertexProgram.distanceTraversal";
+    private static final String SOURCE_TRAVERSAL = "gremlin.shortestPathVertexProgram.sourceTraversal";
+    private static final String TARGET_TRAVERSAL = "gremlin.shortestPathVertexProgram.targetTraversal";
+    private static final String VOTE_TO_HALT = "gremlin.shortestPathVertexProgram.voteToHalt";
+
+    private MessageScope.Local<Map<Object, Pair<Double, List<Object>>>> scope = MessageScope.Local.of(__::outE, this::addDistance);
+    private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private PureTraversal<Edge, ? extends Number> distanceTraversal = null;
+    private PureTraversal<Vertex, ?> sourceTraversal = null;
+    private PureTraversal<Vertex, ?> targetTraversal = null;
+    // the program is shared by the workers of a computer, so each thread evaluates its own copy of a traversal
+    private ThreadLocal<Traversal.Admin<Edge, ? extends Number>> distances = null;
+    private ThreadLocal<Traversal.Admin<Vertex, ?>> sources = null;
+    private ThreadLocal<Traversal.Admin<Vertex, ?>> targets = null;
+    private int maxIterations = Integer.MAX_VALUE;
+    private double maxDistance = Double.MAX_VALUE;
+    private String distanceProperty = DISTANCE;
+    private String pathProperty = PATH;
+
+    private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
+
+    private ShortestPathVertexProgram() {
+
+    }
+
+    @Override
+    public void loadState(final Graph graph, final Configuration configuration) {
+        if (configuration.containsKey(EDGE_TRAVERSAL)) {
+            this.edgeTraversal = PureTraversal.loadState(configuration, EDGE_TRAVERSAL, graph);
+            this.scope = MessageScope.Local.of(() -> this.edgeTraversal.get().clone(), this::addDistance);
+        }
+        if (configuration.containsKey(DISTANCE_TRAVERSAL)) {
+            this.distanceTraversal = PureTraversal.loadState(configuration, DISTANCE_TRAVERSAL, graph);
+            this.distances = ThreadLocal.withInitial(() -> this.distanceTraversal.getPure());
+        }
+        if (configuration.containsKey(SOURCE_TRAVERSAL)) {
+            this.sourceTraversal = PureTraversal.loadState(configuration, SOURCE_TRAVERSAL, graph);
+            this.sources = ThreadLocal.withInitial(() -> this.sourceTraversal.getPure());
+        }
+        if (configuration.containsKey(TARGET_TRAVERSAL)) {
+            this.targetTraversal = PureTraversal.loadState(configuration, TARGET_TRAVERSAL, graph);
+            this.targets = ThreadLocal.withInitial(() -> this.targetTraversal.getPure());
+        }
+        this.distanceProperty = configuration.getString(DISTANCE_PROPERTY, DISTANCE);
+        this.pathProperty = configuration.getString(PATH_PROPERTY, PATH);
+        this.maxIterations = configuration.getInt(MAX_ITERATIONS, Integer.MAX_VALUE);
+        this.maxDistance = configuration.getDouble(MAX_DISTANCE, Double.MAX_VALUE);
+    }
+
+    @Override
+    public void storeState(final Configuration configuration) {
+        super.storeState(configuration);
+        configuration.setProperty(DISTANCE_PROPERTY, this.distanceProperty);
+        configuration.setProperty(PATH_PROPERTY, this.pathProperty);
+        configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        configuration.setProperty(MAX_DISTANCE, this.maxDistance);
+        if (null != this.edgeTraversal)
+            this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
+        if (null != this.distanceTraversal)
+            this.distanceTraversal.storeState(configuration, DISTANCE_TRAVERSAL);
+        if (null != this.sourceTraversal)
+            this.sourceTraversal.storeState(configuration, SOURCE_TRAVERSAL);
+        if (null != this.targetTraversal)
+            this.targetTraversal.storeState(configuration, TARGET_TRAVERSAL);
+    }
+
+    @Override
+    public Set<VertexComputeKey> getVertexComputeKeys() {
+        return new HashSet<>(Arrays.asList(
+                VertexComputeKey.of(this.distanceProperty, false),
+                VertexComputeKey.of(this.pathProperty, false),
+                VertexComputeKey.of(STATE, true)));
+    }
+
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return MEMORY_COMPUTE_KEYS;
+    }
+
+    @Override
+    public Set<MessageScope> getMessageScopes(final Memory memory) {
+        return Collections.singleton(this.scope);
+    }
+
+    @Override
+    public Optional<MessageCombiner<Map<Object, Pair<Double, List<Object>>>>> getMessageCombiner() {
+        return (Optional) ShortestPathMessageCombiner.instance();
+    }
+
+    @Override
+    public GraphComputer.ResultGraph getPreferredResultGraph() {
+        return GraphComputer.ResultGraph.NEW;
+    }
+
+    @Override
+    public GraphComputer.Persist getPreferredPersist() {
+        return GraphComputer.Persist.VERTEX_PROPERTIES;
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(VOTE_TO_HALT, false);
+    }
+
+    @Override
+    public void execute(final Vertex vertex, final Messenger<Map<Object, Pair<Double, List<Object>>>> messenger, final Memory memory) {
+        final Map<Object, Pair<Double, List<Object>>> state;
+        final Map<Object, Pair<Double, List<Object>>> updates = new HashMap<>();
+        if (memory.isInitialIteration()) {
+            state = new HashMap<>();
+            if (null == this.sources || TraversalUtil.test(vertex, this.sources.get()))
+                updates.put(vertex.id(), Pair.with(0.0d, Collections.singletonList(vertex.id())));
+        } else {
+            state = vertex.value(STATE);
+            final Iterator<Map<Object, Pair<Double, List<Object>>>> messages = messenger.receiveMessages();
+            while (messages.hasNext()) {
+                for (final Map.Entry<Object, Pair<Double, List<Object>>> entry : messages.next().entrySet()) {
+                    if (entry.getValue().getValue0() > this.maxDistance)
+                        continue;
+                    final List<Object> path = new ArrayList<>(entry.getValue().getValue1().size() + 1);
+                    path.addAll(entry.getValue().getValue1());
+                    path.add(vertex.id());
+                    final Pair<Double, List<Object>> candidate = Pair.with(entry.getValue().getValue0(), path);
+                    final Pair<Double, List<Object>> current = updates.containsKey(entry.getKey()) ?
+                            updates.get(entry.getKey()) :
+                            state.get(entry.getKey());
+                    if (null == current || isShorter(candidate, current))
+                        updates.put(entry.getKey(), candidate);
+                }
+            }
+        }
+        if (memory.isInitialIteration() || !updates.isEmpty())
+            vertex.property(VertexProperty.Cardinality.single, STATE, state);
+        if (updates.isEmpty())
+            return;
+
+        state.putAll(updates);
+        messenger.sendMessage(this.scope, updates);
+        memory.add(VOTE_TO_HALT, false);
+        if (null == this.targets || TraversalUtil.test(vertex, this.targets.get())) {
+            final Map<Object, Double> distances = new HashMap<>();
+            final Map<Object, List<Object>> paths = new HashMap<>();
+            for (final Map.Entry<Object, Pair<Double, List<Object>>> entry : state.entrySet()) {
+                distances.put(entry.getKey(), entry.getValue().getValue0());
+                paths.put(entry.getKey(), entry.getValue().getValue1());
+            }
+            vertex.property(VertexProperty.Cardinality.single, this.distanceProperty, distances);
+            vertex.property(VertexProperty.Cardinality.single, this.pathProperty, paths);
+        }
+    }
+
+    @Override
+    public boolean terminate(final Memory memory) {
+        final boolean voteToHalt = memory.<Boolean>get(VOTE_TO_HALT) || memory.getIteration() >= this.maxIterations;
+        if (voteToHalt) {
+            return true;
+        } else {
+            memory.set(VOTE_TO_HALT, true);
+            return false;
+        }
+    }
+
+    /**
+     * Adds the distance of the edge a message is sent over to each of the paths of the message.
+     */
+    private Map<Object, Pair<Double, List<Object>>> addDistance(final Map<Object, Pair<Double, List<Object>>> message, final Edge edge) {
+        final double distance = null == this.distances ? 1.0d : TraversalUtil.apply(edge, this.distances.get()).doubleValue();
+        final Map<Object, Pair<Double, List<Object>>> moved = new HashMap<>(message.size());
+        for (final Map.Entry<Object, Pair<Double, List<Object>>> entry : message.entrySet()) {
+            moved.put(entry.getKey(), Pair.with(entry.getValue().getValue0() + distance, entry.getValue().getValue1()));
+        }
+        return moved;
+    }
+
+    /**
+     * A path is shorter than another if it has a smaller distance, and among paths of the same distance, if it has
+     * fewer vertices. Any remaining tie is broken by the identifiers of the vertices so that every computer, however
+     * its messages arrive, keeps the same path.
+     */
+    static boolean isShorter(final Pair<Double, List<Object>> pathA, final Pair<Double, List<Object>> pathB) {
+        final int distance = Double.compare(pathA.getValue0(), pathB.getValue0());
+        if (0 != distance)
+            return distance < 0;
+        if (pathA.getValue1().size() != pathB.getValue1().size())
+            return pathA.getValue1().size() < pathB.getValue1().size();
+        return pathA.getValue1().toString().compareTo(pathB.getValue1().toString()) < 0;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexProgramString(this, "maxIterations=" + this.maxIterations + ", maxDistance=" + this.maxDistance);
+    }
+
+    //////////////////////////////
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder extends AbstractVertexProgramBuilder<Builder> {
+
+        private Builder() {
+            super(ShortestPathVertexProgram.class);
+        }
+
+        public Builder distanceProperty(final String key) {
+            this.configuration.setProperty(DISTANCE_PROPERTY, key);
+            return this;
+        }
+
+        public Builder pathProperty(final String key) {
+            this.configuration.setProperty(PATH_PROPERTY, key);
+            return this;
+        }
+
+        public Builder maxIterations(final int iterations) {
+            this.configuration.setProperty(MAX_ITERATIONS, iterations);
+            return this;
+        }
+
+        public Builder maxDistance(final double maxDistance) {
+            this.configuration.setProperty(MAX_DISTANCE, maxDistance);
+            return this;
+        }
+
+        public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+
+        public Builder distance(final Traversal.Admin<Edge, ? extends Number> distanceTraversal) {
+            PureTraversal.storeState(this.configuration, DISTANCE_TRAVERSAL, distanceTraversal);
+            return this;
+        }
+
+        public Builder source(final Traversal.Admin<Vertex, ?> sourceTraversal) {
+            PureTraversal.storeState(this.configuration, SOURCE_TRAVERSAL, sourceTraversal);
+            return this;
+        }
+
+        public Builder target(final Traversal.Admin<Vertex, ?> targetTraversal) {
+            PureTraversal.storeState(this.configuration, TARGET_TRAVERSAL, targetTraversal);
+            return this;
+        }
+    }
+
+    ////////////////////////////
+
+    @Override
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresVertexPropertyAddition() {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.lambda.HaltedTraversersCountTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.FromToModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TimesModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ConstantStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs a {@link ShortestPathVertexProgram}, where {@code from()} selects the source vertices (all vertices by
+ * default), {@code to()} the target vertices (the vertices of the traversers that reach this step by default),
+ * {@code by(Traversal)} the edges to walk, {@code by(String)} the property that holds the paths and {@code times()}
+ * the maximum number of iterations.
+ */
+public final class ShortestPathVertexProgramStep extends VertexProgramStep implements TraversalParent, ByModulating, TimesModulating, FromToModulating {
+
+    private PureTraversal<Vertex, Edge> edgeTraversal;
+    private PureTraversal<Vertex, ?> sourceTraversal = null;
+    private PureTraversal<Vertex, ?> targetTraversal = null;
+    private String pathProperty = ShortestPathVertexProgram.PATH;
+    private int times = Integer.MAX_VALUE;
+
+    public ShortestPathVertexProgramStep(final Traversal.Admin traversal) {
+        super(traversal);
+        this.modulateBy(__.outE().asAdmin());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.edgeTraversal.hashCode() ^ this.pathProperty.hashCode() ^ this.times;
+        if (null != this.sourceTraversal)
+            result ^= this.sourceTraversal.hashCode();
+        if (null != this.targetTraversal)
+            result ^= this.targetTraversal.hashCode();
+        return result;
+    }
+
+    @Override
+    public void modulateBy(final Traversal.Admin<?, ?> edgeTraversal) {
+        this.edgeTraversal = new PureTraversal<>((Traversal.Admin<Vertex, Edge>) edgeTraversal);
+        this.integrateChild(this.edgeTraversal.get());
+    }
+
+    @Override
+    public void modulateBy(final String pathProperty) {
+        this.pathProperty = pathProperty;
+    }
+
+    @Override
+    public void modulateTimes(int times) {
+        this.times = times;
+    }
+
+    @Override
+    public void addFrom(final Traversal.Admin<?, ?> fromTraversal) {
+        this.sourceTraversal = new PureTraversal<>(this.asFilter(fromTraversal));
+        this.integrateChild(this.sourceTraversal.get());
+    }
+
+    @Override
+    public void addTo(final Traversal.Admin<?, ?> toTraversal) {
+        this.targetTraversal = new PureTraversal<>(this.asFilter(toTraversal));
+        this.integrateChild(this.targetTraversal.get());
+    }
+
+    @Override
+    public List<Traversal.Admin<Vertex, ?>> getLocalChildren() {
+        final List<Traversal.Admin<Vertex, ?>> children = new ArrayList<>(3);
+        children.add(this.edgeTraversal.get());
+        if (null != this.sourceTraversal)
+            children.add(this.sourceTraversal.get());
+        if (null != this.targetTraversal)
+            children.add(this.targetTraversal.get());
+        return children;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.edgeTraversal.get(),
+                null == this.sourceTraversal ? null : this.sourceTraversal.get(),
+                null == this.targetTraversal ? null : this.targetTraversal.get(),
+                this.pathProperty, this.times, new GraphFilter(this.computer));
+    }
+
+    @Override
+    public ShortestPathVertexProgram generateProgram(final Graph graph, final Memory memory) {
+        final ShortestPathVertexProgram.Builder builder = this.builder(graph);
+        if (null == this.targetTraversal && this.previousTraversalVertexProgram())
+            builder.target(__.<Vertex, Long>map(new HaltedTraversersCountTraversal()).is(P.gt(0L)).asAdmin());
+        return builder.create(graph);
+    }
+
+    /**
+     * Without {@code from()} every vertex is a source and the program computes the paths between all pairs of
+     * vertices, which holds O(V<sup>2</sup>) paths in memory, so a standard traversal has to name its sources.
+     */
+    @Override
+    protected VertexProgram generateStandardProgram(final Graph graph, final List<Traverser.Admin> starts) {
+        if (null == this.sourceTraversal)
+            throw new IllegalStateException("The shortestPath()-step requires from() in a standard traversal as it would otherwise compute the paths between all pairs of vertices");
+        final ShortestPathVertexProgram.Builder builder = this.builder(graph);
+        if (null == this.targetTraversal) {
+            final List<Object> ids = new ArrayList<>(starts.size());
+            for (final Traverser.Admin start : starts) {
+                if (start.get() instanceof Vertex)
+                    ids.add(((Vertex) start.get()).id());
+            }
+            builder.target(__.<Vertex>hasId(P.within(ids)).asAdmin());
+        }
+        return builder.create(graph);
+    }
+
+    private ShortestPathVertexProgram.Builder builder(final Graph graph) {
+        final ShortestPathVertexProgram.Builder builder = ShortestPathVertexProgram.build()
+                .pathProperty(this.pathProperty)
+                .maxIterations(this.times)
+                .edges(this.pure(this.edgeTraversal, graph));
+        if (null != this.sourceTraversal)
+            builder.source(this.pure(this.sourceTraversal, graph));
+        if (null != this.targetTraversal)
+            builder.target(this.pure(this.targetTraversal, graph));
+        return builder;
+    }
+
+    private <E> Traversal.Admin<Vertex, E> pure(final PureTraversal<Vertex, E> traversal, final Graph graph) {
+        final Traversal.Admin<Vertex, E> detachedTraversal = traversal.getPure();
+        detachedTraversal.setStrategies(TraversalStrategies.GlobalCache.getStrategies(graph.getClass()));
+        return detachedTraversal;
+    }
+
+    /**
+     * The program tests each vertex against the {@code from()} and {@code to()} traversals, so a traversal that
+     * produces a specific vertex, as {@code from(Vertex)} does, is turned into a filter on its identifier.
+     */
+    private Traversal.Admin<Vertex, ?> asFilter(final Traversal.Admin<?, ?> traversal) {
+        if (1 == traversal.getSteps().size() && traversal.getEndStep() instanceof ConstantStep &&
+                ((ConstantStep) traversal.getEndStep()).getConstant() instanceof Vertex)
+            return __.<Vertex>hasId(((Vertex) ((ConstantStep) traversal.getEndStep()).getConstant()).id()).asAdmin();
+        return (Traversal.Admin<Vertex, ?>) traversal;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return TraversalParent.super.getSelfAndChildRequirements();
+    }
+
+    @Override
+    public ShortestPathVertexProgramStep clone() {
+        final ShortestPathVertexProgramStep clone = (ShortestPathVertexProgramStep) super.clone();
+        clone.edgeTraversal = this.edgeTraversal.clone();
+        if (null != this.sourceTraversal)
+            clone.sourceTraversal = this.sourceTraversal.clone();
+        if (null != this.targetTraversal)
+            clone.targetTraversal = this.targetTraversal.clone();
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.edgeTraversal.get());
+        if (null != this.sourceTraversal)
+            this.integrateChild(this.sourceTraversal.get());
+        if (null != this.targetTraversal)
+            this.integrateChild(this.targetTraversal.get());
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.computer.Computer;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.VertexComputing;
 import org.apache.tinkerpop.gremlin.process.computer.util.EmptyMemory;
@@ -33,9 +34,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -53,12 +60,19 @@ public abstract class VertexProgramStep extends AbstractStep<ComputerResult, Com
 
     protected boolean first = true;
 
+    private Iterator<Traverser.Admin> standardResults = null;
+
     public VertexProgramStep(final Traversal.Admin traversal) {
         super(traversal);
     }
 
     @Override
     protected Traverser.Admin<ComputerResult> processNextStart() throws NoSuchElementException {
+        if (null != this.standardResults) {
+            if (this.standardResults.hasNext())
+                return this.standardResults.next();
+            this.standardResults = null;
+        }
         Future<ComputerResult> future = null;
         try {
             if (this.first && this.getPreviousStep() instanceof EmptyStep) {
@@ -70,6 +84,8 @@ public abstract class VertexProgramStep extends AbstractStep<ComputerResult, Com
                 return this.getTraversal().getTraverserGenerator().generate(result, this, 1l);
             } else {
                 final Traverser.Admin<ComputerResult> traverser = this.starts.next();
+                if (!(((Traverser.Admin) traverser).get() instanceof ComputerResult))
+                    return this.processStandardStarts(traverser);
                 final Graph graph = traverser.get().graph();
                 final Memory memory = traverser.get().memory();
                 future = this.getComputer().apply(graph).program(this.generateProgram(graph, memory)).submit();
@@ -89,6 +105,53 @@ public abstract class VertexProgramStep extends AbstractStep<ComputerResult, Com
         }
     }
 
+    /**
+     * Runs the program in a standard (OLTP) traversal, where the starts are the objects of the traversal rather than
+     * the result of a previous {@code GraphComputer} job. All the starts are taken, the program is submitted to the
+     * default {@code GraphComputer} of the graph, and each start that is an element continues as its counterpart in
+     * the graph of the result, so that the steps that follow can read what the program computed. The
+     * {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.StandardVerificationStrategy} only
+     * lets {@link ShortestPathVertexProgramStep} get here.
+     */
+    private Traverser.Admin<ComputerResult> processStandardStarts(final Traverser.Admin first) throws InterruptedException, ExecutionException {
+        final List<Traverser.Admin> starts = new ArrayList<>();
+        starts.add(first);
+        while (this.starts.hasNext()) {
+            starts.add((Traverser.Admin) this.starts.next());
+        }
+        final Graph graph = this.getTraversal().getGraph().get();
+        final Future<ComputerResult> future = this.getComputer().apply(graph).program(this.generateStandardProgram(graph, starts)).submit();
+        final ComputerResult result;
+        try {
+            result = future.get();
+        } catch (final InterruptedException ie) {
+            future.cancel(true);
+            throw ie;
+        }
+        final Graph resultGraph = result.graph();
+        final List<Traverser.Admin> results = new ArrayList<>(starts.size());
+        for (final Traverser.Admin start : starts) {
+            if (start.get() instanceof Element) {
+                final Object id = ((Element) start.get()).id();
+                final Iterator<? extends Element> counterparts = start.get() instanceof Edge ? resultGraph.edges(id) : resultGraph.vertices(id);
+                results.add(counterparts.hasNext() ? start.split(counterparts.next(), this) : start);
+            } else
+                results.add(start);
+        }
+        this.standardResults = results.iterator();
+        if (!this.standardResults.hasNext())
+            throw FastNoSuchElementException.instance();
+        return this.standardResults.next();
+    }
+
+    /**
+     * Generates the program to run in a standard (OLTP) traversal for the given starts, which by default is the
+     * program that would run with an empty memory.
+     */
+    protected VertexProgram generateStandardProgram(final Graph graph, final List<Traverser.Admin> starts) {
+        return this.generateProgram(graph, EmptyMemory.instance());
+    }
+
     @Override
     public Computer getComputer() {
         Computer tempComputer = this.computer;
@@ -106,6 +169,19 @@ public abstract class VertexProgramStep extends AbstractStep<ComputerResult, Com
         this.computer = computer;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.standardResults = null;
+    }
+
+    @Override
+    public VertexProgramStep clone() {
+        final VertexProgramStep clone = (VertexProgramStep) super.clone();
+        clone.standardResults = null;
+        return clone;
+    }
+
     protected boolean previousTraversalVertexProgram() {
         Step<?, ?> currentStep = this;
         while (!(currentStep instanceof EmptyStep)) {
@@ -19,9 +19,11 @@
 package org.apache.tinkerpop.gremlin.process.traversal.dsl.graph;
 
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ConnectedComponentVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.PageRankVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.PeerPressureVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ProgramVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
@@ -2388,6 +2390,30 @@ public interface GraphTraversal<S, E> extends Traversal<S, E> {
         return this.asAdmin().addStep((Step<E, E>) new ProgramVertexProgramStep(this.asAdmin(), vertexProgram));
     }
 
+    /**
+     * Labels each vertex with the component it belongs to, which is the smallest identifier in the component.
+     *
+     * @return the traversal with the appended {@link ConnectedComponentVertexProgramStep}
+     * @see <a href="http://tinkerpop.apache.org/docs/${project.version}/reference/#connectedcomponent-step" target="_blank">Reference Documentation - ConnectedComponent Step</a>
+     * @since 3.3.1
+     */
+    public default GraphTraversal<S, E> connectedComponent() {
+        this.asAdmin().getBytecode().addStep(Symbols.connectedComponent);
+        return this.asAdmin().addStep((Step<E, E>) new ConnectedComponentVertexProgramStep(this.asAdmin()));
+    }
+
+    /**
+     * Finds the shortest paths from the source vertices to each target vertex.
+     *
+     * @return the traversal with the appended {@link ShortestPathVertexProgramStep}
+     * @see <a href="http://tinkerpop.apache.org/docs/${project.version}/reference/#shortestpath-step" target="_blank">Reference Documentation - ShortestPath Step</a>
+     * @since 3.3.1
+     */
+    public default GraphTraversal<S, E> shortestPath() {
+        this.asAdmin().getBytecode().addStep(Symbols.shortestPath);
+        return this.asAdmin().addStep((Step<E, E>) new ShortestPathVertexProgramStep(this.asAdmin()));
+    }
+
     ///////////////////// UTILITY STEPS /////////////////////
 
     /**
@@ -2755,6 +2781,8 @@ public interface GraphTraversal<S, E> extends Traversal<S, E> {
         public static final String pageRank = "pageRank";
         public static final String peerPressure = "peerPressure";
         public static final String program = "program";
+        public static final String connectedComponent = "connectedComponent";
+        public static final String shortestPath = "shortestPath";
 
         public static final String by = "by";
         public static final String times = "times";
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
+
+import java.io.File;
+
+/**
+ * A {@code Spilling} step holds an unbounded number of objects in memory during standard (OLTP) execution and can
+ * write them to local files with Gryo once it holds more than a threshold of them, reading them back when its result
+ * is produced. Spilling is enabled by {@link SpillStrategy}. The files still held by the step are deleted when the
+ * step is reset or closed.
+ */
+public interface Spilling extends AutoCloseable {
+
+    /**
+     * The key of the annotation in the metrics of a profiled step that holds the number of bytes it spilled.
+     */
+    public static final String SPILLED_BYTES = "spilledBytes";
+
+    /**
+     * Sets the number of objects the step holds in memory before it spills them to files in the directory.
+     */
+    public void setSpill(final int threshold, final File directory);
+
+    /**
+     * Gets the number of bytes the step has written to files.
+     */
+    public long getSpilledBytes();
+}
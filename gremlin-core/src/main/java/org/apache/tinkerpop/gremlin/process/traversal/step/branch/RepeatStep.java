@@ -21,30 +21,44 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent {
+public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent, Profiling {
+
+    /**
+     * The key of the annotation in the metrics of a profiled {@code repeat()} in frontier mode that holds the number
+     * of traversers in the frontier of each loop depth, separated by commas.
+     */
+    public static final String FRONTIER_SIZES = "frontierSizes";
 
     private Traversal.Admin<S, S> repeatTraversal = null;
     private Traversal.Admin<S, ?> untilTraversal = null;
     private Traversal.Admin<S, ?> emitTraversal = null;
     public boolean untilFirst = false;
     public boolean emitFirst = false;
+    private Frontier frontier = null;
+    private List<Long> frontierSizes = new ArrayList<>();
+    private MutableMetrics metrics = null;
 
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -94,6 +108,23 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return this.repeatTraversal;
     }
 
+    /**
+     * Sets the frontier mode of the step in a standard traversal, or {@code null} to loop each traverser as it
+     * arrives. See {@link Frontier} for when a mode keeps the results of the traversal.
+     */
+    public void setFrontier(final Frontier frontier) {
+        this.frontier = frontier;
+    }
+
+    public Frontier getFrontier() {
+        return this.frontier;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public List<Traversal.Admin<S, S>> getGlobalChildren() {
         return null == this.repeatTraversal ? Collections.emptyList() : Collections.singletonList(this.repeatTraversal);
     }
@@ -118,13 +149,13 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     @Override
     public String toString() {
         if (this.untilFirst && this.emitFirst)
-            return StringFactory.stepString(this, untilString(), emitString(), this.repeatTraversal);
+            return StringFactory.stepString(this, untilString(), emitString(), this.repeatTraversal, this.frontier);
         else if (this.emitFirst)
-            return StringFactory.stepString(this, emitString(), this.repeatTraversal, untilString());
+            return StringFactory.stepString(this, emitString(), this.repeatTraversal, untilString(), this.frontier);
         else if (this.untilFirst)
-            return StringFactory.stepString(this, untilString(), this.repeatTraversal, emitString());
+            return StringFactory.stepString(this, untilString(), this.repeatTraversal, emitString(), this.frontier);
         else
-            return StringFactory.stepString(this, this.repeatTraversal, untilString(), emitString());
+            return StringFactory.stepString(this, this.repeatTraversal, untilString(), emitString(), this.frontier);
     }
 
     @Override
@@ -136,6 +167,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             this.untilTraversal.reset();
         if (null != this.repeatTraversal)
             this.repeatTraversal.reset();
+        this.frontierSizes.clear();
     }
 
     private final String untilString() {
@@ -156,6 +188,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = this.untilTraversal.clone();
         if (null != this.emitTraversal)
             clone.emitTraversal = this.emitTraversal.clone();
+        clone.frontierSizes = new ArrayList<>();
+        clone.metrics = null;
         return clone;
     }
 
@@ -176,6 +210,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             result ^= this.untilTraversal.hashCode();
         if (this.emitTraversal != null)
             result ^= this.emitTraversal.hashCode();
+        if (this.frontier != null)
+            result ^= this.frontier.hashCode();
         return result;
     }
 
@@ -183,6 +219,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     protected Iterator<Traverser.Admin<S>> standardAlgorithm() throws NoSuchElementException {
         if (null == this.repeatTraversal)
             throw new IllegalStateException("The repeat()-traversal was not defined: " + this);
+        if (null != this.frontier)
+            return this.frontierAlgorithm();
 
         while (true) {
             if (this.repeatTraversal.getEndStep().hasNext()) {
@@ -203,6 +241,80 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         }
     }
 
+    /**
+     * Loops all the available starts together, one depth at a time. The traversers that reach a depth are gathered
+     * into a frontier in which equal traversers are merged, and the whole frontier is then passed through the
+     * repeat()-traversal to form the frontier of the next depth. The results are returned once no frontier is left.
+     */
+    private Iterator<Traverser.Admin<S>> frontierAlgorithm() throws NoSuchElementException {
+        final boolean distinct = Frontier.BULKED != this.frontier;
+        final Set<Object> visited = Frontier.VISITED == this.frontier ? new HashSet<>() : null;
+        final TraverserSet<S> results = new TraverserSet<>();
+        TraverserSet<S> frontier = new TraverserSet<>();
+        this.enterFrontier(this.starts.next(), frontier, results, distinct, visited);
+        while (this.starts.hasNext()) {
+            this.enterFrontier(this.starts.next(), frontier, results, distinct, visited);
+        }
+        int depth = 0;
+        while (!frontier.isEmpty()) {
+            this.recordFrontier(depth++, frontier.size());
+            for (final Traverser.Admin<S> traverser : frontier) {
+                this.repeatTraversal.addStart(traverser);
+            }
+            frontier = new TraverserSet<>();
+            final Step<?, S> endStep = this.repeatTraversal.getEndStep();
+            while (endStep.hasNext()) {
+                final Traverser.Admin<S> traverser = endStep.next().asAdmin();
+                if (doUntil(traverser, false)) {
+                    traverser.resetLoops();
+                    this.addToFrontier(traverser, results, distinct);
+                } else {
+                    if (doEmit(traverser, false)) {
+                        final Traverser.Admin<S> emitSplit = traverser.split();
+                        emitSplit.resetLoops();
+                        this.addToFrontier(emitSplit, results, distinct);
+                    }
+                    this.enterFrontier(traverser, frontier, results, distinct, visited);
+                }
+            }
+        }
+        return results.iterator();
+    }
+
+    private void enterFrontier(final Traverser.Admin<S> traverser, final TraverserSet<S> frontier, final TraverserSet<S> results,
+                               final boolean distinct, final Set<Object> visited) {
+        if (doUntil(traverser, true)) {
+            traverser.resetLoops();
+            this.addToFrontier(traverser, results, distinct);
+            return;
+        }
+        if (doEmit(traverser, true)) {
+            final Traverser.Admin<S> emitSplit = traverser.split();
+            emitSplit.resetLoops();
+            this.addToFrontier(emitSplit, results, distinct);
+        }
+        if (null == visited || visited.add(traverser.get()))
+            this.addToFrontier(traverser, frontier, distinct);
+    }
+
+    private void addToFrontier(final Traverser.Admin<S> traverser, final TraverserSet<S> set, final boolean distinct) {
+        if (!distinct)
+            set.add(traverser);
+        else if (!set.contains(traverser)) {
+            traverser.setBulk(1L);
+            set.add(traverser);
+        }
+    }
+
+    private void recordFrontier(final int depth, final long size) {
+        if (depth < this.frontierSizes.size())
+            this.frontierSizes.set(depth, this.frontierSizes.get(depth) + size);
+        else
+            this.frontierSizes.add(size);
+        if (null != this.metrics)
+            this.metrics.setAnnotation(FRONTIER_SIZES, this.frontierSizes.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+    }
+
     @Override
     protected Iterator<Traverser.Admin<S>> computerAlgorithm() throws NoSuchElementException {
         if (null == this.repeatTraversal)
@@ -267,6 +379,32 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
 
     ///////////////////////////////////
 
+    /**
+     * The frontier modes of a {@code repeat()} in a standard traversal. In each mode the step first takes all of its
+     * available starts and then loops them one depth at a time, returning its results once the loop is done.
+     */
+    public enum Frontier {
+
+        /**
+         * Equal traversers of a depth are merged into one traverser that holds their summed bulk, which keeps the
+         * results of any loop.
+         */
+        BULKED,
+
+        /**
+         * As {@link #BULKED}, but the bulk of each traverser is reset to one. This keeps the distinct results of a
+         * loop and so suits a {@code repeat()} that is followed by {@code dedup()}.
+         */
+        DISTINCT,
+
+        /**
+         * As {@link #DISTINCT}, but an object that was already in the frontier of an earlier depth is not looped
+         * again. This keeps the distinct results of a loop that emits every object it reaches and whose steps depend
+         * on nothing but the current object.
+         */
+        VISITED
+    }
+
     public static class RepeatEndStep<S> extends ComputerAwareStep<S, S> {
 
         public RepeatEndStep(final Traversal.Admin traversal) {
@@ -276,6 +414,11 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         @Override
         protected Iterator<Traverser.Admin<S>> standardAlgorithm() throws NoSuchElementException {
             final RepeatStep<S> repeatStep = (RepeatStep<S>) this.getTraversal().getParent();
+            if (null != repeatStep.frontier) {
+                final Traverser.Admin<S> start = this.starts.next();
+                start.incrLoops(this.getId());
+                return IteratorUtils.of(start);
+            }
             while (true) {
                 final Traverser.Admin<S> start = this.starts.next();
                 start.incrLoops(this.getId());
@@ -27,14 +27,22 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,9 +56,15 @@ import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
+ * When spilling is enabled with {@link Spilling#setSpill}, which {@code SpillStrategy} only does when its
+ * {@code dedup} option is set, the objects seen so far are written to disk once the
+ * threshold is reached and the traversers that follow are held on disk until the incoming traversers are exhausted.
+ * They are then deduplicated one hash partition at a time, so the traversers emitted after the spill are grouped by
+ * partition rather than in the order in which they arrived.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, Spilling, Profiling {
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
@@ -61,6 +75,19 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
 
+    /**
+     * Once spilled, the objects seen and the objects with their traversers still to be deduplicated are held in a
+     * file for each partition.
+     */
+    private int spillThreshold = Integer.MAX_VALUE;
+    private File spillDirectory = null;
+    private SpillFile[] seenFiles = null;
+    private SpillFile[] pendingFiles = null;
+    private Iterator<Traverser.Admin<S>> drained = null;
+    private Kryo kryo = null;
+    private long spilledBytes = 0L;
+    private MutableMetrics metrics = null;
+
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
         this.dedupLabels = dedupLabels.length == 0 ? null : Collections.unmodifiableSet(new HashSet<>(Arrays.asList(dedupLabels)));
@@ -70,13 +97,126 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.onGraphComputer && !this.executingAtMaster) return true;
         traverser.setBulk(1L);
+        final Object object;
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            object = TraversalUtil.applyNullable(traverser, this.dedupTraversal);
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            object = objects;
+        }
+        if (null != this.pendingFiles) {
+            final SpillFile pending = this.pendingFiles[SpillFile.partition(object)];
+            pending.write(object);
+            pending.write(traverser);
+            return false;
+        }
+        if (!this.duplicateSet.add(object))
+            return false;
+        if (this.duplicateSet.size() >= this.spillThreshold)
+            this.spill();
+        return true;
+    }
+
+    /**
+     * Writes the objects seen so far to the partition files after which every traverser is held on disk.
+     */
+    private void spill() {
+        if (null == this.kryo) this.kryo = SpillFile.createKryo(this.getTraversal());
+        this.seenFiles = new SpillFile[SpillFile.PARTITIONS];
+        this.pendingFiles = new SpillFile[SpillFile.PARTITIONS];
+        for (int i = 0; i < SpillFile.PARTITIONS; i++) {
+            this.seenFiles[i] = new SpillFile(this.spillDirectory, this.kryo);
+            this.pendingFiles[i] = new SpillFile(this.spillDirectory, this.kryo);
+        }
+        for (final Object object : this.duplicateSet) {
+            this.seenFiles[SpillFile.partition(object)].write(object);
+        }
+        this.duplicateSet.clear();
+        for (final SpillFile seen : this.seenFiles) {
+            this.addSpilledBytes(seen.finish());
+        }
+    }
+
+    /**
+     * Gets the next traverser held on disk that was the first with its object, deduplicating the traversers of one
+     * partition at a time. A partition is drained again if traversers arrive for it after it was drained.
+     */
+    private Traverser.Admin<S> nextSpilled() {
+        while (true) {
+            if (null != this.drained && this.drained.hasNext())
+                return SpillFile.attach(this.drained.next(), this.getTraversal());
+            int partition = 0;
+            while (partition < SpillFile.PARTITIONS && 0 == this.pendingFiles[partition].count()) {
+                partition++;
+            }
+            if (SpillFile.PARTITIONS == partition) {
+                // a step of the root traversal gets no more starts so the objects it has seen are no longer needed
+                if (this.getTraversal().getParent() instanceof EmptyStep)
+                    this.closeSpillFiles();
+                throw FastNoSuchElementException.instance();
+            }
+            this.drained = this.drain(partition);
+        }
+    }
+
+    private Iterator<Traverser.Admin<S>> drain(final int partition) {
+        final Set<Object> seen = new HashSet<>();
+        try (final CloseableIterator<Object> objects = this.seenFiles[partition].read()) {
+            objects.forEachRemaining(seen::add);
         }
+        final List<Traverser.Admin<S>> firsts = new ArrayList<>();
+        final SpillFile pending = this.pendingFiles[partition];
+        this.pendingFiles[partition] = new SpillFile(this.spillDirectory, this.kryo);
+        this.addSpilledBytes(pending.finish());
+        try (final CloseableIterator<Object> objects = pending.read()) {
+            while (objects.hasNext()) {
+                final Object object = objects.next();
+                final Traverser.Admin<S> traverser = (Traverser.Admin<S>) objects.next();
+                if (seen.add(object)) firsts.add(traverser);
+            }
+        }
+        pending.close();
+        this.seenFiles[partition].close();
+        this.seenFiles[partition] = new SpillFile(this.spillDirectory, this.kryo);
+        seen.forEach(this.seenFiles[partition]::write);
+        this.addSpilledBytes(this.seenFiles[partition].finish());
+        return firsts.iterator();
+    }
+
+    private void addSpilledBytes(final long bytes) {
+        this.spilledBytes = this.spilledBytes + bytes;
+        if (null != this.metrics) this.metrics.setAnnotation(SPILLED_BYTES, this.spilledBytes);
+    }
+
+    private void closeSpillFiles() {
+        if (null != this.seenFiles) {
+            for (int i = 0; i < SpillFile.PARTITIONS; i++) {
+                this.seenFiles[i].close();
+                this.pendingFiles[i].close();
+            }
+        }
+        this.seenFiles = null;
+        this.pendingFiles = null;
+        this.drained = null;
+    }
+
+    @Override
+    public void setSpill(final int threshold, final File directory) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be greater than zero: " + threshold);
+        this.spillThreshold = threshold;
+        this.spillDirectory = directory;
+    }
+
+    @Override
+    public long getSpilledBytes() {
+        return this.spilledBytes;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
     }
 
     @Override
@@ -102,7 +242,15 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             if (this.duplicateSet.add(entry.getKey()))
                 return PathProcessor.processTraverserPathLabels(entry.getValue(), this.keepLabels);
         }
-        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        if (null == this.pendingFiles || this.starts.hasNext()) {
+            try {
+                return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+            } catch (final NoSuchElementException e) {
+                // the traversers held on disk since the spill are only deduplicated once the starts are exhausted
+                if (null == this.pendingFiles) throw e;
+            }
+        }
+        return PathProcessor.processTraverserPathLabels(this.nextSpilled(), this.keepLabels);
     }
 
     @Override
@@ -119,6 +267,12 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
         clone.duplicateSet = new HashSet<>();
+        clone.seenFiles = null;
+        clone.pendingFiles = null;
+        clone.drained = null;
+        clone.kryo = null;
+        clone.spilledBytes = 0L;
+        clone.metrics = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -146,6 +300,13 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         this.duplicateSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
+        this.closeSpillFiles();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.closeSpillFiles();
+        TraversalParent.super.close();
     }
 
     @Override
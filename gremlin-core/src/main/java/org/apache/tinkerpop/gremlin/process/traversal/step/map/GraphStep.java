@@ -57,6 +57,7 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     protected boolean done = false;
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
+    private transient Supplier<Iterator<E>> defaultIteratorSupplier;
 
 
     public GraphStep(final Traversal.Admin traversal, final Class<E> returnClass, final boolean isStart, final Object... ids) {
@@ -64,9 +65,10 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.returnClass = returnClass;
         this.ids = (ids.length == 1 && ids[0] instanceof Collection) ? ((Collection) ids[0]).toArray(new Object[((Collection) ids[0]).size()]) : ids;
         this.isStart = isStart;
-        this.iteratorSupplier = () -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
+        this.defaultIteratorSupplier = () -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
                 this.getTraversal().getGraph().get().vertices(this.ids) :
                 this.getTraversal().getGraph().get().edges(this.ids));
+        this.iteratorSupplier = this.defaultIteratorSupplier;
     }
 
     public String toString() {
@@ -154,6 +156,19 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.iterator = EmptyIterator.instance();
     }
 
+    @Override
+    public GraphStep<S, E> clone() {
+        final GraphStep<S, E> clone = (GraphStep<S, E>) super.clone();
+        // the default supplier reads the ids of the step that created it so a clone needs its own
+        if (null != this.defaultIteratorSupplier && this.iteratorSupplier == this.defaultIteratorSupplier) {
+            clone.defaultIteratorSupplier = () -> (Iterator<E>) (Vertex.class.isAssignableFrom(clone.returnClass) ?
+                    clone.getTraversal().getGraph().get().vertices(clone.ids) :
+                    clone.getTraversal().getGraph().get().edges(clone.ids));
+            clone.iteratorSupplier = clone.defaultIteratorSupplier;
+        }
+        return clone;
+    }
+
     @Override
     public int hashCode() {
         int result = super.hashCode() ^ this.returnClass.hashCode();
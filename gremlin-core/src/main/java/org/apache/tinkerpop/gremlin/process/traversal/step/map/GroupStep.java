@@ -29,32 +29,52 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
+ * When spilling is enabled with {@link Spilling#setSpill}, the keys and their partial values are written to disk by
+ * hash partition of the key whenever the threshold of keys is reached. The final result is then reduced one partition
+ * at a time so that only the partial values of a single partition are held in memory along with the result.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent {
+public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent, Spilling, Profiling {
 
     private char state = 'k';
     private Traversal.Admin<S, K> keyTraversal;
     private Traversal.Admin<S, V> valueTraversal;
     private Barrier barrierStep;
 
+    private int spillThreshold = Integer.MAX_VALUE;
+    private File spillDirectory = null;
+    private SpillFile[] partitionFiles = null;
+    private Kryo kryo = null;
+    private long spilledBytes = 0L;
+    private MutableMetrics metrics = null;
+
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
         this.valueTraversal = this.integrateChild(__.fold().asAdmin());
@@ -91,6 +111,116 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         return map;
     }
 
+    @Override
+    protected Map<K, V> reduce(final Map<K, V> seed, final Traverser.Admin<S> traverser) {
+        final Map<K, V> map = super.reduce(seed, traverser);
+        if (map.size() >= this.spillThreshold) {
+            this.spill(map);
+            map.clear();
+        }
+        return map;
+    }
+
+    private void spill(final Map<K, V> map) {
+        if (null == this.partitionFiles) {
+            if (null == this.kryo) this.kryo = SpillFile.createKryo(this.getTraversal());
+            this.partitionFiles = new SpillFile[SpillFile.PARTITIONS];
+            for (int i = 0; i < SpillFile.PARTITIONS; i++) {
+                this.partitionFiles[i] = new SpillFile(this.spillDirectory, this.kryo);
+            }
+        }
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            final SpillFile partitionFile = this.partitionFiles[SpillFile.partition(entry.getKey())];
+            partitionFile.write(entry.getKey());
+            partitionFile.write(entry.getValue());
+        }
+    }
+
+    /**
+     * Reduces the partial values of one partition from disk together with those of the partition still in memory.
+     */
+    private Map<K, V> reducePartition(final int partition, final Map<K, V> map) {
+        final SpillFile partitionFile = this.partitionFiles[partition];
+        this.spilledBytes = this.spilledBytes + partitionFile.finish();
+        if (null != this.metrics) this.metrics.setAnnotation(SPILLED_BYTES, this.spilledBytes);
+        Map<K, V> reduced = new HashMap<>();
+        try (final CloseableIterator<Object> objects = partitionFile.read()) {
+            while (objects.hasNext()) {
+                final K key = SpillFile.attach((K) objects.next(), this.getTraversal());
+                final V value = SpillFile.attach((V) objects.next(), this.getTraversal());
+                reduced = this.getBiOperator().apply(reduced, Collections.singletonMap(key, value));
+            }
+        }
+        partitionFile.close();
+        final Iterator<Map.Entry<K, V>> entries = map.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<K, V> entry = entries.next();
+            if (SpillFile.partition(entry.getKey()) == partition) {
+                reduced = this.getBiOperator().apply(reduced, Collections.singletonMap(entry.getKey(), entry.getValue()));
+                entries.remove();
+            }
+        }
+        return GroupStep.doFinalReduction((Map<K, Object>) reduced, this.valueTraversal);
+    }
+
+    @Override
+    public Map<K, V> nextBarrier() {
+        Map<K, V> barrier = super.nextBarrier();
+        if (null != this.partitionFiles) {
+            // a barrier is passed on whole so the partitions are read back
+            for (final SpillFile partitionFile : this.partitionFiles) {
+                try (final CloseableIterator<Object> objects = partitionFile.read()) {
+                    while (objects.hasNext()) {
+                        final K key = SpillFile.attach((K) objects.next(), this.getTraversal());
+                        final V value = SpillFile.attach((V) objects.next(), this.getTraversal());
+                        barrier = this.getBiOperator().apply(barrier, Collections.singletonMap(key, value));
+                    }
+                }
+            }
+            this.closePartitionFiles();
+        }
+        return barrier;
+    }
+
+    private void closePartitionFiles() {
+        if (null != this.partitionFiles) {
+            for (final SpillFile partitionFile : this.partitionFiles) {
+                partitionFile.close();
+            }
+        }
+        this.partitionFiles = null;
+    }
+
+    @Override
+    public void setSpill(final int threshold, final File directory) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be greater than zero: " + threshold);
+        this.spillThreshold = threshold;
+        this.spillDirectory = directory;
+    }
+
+    @Override
+    public long getSpilledBytes() {
+        return this.spilledBytes;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.closePartitionFiles();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.closePartitionFiles();
+        TraversalParent.super.close();
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.keyTraversal, this.valueTraversal);
@@ -117,6 +247,10 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
         clone.barrierStep = TraversalHelper.getFirstStepOfAssignableClass(Barrier.class, clone.valueTraversal).orElse(null);
+        clone.partitionFiles = null;
+        clone.kryo = null;
+        clone.spilledBytes = 0L;
+        clone.metrics = null;
         return clone;
     }
 
@@ -137,7 +271,14 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     @Override
     public Map<K, V> generateFinalResult(final Map<K, V> object) {
-        return GroupStep.doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        if (null == this.partitionFiles)
+            return GroupStep.doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        final Map<K, V> result = new HashMap<>();
+        for (int i = 0; i < SpillFile.PARTITIONS; i++) {
+            result.putAll(this.reducePartition(i, object));
+        }
+        this.partitionFiles = null;
+        return result;
     }
 
     ///////////////////////
@@ -18,6 +18,8 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
@@ -26,27 +28,46 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.CoinStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
@@ -56,6 +77,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -68,10 +90,41 @@ import java.util.stream.Stream;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>> implements TraversalParent, Scoping, PathProcessor {
+public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>> implements TraversalParent, Scoping, PathProcessor, Profiling {
 
     public enum TraversalType {WHERE_PREDICATE, WHERE_TRAVERSAL, MATCH_TRAVERSAL}
 
+    /**
+     * The key of the annotation in the metrics of a profiled match() that holds the multiplicity, the number of ends
+     * per start, observed for each of its traversals, written as {@code [pattern]=multiplicity} pairs.
+     */
+    public static final String SELECTIVITY = "selectivity";
+
+    /**
+     * The key of the annotation in the metrics of a profiled match() that holds the multiplicity the
+     * {@link CostMatchAlgorithm} estimated for each of its traversals before any traverser ran, written as
+     * {@code [pattern]=multiplicity} pairs.
+     */
+    public static final String ESTIMATED_SELECTIVITY = "estimatedSelectivity";
+
+    /**
+     * The key of the annotation in the metrics of a profiled match() that holds the number of start objects whose
+     * results were computed for a hash join.
+     */
+    public static final String JOIN_PROBES = "joinProbes";
+
+    /**
+     * The key of the annotation in the metrics of a profiled match() that holds the number of traversers that were
+     * joined against results computed earlier rather than running a traversal.
+     */
+    public static final String JOIN_HITS = "joinHits";
+
+    /**
+     * The greatest number of results the hash table of a hash joined match()-traversal holds. Once the table is full,
+     * the results for further start objects are computed for each traverser and not kept.
+     */
+    public static final int MAX_HASH_JOIN_SIZE = 100000;
+
     private List<Traversal.Admin<Object, Object>> matchTraversals = new ArrayList<>();
     private boolean first = true;
     private Set<String> matchStartLabels = new HashSet<>();
@@ -87,6 +140,11 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     private Set<String> dedupLabels = null;
     private Set<String> keepLabels = null;
 
+    private Map<String, HashJoin> hashJoins = null; // Map<startStepId, HashJoin> of the traversals that are hash joined
+    private long joinProbes = 0L;
+    private long joinHits = 0L;
+    private MutableMetrics metrics = null;
+
     public MatchStep(final Traversal.Admin traversal, final ConnectiveStep.Connective connective, final Traversal... matchTraversals) {
         super(traversal);
         this.connective = connective;
@@ -228,6 +286,12 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     public void reset() {
         super.reset();
         this.first = true;
+        this.hashJoins = null;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
     }
 
     public void setMatchAlgorithm(final Class<? extends MatchAlgorithm> matchAlgorithmClass) {
@@ -249,6 +313,10 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         }
         if (this.dedups != null) clone.dedups = new HashSet<>();
         clone.standardAlgorithmBarrier = new TraverserSet();
+        clone.hashJoins = null;
+        clone.joinProbes = 0L;
+        clone.joinHits = 0L;
+        clone.metrics = null;
         return clone;
     }
 
@@ -333,6 +401,53 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         this.matchAlgorithm.initialize(traversalEngineType, this.matchTraversals);
     }
 
+    private Traverser.Admin<Object> retractUnnecessaryLabels(final Traverser.Admin<Object> traverser) {
+        if (null == this.keepLabels)
+            return traverser;
+
+        final Set<String> keepers = new HashSet<>(this.keepLabels);
+        final Set<String> tags = traverser.getTags();
+        for (final Traversal.Admin<?, ?> matchTraversal : this.matchTraversals) { // get remaining traversal patterns for the traverser
+            final String startStepId = matchTraversal.getStartStep().getId();
+            if (!tags.contains(startStepId)) {
+                keepers.addAll(this.getReferencedLabelsMap().get(startStepId)); // get the reference labels required for those remaining traversals
+            }
+        }
+        return PathProcessor.processTraverserPathLabels(traverser, keepers); // remove all reference labels that are no longer required
+    }
+
+    private void annotate() {
+        if (null != this.metrics) {
+            this.getMatchAlgorithm().annotate(this.metrics);
+            if (null != this.hashJoins && !this.hashJoins.isEmpty()) {
+                this.metrics.setAnnotation(JOIN_PROBES, this.joinProbes);
+                this.metrics.setAnnotation(JOIN_HITS, this.joinHits);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link HashJoin} of the traversal, or {@code null} if traversers have to run through it. Only a
+     * standard root traversal that does not need the full path of its traversers hash joins, as the joined
+     * traversers do not carry the unlabeled objects of the traversal in their path. A root traversal that mutates
+     * the graph anywhere does not hash join either, as the results kept for a start object could go stale once the
+     * graph changes under them.
+     */
+    private HashJoin getHashJoin(final Traversal.Admin<Object, Object> matchTraversal) {
+        if (null == this.hashJoins) {
+            this.hashJoins = new HashMap<>();
+            if (this.getMatchAlgorithm().useHashJoins() && this.getTraversal().getParent() instanceof EmptyStep &&
+                    !this.getTraversal().getTraverserRequirements().contains(TraverserRequirement.PATH) &&
+                    !TraversalHelper.hasStepOfAssignableClassRecursively(Mutating.class, this.getTraversal())) {
+                for (final Traversal.Admin<Object, Object> traversal : this.matchTraversals) {
+                    if (isHashJoinable(traversal))
+                        this.hashJoins.put(traversal.getStartStep().getId(), new HashJoin(traversal));
+                }
+            }
+        }
+        return this.hashJoins.get(matchTraversal.getStartStep().getId());
+    }
+
     private boolean hasPathLabel(final Path path, final Set<String> labels) {
         for (final String label : labels) {
             if (path.hasLabel(label))
@@ -382,6 +497,10 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
             final Traverser.Admin traverser;
             if (this.standardAlgorithmBarrier.isEmpty()) {
+                if (!this.starts.hasNext()) {
+                    this.annotate();
+                    throw FastNoSuchElementException.instance();
+                }
                 traverser = this.starts.next();
                 if (!traverser.getTags().contains(this.getId())) {
                     traverser.getTags().add(this.getId()); // so the traverser never returns to this branch ever again
@@ -393,13 +512,19 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
 
             ///
             if (!this.isDuplicate(traverser)) {
-                if (hasMatched(this.connective, traverser))
+                if (hasMatched(this.connective, traverser)) {
+                    this.annotate();
                     return IteratorUtils.of(traverser.split(this.getBindings(traverser), this));
+                }
 
                 if (this.connective == ConnectiveStep.Connective.AND) {
                     final Traversal.Admin<Object, Object> matchTraversal = this.getMatchAlgorithm().apply(traverser);
                     traverser.getTags().add(matchTraversal.getStartStep().getId());
-                    matchTraversal.addStart(traverser); // determine which sub-pattern the traverser should try next
+                    final HashJoin hashJoin = this.getHashJoin(matchTraversal);
+                    if (null == hashJoin)
+                        matchTraversal.addStart(traverser); // determine which sub-pattern the traverser should try next
+                    else
+                        hashJoin.join(traverser).forEachRemaining(this.standardAlgorithmBarrier::add);
                 } else {  // OR
                     for (final Traversal.Admin<?, ?> matchTraversal : this.matchTraversals) {
                         final Traverser.Admin split = traverser.split();
@@ -431,6 +556,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             ///
             if (!this.isDuplicate(traverser)) {
                 if (hasMatched(this.connective, traverser)) {
+                    this.annotate();
                     traverser.setStepId(this.getNextStep().getId());
                     traverser.addLabels(this.labels);
                     return IteratorUtils.of(traverser.split(this.getBindings(traverser), this));
@@ -546,22 +672,6 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             this.matchKeyCollection = null == matchKey ? Collections.emptySet() : Collections.singleton(this.matchKey);
         }
 
-
-        private <S> Traverser.Admin<S> retractUnnecessaryLabels(final Traverser.Admin<S> traverser) {
-            if (null == this.parent.getKeepLabels())
-                return traverser;
-
-            final Set<String> keepers = new HashSet<>(this.parent.getKeepLabels());
-            final Set<String> tags = traverser.getTags();
-            for (final Traversal.Admin<?, ?> matchTraversal : this.parent.matchTraversals) { // get remaining traversal patterns for the traverser
-                final String startStepId = matchTraversal.getStartStep().getId();
-                if (!tags.contains(startStepId)) {
-                    keepers.addAll(this.parent.getReferencedLabelsMap().get(startStepId)); // get the reference labels required for those remaining traversals
-                }
-            }
-            return PathProcessor.processTraverserPathLabels(traverser, keepers); // remove all reference labels that are no longer required
-        }
-
         @Override
         protected Traverser.Admin<Object> processNextStart() throws NoSuchElementException {
             if (null == this.parent)
@@ -574,7 +684,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                     // if (this.traverserStepIdAndLabelsSetByChild) -- traverser equality is based on stepId, lets ensure they are all at the parent
                     traverser.setStepId(this.parent.getId());
                     this.parent.getMatchAlgorithm().recordEnd(traverser, this.getTraversal());
-                    return this.retractUnnecessaryLabels(traverser);
+                    return this.parent.retractUnnecessaryLabels(traverser);
                 }
                 // TODO: sideEffect check?
                 // path check
@@ -584,7 +694,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                     traverser.setStepId(this.parent.getId());
                     traverser.addLabels(this.matchKeyCollection);
                     this.parent.getMatchAlgorithm().recordEnd(traverser, this.getTraversal());
-                    return this.retractUnnecessaryLabels(traverser);
+                    return this.parent.retractUnnecessaryLabels(traverser);
                 }
             }
         }
@@ -613,6 +723,117 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     }
 
 
+    //////////////////////////////
+
+    private static boolean isHashJoinable(final Traversal.Admin<Object, Object> matchTraversal) {
+        if (Helper.getTraversalType(matchTraversal) != TraversalType.MATCH_TRAVERSAL ||
+                !(matchTraversal.getStartStep() instanceof MatchStartStep) ||
+                !((MatchStartStep) matchTraversal.getStartStep()).getSelectKey().isPresent())
+            return false;
+        for (final Step<?, ?> step : matchTraversal.getSteps()) {
+            if (step instanceof MatchStartStep || step instanceof MatchEndStep || step instanceof ProfileStep)
+                continue;
+            if (!step.getLabels().isEmpty() || !isPure(step) ||
+                    (step instanceof TraversalParent && TraversalHelper.anyStepRecursively(child -> !isPure(child), (TraversalParent) step)))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isPure(final Step<?, ?> step) {
+        if (step instanceof Scoping || step instanceof PathProcessor || step instanceof SideEffectCapable ||
+                step instanceof Mutating || step instanceof LambdaHolder || step instanceof CoinStep ||
+                step instanceof SampleLocalStep || (step instanceof Barrier && !(step instanceof NoOpBarrierStep)))
+            return false;
+        if (step instanceof ComparatorHolder) {
+            for (final Pair<?, ?> pair : ((ComparatorHolder<?, ?>) step).getComparators()) {
+                if (Order.shuffle == pair.getValue1())
+                    return false;
+            }
+        }
+        for (final TraverserRequirement requirement : step.getRequirements()) {
+            if (requirement == TraverserRequirement.PATH || requirement == TraverserRequirement.LABELED_PATH ||
+                    requirement == TraverserRequirement.SACK || requirement == TraverserRequirement.SIDE_EFFECTS)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Joins traversers against the results of a match()-traversal, which are kept in a hash table by the object
+     * bound to its start label. The results for a start object are computed the first time a traverser with that
+     * object arrives, by running a clone of the traversal for it alone, and later traversers with the same object
+     * are joined against the table without running the traversal again. Only traversals whose results depend on
+     * nothing but their start object are joined, so they must not reference other labels, write side-effects or
+     * sacks, hold lambdas, mutate the graph, sample at random or have barriers that see more than one start, and
+     * only in root traversals that do not mutate the graph elsewhere. The
+     * table holds at most {@link #MAX_HASH_JOIN_SIZE} results, after which the traversal is run for each traverser
+     * whose start object is not in the table yet.
+     */
+    private final class HashJoin {
+
+        private final Traversal.Admin<Object, Object> probeTraversal;
+        private final String startLabel;
+        private final String endLabel;
+        private final Map<Object, Map<Object, Long>> table = new HashMap<>(); // Map<start, Map<end, bulk>>
+        private long size = 0L;
+
+        private HashJoin(final Traversal.Admin<Object, Object> matchTraversal) {
+            this.probeTraversal = matchTraversal.clone();
+            this.startLabel = ((MatchStartStep) matchTraversal.getStartStep()).getSelectKey().get();
+            this.endLabel = Helper.getEndLabel(matchTraversal).orElse(null);
+        }
+
+        private Iterator<Traverser.Admin<Object>> join(final Traverser.Admin<Object> traverser) {
+            final Path path = traverser.path();
+            final Object start = path.get(Pop.last, this.startLabel);
+            Map<Object, Long> ends = this.table.get(start);
+            if (null == ends) {
+                ends = this.probe(start);
+                // a start without results still takes an entry in the table
+                final int entries = Math.max(1, ends.size());
+                if (this.size + entries <= MAX_HASH_JOIN_SIZE) {
+                    this.table.put(start, ends);
+                    this.size = this.size + entries;
+                }
+                MatchStep.this.joinProbes++;
+            } else
+                MatchStep.this.joinHits++;
+
+            if (null != this.endLabel && path.hasLabel(this.endLabel)) {
+                final Object end = path.get(Pop.last, this.endLabel);
+                final Long bulk = ends.get(end);
+                return null == bulk ? Collections.emptyIterator() : IteratorUtils.of(this.result(traverser, end, bulk));
+            }
+            final List<Traverser.Admin<Object>> results = new ArrayList<>(ends.size());
+            for (final Map.Entry<Object, Long> entry : ends.entrySet()) {
+                results.add(this.result(traverser, entry.getKey(), entry.getValue()));
+            }
+            return results.iterator();
+        }
+
+        private Map<Object, Long> probe(final Object start) {
+            final Traverser.Admin<Object> probe = MatchStep.this.getTraversal().getTraverserGenerator().generate(start, (Step) this.probeTraversal.getStartStep(), 1L);
+            probe.addLabels(Collections.singleton(this.startLabel));
+            this.probeTraversal.addStart(probe);
+            final Map<Object, Long> ends = new LinkedHashMap<>();
+            while (this.probeTraversal.hasNext()) {
+                final Traverser.Admin<Object> end = this.probeTraversal.nextTraverser();
+                ends.merge(end.get(), end.bulk(), Long::sum);
+            }
+            return ends;
+        }
+
+        private Traverser.Admin<Object> result(final Traverser.Admin<Object> traverser, final Object end, final long bulk) {
+            final Traverser.Admin<Object> result = traverser.split(end, (Step) EmptyStep.instance());
+            if (null != this.endLabel)
+                result.addLabels(Collections.singleton(this.endLabel));
+            result.setBulk(traverser.bulk() * bulk);
+            result.setStepId(MatchStep.this.getId());
+            return MatchStep.this.retractUnnecessaryLabels(result);
+        }
+    }
+
     //////////////////////////////
 
     public static final class Helper {
@@ -701,6 +922,22 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         public default void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
 
         }
+
+        /**
+         * Whether {@link MatchStep} may join traversers against the results a match()-traversal already computed
+         * for the object bound to its start label rather than running the traversal again. Joins only happen on a
+         * standard traversal and only for match()-traversals whose results depend on nothing but that object.
+         */
+        public default boolean useHashJoins() {
+            return false;
+        }
+
+        /**
+         * Adds what the algorithm has learned about the match()-traversals to the metrics of a profiled match().
+         */
+        public default void annotate(final MutableMetrics metrics) {
+
+        }
     }
 
     public static class GreedyMatchAlgorithm implements MatchAlgorithm {
@@ -774,6 +1011,13 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
 
+        /**
+         * Metrics annotations only hold strings and numbers so the multiplicities of the patterns are written out.
+         */
+        protected static String toAnnotation(final Map<String, Double> multiplicities) {
+            return multiplicities.entrySet().stream().map(entry -> entry.getKey() + "=" + entry.getValue()).collect(Collectors.joining(", "));
+        }
+
         protected Bundle getBundle(final Traversal.Admin<Object, Object> traversal) {
             for (final Bundle bundle : this.bundles) {
                 if (bundle.traversal == traversal)
@@ -782,6 +1026,15 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             throw new IllegalStateException("No equivalent traversal could be found in " + CountMatchAlgorithm.class.getSimpleName() + ": " + traversal);
         }
 
+        @Override
+        public void annotate(final MutableMetrics metrics) {
+            final Map<String, Double> selectivity = new LinkedHashMap<>();
+            for (final Bundle bundle : this.bundles) {
+                selectivity.put(bundle.getPattern(), bundle.multiplicity);
+            }
+            metrics.setAnnotation(SELECTIVITY, toAnnotation(selectivity));
+        }
+
         ///////////
 
         public class Bundle {
@@ -790,6 +1043,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             public long startsCount;
             public long endsCount;
             public double multiplicity;
+            private String pattern;
 
             public Bundle(final Traversal.Admin<Object, Object> traversal) {
                 this.traversal = traversal;
@@ -802,6 +1056,178 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             public final void incrementEndCount() {
                 this.multiplicity = (double) ++this.endsCount / (double) this.startsCount;
             }
+
+            /**
+             * The steps of the traversal without the {@link ProfileStep} instances of a profiled traversal.
+             */
+            public String getPattern() {
+                if (null == this.pattern)
+                    this.pattern = this.traversal.getSteps().stream().filter(step -> !(step instanceof ProfileStep)).
+                            map(Object::toString).collect(Collectors.joining(", ", "[", "]"));
+                return this.pattern;
+            }
+        }
+    }
+
+    /**
+     * Orders the match()-traversals by the multiplicity, the number of ends per start, they are expected to have.
+     * Before any traverser has run, the multiplicity of a traversal is estimated from its steps and from the
+     * {@link GraphStatistics} of the graph, if the graph has them, and the estimate then gives way to the
+     * multiplicity observed at runtime as starts accumulate. As with {@link CountMatchAlgorithm}, where()-traversals
+     * and match()-traversals whose end label is already bound are run first as they can only filter. On a standard
+     * traversal {@link MatchStep} hash joins traversers against the results a match()-traversal already computed
+     * for the same start object. On a {@code GraphComputer} the traversals are ordered as
+     * {@link CountMatchAlgorithm} orders them.
+     * <p/>
+     * A hash join trades memory for time: its table keeps every distinct start object along with the distinct ends
+     * and bulks the traversal produced for it until the traversal is reset, which for a traversal whose starts mostly
+     * differ is about as much memory as all of its results. The table of each traversal is capped at
+     * {@link MatchStep#MAX_HASH_JOIN_SIZE} results, past which new start objects run through the traversal as they
+     * would with {@link CountMatchAlgorithm}.
+     */
+    public static class CostMatchAlgorithm extends CountMatchAlgorithm {
+
+        /**
+         * The number of starts that the estimated multiplicity of a traversal weighs as much as.
+         */
+        protected static final double ESTIMATE_WEIGHT = 20.0d;
+        protected static final double DEFAULT_DEGREE = 10.0d;
+        protected static final double DEFAULT_SELECTIVITY = 0.5d;
+        protected static final double DEFAULT_EQUALITY_SELECTIVITY = 0.1d;
+
+        protected Map<String, Double> estimates; // Map<startStepId, estimated multiplicity>
+
+        @Override
+        public void initialize(final TraversalEngine.Type traversalEngineType, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(traversalEngineType, traversals);
+            final GraphStatistics statistics = traversals.isEmpty() ? null :
+                    TraversalHelper.getRootTraversal(traversals.get(0)).getGraph().
+                            filter(graph -> graph instanceof GraphStatistics).map(graph -> (GraphStatistics) graph).orElse(null);
+            this.estimates = new HashMap<>();
+            for (final Bundle bundle : this.bundles) {
+                this.estimates.put(bundle.traversal.getStartStep().getId(), this.estimate(statistics, bundle.traversal));
+            }
+        }
+
+        @Override
+        public Traversal.Admin<Object, Object> apply(final Traverser.Admin<Object> traverser) {
+            if (this.onComputer)
+                return super.apply(traverser);
+
+            Bundle best = null;
+            int bestRank = 0;
+            double bestMultiplicity = 0.0d;
+            for (final Bundle bundle : this.bundles) {
+                if (Helper.hasExecutedTraversal(traverser, bundle.traversal) || !Helper.hasStartLabels(traverser, bundle.traversal))
+                    continue;
+                // where()-predicates, where()-traversals and match()-traversals with a bound end label only filter
+                final int rank = bundle.traversalType != TraversalType.MATCH_TRAVERSAL ? bundle.traversalType.ordinal() :
+                        Helper.hasEndLabel(traverser, bundle.traversal) ? TraversalType.MATCH_TRAVERSAL.ordinal() :
+                                TraversalType.MATCH_TRAVERSAL.ordinal() + 1;
+                final double multiplicity = this.getMultiplicity(bundle);
+                if (null == best || rank < bestRank || (rank == bestRank && multiplicity < bestMultiplicity)) {
+                    best = bundle;
+                    bestRank = rank;
+                    bestMultiplicity = multiplicity;
+                }
+            }
+            if (null != best) return best.traversal;
+            throw UNMATCHABLE_PATTERN.apply(this.bundles.stream().map(record -> record.traversal).collect(Collectors.toList()));
+        }
+
+        @Override
+        public void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            this.getBundle(traversal).incrementEndCount();
+        }
+
+        @Override
+        public boolean useHashJoins() {
+            return true;
+        }
+
+        @Override
+        public void annotate(final MutableMetrics metrics) {
+            super.annotate(metrics);
+            final Map<String, Double> estimatedSelectivity = new LinkedHashMap<>();
+            for (final Bundle bundle : this.bundles) {
+                estimatedSelectivity.put(bundle.getPattern(), this.estimates.get(bundle.traversal.getStartStep().getId()));
+            }
+            metrics.setAnnotation(ESTIMATED_SELECTIVITY, toAnnotation(estimatedSelectivity));
+        }
+
+        /**
+         * Finds the bundle by the id of the start step of the traversal as the clones that hash joins run record
+         * their starts and ends too.
+         */
+        @Override
+        protected Bundle getBundle(final Traversal.Admin<Object, Object> traversal) {
+            final String startStepId = traversal.getStartStep().getId();
+            for (final Bundle bundle : this.bundles) {
+                if (bundle.traversal == traversal || bundle.traversal.getStartStep().getId().equals(startStepId))
+                    return bundle;
+            }
+            throw new IllegalStateException("No equivalent traversal could be found in " + CostMatchAlgorithm.class.getSimpleName() + ": " + traversal);
+        }
+
+        protected double getMultiplicity(final Bundle bundle) {
+            return (ESTIMATE_WEIGHT * this.estimates.get(bundle.traversal.getStartStep().getId()) + bundle.endsCount) /
+                    (ESTIMATE_WEIGHT + bundle.startsCount);
+        }
+
+        protected double estimate(final GraphStatistics statistics, final Traversal.Admin<Object, Object> traversal) {
+            double multiplicity = 1.0d;
+            Class<? extends Element> elementClass = Vertex.class;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    multiplicity = multiplicity * degree(statistics, vertexStep.getDirection(), vertexStep.getEdgeLabels());
+                    elementClass = vertexStep.returnsVertex() ? Vertex.class : Edge.class;
+                } else if (step instanceof EdgeVertexStep) {
+                    if (Direction.BOTH == ((EdgeVertexStep) step).getDirection())
+                        multiplicity = multiplicity * 2.0d;
+                    elementClass = Vertex.class;
+                } else if (step instanceof EdgeOtherVertexStep) {
+                    elementClass = Vertex.class;
+                } else if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        multiplicity = multiplicity * selectivity(statistics, elementClass, hasContainer);
+                    }
+                } else if (step instanceof FilterStep) {
+                    multiplicity = multiplicity * DEFAULT_SELECTIVITY;
+                } else if (step instanceof FlatMapStep) {
+                    multiplicity = multiplicity * DEFAULT_DEGREE;
+                }
+            }
+            return multiplicity;
+        }
+
+        private static double degree(final GraphStatistics statistics, final Direction direction, final String... edgeLabels) {
+            final long vertices = null == statistics ? GraphStatistics.UNKNOWN : statistics.count(Vertex.class);
+            long edges = null == statistics ? GraphStatistics.UNKNOWN : 0 == edgeLabels.length ? statistics.count(Edge.class) : 0L;
+            for (final String edgeLabel : edgeLabels) {
+                final long count = GraphStatistics.UNKNOWN == edges ? GraphStatistics.UNKNOWN : statistics.countWithLabel(Edge.class, edgeLabel);
+                edges = GraphStatistics.UNKNOWN == count ? GraphStatistics.UNKNOWN : edges + count;
+            }
+            final double degree = vertices <= 0 || GraphStatistics.UNKNOWN == edges ? DEFAULT_DEGREE : (double) edges / vertices;
+            return Direction.BOTH == direction ? 2.0d * degree : degree;
+        }
+
+        private static double selectivity(final GraphStatistics statistics, final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+            if (Compare.eq != hasContainer.getBiPredicate())
+                return DEFAULT_SELECTIVITY;
+            final long total = null == statistics ? GraphStatistics.UNKNOWN : statistics.count(elementClass);
+            if (total <= 0)
+                return DEFAULT_EQUALITY_SELECTIVITY;
+            final String key = hasContainer.getKey();
+            final Object value = hasContainer.getValue();
+            final long count;
+            if (T.id.getAccessor().equals(key))
+                count = 1L;
+            else if (T.label.getAccessor().equals(key))
+                count = value instanceof String ? statistics.countWithLabel(elementClass, (String) value) : GraphStatistics.UNKNOWN;
+            else
+                count = statistics.countWithProperty(elementClass, key, value);
+            return GraphStatistics.UNKNOWN == count ? DEFAULT_EQUALITY_SELECTIVITY : Math.min(1.0d, (double) count / total);
         }
     }
 }
@@ -22,22 +22,49 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * A barrier that bulks up to a number of traversers before passing them on. An adaptive barrier starts with a window
+ * of its minimum size so that the first results arrive early. It doubles the window while at least
+ * {@link #GROW_RATIO} traversers are added for each one it holds once full and halves it when fewer than
+ * {@link #SHRINK_RATIO} are, but does not grow a window that took longer than {@link #MAX_FILL_NANOS} to fill.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
+public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S>, Profiling {
+
+    /**
+     * The key of the annotation in the metrics of a profiled barrier that holds the number of traversers that were
+     * merged into others.
+     */
+    public static final String BULKED_TRAVERSERS = "bulkedTraversers";
+
+    /**
+     * The key of the annotation in the metrics of a profiled barrier that holds the size of its window.
+     */
+    public static final String BARRIER_SIZE = "barrierSize";
 
+    private static final double GROW_RATIO = 1.25d;
+    private static final double SHRINK_RATIO = 1.05d;
+    private static final long MAX_FILL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private int minBarrierSize;
     private int maxBarrierSize;
+    private int barrierSize;
+    private long bulkedTraversers = 0L;
+    private MutableMetrics metrics = null;
     private TraverserSet<S> barrier = new TraverserSet<>();
 
     public NoOpBarrierStep(final Traversal.Admin traversal) {
@@ -45,8 +72,47 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, maxBarrierSize);
+    }
+
+    /**
+     * Creates a barrier whose window adapts between the two sizes, which is fixed when they are equal.
+     */
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int minBarrierSize, final int maxBarrierSize) {
         super(traversal);
+        if (minBarrierSize != maxBarrierSize && (minBarrierSize < 1 || minBarrierSize > maxBarrierSize))
+            throw new IllegalArgumentException(String.format("The sizes of an adaptive barrier must satisfy 0 < min < max: %s, %s", minBarrierSize, maxBarrierSize));
+        this.minBarrierSize = minBarrierSize;
         this.maxBarrierSize = maxBarrierSize;
+        this.barrierSize = minBarrierSize;
+    }
+
+    public boolean isAdaptive() {
+        return this.minBarrierSize != this.maxBarrierSize;
+    }
+
+    public int getMinBarrierSize() {
+        return this.minBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    /**
+     * Gets the current size of the window, which only differs from the maximum size for an adaptive barrier.
+     */
+    public int getBarrierSize() {
+        return this.barrierSize;
+    }
+
+    public long getBulkedTraversers() {
+        return this.bulkedTraversers;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
     }
 
     @Override
@@ -63,10 +129,31 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext() && (this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize)) {
+        final int held = this.barrier.size();
+        final long start = this.isAdaptive() ? System.nanoTime() : 0L;
+        long added = 0L;
+        while (this.starts.hasNext() && (this.barrierSize == Integer.MAX_VALUE || this.barrier.size() < this.barrierSize)) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
             this.barrier.add(traverser);
+            added++;
+        }
+        if (added > 0) this.filled(added, this.barrier.size() - held, start);
+    }
+
+    private void filled(final long added, final int distinct, final long start) {
+        this.bulkedTraversers = this.bulkedTraversers + added - distinct;
+        // only a full window says something about how well the traversers bulk
+        if (this.isAdaptive() && this.barrier.size() >= this.barrierSize) {
+            final double ratio = (double) added / Math.max(1, distinct);
+            if (ratio >= GROW_RATIO && System.nanoTime() - start < MAX_FILL_NANOS)
+                this.barrierSize = (int) Math.min(2L * this.barrierSize, this.maxBarrierSize);
+            else if (ratio < SHRINK_RATIO)
+                this.barrierSize = Math.max(this.barrierSize / 2, this.minBarrierSize);
+        }
+        if (null != this.metrics) {
+            this.metrics.setAnnotation(BULKED_TRAVERSERS, this.bulkedTraversers);
+            this.metrics.setAnnotation(BARRIER_SIZE, this.barrierSize);
         }
     }
 
@@ -97,17 +184,25 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = new TraverserSet<>();
+        clone.barrierSize = this.minBarrierSize;
+        clone.bulkedTraversers = 0L;
+        clone.metrics = null;
         return clone;
     }
 
     @Override
     public String toString() {
+        if (this.isAdaptive())
+            return StringFactory.stepString(this, this.minBarrierSize, this.maxBarrierSize);
         return StringFactory.stepString(this, this.maxBarrierSize == Integer.MAX_VALUE ? null : this.maxBarrierSize);
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.maxBarrierSize;
+        int result = super.hashCode() ^ this.maxBarrierSize;
+        if (this.isAdaptive())
+            result ^= Integer.rotateLeft(this.minBarrierSize, 16);
+        return result;
     }
 
     @Override
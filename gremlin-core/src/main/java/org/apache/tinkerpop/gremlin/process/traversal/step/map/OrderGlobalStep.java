@@ -25,22 +25,32 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
@@ -48,12 +58,32 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Spilling, Profiling {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
 
+    /**
+     * The traversers held in the {@link #traverserSet} when a limit is known, ordered so that the head is the one
+     * that would be sorted last and is therefore the first to be dropped.
+     */
+    private PriorityQueue<HeapEntry<S>> heap = null;
+    private long heapBulk = 0L;
+    private long heapSequence = 0L;
+
+    /**
+     * The sorted runs of traversers written to disk once {@link #spillThreshold} traversers are held and the merge
+     * of those runs that refills the {@link #traverserSet} in chunks once the barrier is consumed.
+     */
+    private int spillThreshold = Integer.MAX_VALUE;
+    private File spillDirectory = null;
+    private List<SpillFile> runs = new ArrayList<>();
+    private RunMerge merge = null;
+    private Kryo kryo = null;
+    private long spilledBytes = 0L;
+    private MutableMetrics metrics = null;
+
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -62,17 +92,161 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
         if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
         //
-        if (this.multiComparator.isShuffle())
+        if (!this.runs.isEmpty()) {
+            // the traversers still held become the last run so that they take part in the merge like any other
+            if (!traverserSet.isEmpty()) this.spill();
+            this.merge = new RunMerge();
+            this.refill();
+        } else if (this.multiComparator.isShuffle())
             traverserSet.shuffle();
         else
             traverserSet.sort((Comparator) this.multiComparator);
+        this.clearHeap();
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (null != this.merge && this.traverserSet.isEmpty())
+            this.refill();
+        return super.processNextStart();
     }
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext()) {
-            this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+        if (!this.starts.hasNext())
+            return;
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        //
+        // the heap is only used while it accounts for every held traverser, which is not the case once a barrier
+        // from another worker has been added
+        if (this.limit < 0 || this.limit == Long.MAX_VALUE || this.multiComparator.isShuffle() ||
+                this.traverserSet.size() != (null == this.heap ? 0 : this.heap.size())) {
+            while (this.starts.hasNext()) {
+                this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+                if (this.traverserSet.size() >= this.spillThreshold) this.spill();
+            }
+        } else {
+            if (null == this.heap)
+                this.heap = new PriorityQueue<>(11, (a, b) -> {
+                    final int comparison = ((Comparator) this.multiComparator).compare(b.traverser, a.traverser);
+                    return 0 != comparison ? comparison : Long.compare(b.sequence, a.sequence);
+                });
+            while (this.starts.hasNext()) {
+                this.addToHeap(this.createProjectedTraverser(this.starts.next()));
+            }
+        }
+    }
+
+    /**
+     * Keeps the traverser only if it is among the first {@link #limit} in sort order, so that no more than that bulk
+     * of traversers (plus the bulk of the last one kept) is ever held. Among equal traversers the one that arrived
+     * first sorts first, as it would with the stable sort of {@link TraverserSet#sort}.
+     */
+    private void addToHeap(final ProjectedTraverser<S, C> traverser) {
+        if (this.traverserSet.contains(traverser)) {
+            // merges into the held traverser, which keeps its place in the heap
+            this.traverserSet.add(traverser);
+            this.heapBulk = this.heapBulk + traverser.bulk();
+        } else {
+            if (this.heapBulk >= this.limit && !this.heap.isEmpty() &&
+                    ((Comparator) this.multiComparator).compare(traverser, this.heap.peek().traverser) >= 0)
+                return;
+            this.traverserSet.add(traverser);
+            this.heap.add(new HeapEntry<>(traverser, this.heapSequence++));
+            this.heapBulk = this.heapBulk + traverser.bulk();
+        }
+        while (!this.heap.isEmpty() && this.heapBulk - this.heap.peek().traverser.bulk() >= this.limit) {
+            final Traverser.Admin<S> dropped = this.heap.poll().traverser;
+            this.traverserSet.remove(dropped);
+            this.heapBulk = this.heapBulk - dropped.bulk();
+        }
+    }
+
+    /**
+     * Writes the held traversers to disk as a run in sort order, or in random order for a shuffle.
+     */
+    private void spill() {
+        if (this.multiComparator.isShuffle())
+            this.traverserSet.shuffle();
+        else
+            this.traverserSet.sort((Comparator) this.multiComparator);
+        if (null == this.kryo) this.kryo = SpillFile.createKryo(this.getTraversal());
+        final SpillFile run = new SpillFile(this.spillDirectory, this.kryo);
+        this.runs.add(run);
+        for (final Traverser.Admin<S> traverser : this.traverserSet) {
+            run.write(traverser);
+        }
+        this.traverserSet.clear();
+        this.spilledBytes = this.spilledBytes + run.finish();
+        if (null != this.metrics) this.metrics.setAnnotation(SPILLED_BYTES, this.spilledBytes);
+    }
+
+    /**
+     * Moves up to {@link #spillThreshold} traversers from the merge of the runs into the {@link #traverserSet}.
+     */
+    private void refill() {
+        while (this.merge.hasNext() && this.traverserSet.size() < this.spillThreshold) {
+            this.traverserSet.add(SpillFile.attach(this.merge.next(), this.getTraversal()));
+        }
+        if (!this.merge.hasNext()) this.closeRuns();
+    }
+
+    private void closeRuns() {
+        if (null != this.merge) this.merge.close();
+        this.merge = null;
+        this.runs.forEach(SpillFile::close);
+        this.runs.clear();
+    }
+
+    @Override
+    public void setSpill(final int threshold, final File directory) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be greater than zero: " + threshold);
+        this.spillThreshold = threshold;
+        this.spillDirectory = directory;
+    }
+
+    @Override
+    public long getSpilledBytes() {
+        return this.spilledBytes;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public TraverserSet<S> nextBarrier() throws NoSuchElementException {
+        this.processAllStarts();
+        // a barrier is passed on whole so the runs are read back
+        for (final SpillFile run : this.runs) {
+            try (final CloseableIterator<Traverser.Admin<S>> traversers = run.read()) {
+                traversers.forEachRemaining(traverser -> this.traverserSet.add(SpillFile.attach(traverser, this.getTraversal())));
+            }
         }
+        this.closeRuns();
+        final TraverserSet<S> barrier = super.nextBarrier();
+        this.clearHeap();
+        return barrier;
+    }
+
+    private void clearHeap() {
+        if (null != this.heap) this.heap.clear();
+        this.heapBulk = 0L;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.clearHeap();
+        this.closeRuns();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.closeRuns();
+        TraversalParent.super.close();
     }
 
     public void setLimit(final long limit) {
@@ -130,6 +304,13 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     @Override
     public OrderGlobalStep<S, C> clone() {
         final OrderGlobalStep<S, C> clone = (OrderGlobalStep<S, C>) super.clone();
+        clone.heap = null;
+        clone.heapBulk = 0L;
+        clone.runs = new ArrayList<>();
+        clone.merge = null;
+        clone.kryo = null;
+        clone.spilledBytes = 0L;
+        clone.metrics = null;
         clone.comparators = new ArrayList<>();
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
@@ -167,6 +348,92 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     ////////////////
 
+    private static final class HeapEntry<S> {
+        private final Traverser.Admin<S> traverser;
+        private final long sequence;
+
+        private HeapEntry(final Traverser.Admin<S> traverser, final long sequence) {
+            this.traverser = traverser;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Merges the runs into a single sorted order in which equal traversers keep the order of the runs they came from,
+     * as they would with the stable sort of {@link TraverserSet#sort}. For a shuffle each traverser is taken from a
+     * run chosen at random in proportion to the number of traversers it has left.
+     */
+    private final class RunMerge implements Iterator<Traverser.Admin<S>>, AutoCloseable {
+
+        private final List<CloseableIterator<Traverser.Admin<S>>> iterators = new ArrayList<>(runs.size());
+        private final PriorityQueue<HeapEntry<S>> heads;
+        private final long[] remaining;
+        private final Random random;
+        private long total = 0L;
+
+        private RunMerge() {
+            for (final SpillFile run : runs) {
+                this.iterators.add(run.read());
+            }
+            if (multiComparator.isShuffle()) {
+                this.heads = null;
+                this.random = new Random();
+                this.remaining = new long[runs.size()];
+                for (int i = 0; i < runs.size(); i++) {
+                    this.remaining[i] = runs.get(i).count();
+                    this.total = this.total + this.remaining[i];
+                }
+            } else {
+                this.random = null;
+                this.remaining = null;
+                this.heads = new PriorityQueue<>(runs.size(), (a, b) -> {
+                    final int comparison = ((Comparator) multiComparator).compare(a.traverser, b.traverser);
+                    return 0 != comparison ? comparison : Long.compare(a.sequence, b.sequence);
+                });
+                for (int i = 0; i < this.iterators.size(); i++) {
+                    this.advance(i);
+                }
+            }
+        }
+
+        private void advance(final int run) {
+            final CloseableIterator<Traverser.Admin<S>> iterator = this.iterators.get(run);
+            if (iterator.hasNext())
+                this.heads.add(new HeapEntry<>(iterator.next(), run));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return null == this.heads ? this.total > 0 : !this.heads.isEmpty();
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            if (null == this.heads) {
+                long pick = (long) (this.random.nextDouble() * this.total);
+                int run = 0;
+                while (pick >= this.remaining[run]) {
+                    pick = pick - this.remaining[run];
+                    run++;
+                }
+                this.remaining[run]--;
+                this.total--;
+                return this.iterators.get(run).next();
+            } else {
+                final HeapEntry<S> head = this.heads.poll();
+                this.advance((int) head.sequence);
+                return head.traverser;
+            }
+        }
+
+        @Override
+        public void close() {
+            this.iterators.forEach(CloseableIterator::close);
+        }
+    }
+
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
 
         private long limit;
@@ -23,13 +23,22 @@ import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
+ * A {@link Path} held as a linked list of sections, one per object, where each section points to the path it
+ * extends. Paths that are split from one another share their common sections. Each section also records the number of
+ * objects up to it and a bitmask of the hashes of all labels up to it. The bitmask lets label lookups and
+ * {@link #retract(Set)} stop at the first section that can not hold a label, and lets {@link #retract(Set)} reuse the
+ * sections it leaves untouched. The flattened {@link #objects()} and {@link #labels()} views and the hash code are
+ * computed once per section. The objects of a path are therefore expected not to change once they are in it.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
@@ -39,6 +48,13 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
     private ImmutablePath previousPath;
     private Object currentObject;
     private Set<String> currentLabels;
+    private int size;
+    private long labelMask;
+    private boolean unlabeled;
+
+    private transient int hashCode;
+    private transient List<Object> objects;
+    private transient List<Set<String>> labels;
 
     public static Path make() {
         return TAIL_PATH;
@@ -54,10 +70,27 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         this.previousPath = previousPath;
         this.currentObject = currentObject;
         this.currentLabels = currentLabels;
+        if (null != previousPath) {
+            this.size = previousPath.size + 1;
+            this.labelMask = previousPath.labelMask | labelMask(currentLabels);
+            this.unlabeled = previousPath.unlabeled || currentLabels.isEmpty();
+        }
+    }
+
+    private static long labelMask(final String label) {
+        return 1L << (label.hashCode() & 63);
+    }
+
+    private static long labelMask(final Set<String> labels) {
+        long mask = 0L;
+        for (final String label : labels) {
+            mask = mask | labelMask(label);
+        }
+        return mask;
     }
 
     private final boolean isTail() {
-        return null == this.currentObject;
+        return null == this.previousPath;
     }
 
     @Override
@@ -65,15 +98,23 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         return this.isTail();
     }
 
+    /**
+     * Replaces the objects of this path in place, which is only safe for a path that no other traverser shares, such
+     * as one just read back from a {@link SpillFile}.
+     */
+    void replaceObjects(final UnaryOperator<Object> replacement) {
+        ImmutablePath section = this;
+        while (!section.isTail()) {
+            section.currentObject = replacement.apply(section.currentObject);
+            section.hashCode = 0;
+            section.objects = null;
+            section = section.previousPath;
+        }
+    }
+
     @Override
     public int size() {
-        int counter = 0;
-        ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail()) return counter;
-            counter++;
-            currentPath = currentPath.previousPath;
-        }
+        return this.size;
     }
 
     @Override
@@ -103,35 +144,50 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (labels.isEmpty())
             return this;
 
-        // get all the immutable path sections
+        // the sections before the first one that is unlabeled or may hold a retracted label are kept as they are
+        final long mask = labelMask(labels);
         final List<ImmutablePath> immutablePaths = new ArrayList<>();
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            immutablePaths.add(0, currentPath);
+        while (!currentPath.isTail() && (currentPath.unlabeled || 0L != (currentPath.labelMask & mask))) {
+            immutablePaths.add(currentPath);
             currentPath = currentPath.previousPath;
         }
-        // build a new immutable path using the respective path sections that are not to be retracted
-        Path newPath = TAIL_PATH;
-        for (final ImmutablePath immutablePath : immutablePaths) {
-            final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
-            temp.removeAll(labels);
-            if (!temp.isEmpty())
+        // build a new immutable path on top of the kept sections from those that are not to be retracted
+        boolean retracted = false;
+        Path newPath = currentPath;
+        for (int i = immutablePaths.size() - 1; i >= 0; i--) {
+            final ImmutablePath immutablePath = immutablePaths.get(i);
+            Set<String> temp = immutablePath.currentLabels;
+            if (0L != (labelMask(temp) & mask) && !Collections.disjoint(temp, labels)) {
+                temp = new LinkedHashSet<>(temp);
+                temp.removeAll(labels);
+                retracted = true;
+            }
+            if (temp.isEmpty())
+                retracted = true;
+            else
                 newPath = newPath.extend(immutablePath.currentObject, temp);
         }
-        return newPath;
+        return retracted ? newPath : this;
     }
 
     @Override
     public <A> A get(final int index) {
-        int counter = this.size();
+        if (index < 0 || index >= this.size)
+            return (A) this.objects().get(index);
         ImmutablePath currentPath = this;
-        while (true) {
-            if (index == --counter)
-                return (A) currentPath.currentObject;
+        for (int i = this.size - 1; i > index; i--) {
             currentPath = currentPath.previousPath;
         }
+        return (A) currentPath.currentObject;
+    }
+
+    @Override
+    public <A> A get(final String label) {
+        final List<Object> list = this.get(Pop.all, label);
+        if (list.isEmpty())
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        return (A) (1 == list.size() ? list.get(0) : list);
     }
 
     @Override
@@ -140,33 +196,31 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
             return this.get(label);
         } else if (Pop.all == pop) {
             // Recursively build the list to avoid building objects/labels collections.
+            final long mask = labelMask(label);
             final List<Object> list = new ArrayList<>();
             ImmutablePath currentPath = this;
-            while (true) {
-                if (currentPath.isTail())
-                    break;
-                else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+            while (0L != (currentPath.labelMask & mask)) {
+                if (currentPath.currentLabels.contains(label))
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
+            final long mask = labelMask(label);
             ImmutablePath currentPath = this;
-            while (true) {
-                if (currentPath.isTail())
-                    throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
-                else if (currentPath.currentLabels.contains(label))
+            while (0L != (currentPath.labelMask & mask)) {
+                if (currentPath.currentLabels.contains(label))
                     return (A) currentPath.currentObject;
-                else
-                    currentPath = currentPath.previousPath;
+                currentPath = currentPath.previousPath;
             }
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
         } else { // Pop.first
+            final long mask = labelMask(label);
             A found = null;
             ImmutablePath currentPath = this;
-            while (true) {
-                if (currentPath.isTail())
-                    break;
-                else if (currentPath.currentLabels.contains(label))
+            while (0L != (currentPath.labelMask & mask)) {
+                if (currentPath.currentLabels.contains(label))
                     found = (A) currentPath.currentObject;
                 currentPath = currentPath.previousPath;
             }
@@ -178,41 +232,42 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public boolean hasLabel(final String label) {
+        final long mask = labelMask(label);
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                return false;
-            else if (currentPath.currentLabels.contains(label))
+        while (0L != (currentPath.labelMask & mask)) {
+            if (currentPath.currentLabels.contains(label))
                 return true;
-            else
-                currentPath = currentPath.previousPath;
+            currentPath = currentPath.previousPath;
         }
+        return false;
     }
 
     @Override
     public List<Object> objects() {
-        final List<Object> objects = new ArrayList<>();
-        ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            objects.add(0, currentPath.currentObject);
-            currentPath = currentPath.previousPath;
+        if (null == this.objects) {
+            final Object[] objects = new Object[this.size];
+            ImmutablePath currentPath = this;
+            for (int i = this.size - 1; i >= 0; i--) {
+                objects[i] = currentPath.currentObject;
+                currentPath = currentPath.previousPath;
+            }
+            this.objects = Collections.unmodifiableList(Arrays.asList(objects));
         }
-        return Collections.unmodifiableList(objects);
+        return this.objects;
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labels = new ArrayList<>();
-        ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            labels.add(0, currentPath.currentLabels);
-            currentPath = currentPath.previousPath;
+        if (null == this.labels) {
+            final Set<String>[] labels = new Set[this.size];
+            ImmutablePath currentPath = this;
+            for (int i = this.size - 1; i >= 0; i--) {
+                labels[i] = currentPath.currentLabels;
+                currentPath = currentPath.previousPath;
+            }
+            this.labels = Collections.unmodifiableList(Arrays.asList(labels));
         }
-        return Collections.unmodifiableList(labels);
+        return this.labels;
     }
 
     @Override
@@ -222,32 +277,49 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public int hashCode() {
-        // hashCode algorithm from AbstractList
-        int[] hashCodes = new int[this.size()];
-        int index = hashCodes.length - 1;
-        ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            hashCodes[index] = currentPath.currentObject.hashCode();
-            currentPath = currentPath.previousPath;
-            index--;
-        }
-        int hashCode = 1;
-        for (final int hash : hashCodes) {
-            hashCode = hashCode * 31 + hash;
+        // hashCode algorithm from AbstractList, continued from the nearest section that already knows its hash code
+        if (0 == this.hashCode && !this.isTail()) {
+            final List<ImmutablePath> immutablePaths = new ArrayList<>();
+            ImmutablePath currentPath = this;
+            while (!currentPath.isTail() && 0 == currentPath.hashCode) {
+                immutablePaths.add(currentPath);
+                currentPath = currentPath.previousPath;
+            }
+            int hashCode = currentPath.isTail() ? 1 : currentPath.hashCode;
+            for (int i = immutablePaths.size() - 1; i >= 0; i--) {
+                final ImmutablePath immutablePath = immutablePaths.get(i);
+                hashCode = hashCode * 31 + immutablePath.currentObject.hashCode();
+                immutablePath.hashCode = hashCode;
+            }
         }
-        return hashCode;
+        return this.isTail() ? 1 : this.hashCode;
     }
 
     @Override
     public boolean equals(final Object other) {
+        if (this == other)
+            return true;
         if (!(other instanceof Path))
             return false;
         final Path otherPath = (Path) other;
         int size = this.size();
         if (otherPath.size() != size)
             return false;
+        if (otherPath instanceof ImmutablePath) {
+            // sections shared by both paths are equal
+            ImmutablePath currentPath = this;
+            ImmutablePath otherCurrentPath = (ImmutablePath) otherPath;
+            while (currentPath != otherCurrentPath && !currentPath.isTail()) {
+                if (0 != currentPath.hashCode && 0 != otherCurrentPath.hashCode && currentPath.hashCode != otherCurrentPath.hashCode)
+                    return false;
+                if (!currentPath.currentObject.equals(otherCurrentPath.currentObject) ||
+                        !currentPath.currentLabels.equals(otherCurrentPath.currentLabels))
+                    return false;
+                currentPath = currentPath.previousPath;
+                otherCurrentPath = otherCurrentPath.previousPath;
+            }
+            return true;
+        }
         if (size > 0) {
             ImmutablePath currentPath = this;
             final List<Object> otherObjects = otherPath.objects();
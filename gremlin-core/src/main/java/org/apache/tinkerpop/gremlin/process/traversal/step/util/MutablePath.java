@@ -28,6 +28,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -70,6 +71,13 @@ public class MutablePath implements Path, Serializable {
         return this.objects.isEmpty();
     }
 
+    /**
+     * Replaces the objects of this path in place, such as those of a path just read back from a {@link SpillFile}.
+     */
+    void replaceObjects(final UnaryOperator<Object> replacement) {
+        this.objects.replaceAll(replacement);
+    }
+
     @Override
     public <A> A head() {
         return (A) this.objects.get(this.objects.size() - 1);
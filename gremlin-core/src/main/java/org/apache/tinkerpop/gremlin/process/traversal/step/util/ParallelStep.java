@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BinaryOperator;
+
+/**
+ * Runs its global child, which ends with a {@link Barrier}, on several threads at once. The starts are handed out in
+ * batches to clones of the child that run on a {@code ForkJoinPool} shared by all traversals of the JVM, each clone draining the barrier after every
+ * batch and reducing what it drained with the reducer of the {@link Barrier#getMemoryComputeKey()}. The reduced
+ * barriers of the clones are reduced once more and added to the barrier of the child itself, which then yields the
+ * traversers just as a serial run would, save that the order in which traversers reached the barrier is not kept.
+ * As on a {@code GraphComputer}, barriers hand out detached graph elements which are attached to the graph of the
+ * traversal again as they leave this step. The pool has as many threads as there are available processors, so
+ * further workers only wait for a thread, and the work still queued or running is halted when the step is reset or
+ * closed.
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("gremlin-parallel-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
+    private Traversal.Admin<S, E> parallelTraversal;
+    private final int workers;
+    private final int batchSize;
+    private boolean merged = false;
+    private volatile AtomicBoolean halted = null;
+    private volatile List<ForkJoinTask<Object>> tasks = null;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> parallelTraversal, final int workers, final int batchSize) {
+        super(traversal);
+        if (!(parallelTraversal.getEndStep() instanceof Barrier))
+            throw new IllegalArgumentException("The parallel traversal must end with a barrier: " + parallelTraversal);
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero: " + workers);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+        this.parallelTraversal = this.integrateChild(parallelTraversal);
+        this.workers = workers;
+        this.batchSize = batchSize;
+    }
+
+    public int getWorkers() {
+        return this.workers;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.parallelTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (!this.merged) {
+            this.merged = true;
+            this.merge();
+        }
+        if (!this.parallelTraversal.hasNext())
+            throw FastNoSuchElementException.instance();
+        final Traverser.Admin<E> traverser = this.parallelTraversal.nextTraverser();
+        final Graph graph = this.getTraversal().getGraph().orElse(null);
+        if (null != graph)
+            traverser.attach(Attachable.Method.get(graph));
+        return traverser;
+    }
+
+    private void merge() {
+        final Barrier<Object> barrier = (Barrier<Object>) this.parallelTraversal.getEndStep();
+        final BinaryOperator<Object> reducer = barrier.getMemoryComputeKey().getReducer();
+        final AtomicBoolean halted = new AtomicBoolean(false);
+        final List<ForkJoinTask<Object>> tasks = Collections.synchronizedList(new ArrayList<>(this.workers));
+        this.halted = halted;
+        this.tasks = tasks;
+        try {
+            for (int i = 0; i < this.workers && !halted.get(); i++) {
+                final Traversal.Admin<S, E> clone = this.parallelTraversal.clone();
+                tasks.add(POOL.submit(() -> this.work(clone, reducer, halted)));
+            }
+            Object result = null;
+            for (final ForkJoinTask<Object> task : new ArrayList<>(tasks)) {
+                final Object barrierResult = task.get();
+                if (null != barrierResult)
+                    result = null == result ? barrierResult : reducer.apply(result, barrierResult);
+            }
+            if (null != result)
+                barrier.addBarrier(result);
+        } catch (final InterruptedException | CancellationException e) {
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            else if (cause instanceof Error)
+                throw (Error) cause;
+            else
+                throw new IllegalStateException(cause.getMessage(), cause);
+        } finally {
+            this.halt();
+        }
+    }
+
+    /**
+     * Stops the workers from taking further batches and cancels those that have not started yet.
+     */
+    private void halt() {
+        final AtomicBoolean halted = this.halted;
+        final List<ForkJoinTask<Object>> tasks = this.tasks;
+        if (null != halted) {
+            halted.set(true);
+            tasks.forEach(task -> task.cancel(false));
+        }
+        this.halted = null;
+        this.tasks = null;
+    }
+
+    private Object work(final Traversal.Admin<S, E> clone, final BinaryOperator<Object> reducer, final AtomicBoolean halted) {
+        final Barrier<Object> barrier = (Barrier<Object>) clone.getEndStep();
+        final List<Traverser.Admin<S>> batch = new ArrayList<>(this.batchSize);
+        Object result = null;
+        while (!halted.get() && this.nextBatch(batch)) {
+            for (final Traverser.Admin<S> traverser : batch) {
+                clone.addStart(traverser);
+            }
+            batch.clear();
+            while (barrier.hasNextBarrier()) {
+                final Object barrierResult = barrier.nextBarrier();
+                result = null == result ? barrierResult : reducer.apply(result, barrierResult);
+            }
+        }
+        return result;
+    }
+
+    private synchronized boolean nextBatch(final List<Traverser.Admin<S>> batch) {
+        while (batch.size() < this.batchSize && this.starts.hasNext()) {
+            batch.add(this.starts.next());
+        }
+        return !batch.isEmpty();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.halt();
+        this.merged = false;
+        this.parallelTraversal.reset();
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.parallelTraversal = this.parallelTraversal.clone();
+        clone.merged = false;
+        clone.halted = null;
+        clone.tasks = null;
+        return clone;
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.halt();
+        TraversalParent.super.close();
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.parallelTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.workers, this.batchSize, this.parallelTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.parallelTraversal.hashCode() ^ Integer.rotateLeft(this.workers, 16) ^ this.batchSize;
+    }
+}
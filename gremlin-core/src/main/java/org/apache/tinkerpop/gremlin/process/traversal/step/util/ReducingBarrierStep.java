@@ -81,7 +81,15 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         this.hasProcessedOnce = true;
         if (this.seed == null) this.seed = this.seedSupplier.get();
         while (this.starts.hasNext())
-            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+            this.seed = this.reduce(this.seed, this.starts.next());
+    }
+
+    /**
+     * Reduces the projection of a traverser into the seed. Steps may override this to hold part of the seed
+     * elsewhere while the starts are processed.
+     */
+    protected E reduce(final E seed, final Traverser.Admin<S> traverser) {
+        return this.reducingBiOperator.apply(seed, this.projectTraverser(traverser));
     }
 
     @Override
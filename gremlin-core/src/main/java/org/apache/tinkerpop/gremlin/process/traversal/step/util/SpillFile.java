@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A temporary file of objects written with Gryo by a {@link Spilling} step. The objects are read back once in the
+ * order they were written and the file is deleted as soon as they have all been read, or when the file or the
+ * iterator reading it is closed. Graph elements are written detached and are attached to the graph of the traversal
+ * again when they are read, including those in the path of a traverser.
+ */
+public final class SpillFile implements AutoCloseable {
+
+    /**
+     * The number of files over which steps that spill by hash partition their objects.
+     */
+    public static final int PARTITIONS = 16;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final File file;
+    private final Kryo kryo;
+    private Output output;
+    private long count = 0L;
+    private boolean read = false;
+
+    public SpillFile(final File directory, final Kryo kryo) {
+        this.kryo = kryo;
+        try {
+            this.file = File.createTempFile("gremlin-spill-", ".kryo", directory);
+            this.output = new Output(new FileOutputStream(this.file), BUFFER_SIZE);
+        } catch (final IOException ioe) {
+            throw new IllegalStateException("Could not create a spill file in " + directory, ioe);
+        }
+    }
+
+    public void write(final Object object) {
+        if (null == this.output)
+            throw new IllegalStateException("The spill file has already been finished: " + this.file);
+        this.kryo.writeClassAndObject(this.output, object);
+        this.count++;
+    }
+
+    public long count() {
+        return this.count;
+    }
+
+    /**
+     * Completes the writing of the file and returns its size in bytes.
+     */
+    public long finish() {
+        if (null != this.output) {
+            this.output.close();
+            this.output = null;
+        }
+        return this.file.length();
+    }
+
+    /**
+     * Reads the objects of the file in the order they were written, finishing the file first if needed. The file is
+     * deleted once the iterator is drained or closed, so it can only be read once.
+     */
+    public <T> CloseableIterator<T> read() {
+        if (this.read)
+            throw new IllegalStateException("The spill file has already been read: " + this.file);
+        this.finish();
+        this.read = true;
+        final Input input;
+        try {
+            input = new Input(new FileInputStream(this.file), BUFFER_SIZE);
+        } catch (final IOException ioe) {
+            throw new IllegalStateException("Could not read the spill file " + this.file, ioe);
+        }
+        return new CloseableIterator<T>() {
+            private long remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                if (0 == this.remaining) this.close();
+                return this.remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                this.remaining--;
+                return (T) kryo.readClassAndObject(input);
+            }
+
+            @Override
+            public void close() {
+                this.remaining = 0;
+                input.close();
+                file.delete();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (null != this.output) {
+            this.output.close();
+            this.output = null;
+        }
+        this.file.delete();
+    }
+
+    ////////////////
+
+    /**
+     * Gets the hash partition of an object, which is the same for an element and its detached form.
+     */
+    public static int partition(final Object object) {
+        return null == object ? 0 : Math.floorMod(object.hashCode(), PARTITIONS);
+    }
+
+    /**
+     * Creates the {@code Kryo} instance for the spill files of a step using the registrations of the graph of the
+     * traversal so that its identifiers and custom types can be written. Classes that are not registered are written
+     * with their names rather than rejected as the files are only read back by the same process.
+     */
+    public static Kryo createKryo(final Traversal.Admin<?, ?> traversal) {
+        return traversal.getGraph()
+                .map(graph -> graph.io(IoCore.gryo()).mapper())
+                .orElseGet(GryoMapper::build)
+                .registrationRequired(false)
+                .create()
+                .createMapper();
+    }
+
+    /**
+     * Attaches the graph elements of an object read from a spill file to the graph of the traversal along with the
+     * side-effects of traversers. Elements directly held in traversers and their paths, {@link TraverserSet},
+     * {@link BulkSet} and {@code List} objects are attached while others remain detached.
+     */
+    public static <T> T attach(final T object, final Traversal.Admin<?, ?> traversal) {
+        final Graph graph = traversal.getGraph().orElse(null);
+        if (object instanceof Traverser.Admin) {
+            final Traverser.Admin traverser = (Traverser.Admin) object;
+            traverser.setSideEffects(traversal.getSideEffects());
+            if (null != graph) {
+                traverser.attach(Attachable.Method.get(graph));
+                // the path was read back along with the traverser so no other traverser shares it
+                final Path path = traverser.path();
+                if (path instanceof ImmutablePath)
+                    ((ImmutablePath) path).replaceObjects(item -> attach(item, traversal));
+                else if (path instanceof MutablePath)
+                    ((MutablePath) path).replaceObjects(item -> attach(item, traversal));
+            }
+            return object;
+        } else if (null == graph) {
+            return object;
+        } else if (object instanceof Attachable) {
+            return (T) ((Attachable) object).attach(Attachable.Method.get(graph));
+        } else if (object instanceof TraverserSet) {
+            ((TraverserSet<?>) object).forEach(traverser -> attach(traverser, traversal));
+            return object;
+        } else if (object instanceof BulkSet) {
+            final BulkSet<Object> attached = new BulkSet<>();
+            ((BulkSet<Object>) object).forEach((item, bulk) -> attached.add(attach(item, traversal), bulk));
+            return (T) attached;
+        } else if (object instanceof List) {
+            final List<Object> attached = new ArrayList<>(((List) object).size());
+            for (final Object item : (List<Object>) object) {
+                attached.add(attach(item, traversal));
+            }
+            return (T) attached;
+        }
+        return object;
+    }
+}
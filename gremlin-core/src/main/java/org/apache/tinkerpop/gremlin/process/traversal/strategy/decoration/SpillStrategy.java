@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code SpillStrategy} lets the {@link Spilling} steps of a standard (OLTP) traversal, which are
+ * {@code order()}, {@code dedup()} and {@code group()}, write what they hold to temporary files once they hold more
+ * than a threshold of objects rather than keep everything in memory. The number of bytes a step spilled is shown in
+ * the {@code spilledBytes} annotation of its metrics when the traversal is profiled. The strategy does nothing on a
+ * {@code GraphComputer} where barriers are held in the memory of the computer.
+ * <p/>
+ * A {@code dedup()} that spills stops streaming and emits the traversers that follow the spill only once its input is
+ * exhausted, grouped by hash partition rather than in the order in which they arrived. It therefore only spills when
+ * the {@code dedup} option is set.
+ * <p/>
+ * The files are written to the directory given by the {@code gremlin.spill.directory} setting in the configuration of
+ * the {@link Graph}, or to the {@code java.io.tmpdir} directory if it is not set. The directory is deliberately not an
+ * option of the strategy so that a client submitting a traversal to a server cannot choose where the server writes.
+ *
+ * @example <pre>
+ * g.withStrategies(SpillStrategy.build().threshold(100000).create()).V().order().by("name")
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy> implements TraversalStrategy.DecorationStrategy {
+
+    /**
+     * The key in the configuration of the {@link Graph} that holds the directory to write spill files to.
+     */
+    public static final String GREMLIN_SPILL_DIRECTORY = "gremlin.spill.directory";
+
+    private final int threshold;
+    private final boolean dedup;
+
+    private SpillStrategy(final int threshold, final boolean dedup) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be greater than zero: " + threshold);
+        this.threshold = threshold;
+        this.dedup = dedup;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final List<Spilling> steps = TraversalHelper.getStepsOfAssignableClass(Spilling.class, traversal);
+        if (steps.isEmpty())
+            return;
+
+        final File directory = traversal.getGraph()
+                .filter(graph -> !(graph instanceof EmptyGraph))
+                .map(graph -> graph.configuration().getString(GREMLIN_SPILL_DIRECTORY, null))
+                .map(File::new)
+                .orElse(null);
+        for (final Spilling step : steps) {
+            if (this.dedup || !(step instanceof DedupGlobalStep))
+                step.setSpill(this.threshold, directory);
+        }
+    }
+
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    public boolean isDedup() {
+        return this.dedup;
+    }
+
+    public static final String THRESHOLD = "threshold";
+    public static final String DEDUP = "dedup";
+
+    public static SpillStrategy create(final Configuration configuration) {
+        final Builder builder = SpillStrategy.build();
+        if (configuration.containsKey(THRESHOLD))
+            builder.threshold(configuration.getInt(THRESHOLD));
+        if (configuration.containsKey(DEDUP))
+            builder.dedup(configuration.getBoolean(DEDUP));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, SpillStrategy.class.getCanonicalName());
+        map.put(THRESHOLD, this.threshold);
+        map.put(DEDUP, this.dedup);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int threshold = 1000000;
+        private boolean dedup = false;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of objects a step holds in memory before it spills them, which defaults to one million.
+         */
+        public Builder threshold(final int threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * Lets {@code dedup()} spill as well, which changes the order of its output once it does. Defaults to
+         * {@code false}.
+         */
+        public Builder dedup(final boolean dedup) {
+            this.dedup = dedup;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this.threshold, this.dedup);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TailGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SupplyingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code ParallelStrategy} runs the start of a read-only standard (OLTP) traversal on several threads. The steps that
+ * follow the start {@code V()} or {@code E()} up to and including the first barrier, such as {@code groupCount()},
+ * {@code count()}, {@code order()} or {@code dedup()}, are wrapped in a {@link ParallelStep} which hands out the
+ * start elements in batches to clones of those steps and merges their barriers with the reducers the barriers
+ * already use on a {@code GraphComputer}. The steps after the barrier run on the calling thread as usual.
+ * <p/>
+ * The strategy leaves a traversal alone if it mutates the graph, is profiled, or if the steps before the barrier
+ * write side-effects, hold lambdas or filter by position in the stream, as {@code limit()} and {@code tail()} do.
+ * Elements are read from the worker threads, so the graph must allow reads from threads other than the one that
+ * started the traversal, as {@code TinkerGraph} does. As on a {@code GraphComputer}, the order in which traversers
+ * reach the barrier is not kept, so {@code fold()} and the like may see them in a different order than a serial run
+ * and the paths of traversers leaving the barrier hold detached elements.
+ * <p/>
+ * The workers requested by the strategy are capped by the {@link #GREMLIN_PARALLEL_MAX_WORKERS} setting in the
+ * configuration of the {@link Graph}, which defaults to the number of available processors, so that a remote client
+ * can not have its traversals cloned without bound. The workers of all traversals run on one pool of as many threads
+ * as there are available processors.
+ *
+ * @example <pre>
+ * g.withStrategies(ParallelStrategy.build().workers(8).create()).V().has("age", gt(30)).out().groupCount()
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    /**
+     * The key in the configuration of the {@link Graph} that holds the greatest number of workers a traversal may use.
+     */
+    public static final String GREMLIN_PARALLEL_MAX_WORKERS = "gremlin.parallel.maxWorkers";
+
+    private final int workers;
+    private final int batchSize;
+
+    private ParallelStrategy(final int workers, final int batchSize) {
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero: " + workers);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+        this.workers = workers;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        final int workers = Math.min(this.workers, maxWorkers(traversal));
+        if (workers < 2 || !(traversal.getParent() instanceof EmptyStep) || TraversalHelper.onGraphComputer(traversal) ||
+                !(traversal.getStartStep() instanceof GraphStep) ||
+                TraversalHelper.anyStepRecursively(step -> step instanceof Mutating || step instanceof ProfileSideEffectStep, traversal))
+            return;
+
+        final Step<?, ?> graphStep = traversal.getStartStep();
+        Step<?, ?> barrier = graphStep.getNextStep();
+        while (!(barrier instanceof EmptyStep)) {
+            if (!isParallel(barrier))
+                return;
+            if (barrier instanceof Barrier && !(barrier instanceof LocalBarrier))
+                break;
+            barrier = barrier.getNextStep();
+        }
+        if (barrier instanceof EmptyStep || barrier instanceof SupplyingBarrierStep)
+            return;
+
+        final Traversal.Admin<?, ?> parallelTraversal = new DefaultTraversal<>();
+        TraversalHelper.removeToTraversal(graphStep.getNextStep(), barrier.getNextStep(), (Traversal.Admin) parallelTraversal);
+        TraversalHelper.insertAfterStep(new ParallelStep<>(traversal, (Traversal.Admin) parallelTraversal, workers, this.batchSize), (Step) graphStep, traversal);
+    }
+
+    private static int maxWorkers(final Traversal.Admin<?, ?> traversal) {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        return traversal.getGraph()
+                .filter(graph -> !(graph instanceof EmptyGraph))
+                .map(graph -> graph.configuration().getInt(GREMLIN_PARALLEL_MAX_WORKERS, processors))
+                .orElse(processors);
+    }
+
+    /**
+     * Steps which see the traversers of the whole stream or which may share state between the clones can not be
+     * split across threads.
+     */
+    private static boolean isParallel(final Step<?, ?> step) {
+        return !(step instanceof Ranging || step instanceof TailGlobalStep || isUnsafe(step)) &&
+                !(step instanceof TraversalParent && TraversalHelper.anyStepRecursively(ParallelStrategy::isUnsafe, (TraversalParent) step));
+    }
+
+    private static boolean isUnsafe(final Step<?, ?> step) {
+        return step instanceof SideEffectCapable || step instanceof LambdaHolder;
+    }
+
+    public int getWorkers() {
+        return this.workers;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public static final String WORKERS = "workers";
+    public static final String BATCH_SIZE = "batchSize";
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        final Builder builder = ParallelStrategy.build();
+        if (configuration.containsKey(WORKERS))
+            builder.workers(configuration.getInt(WORKERS));
+        if (configuration.containsKey(BATCH_SIZE))
+            builder.batchSize(configuration.getInt(BATCH_SIZE));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, ParallelStrategy.class.getCanonicalName());
+        map.put(WORKERS, this.workers);
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int workers = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 1000;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of threads to run the traversal on, which defaults to the number of available processors and is
+         * capped by the {@code gremlin.parallel.maxWorkers} setting of the graph.
+         */
+        public Builder workers(final int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * The number of start traversers a worker takes at a time, which defaults to one thousand.
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.workers, this.batchSize);
+        }
+    }
+}
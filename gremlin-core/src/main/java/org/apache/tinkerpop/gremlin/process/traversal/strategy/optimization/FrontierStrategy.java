@@ -0,0 +1,142 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TrueTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.CoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TailGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LoopsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SupplyingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code FrontierStrategy} puts the {@code repeat()} steps of a standard (OLTP) traversal into a
+ * {@link RepeatStep.Frontier} mode where all the traversers of a loop depth are gathered into a frontier before the
+ * next depth is taken. Equal traversers of a frontier are merged into one. If the {@code repeat()} is followed by a
+ * {@code dedup()}, only the distinct traversers of a frontier are kept, and if it also emits every object it reaches
+ * and depends on nothing but the current object, objects found at an earlier depth are not looped again. The strategy
+ * leaves a loop alone if its steps write side-effects, mutate the graph or filter by position in the stream, and a
+ * loop with neither a {@code dedup()} after it nor a barrier to consume all of it is left to loop lazily. Only a
+ * {@code times()} loop that emits is bulked ahead of a barrier, so an {@code until()} loop only loops in frontiers
+ * when it can skip objects seen before, which ends even on a graph with cycles. The sizes
+ * of the frontiers are shown in the {@code frontierSizes} annotation of the metrics of a profiled {@code repeat()}.
+ *
+ * @example <pre>
+ * g.withStrategies(FrontierStrategy.instance()).V(1).repeat(out()).times(6).dedup()   // DISTINCT frontiers
+ * g.withStrategies(FrontierStrategy.instance()).V(1).repeat(out()).emit().dedup()     // VISITED frontiers
+ * g.withStrategies(FrontierStrategy.instance()).V().repeat(out()).emit().times(4).count() // BULKED frontiers
+ * </pre>
+ */
+public final class FrontierStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final FrontierStrategy INSTANCE = new FrontierStrategy();
+    private static final Set<Class<? extends OptimizationStrategy>> POSTS = Collections.singleton(RepeatUnrollStrategy.class);
+    private static final Set<Class> INVALIDATING_STEPS = new HashSet<>(Arrays.asList(SideEffectCapable.class, Mutating.class, Ranging.class, TailGlobalStep.class));
+    private static final Set<Class> OBJECT_DEPENDENT_STEPS = new HashSet<>(Arrays.asList(LambdaHolder.class, LoopsStep.class, CoinStep.class));
+    private static final Set<Class> CONSUMING_BARRIERS = new HashSet<>(Arrays.asList(ReducingBarrierStep.class, CollectingBarrierStep.class, SupplyingBarrierStep.class, TailGlobalStep.class));
+
+    private FrontierStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final RepeatStep<?> repeatStep : TraversalHelper.getStepsOfClass(RepeatStep.class, traversal)) {
+            if (null != repeatStep.getFrontier() || null == repeatStep.getRepeatTraversal())
+                continue;
+            final List<Traversal.Admin<?, ?>> children = getChildren(repeatStep);
+            if (children.stream().anyMatch(child -> TraversalHelper.hasStepOfAssignableClassRecursively(INVALIDATING_STEPS, child)))
+                continue;
+
+            final boolean bounded = repeatStep.getUntilTraversal() instanceof LoopTraversal;
+            if (isDistinct(repeatStep, traversal)) {
+                if (repeatStep.getEmitTraversal() instanceof TrueTraversal &&
+                        children.stream().noneMatch(child -> TraversalHelper.hasStepOfAssignableClassRecursively(OBJECT_DEPENDENT_STEPS, child)))
+                    repeatStep.setFrontier(RepeatStep.Frontier.VISITED);
+                else if (bounded)
+                    repeatStep.setFrontier(RepeatStep.Frontier.DISTINCT);
+            } else if (bounded && null != repeatStep.getEmitTraversal() && isConsumed(repeatStep)) {
+                // a fixed number of times() without an emit() is better served by RepeatUnrollStrategy and an until()
+                // loop may never end
+                repeatStep.setFrontier(RepeatStep.Frontier.BULKED);
+            }
+        }
+    }
+
+    private static List<Traversal.Admin<?, ?>> getChildren(final RepeatStep<?> repeatStep) {
+        final List<Traversal.Admin<?, ?>> children = (List) repeatStep.getLocalChildren();
+        children.add(repeatStep.getRepeatTraversal());
+        return children;
+    }
+
+    /**
+     * A {@code repeat()} that is followed by a plain {@code dedup()} only needs its distinct results, as long as no
+     * path or sack tells apart the traversers that reach the same object.
+     */
+    private static boolean isDistinct(final RepeatStep<?> repeatStep, final Traversal.Admin<?, ?> traversal) {
+        final Step<?, ?> nextStep = repeatStep.getNextStep();
+        if (!(nextStep instanceof DedupGlobalStep) ||
+                !((DedupGlobalStep<?>) nextStep).getLocalChildren().isEmpty() ||
+                !((DedupGlobalStep<?>) nextStep).getScopeKeys().isEmpty())
+            return false;
+        final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(traversal).getTraverserRequirements();
+        return !requirements.contains(TraverserRequirement.PATH) &&
+                !requirements.contains(TraverserRequirement.LABELED_PATH) &&
+                !requirements.contains(TraverserRequirement.SACK);
+    }
+
+    /**
+     * A {@code repeat()} whose results are all consumed by the next step loses no laziness by looping in frontiers.
+     */
+    private static boolean isConsumed(final RepeatStep<?> repeatStep) {
+        final Step<?, ?> nextStep = repeatStep.getNextStep();
+        return CONSUMING_BARRIERS.stream().anyMatch(c -> c.isAssignableFrom(nextStep.getClass()));
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static FrontierStrategy instance() {
+        return INSTANCE;
+    }
+}
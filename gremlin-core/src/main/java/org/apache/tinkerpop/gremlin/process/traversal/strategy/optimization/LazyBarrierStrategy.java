@@ -18,6 +18,9 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
 
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
@@ -36,16 +39,28 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequire
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
+ * {@code LazyBarrierStrategy} inserts a {@link NoOpBarrierStep} after flat-map steps that follow other flat-map steps
+ * so that the traversers they produce can be bulked. By default the barriers hold a fixed number of traversers and
+ * none are inserted where the traversers carry labeled objects or their full path. A configured strategy can insert
+ * adaptive barriers whose window grows and shrinks with the bulking they observe and can be path-aware, inserting
+ * barriers where traversers carry paths as well, which are then only merged when their paths are equal.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
+ * @example <pre>
+ * __.out().out().out()                                                  // is __.out().out().barrier(2500).out()
+ * LazyBarrierStrategy.build().adaptive(10, 10000).pathAware(true).create() // uses barrier(10, 10000) also after as()
+ * </pre>
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
     private final boolean IS_TESTING = Boolean.valueOf(System.getProperty("is.testing", "false"));
-    private static final LazyBarrierStrategy INSTANCE = new LazyBarrierStrategy();
+    private static final LazyBarrierStrategy INSTANCE = new LazyBarrierStrategy(LazyBarrierStrategy.MAX_BARRIER_SIZE, LazyBarrierStrategy.MAX_BARRIER_SIZE, false);
     private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
             CountStrategy.class,
             PathRetractionStrategy.class,
@@ -58,13 +73,22 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
     private static final int BIG_START_SIZE = 5;
     protected static final int MAX_BARRIER_SIZE = 2500;
 
-    private LazyBarrierStrategy() {
+    private final int minBarrierSize;
+    private final int maxBarrierSize;
+    private final boolean pathAware;
+
+    private LazyBarrierStrategy(final int minBarrierSize, final int maxBarrierSize, final boolean pathAware) {
+        if (minBarrierSize < 1 || minBarrierSize > maxBarrierSize)
+            throw new IllegalArgumentException(String.format("The barrier sizes must satisfy 0 < min <= max: %s, %s", minBarrierSize, maxBarrierSize));
+        this.minBarrierSize = minBarrierSize;
+        this.maxBarrierSize = maxBarrierSize;
+        this.pathAware = pathAware;
     }
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
         if (TraversalHelper.onGraphComputer(traversal) ||
-                traversal.getTraverserRequirements().contains(TraverserRequirement.PATH) ||
+                (!this.pathAware && traversal.getTraverserRequirements().contains(TraverserRequirement.PATH)) ||
                 (IS_TESTING && ((TraversalHelper.hasStepOfAssignableClass(ProfileStep.class, TraversalHelper.getRootTraversal(traversal)) ||
                         TraversalHelper.hasStepOfAssignableClass(ProfileSideEffectStep.class, TraversalHelper.getRootTraversal(traversal)))))) // necessary cause ProfileTest analyzes counts
             return;
@@ -84,10 +108,10 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                     (step instanceof GraphStep &&
                             (i > 0 || ((GraphStep) step).getIds().length >= BIG_START_SIZE ||
                                     (((GraphStep) step).getIds().length == 0 && !(step.getNextStep() instanceof HasStep))))) {
-                if (foundFlatMap && !labeledPath &&
+                if (foundFlatMap && (!labeledPath || this.pathAware) &&
                         !(step.getNextStep() instanceof Barrier) &&
                         !(step.getNextStep() instanceof EmptyStep)) {
-                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE);
+                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, this.minBarrierSize, this.maxBarrierSize);
                     TraversalHelper.copyLabels(step, noOpBarrierStep, true);
                     TraversalHelper.insertAfterStep(noOpBarrierStep, step, traversal);
                 } else
@@ -105,7 +129,88 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
         return PRIORS;
     }
 
+    public int getMinBarrierSize() {
+        return this.minBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    public boolean isPathAware() {
+        return this.pathAware;
+    }
+
     public static LazyBarrierStrategy instance() {
         return INSTANCE;
     }
+
+    public static final String MIN_SIZE = "minBarrierSize";
+    public static final String MAX_SIZE = "maxBarrierSize";
+    public static final String PATH_AWARE = "pathAware";
+
+    public static LazyBarrierStrategy create(final Configuration configuration) {
+        final int maxBarrierSize = configuration.getInt(MAX_SIZE, LazyBarrierStrategy.MAX_BARRIER_SIZE);
+        return new LazyBarrierStrategy(
+                configuration.getInt(MIN_SIZE, maxBarrierSize),
+                maxBarrierSize,
+                configuration.getBoolean(PATH_AWARE, false));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        if (this == INSTANCE)
+            return new BaseConfiguration();
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, LazyBarrierStrategy.class.getCanonicalName());
+        map.put(MIN_SIZE, this.minBarrierSize);
+        map.put(MAX_SIZE, this.maxBarrierSize);
+        map.put(PATH_AWARE, this.pathAware);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int minBarrierSize = LazyBarrierStrategy.MAX_BARRIER_SIZE;
+        private int maxBarrierSize = LazyBarrierStrategy.MAX_BARRIER_SIZE;
+        private boolean pathAware = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Inserts barriers that hold a fixed number of traversers.
+         */
+        public Builder barrierSize(final int barrierSize) {
+            this.minBarrierSize = barrierSize;
+            this.maxBarrierSize = barrierSize;
+            return this;
+        }
+
+        /**
+         * Inserts barriers whose window adapts between the two sizes to the bulking they observe.
+         */
+        public Builder adaptive(final int minBarrierSize, final int maxBarrierSize) {
+            this.minBarrierSize = minBarrierSize;
+            this.maxBarrierSize = maxBarrierSize;
+            return this;
+        }
+
+        /**
+         * Inserts barriers where traversers carry labeled objects or their full path, which are then only merged when
+         * their paths are equal.
+         */
+        public Builder pathAware(final boolean pathAware) {
+            this.pathAware = pathAware;
+            return this;
+        }
+
+        public LazyBarrierStrategy create() {
+            return new LazyBarrierStrategy(this.minBarrierSize, this.maxBarrierSize, this.pathAware);
+        }
+    }
 }
@@ -40,7 +40,15 @@ import java.util.List;
 import java.util.Set;
 
 /**
+ * {@code OrderLimitStrategy} passes the high range of a {@link RangeGlobalStep} that follows an
+ * {@link OrderGlobalStep} to the order so that it only needs to hold that many traversers. On a
+ * {@code GraphComputer} each worker keeps only that many traversers for the master and in standard execution they
+ * are kept in a bounded heap rather than collecting and sorting every traverser.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
+ * @example <pre>
+ * __.order().by("score", decr).limit(10)   // order holds at most 10 traversers
+ * </pre>
  */
 public final class OrderLimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
@@ -60,9 +68,6 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (!TraversalHelper.onGraphComputer(traversal))
-            return;
-
         final List<OrderGlobalStep> orders = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal);
         for (final OrderGlobalStep order : orders) {
             RangeGlobalStep range = null;
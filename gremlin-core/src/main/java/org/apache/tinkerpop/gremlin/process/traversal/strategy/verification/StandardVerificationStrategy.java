@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.strategy.verification;
 
 import org.apache.tinkerpop.gremlin.process.computer.traversal.step.VertexComputing;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.ShortestPathVertexProgramStep;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.finalization.ComputerFinalizationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
@@ -26,6 +27,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectCapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.RequirementsStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
@@ -34,7 +36,9 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -50,8 +54,14 @@ public final class StandardVerificationStrategy extends AbstractTraversalStrateg
     public void apply(final Traversal.Admin<?, ?> traversal) {
         if (!traversal.getStrategies().toList().contains(ComputerFinalizationStrategy.instance()) &&
                 !traversal.getStrategies().toList().contains(ComputerVerificationStrategy.instance())) {
-            if (!TraversalHelper.getStepsOfAssignableClass(VertexComputing.class, traversal).isEmpty())
-                throw new VerificationException("VertexComputing steps must be executed with a GraphComputer: " + TraversalHelper.getStepsOfAssignableClass(VertexComputing.class, traversal), traversal);
+            // only a shortestPath() that follows other steps falls back to the default GraphComputer of the graph, so
+            // that a missing withComputer() on any other VertexComputing step is still reported rather than run
+            final List<VertexComputing> steps = TraversalHelper.getStepsOfAssignableClass(VertexComputing.class, traversal).stream()
+                    .filter(step -> !(step instanceof ShortestPathVertexProgramStep) ||
+                            ((ShortestPathVertexProgramStep) step).getPreviousStep() instanceof EmptyStep)
+                    .collect(Collectors.toList());
+            if (!steps.isEmpty())
+                throw new VerificationException("VertexComputing steps must be executed with a GraphComputer: " + steps, traversal);
         }
 
         for (final Step<?, ?> step : traversal.getSteps()) {
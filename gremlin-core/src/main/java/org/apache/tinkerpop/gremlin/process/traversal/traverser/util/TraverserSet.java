@@ -20,76 +20,104 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * An insertion-ordered set of traversers in which an added traverser that is equal to a held one is merged into it.
+ * <p/>
+ * Traversers are held in insertion order in parallel columns of traversers, their hash codes and their bulks, and
+ * are found through an open-addressing table of column indices with linear probing. Removing a traverser leaves an
+ * empty slot in the columns that is skipped by iteration and reclaimed when the columns are compacted, so popping the
+ * head of the set only moves a cursor. The bulk of each traverser is recorded when it is added or merged into so that
+ * {@link #bulkSize()} is a running total, which assumes that the bulk of a held traverser is only changed by adding
+ * an equal traverser to the set.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private transient Traverser.Admin<S>[] traversers = null;
+    private transient int[] hashes = null;
+    private transient long[] bulks = null;
+    /**
+     * The open-addressing table that holds the index of a traverser in the columns plus one, where zero is free.
+     */
+    private transient int[] table = null;
+    private transient int head = 0;
+    private transient int tail = 0;
+    private transient int size = 0;
+    private transient long bulkSize = 0L;
+    private transient int modCount = 0;
 
     public TraverserSet() {
 
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserSetIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int index = this.indexOf(traverser);
+        return -1 == index ? null : this.traversers[index];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
-        long bulk = 0L;
-        for (final Traverser.Admin<S> traverser : this.map.values()) {
-            bulk = bulk + traverser.bulk();
-        }
-        return bulk;
+        return this.bulkSize;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return -1 != this.indexOf(traverser);
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
+        final int hash = hash(traverser);
+        final int index = this.indexOf(traverser, hash);
+        if (-1 == index) {
+            this.insert(traverser, hash);
             return true;
         } else {
+            final Traverser.Admin<S> existing = this.traversers[index];
             existing.merge(traverser);
+            final long bulk = existing.bulk();
+            this.bulkSize = this.bulkSize + bulk - this.bulks[index];
+            this.bulks[index] = bulk;
             return false;
         }
     }
@@ -101,63 +129,288 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
+        final int index = this.first();
+        final Traverser.Admin<S> next = this.traversers[index];
+        this.removeAt(index);
         return next;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.traversers[this.first()];
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return 0 == this.size ? null : this.traversers[this.first()];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        final int index = this.indexOf(traverser);
+        if (-1 == index)
+            return false;
+        this.removeAt(index);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        if (null != this.traversers) {
+            Arrays.fill(this.traversers, this.head, this.tail, null);
+            Arrays.fill(this.table, 0);
+        }
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.bulkSize = 0L;
+        this.modCount++;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
-    }
-
-    @Override
-    public String toString() {
-        return this.map.values().toString();
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED);
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        final Integer[] order = this.liveIndices();
+        // a stable sort, so equal traversers keep their insertion order
+        Arrays.sort(order, (a, b) -> comparator.compare(this.traversers[a], this.traversers[b]));
+        this.reorder(order);
     }
 
     public void shuffle() {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.shuffle(list);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        final Integer[] order = this.liveIndices();
+        Collections.shuffle(Arrays.asList(order));
+        this.reorder(order);
+    }
+
+    ////////////////
+
+    private static int hash(final Object traverser) {
+        final int hash = traverser.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(final Object traverser) {
+        return null == traverser || 0 == this.size ? -1 : this.indexOf(traverser, hash(traverser));
+    }
+
+    private int indexOf(final Object traverser, final int hash) {
+        if (0 == this.size)
+            return -1;
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            final int entry = this.table[slot];
+            if (0 == entry)
+                return -1;
+            final int index = entry - 1;
+            if (this.hashes[index] == hash) {
+                final Traverser.Admin<S> held = this.traversers[index];
+                if (held == traverser || traverser.equals(held))
+                    return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int first() {
+        while (null == this.traversers[this.head]) {
+            this.head++;
+        }
+        return this.head;
+    }
+
+    private void insert(final Traverser.Admin<S> traverser, final int hash) {
+        if (null == this.traversers)
+            this.resize(MIN_CAPACITY);
+        else if (this.tail == this.traversers.length)
+            this.resize(this.size >= this.traversers.length / 2 ? this.traversers.length * 2 : this.traversers.length);
+        final int index = this.tail++;
+        this.traversers[index] = traverser;
+        this.hashes[index] = hash;
+        this.bulks[index] = traverser.bulk();
+        this.bulkSize = this.bulkSize + this.bulks[index];
+        this.size++;
+        this.modCount++;
+        this.place(index);
+    }
+
+    private void place(final int index) {
+        final int mask = this.table.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (0 != this.table[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = index + 1;
+    }
+
+    private void removeAt(final int index) {
+        final int mask = this.table.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (this.table[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+        this.deleteSlot(slot);
+        this.traversers[index] = null;
+        this.bulkSize = this.bulkSize - this.bulks[index];
+        this.size--;
+        this.modCount++;
+        if (0 == this.size) {
+            // the table is empty as deletion leaves no tombstones, so the columns can be reused from the start
+            this.head = 0;
+            this.tail = 0;
+        }
+    }
+
+    /**
+     * Frees a slot of the table by shifting back the entries that follow it in its probe sequence, so that lookups
+     * never need to skip over deleted slots.
+     */
+    private void deleteSlot(final int slot) {
+        final int mask = this.table.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            final int entry = this.table[next];
+            if (0 == entry)
+                break;
+            final int home = this.hashes[entry - 1] & mask;
+            // the entry moves into the hole unless its home slot lies cyclically within (hole, next]
+            if (next > hole ? (home <= hole || home > next) : (home <= hole && home > next)) {
+                this.table[hole] = entry;
+                hole = next;
+            }
+        }
+        this.table[hole] = 0;
+    }
+
+    /**
+     * Moves the held traversers to the start of columns of the given capacity and rebuilds the table.
+     */
+    private void resize(final int capacity) {
+        if (capacity > MAX_CAPACITY)
+            throw new IllegalStateException("A TraverserSet can not hold more than " + MAX_CAPACITY + " traversers");
+        final Traverser.Admin<S>[] oldTraversers = this.traversers;
+        final int[] oldHashes = this.hashes;
+        final long[] oldBulks = this.bulks;
+        if (null == oldTraversers || capacity != oldTraversers.length) {
+            this.traversers = new Traverser.Admin[capacity];
+            this.hashes = new int[capacity];
+            this.bulks = new long[capacity];
+            this.table = new int[capacity * 2];
+        } else
+            Arrays.fill(this.table, 0);
+        int position = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != oldTraversers[i]) {
+                this.traversers[position] = oldTraversers[i];
+                this.hashes[position] = oldHashes[i];
+                this.bulks[position] = oldBulks[i];
+                this.place(position);
+                position++;
+            }
+        }
+        if (this.traversers == oldTraversers)
+            Arrays.fill(this.traversers, position, this.tail, null);
+        this.head = 0;
+        this.tail = position;
+        this.modCount++;
+    }
+
+    private Integer[] liveIndices() {
+        final Integer[] indices = new Integer[this.size];
+        int position = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                indices[position++] = i;
+        }
+        return indices;
+    }
+
+    private void reorder(final Integer[] order) {
+        if (0 == this.size)
+            return;
+        final Traverser.Admin<S>[] ordered = new Traverser.Admin[this.traversers.length];
+        final int[] orderedHashes = new int[this.hashes.length];
+        final long[] orderedBulks = new long[this.bulks.length];
+        for (int i = 0; i < order.length; i++) {
+            ordered[i] = this.traversers[order[i]];
+            orderedHashes[i] = this.hashes[order[i]];
+            orderedBulks[i] = this.bulks[order[i]];
+        }
+        this.traversers = ordered;
+        this.hashes = orderedHashes;
+        this.bulks = orderedBulks;
+        this.head = 0;
+        this.tail = order.length;
+        Arrays.fill(this.table, 0);
+        for (int i = 0; i < order.length; i++) {
+            this.place(i);
+        }
+        this.modCount++;
     }
 
+    private void writeObject(final ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(this.size);
+        for (final Traverser.Admin<S> traverser : this) {
+            outputStream.writeObject(traverser);
+        }
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        final int size = inputStream.readInt();
+        for (int i = 0; i < size; i++) {
+            this.add((Traverser.Admin<S>) inputStream.readObject());
+        }
+    }
+
+    private final class TraverserSetIterator implements Iterator<Traverser.Admin<S>> {
+
+        private int next = head;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            while (this.next < tail && null == traversers[this.next]) {
+                this.next++;
+            }
+            return this.next < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            this.last = this.next++;
+            return traversers[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (-1 == this.last)
+                throw new IllegalStateException();
+            if (this.expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = modCount;
+        }
+    }
 }
@@ -38,10 +38,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Elemen
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FrontierStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IncidentToAdjacentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.InlineFilterStrategy;
@@ -163,10 +166,13 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             HaltedTraverserStrategy.class,
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
+                            SpillStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
+                            FrontierStrategy.class,
                             IdentityRemovalStrategy.class,
                             IncidentToAdjacentStrategy.class,
                             InlineFilterStrategy.class,
@@ -279,10 +285,13 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     HaltedTraverserStrategy.class,
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
+                    SpillStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
+                    FrontierStrategy.class,
                     IdentityRemovalStrategy.class,
                     IncidentToAdjacentStrategy.class,
                     InlineFilterStrategy.class,
@@ -377,10 +386,13 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             HaltedTraverserStrategy.class,
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
+                            SpillStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
+                            FrontierStrategy.class,
                             IdentityRemovalStrategy.class,
                             IncidentToAdjacentStrategy.class,
                             InlineFilterStrategy.class,
@@ -485,10 +497,13 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     HaltedTraverserStrategy.class,
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
+                    SpillStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
+                    FrontierStrategy.class,
                     IdentityRemovalStrategy.class,
                     IncidentToAdjacentStrategy.class,
                     InlineFilterStrategy.class,
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
 import org.apache.tinkerpop.gremlin.structure.io.Mapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.io.util.StreamingGraphLoader;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.structure.util.Host;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
@@ -73,6 +74,8 @@ public final class GraphSONReader implements GraphReader {
     private final long batchSize;
     private final GraphSONVersion version;
     private boolean unwrapAdjacencyList = false;
+    private final boolean streaming;
+    private final int workers;
 
     final TypeReference<Map<String, Object>> mapTypeReference = new TypeReference<Map<String, Object>>() {};
     final TypeReference<LinkedHashMap<String, Object>> linkedHashMapTypeReference = new TypeReference<LinkedHashMap<String, Object>>() {};
@@ -81,6 +84,8 @@ public final class GraphSONReader implements GraphReader {
         mapper = builder.mapper.createMapper();
         batchSize = builder.batchSize;
         unwrapAdjacencyList = builder.unwrapAdjacencyList;
+        streaming = builder.streaming;
+        workers = builder.workers;
         version = ((GraphSONMapper)builder.mapper).getVersion();
     }
 
@@ -94,6 +99,13 @@ public final class GraphSONReader implements GraphReader {
      */
     @Override
     public void readGraph(final InputStream inputStream, final Graph graphToWriteTo) throws IOException {
+        if (streaming) {
+            new StreamingGraphLoader(graphToWriteTo, batchSize, workers).load(readVertexStrings(inputStream)
+                    .<Vertex>map(FunctionUtils.wrapFunction(line -> readVertex(new ByteArrayInputStream(line.getBytes()), null, null, Direction.BOTH)))
+                    .iterator());
+            return;
+        }
+
         // dual pass - create all vertices and store to cache the ids.  then create edges.  as long as we don't
         // have vertex labels in the output we can't do this single pass
         final Map<StarGraph.StarVertex,Vertex> cache = new HashMap<>();
@@ -290,6 +302,8 @@ public final class GraphSONReader implements GraphReader {
 
         private Mapper<ObjectMapper> mapper = GraphSONMapper.build().create();
         private boolean unwrapAdjacencyList = false;
+        private boolean streaming = false;
+        private int workers = 1;
 
         private Builder() {}
 
@@ -329,6 +343,27 @@ public final class GraphSONReader implements GraphReader {
             return this;
         }
 
+        /**
+         * When set to {@code true}, {@link GraphSONReader#readGraph(InputStream, Graph)} reads the graph in a single
+         * pass that holds no more than {@code batchSize} vertices at a time along with a mapping from the identifier
+         * of each vertex read to the vertex created for it. By default, this value is {@code false} and the whole
+         * graph is held in memory before any of its edges are created.
+         */
+        public Builder streaming(final boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * The number of threads that create vertices and edges when {@link #streaming(boolean)} is enabled. It only
+         * takes effect for graphs that support concurrent access and do not support transactions. By default, this
+         * value is {@code 1}.
+         */
+        public Builder workers(final int workers) {
+            this.workers = workers;
+            return this;
+        }
+
         public GraphSONReader create() {
             return new GraphSONReader(this);
         }
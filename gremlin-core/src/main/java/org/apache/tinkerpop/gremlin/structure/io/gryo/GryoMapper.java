@@ -75,6 +75,14 @@ import java.util.stream.Collectors;
 public final class GryoMapper implements Mapper<Kryo> {
     public static final byte[] GIO = "gio".getBytes();
     public static final byte[] HEADER = Arrays.copyOf(GIO, 16);
+
+    /**
+     * The leading bytes of the block-partitioned format written by {@link GryoWriter#writeGraph} when
+     * {@link GryoWriter.Builder#blockSize(int)} is set, which distinguish it from a stream of vertex records that
+     * start with {@link #GIO}.
+     */
+    public static final byte[] GIO_BLOCKS = "gib".getBytes();
+    public static final byte[] BLOCKS_HEADER = Arrays.copyOf(GIO_BLOCKS, 16);
     private final List<TypeRegistration<?>> typeRegistrations;
     private final boolean registrationRequired;
     private final boolean referenceTracking;
@@ -44,7 +44,10 @@ public final class GryoPool {
     public static final int CONFIG_IO_GRYO_POOL_SIZE_DEFAULT = 256;
     public static final GryoVersion CONFIG_IO_GRYO_POOL_VERSION_DEFAULT = GryoVersion.V3_0;
 
-    public enum Type {READER, WRITER, READER_WRITER}
+    /**
+     * The kinds of objects pooled, where {@code KRYO} pools only {@code Kryo} instances, which every type pools.
+     */
+    public enum Type {READER, WRITER, READER_WRITER, KRYO}
 
     private Queue<GryoReader> gryoReaders;
     private Queue<GryoWriter> gryoWriters;
@@ -148,6 +151,7 @@ public final class GryoPool {
         private Type type = Type.READER_WRITER;
         private Consumer<GryoMapper.Builder> gryoMapperConsumer = null;
         private GryoVersion version = GryoVersion.V1_0;
+        private GryoMapper mapper = null;
 
         /**
          * Set the version of Gryo to use for this pool.
@@ -212,14 +216,31 @@ public final class GryoPool {
             return this;
         }
 
+        /**
+         * Uses a {@code GryoMapper} that has already been created, in which case the version, registries and mapper
+         * initializer of this builder are ignored.
+         *
+         * @param mapper the mapper to pool
+         * @return the updated builder
+         */
+        public Builder mapper(final GryoMapper mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
         /**
          * Create the {@code GryoPool} from this builder.
          *
          * @return the new pool
          */
         public GryoPool create() {
-            final GryoMapper.Builder mapper = GryoMapper.build().version(version);
             final GryoPool gryoPool = new GryoPool();
+            if (null != this.mapper) {
+                gryoPool.createPool(this.poolSize, this.type, this.mapper);
+                return gryoPool;
+            }
+
+            final GryoMapper.Builder mapper = GryoMapper.build().version(version);
             if (null != this.ioRegistries)
                 this.ioRegistries.forEach(mapper::addRegistry);
             if (null != this.gryoMapperConsumer)
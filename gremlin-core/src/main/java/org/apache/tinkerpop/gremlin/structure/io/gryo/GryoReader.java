@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
 import org.apache.tinkerpop.gremlin.structure.io.Mapper;
+import org.apache.tinkerpop.gremlin.structure.io.util.StreamingGraphLoader;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.structure.util.Host;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
@@ -36,18 +37,30 @@ import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedProperty;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
 import org.apache.tinkerpop.gremlin.structure.util.star.StarGraphGryoSerializer;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.apache.tinkerpop.shaded.kryo.io.Input;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
@@ -63,13 +76,20 @@ import java.util.function.Function;
  */
 public final class GryoReader implements GraphReader {
     private final Kryo kryo;
+    private final Mapper<Kryo> gryoMapper;
     private final Map<GraphFilter, StarGraphGryoSerializer> graphFilterCache = new HashMap<>();
 
     private final long batchSize;
+    private final boolean streaming;
+    private final int workers;
+    private GryoPool blockPool = null;
 
-    private GryoReader(final long batchSize, final Mapper<Kryo> gryoMapper) {
+    private GryoReader(final long batchSize, final Mapper<Kryo> gryoMapper, final boolean streaming, final int workers) {
         this.kryo = gryoMapper.createMapper();
+        this.gryoMapper = gryoMapper;
         this.batchSize = batchSize;
+        this.streaming = streaming;
+        this.workers = workers;
     }
 
     /**
@@ -83,6 +103,36 @@ public final class GryoReader implements GraphReader {
      */
     @Override
     public void readGraph(final InputStream inputStream, final Graph graphToWriteTo) throws IOException {
+        // peek at the header to tell the block-partitioned format from a stream of vertices
+        final InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        final byte[] magic = new byte[GryoMapper.GIO_BLOCKS.length];
+        in.mark(magic.length);
+        int read = 0;
+        while (read < magic.length) {
+            final int r = in.read(magic, read, magic.length - read);
+            if (r < 0) break;
+            read = read + r;
+        }
+        in.reset();
+
+        if (Arrays.equals(GryoMapper.GIO_BLOCKS, magic)) {
+            final BlockInputIterator blocks = new BlockInputIterator(in);
+            try {
+                readGraph(blocks, graphToWriteTo);
+            } finally {
+                blocks.close();
+            }
+        } else {
+            readGraph(new VertexInputIterator(new Input(in), Attachable::get, null, null), graphToWriteTo);
+        }
+    }
+
+    private void readGraph(final Iterator<Vertex> starVertices, final Graph graphToWriteTo) {
+        if (streaming) {
+            new StreamingGraphLoader(graphToWriteTo, batchSize, workers).load(starVertices);
+            return;
+        }
+
         // dual pass - create all vertices and store to cache the ids.  then create edges.  as long as we don't
         // have vertex labels in the output we can't do this single pass
         final Map<StarGraph.StarVertex, Vertex> cache = new HashMap<>();
@@ -91,12 +141,12 @@ public final class GryoReader implements GraphReader {
         final Graph.Features.EdgeFeatures edgeFeatures = graphToWriteTo.features().edge();
         final boolean supportsTx = graphToWriteTo.features().graph().supportsTransactions();
 
-        IteratorUtils.iterate(new VertexInputIterator(new Input(inputStream), attachable -> {
-            final Vertex v = cache.put((StarGraph.StarVertex) attachable.get(), attachable.attach(Attachable.Method.create(graphToWriteTo)));
+        starVertices.forEachRemaining(vertex -> {
+            final StarGraph.StarVertex starVertex = (StarGraph.StarVertex) vertex;
+            cache.put(starVertex, starVertex.attach(Attachable.Method.create(graphToWriteTo)));
             if (supportsTx && counter.incrementAndGet() % batchSize == 0)
                 graphToWriteTo.tx().commit();
-            return v;
-        }, null, null));
+        });
         cache.entrySet().forEach(kv -> kv.getKey().edges(Direction.IN).forEachRemaining(e -> {
             // can't use a standard Attachable attach method here because we have to use the cache for those
             // graphs that don't support userSuppliedIds on edges. note that outVertex/inVertex methods return
@@ -277,6 +327,8 @@ public final class GryoReader implements GraphReader {
          * Always use the most recent gryo version by default
          */
         private Mapper<Kryo> gryoMapper = GryoMapper.build().create();
+        private boolean streaming = false;
+        private int workers = 1;
 
         private Builder() {
         }
@@ -298,8 +350,30 @@ public final class GryoReader implements GraphReader {
             return this;
         }
 
+        /**
+         * When set to {@code true}, {@link GryoReader#readGraph(InputStream, Graph)} reads the graph in a single pass
+         * that holds no more than {@code batchSize} vertices at a time along with a mapping from the identifier of
+         * each vertex read to the vertex created for it. By default, this value is {@code false} and the whole graph
+         * is held in memory before any of its edges are created.
+         */
+        public Builder streaming(final boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * The number of threads that deserialize the blocks of input written with {@link GryoWriter.Builder#blockSize(int)}
+         * and that create vertices and edges when {@link #streaming(boolean)} is enabled. The latter only takes
+         * effect for graphs that support concurrent access and do not support transactions. By default, this value
+         * is {@code 1}.
+         */
+        public Builder workers(final int workers) {
+            this.workers = workers;
+            return this;
+        }
+
         public GryoReader create() {
-            return new GryoReader(batchSize, this.gryoMapper);
+            return new GryoReader(batchSize, this.gryoMapper, streaming, workers);
         }
 
     }
@@ -334,4 +408,139 @@ public final class GryoReader implements GraphReader {
             }
         }
     }
+
+    private GryoPool blockPool() {
+        if (null == blockPool) {
+            if (!(gryoMapper instanceof GryoMapper))
+                throw new IllegalStateException("The block-partitioned format can only be read with a GryoMapper");
+            blockPool = GryoPool.build().mapper((GryoMapper) gryoMapper).type(GryoPool.Type.KRYO).poolSize(Math.max(1, workers)).create();
+        }
+        return blockPool;
+    }
+
+    /**
+     * Reads the star vertices of the block-partitioned format written by {@link GryoWriter} when a block size is
+     * set. Blocks are read in order from the stream and deserialized by {@code workers} threads, each with a
+     * {@code Kryo} instance taken from a {@link GryoPool} of the mapper of this reader, while only a few blocks ahead
+     * of the one being iterated are held in memory. Once the blocks are exhausted, the index that follows them is
+     * checked against the offsets, lengths and vertex counts of the blocks that were read.
+     */
+    private class BlockInputIterator implements Iterator<Vertex> {
+        private final DataInputStream input;
+        private final ExecutorService executor;
+        private final GryoPool pool = blockPool();
+        private final Deque<FutureTask<List<Vertex>>> pending = new ArrayDeque<>();
+        private final List<long[]> blocks = new ArrayList<>();
+        private Iterator<Vertex> current = Collections.emptyIterator();
+        private long offset = GryoMapper.BLOCKS_HEADER.length;
+        private int taken = 0;
+        private boolean exhausted = false;
+
+        public BlockInputIterator(final InputStream inputStream) throws IOException {
+            this.input = new DataInputStream(inputStream);
+            this.input.readFully(new byte[GryoMapper.BLOCKS_HEADER.length]);
+            this.executor = workers > 1 ? Executors.newFixedThreadPool(workers) : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                readBlocks();
+                if (pending.isEmpty()) return false;
+
+                final long[] block = blocks.get(taken++);
+                try {
+                    final List<Vertex> vertices = pending.poll().get();
+                    block[2] = vertices.size();
+                    current = vertices.iterator();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(String.format("Interrupted while reading the block at offset %s", block[0]), ie);
+                } catch (ExecutionException ee) {
+                    throw new IllegalStateException(String.format("Could not read the block at offset %s", block[0]), ee.getCause());
+                }
+
+                if (exhausted && pending.isEmpty()) validateIndex();
+            }
+            return true;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return current.next();
+        }
+
+        public void close() {
+            if (null != executor) executor.shutdownNow();
+        }
+
+        private void readBlocks() {
+            while (!exhausted && pending.size() < Math.max(1, workers * 2)) {
+                try {
+                    // a zero length ends the blocks and is followed by the index
+                    final int length = input.readInt();
+                    if (0 == length) {
+                        exhausted = true;
+                        if (blocks.isEmpty()) validateIndex();
+                        return;
+                    }
+
+                    final byte[] block = new byte[length];
+                    input.readFully(block);
+                    final FutureTask<List<Vertex>> task = new FutureTask<>(() -> decodeBlock(block));
+                    if (null == executor)
+                        task.run();
+                    else
+                        executor.execute(task);
+                    pending.add(task);
+                    blocks.add(new long[]{offset, length, -1});
+                    offset = offset + 4 + length;
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(String.format("Could not read the block at offset %s", offset), ioe);
+                }
+            }
+        }
+
+        /**
+         * Reads the index that follows the blocks and checks that it describes the blocks that were read.
+         */
+        private void validateIndex() {
+            final long indexOffset = offset + 4;
+            try {
+                final int count = input.readInt();
+                if (count != blocks.size())
+                    throw new IllegalStateException(String.format("The index at offset %s lists %s blocks but %s were read", indexOffset, count, blocks.size()));
+                for (final long[] block : blocks) {
+                    final long entryOffset = input.readLong();
+                    final int entryLength = input.readInt();
+                    final int entryVertices = input.readInt();
+                    if (entryOffset != block[0] || entryLength != block[1] || entryVertices != block[2])
+                        throw new IllegalStateException(String.format("The index at offset %s does not match the block at offset %s", indexOffset, block[0]));
+                }
+                if (input.readLong() != indexOffset)
+                    throw new IllegalStateException(String.format("The index at offset %s does not end with its own offset", indexOffset));
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(String.format("Could not read the index at offset %s", indexOffset), ioe);
+            }
+        }
+
+        private List<Vertex> decodeBlock(final byte[] block) throws IOException {
+            final Kryo blockKryo = pool.takeKryo();
+            try {
+                final Input blockInput = new Input(block);
+                final List<Vertex> vertices = new ArrayList<>();
+                while (!blockInput.eof()) {
+                    readHeader(blockInput);
+                    vertices.add(blockKryo.readObject(blockInput, StarGraph.class).getStarVertex());
+
+                    // read the terminator
+                    blockKryo.readClassAndObject(blockInput);
+                }
+                return vertices;
+            } finally {
+                pool.offerKryo(blockKryo);
+            }
+        }
+    }
 }
@@ -32,9 +32,18 @@ import org.apache.tinkerpop.gremlin.structure.util.star.StarGraphGryoSerializer;
 import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.apache.tinkerpop.shaded.kryo.io.Output;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 /**
  * The {@link GraphWriter} for the Gremlin Structure serialization format based on Kryo.  The format is meant to be
@@ -47,17 +56,120 @@ import java.util.Iterator;
  */
 public final class GryoWriter implements GraphWriter {
     private Kryo kryo;
+    private final Mapper<Kryo> gryoMapper;
+    private final int blockSize;
+    private final int workers;
+    private GryoPool blockPool = null;
 
-    private GryoWriter(final Mapper<Kryo> gryoMapper) {
+    private GryoWriter(final Mapper<Kryo> gryoMapper, final int blockSize, final int workers) {
         this.kryo = gryoMapper.createMapper();
+        this.gryoMapper = gryoMapper;
+        this.blockSize = blockSize;
+        this.workers = workers;
     }
 
     /**
-     * {@inheritDoc}
+     * Write the entire graph to a stream.  If a {@link Builder#blockSize(int)} is set, the graph is written in the
+     * block-partitioned format described at {@link #writeBlocks(OutputStream, Iterator)} and otherwise it is written
+     * as a stream of vertices as with {@link #writeVertices(OutputStream, Iterator, Direction)}.
      */
     @Override
     public void writeGraph(final OutputStream outputStream, final Graph g) throws IOException {
-        writeVertices(outputStream, g.vertices(), Direction.BOTH);
+        if (blockSize > 0)
+            writeBlocks(outputStream, g.vertices());
+        else
+            writeVertices(outputStream, g.vertices(), Direction.BOTH);
+    }
+
+    /**
+     * Writes vertices with their edges in both directions in the block-partitioned format, which is the
+     * {@link GryoMapper#BLOCKS_HEADER} followed by length-prefixed blocks of at most {@link Builder#blockSize(int)}
+     * vertices, a zero length, and an index. Each block holds the same vertex records that
+     * {@link #writeVertices(OutputStream, Iterator, Direction)} writes so that blocks can be read independently of
+     * one another. The index holds the number of blocks followed by the offset, length and vertex count of each
+     * block and is followed by its own offset as the last eight bytes of the output. Blocks are serialized by
+     * {@link Builder#workers(int)} threads, each with a {@code Kryo} instance taken from a {@link GryoPool} of the
+     * mapper of this writer.
+     */
+    private void writeBlocks(final OutputStream outputStream, final Iterator<Vertex> vertexIterator) throws IOException {
+        final DataOutputStream output = new DataOutputStream(outputStream);
+        final ExecutorService executor = workers > 1 ? Executors.newFixedThreadPool(workers) : null;
+        final GryoPool pool = blockPool();
+        final Deque<FutureTask<byte[]>> pending = new ArrayDeque<>();
+        final List<long[]> index = new ArrayList<>();
+
+        long offset = GryoMapper.BLOCKS_HEADER.length;
+        output.write(GryoMapper.BLOCKS_HEADER);
+        try {
+            while (vertexIterator.hasNext()) {
+                // the star graphs are created by this thread as the graph may not support concurrent access
+                final List<StarGraph> block = new ArrayList<>(blockSize);
+                while (vertexIterator.hasNext() && block.size() < blockSize) {
+                    block.add(StarGraph.of(vertexIterator.next()));
+                }
+                index.add(new long[]{0, 0, block.size()});
+
+                final FutureTask<byte[]> task = new FutureTask<>(() -> encodeBlock(block, pool));
+                if (null == executor)
+                    task.run();
+                else
+                    executor.execute(task);
+                pending.add(task);
+
+                // bound the number of blocks held in memory by writing out the oldest ones
+                while (pending.size() > Math.max(1, workers * 2) || (!vertexIterator.hasNext() && !pending.isEmpty())) {
+                    final byte[] bytes = pending.poll().get();
+                    final long[] entry = index.get(index.size() - pending.size() - 1);
+                    entry[0] = offset;
+                    entry[1] = bytes.length;
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                    offset = offset + 4 + bytes.length;
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ie);
+        } catch (ExecutionException ee) {
+            throw new IOException(ee.getCause());
+        } finally {
+            if (null != executor) executor.shutdownNow();
+        }
+
+        output.writeInt(0);
+        final long indexOffset = offset + 4;
+        output.writeInt(index.size());
+        for (final long[] entry : index) {
+            output.writeLong(entry[0]);
+            output.writeInt((int) entry[1]);
+            output.writeInt((int) entry[2]);
+        }
+        output.writeLong(indexOffset);
+        output.flush();
+    }
+
+    private GryoPool blockPool() {
+        if (null == blockPool) {
+            if (!(gryoMapper instanceof GryoMapper))
+                throw new IllegalStateException("The block-partitioned format can only be written with a GryoMapper");
+            blockPool = GryoPool.build().mapper((GryoMapper) gryoMapper).type(GryoPool.Type.KRYO).poolSize(Math.max(1, workers)).create();
+        }
+        return blockPool;
+    }
+
+    private byte[] encodeBlock(final List<StarGraph> block, final GryoPool pool) throws IOException {
+        final Kryo blockKryo = pool.takeKryo();
+        try {
+            final Output output = new Output(4096, -1);
+            for (final StarGraph starGraph : block) {
+                writeHeader(output);
+                blockKryo.writeObject(output, starGraph);
+                blockKryo.writeClassAndObject(output, VertexTerminator.INSTANCE);
+            }
+            return output.toBytes();
+        } finally {
+            pool.offerKryo(blockKryo);
+        }
     }
 
     /**
@@ -164,6 +276,8 @@ public final class GryoWriter implements GraphWriter {
          * Always creates the most current version available.
          */
         private Mapper<Kryo> gryoMapper = GryoMapper.build().create();
+        private int blockSize = 0;
+        private int workers = 1;
 
         private Builder() {
         }
@@ -176,11 +290,30 @@ public final class GryoWriter implements GraphWriter {
             return this;
         }
 
+        /**
+         * The maximum number of vertices in each block of the block-partitioned format written by
+         * {@link GryoWriter#writeGraph(OutputStream, Graph)}. By default, this value is {@code 0} and the graph is
+         * written as a stream of vertices that is readable by earlier versions.
+         */
+        public Builder blockSize(final int blockSize) {
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * The number of threads that serialize blocks when a {@link #blockSize(int)} is set. By default, this value
+         * is {@code 1}.
+         */
+        public Builder workers(final int workers) {
+            this.workers = workers;
+            return this;
+        }
+
         /**
          * Create the {@code GryoWriter}.
          */
         public GryoWriter create() {
-            return new GryoWriter(this.gryoMapper);
+            return new GryoWriter(this.gryoMapper, this.blockSize, this.workers);
         }
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io.util;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Loads a stream of {@link StarGraph.StarVertex} objects into a {@link Graph} in a single pass for the streaming mode
+ * of {@link GraphReader#readGraph}. Star vertices are read in chunks and each chunk is discarded once its vertices
+ * and edges are created, so the only state retained for the whole load is the mapping from the identifier of each
+ * vertex in the stream to the vertex created for it.
+ * <p/>
+ * Every edge appears twice in the stream, once with each of its vertices, as is the case for the output of
+ * {@link org.apache.tinkerpop.gremlin.structure.io.GraphWriter#writeGraph}. An edge is created from whichever of its
+ * two appearances comes once both of its vertices exist. An edge that is seen only once, because one of its vertices
+ * is missing from the stream, results in an {@code IllegalStateException} at the end of the load.
+ * <p/>
+ * Vertices and edges of a chunk are created by several threads when more than one worker is requested and the graph
+ * supports concurrent access without transactions.
+ */
+public final class StreamingGraphLoader {
+
+    private final Graph graph;
+    private final int chunkSize;
+    private final long batchSize;
+    private final int workers;
+    private final boolean supportsTx;
+    private final Graph.Features.EdgeFeatures edgeFeatures;
+
+    private final Map<Object, Vertex> vertices;
+    private final Set<Object> chunkIds = new HashSet<>();
+    private final AtomicLong mutations = new AtomicLong(0);
+    private final AtomicLong edgesCreated = new AtomicLong(0);
+    private final AtomicLong edgesDeferred = new AtomicLong(0);
+
+    /**
+     * @param graph     the graph to write to
+     * @param batchSize the number of mutations to perform before a commit and the number of star vertices to read
+     *                  ahead as a chunk
+     * @param workers   the number of threads to create the elements of a chunk with
+     */
+    public StreamingGraphLoader(final Graph graph, final long batchSize, final int workers) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batchSize must be greater than zero");
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be greater than zero");
+
+        this.graph = graph;
+        this.batchSize = batchSize;
+        this.chunkSize = (int) Math.min(batchSize, Integer.MAX_VALUE - 8);
+        this.supportsTx = graph.features().graph().supportsTransactions();
+        this.workers = workers > 1 && !this.supportsTx && graph.features().graph().supportsConcurrentAccess() ? workers : 1;
+        this.edgeFeatures = graph.features().edge();
+        this.vertices = this.workers > 1 ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    public void load(final Iterator<? extends Vertex> starVertices) {
+        final ExecutorService executor = this.workers > 1 ? Executors.newFixedThreadPool(this.workers) : null;
+        try {
+            final List<StarGraph.StarVertex> chunk = new ArrayList<>(Math.min(this.chunkSize, 10000));
+            while (starVertices.hasNext()) {
+                chunk.add((StarGraph.StarVertex) starVertices.next());
+                if (chunk.size() == this.chunkSize || !starVertices.hasNext()) {
+                    this.loadChunk(chunk, executor);
+                    chunk.clear();
+                }
+            }
+        } finally {
+            if (null != executor) executor.shutdownNow();
+        }
+
+        if (this.edgesCreated.get() != this.edgesDeferred.get())
+            throw new IllegalStateException(String.format("Could not create %s edges as they refer to vertices that are not present in the input",
+                    this.edgesDeferred.get() - this.edgesCreated.get()));
+
+        if (this.supportsTx) this.graph.tx().commit();
+    }
+
+    private void loadChunk(final List<StarGraph.StarVertex> chunk, final ExecutorService executor) {
+        this.chunkIds.clear();
+        for (final StarGraph.StarVertex starVertex : chunk) {
+            this.chunkIds.add(starVertex.id());
+        }
+
+        // all vertices of the chunk must exist before its edges are created so that edges between two vertices of
+        // the same chunk are created from their in-vertex
+        this.apply(chunk, executor, this::createVertex);
+        this.apply(chunk, executor, this::createEdges);
+    }
+
+    private void apply(final List<StarGraph.StarVertex> chunk, final ExecutorService executor, final Consumer<StarGraph.StarVertex> consumer) {
+        if (null == executor) {
+            chunk.forEach(consumer);
+            return;
+        }
+
+        final int sliceSize = (chunk.size() + this.workers - 1) / this.workers;
+        final List<Future<?>> futures = new ArrayList<>(this.workers);
+        for (int start = 0; start < chunk.size(); start = start + sliceSize) {
+            final List<StarGraph.StarVertex> slice = chunk.subList(start, Math.min(start + sliceSize, chunk.size()));
+            futures.add(executor.submit(() -> slice.forEach(consumer)));
+        }
+
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ie);
+        } catch (final ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ee.getCause();
+            throw new IllegalStateException(ee.getCause());
+        }
+    }
+
+    private void createVertex(final StarGraph.StarVertex starVertex) {
+        this.vertices.put(starVertex.id(), starVertex.attach(Attachable.Method.create(this.graph)));
+        this.mutated();
+    }
+
+    private void createEdges(final StarGraph.StarVertex starVertex) {
+        final Vertex vertex = this.vertices.get(starVertex.id());
+
+        // an out-edge is created here only if its in-vertex was created by an earlier chunk as otherwise the edge
+        // will be created from its in-vertex
+        starVertex.edges(Direction.OUT).forEachRemaining(e -> {
+            final Object inId = e.inVertex().id();
+            final Vertex inVertex = this.chunkIds.contains(inId) ? null : this.vertices.get(inId);
+            if (null == inVertex)
+                this.edgesDeferred.incrementAndGet();
+            else
+                this.createEdge(e, vertex, inVertex);
+        });
+
+        starVertex.edges(Direction.IN).forEachRemaining(e -> {
+            final Vertex outVertex = this.vertices.get(e.outVertex().id());
+            if (null == outVertex)
+                this.edgesDeferred.incrementAndGet();
+            else
+                this.createEdge(e, outVertex, vertex);
+        });
+    }
+
+    private void createEdge(final Edge e, final Vertex outVertex, final Vertex inVertex) {
+        // can't use a standard Attachable attach method here because the edge must be created between the vertices
+        // that were created for the graph that don't support userSuppliedIds on vertices
+        final Edge newEdge = this.edgeFeatures.willAllowId(e.id()) ?
+                outVertex.addEdge(e.label(), inVertex, T.id, e.id()) :
+                outVertex.addEdge(e.label(), inVertex);
+        e.properties().forEachRemaining(p -> newEdge.property(p.key(), p.value()));
+        this.edgesCreated.incrementAndGet();
+        this.mutated();
+    }
+
+    private void mutated() {
+        if (this.mutations.incrementAndGet() % this.batchSize == 0 && this.supportsTx)
+            this.graph.tx().commit();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+/**
+ * An optional interface for a {@link Graph} that can tell how many of its elements there are, or how many carry a
+ * label or a property value, without iterating them. The counts feed cost-based planning, such as that of
+ * {@code MatchStep.CostMatchAlgorithm}, and so they may be estimates. A method returns {@link #UNKNOWN} for what the
+ * graph can not count cheaply.
+ */
+public interface GraphStatistics {
+
+    /**
+     * The count returned for what the graph can not count cheaply.
+     */
+    public static final long UNKNOWN = -1L;
+
+    /**
+     * The number of elements of the given class, either {@code Vertex} or {@code Edge}.
+     */
+    public long count(final Class<? extends Element> elementClass);
+
+    /**
+     * The number of elements of the given class with the given label.
+     */
+    public default long countWithLabel(final Class<? extends Element> elementClass, final String label) {
+        return UNKNOWN;
+    }
+
+    /**
+     * The number of elements of the given class with a property of the given key and value.
+     */
+    public default long countWithProperty(final Class<? extends Element> elementClass, final String key, final Object value) {
+        return UNKNOWN;
+    }
+}
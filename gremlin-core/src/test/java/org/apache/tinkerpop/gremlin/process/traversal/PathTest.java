@@ -36,6 +36,7 @@ import java.util.stream.Collectors;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -501,4 +502,25 @@ public class PathTest {
             assertEquals(1, subPath.labels().get(2).size());
         });
     }
+
+    @Test
+    public void shouldShareUntouchedSectionsOfImmutablePaths() {
+        Path path = ImmutablePath.make();
+        path = path.extend("marko", Collections.singleton("a"));
+        path = path.extend("stephen", Collections.singleton("b"));
+        final Path prefix = path;
+        path = path.extend("matthias", new LinkedHashSet<>(Arrays.asList("c", "d")));
+        assertSame(path, path.retract(Collections.singleton("x")));
+        final Path retracted = path.retract(Collections.singleton("d"));
+        assertSame(prefix, retracted.retract(Collections.singleton("c")));
+        assertEquals(Arrays.asList("marko", "stephen", "matthias"), retracted.objects());
+        assertEquals(Collections.singleton("c"), retracted.labels().get(2));
+        assertSame(path.objects(), path.objects());
+        assertEquals(path.hashCode(), MutablePath.make().extend("marko", Collections.singleton("a")).
+                extend("stephen", Collections.singleton("b")).extend("matthias", Collections.singleton("c")).hashCode());
+        assertEquals(path, prefix.extend("matthias", new LinkedHashSet<>(Arrays.asList("c", "d"))));
+        assertEquals("stephen", path.get(1));
+        assertEquals(Arrays.asList("marko"), path.get(Pop.all, "a"));
+        assertFalse(path.hasLabel("x"));
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NoOpBarrierStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(
+                __.barrier(),
+                __.barrier(10),
+                __.identity().asAdmin().addStep(new NoOpBarrierStep<>(__.identity().asAdmin(), 10, 100)),
+                __.identity().asAdmin().addStep(new NoOpBarrierStep<>(__.identity().asAdmin(), 1, 100))
+        );
+    }
+
+    @Test
+    public void shouldGrowWhenTraversersBulk() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(i / 10);
+        }
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(__.identity().asAdmin(), 2, 1000);
+        final Traversal.Admin<?, Integer> traversal = __.inject(list).<Integer>unfold().asAdmin().addStep(barrier);
+        assertEquals(10000L, traversal.toList().size());
+        assertTrue(barrier.getBarrierSize() > 2);
+        assertTrue(barrier.getBulkedTraversers() > 8000L);
+    }
+
+    @Test
+    public void shouldShrinkWhenTraversersStopBulking() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(i / 10);
+        }
+        for (int i = 1000; i < 20000; i++) {
+            list.add(i);
+        }
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(__.identity().asAdmin(), 2, 1000);
+        final Traversal.Admin<?, Integer> traversal = __.inject(list).<Integer>unfold().asAdmin().addStep(barrier);
+        assertEquals(29000L, traversal.toList().size());
+        assertEquals(2, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldKeepFixedSize() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(i / 10);
+        }
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(__.identity().asAdmin(), 100);
+        final Traversal.Admin<?, Integer> traversal = __.inject(list).<Integer>unfold().asAdmin().addStep(barrier);
+        assertEquals(10000L, traversal.toList().size());
+        assertEquals(100, barrier.getBarrierSize());
+        assertTrue(barrier.getBulkedTraversers() > 0);
+    }
+}
@@ -22,13 +22,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -49,6 +54,24 @@ public class OrderGlobalStepTest extends StepTest {
         );
     }
 
+    @Test
+    public void shouldKeepSortOrderWhenLimited() {
+        final Random random = new Random(1234567890L);
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(random.nextInt(200));
+        }
+
+        final List<Integer> expected = __.inject(list).<Integer>unfold().order().by(v -> (Integer) v % 10, Order.decr).toList();
+        for (final long limit : Arrays.asList(0L, 1L, 7L, 100L, 2000L)) {
+            final Traversal.Admin<?, Integer> traversal = __.inject(list).<Integer>unfold().order().by(v -> (Integer) v % 10, Order.decr).asAdmin();
+            TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get().setLimit(limit);
+            final List<Integer> actual = traversal.toList();
+            assertThat(actual.size() >= Math.min(limit, expected.size()), is(true));
+            assertEquals(expected.subList(0, (int) Math.min(limit, expected.size())), actual.subList(0, (int) Math.min(limit, expected.size())));
+        }
+    }
+
     @Test
     public void shouldNotThrowContractException() {
         for (int x = 0; x < 1000; x++) {
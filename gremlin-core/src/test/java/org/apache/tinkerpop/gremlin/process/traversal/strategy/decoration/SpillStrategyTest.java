@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class SpillStrategyTest {
+
+    private static final Integer[] STARTS = new Random(123456789L).ints(10000, 0, 2500).boxed().toArray(Integer[]::new);
+
+    @Test
+    public void shouldOrderWithSpill() {
+        assertSameWithSpill(() -> __.inject(STARTS).order(), true);
+        assertSameWithSpill(() -> __.inject(STARTS).order().by(Order.decr), true);
+        assertSameWithSpill(() -> __.inject(STARTS).order().by(__.<Integer, Integer>map(t -> t.get() % 10)).by(Order.decr), true);
+    }
+
+    @Test
+    public void shouldShuffleWithSpill() {
+        final List<Integer> shuffled = toList(__.inject(STARTS).order().by(Order.shuffle), 100);
+        final List<Integer> expected = toList(__.inject(STARTS).order(), Integer.MAX_VALUE);
+        shuffled.sort(null);
+        assertEquals(expected, shuffled);
+    }
+
+    @Test
+    public void shouldDedupWithSpill() {
+        assertSameWithSpill(() -> __.inject(STARTS).dedup(), false);
+        assertSameWithSpill(() -> __.inject(STARTS).dedup().by(__.<Integer, Integer>map(t -> t.get() % 1000)), false);
+        assertSameWithSpill(() -> __.inject(STARTS).dedup().count(), true);
+    }
+
+    @Test
+    public void shouldGroupWithSpill() {
+        assertSameWithSpill(() -> __.inject(STARTS).group().by(__.<Integer, Integer>map(t -> t.get() % 500)), true);
+        assertSameWithSpill(() -> __.inject(STARTS).group().by(__.<Integer, Integer>map(t -> t.get() % 500)).by(__.count()), true);
+        assertSameWithSpill(() -> __.inject(STARTS).<Integer, List<Integer>>group().by().by(__.order().by(Order.decr).fold()), true);
+    }
+
+    @Test
+    public void shouldReportSpilledBytes() {
+        final Traversal.Admin<Integer, Map<Object, Object>> traversal = __.inject(STARTS).group().asAdmin();
+        apply(traversal, 100);
+        traversal.iterate();
+        final Spilling step = TraversalHelper.getFirstStepOfAssignableClass(Spilling.class, traversal).get();
+        assertThat(step.getSpilledBytes(), greaterThan(0L));
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final SpillStrategy strategy = SpillStrategy.build().threshold(100).dedup(true).create();
+        final SpillStrategy copy = SpillStrategy.create(strategy.getConfiguration());
+        assertEquals(100, copy.getThreshold());
+        assertTrue(copy.isDedup());
+    }
+
+    @Test
+    public void shouldNotSpillDedupUnlessEnabled() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(STARTS).dedup().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(SpillStrategy.build().threshold(100).create());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+        assertEquals(toList(__.inject(STARTS).dedup(), Integer.MAX_VALUE), traversal.toList());
+        assertEquals(0L, TraversalHelper.getFirstStepOfAssignableClass(Spilling.class, traversal).get().getSpilledBytes());
+    }
+
+    @Test
+    public void shouldNotTakeDirectoryFromConfiguration() {
+        final Configuration configuration = SpillStrategy.build().threshold(100).create().getConfiguration();
+        assertFalse(configuration.containsKey("directory"));
+
+        // a client must not be able to choose where the server writes so the directory is read from the graph
+        configuration.setProperty("directory", new File("does-not-exist", "spill").getPath());
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(STARTS).order().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(SpillStrategy.create(configuration));
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+        assertEquals(toList(__.inject(STARTS).order(), Integer.MAX_VALUE), traversal.toList());
+    }
+
+    private static <E> void assertSameWithSpill(final Supplier<Traversal<Integer, E>> traversal, final boolean ordered) {
+        final List<E> expected = toList(traversal.get(), Integer.MAX_VALUE);
+        final List<E> actual = toList(traversal.get(), 100);
+        if (ordered)
+            assertEquals(expected, actual);
+        else {
+            assertEquals(expected.size(), actual.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        }
+    }
+
+    private static <E> List<E> toList(final Traversal<Integer, E> traversal, final int threshold) {
+        apply(traversal.asAdmin(), threshold);
+        return traversal.toList();
+    }
+
+    private static void apply(final Traversal.Admin<?, ?> traversal, final int threshold) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        if (threshold != Integer.MAX_VALUE)
+            strategies.addStrategies(SpillStrategy.build().threshold(threshold).dedup(true).create());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+    }
+}
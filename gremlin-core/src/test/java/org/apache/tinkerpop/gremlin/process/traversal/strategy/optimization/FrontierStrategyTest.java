@@ -0,0 +1,86 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class FrontierStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public RepeatStep.Frontier frontier;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(FrontierStrategy.instance(), RepeatUnrollStrategy.instance());
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        final RepeatStep<?> repeatStep = TraversalHelper.getFirstStepOfAssignableClass(RepeatStep.class, this.original.asAdmin()).orElse(null);
+        if (null == this.frontier) {
+            if (null != repeatStep)
+                assertEquals(null, repeatStep.getFrontier());
+        } else
+            assertEquals(this.frontier, repeatStep.getFrontier());
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        final Predicate<Traverser<Vertex>> predicate = t -> t.loops() > 5;
+        return Arrays.asList(new Object[][]{
+                {__.repeat(out()).times(6).dedup(), RepeatStep.Frontier.DISTINCT},
+                {__.repeat(out()).times(6).dedup().by("name"), null},
+                {__.repeat(out()).times(6).dedup().path(), null},
+                {__.repeat(out()).times(6).count(), null},
+                {__.repeat(out()).emit(__.has("name")).times(6).dedup(), RepeatStep.Frontier.DISTINCT},
+                {__.repeat(out()).emit(__.has("name")).dedup(), null},
+                {__.repeat(both()).emit().dedup(), RepeatStep.Frontier.VISITED},
+                {__.repeat(both()).emit().times(3).dedup(), RepeatStep.Frontier.VISITED},
+                {__.repeat(both()).emit().until(__.has("name", "marko")).dedup(), RepeatStep.Frontier.VISITED},
+                {__.repeat(both()).emit().until(predicate).dedup(), null},
+                {__.repeat(both()).emit().times(3).count(), RepeatStep.Frontier.BULKED},
+                {__.repeat(both()).emit().times(3).groupCount(), RepeatStep.Frontier.BULKED},
+                {__.repeat(both()).emit().times(3).limit(1), null},
+                {__.repeat(both().aggregate("x")).emit().times(3).dedup(), null},
+                {__.repeat(both().limit(2)).emit().times(3).dedup(), null},
+                {__.repeat(both()).until(__.has("name", "marko")).fold(), null},
+                {__.repeat(both()).emit().until(__.has("name", "marko")).count(), null},
+        });
+    }
+}
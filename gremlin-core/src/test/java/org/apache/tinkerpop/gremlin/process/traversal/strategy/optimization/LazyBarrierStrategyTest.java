@@ -23,7 +23,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -71,6 +73,8 @@ public class LazyBarrierStrategyTest {
         final int LAZY_SIZE = LazyBarrierStrategy.MAX_BARRIER_SIZE;
         final int REPEAT_SIZE = RepeatUnrollStrategy.MAX_BARRIER_SIZE;
         final int PATH_SIZE = PathRetractionStrategy.MAX_BARRIER_SIZE;
+        final LazyBarrierStrategy adaptive = LazyBarrierStrategy.build().adaptive(10, 1000).create();
+        final LazyBarrierStrategy pathAware = LazyBarrierStrategy.build().pathAware(true).create();
         return Arrays.asList(new Object[][]{
                 {__.out().count(), __.out().count(), Collections.emptyList()},
                 {__.out().out().count(), __.out().out().count(), Collections.emptyList()},
@@ -100,7 +104,16 @@ public class LazyBarrierStrategyTest {
                 {__.out().as("a").out().as("b").in().where(P.neq("a")).out().select("b").out(), __.out().as("a").out().as("b").in().where(P.neq("a")).barrier(PATH_SIZE).out().select("b").barrier(PATH_SIZE).out(), Collections.singletonList(PathRetractionStrategy.instance())},
                 {__.out().as("a").out().as("b").in().where(P.neq("a")).out().select("b").out().out(), __.out().as("a").out().as("b").in().where(P.neq("a")).barrier(PATH_SIZE).out().select("b").barrier(PATH_SIZE).out().barrier(LAZY_SIZE).out(), Collections.singletonList(PathRetractionStrategy.instance())},
                 {__.V().out().out().groupCount().by(__.out().out().out()).out(), __.V().out().barrier(LAZY_SIZE).out().groupCount().by(__.out().out().barrier(LAZY_SIZE).out()).out(), Collections.emptyList()},
-                {__.V().out().out().groupCount().by(__.out().out().out()).out().as("a"), __.V().out().barrier(LAZY_SIZE).out().groupCount().by(__.out().out().barrier(LAZY_SIZE).out()).out().as("a"), Collections.emptyList()}
+                {__.V().out().out().groupCount().by(__.out().out().out()).out().as("a"), __.V().out().barrier(LAZY_SIZE).out().groupCount().by(__.out().out().barrier(LAZY_SIZE).out()).out().as("a"), Collections.emptyList()},
+                {__.out().out().out().count(), __.out().out().asAdmin().addStep(adaptiveBarrier()).out().count(), Collections.singletonList(adaptive)},
+                {__.V().out().out().count(), __.V().out().asAdmin().addStep(adaptiveBarrier()).out().count(), Collections.singletonList(adaptive)},
+                {__.out().out().path(), __.out().out().path(), Collections.emptyList()},
+                {__.out().out().path(), __.out().out().barrier(LAZY_SIZE).path(), Collections.singletonList(pathAware)},
+                {__.out().as("a").out().in().where(P.neq("a")), __.out().as("a").out().barrier(LAZY_SIZE).in().barrier(LAZY_SIZE).where(P.neq("a")), Collections.singletonList(pathAware)}
         });
     }
+
+    private static NoOpBarrierStep<?> adaptiveBarrier() {
+        return new NoOpBarrierStep<>(EmptyTraversal.instance(), 10, 1000);
+    }
 }
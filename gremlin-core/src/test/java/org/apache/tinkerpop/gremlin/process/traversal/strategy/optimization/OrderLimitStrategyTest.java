@@ -47,6 +47,9 @@ public class OrderLimitStrategyTest {
     @Parameterized.Parameter(value = 1)
     public long limit;
 
+    @Parameterized.Parameter(value = 2)
+    public boolean onGraphComputer;
+
     void applyOrderLimitStrategyStrategy(final Traversal traversal) {
         final TraversalStrategies strategies = new DefaultTraversalStrategies();
         strategies.addStrategies(OrderLimitStrategy.instance());
@@ -56,17 +59,27 @@ public class OrderLimitStrategyTest {
 
     @Test
     public void doTest() {
-        traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
+        if (onGraphComputer)
+            traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
         applyOrderLimitStrategyStrategy(traversal);
         assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
     }
 
-    @Parameterized.Parameters(name = "{0}")
+    @Parameterized.Parameters(name = "{0} {2}")
     public static Iterable<Object> generateTestParameters() {
         return Arrays.asList(new Object[][]{
-                {__.order().limit(1), 1l},
-                {__.out().order().range(7, 15), 15l},
-                {__.order().select("a").limit(7), 7l},
-                {__.order().out().limit(10), Long.MAX_VALUE}});
+                {__.order().limit(1), 1l, true},
+                {__.out().order().range(7, 15), 15l, true},
+                {__.order().select("a").limit(7), 7l, true},
+                {__.order().out().limit(10), Long.MAX_VALUE, true},
+                // standard traversals keep the limited order in a bounded heap
+                {__.order().limit(1), 1l, false},
+                {__.out().order().by("age").range(7, 15), 15l, false},
+                {__.order().by("age").id().limit(3), 3l, false},
+                {__.order().path().select("a").limit(7), 7l, false},
+                {__.order().out().limit(10), Long.MAX_VALUE, false},
+                {__.order().dedup().limit(2), Long.MAX_VALUE, false},
+                {__.order().values("name").limit(2), Long.MAX_VALUE, false},
+                {__.order().by("age"), Long.MAX_VALUE, false}});
     }
 }
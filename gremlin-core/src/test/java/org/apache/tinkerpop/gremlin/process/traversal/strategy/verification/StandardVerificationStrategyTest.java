@@ -52,11 +52,15 @@ public class StandardVerificationStrategyTest {
                 {"__.repeat(out().fold().unfold()).times(2)", repeat(out().fold().unfold()).times(2), false},
                 {"__.repeat(sum()).times(2)", repeat(sum()).times(2), false},
                 {"__.repeat(out().count())", repeat(out().count()), false},
+                {"__.V().pageRank()", __.V().pageRank(), false},
+                {"__.V().peerPressure()", __.V().peerPressure(), false},
+                {"__.V().connectedComponent()", __.V().connectedComponent(), false},
                 // traversals that should pass verification
                 {"__.V().profile().requirementsStep()",
                         __.V().profile().asAdmin().addStep(emptyRequirementStep), true},
                 {"__.V().profile('metrics').cap('metrics').requirementsStep()",
-                        __.V().profile("metrics").asAdmin().addStep(emptyRequirementStep), true}
+                        __.V().profile("metrics").asAdmin().addStep(emptyRequirementStep), true},
+                {"__.V().shortestPath().from(__.hasId(1))", __.V().shortestPath().from(__.hasId(1)), true}
         });
     }
 
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.util.Serializer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeEqualTraversersAndKeepInsertionOrder() {
+        final TraverserSet<String> set = new TraverserSet<>();
+        assertTrue(set.add(traverser("b", 1)));
+        assertTrue(set.add(traverser("a", 2)));
+        assertFalse(set.add(traverser("b", 3)));
+        assertEquals(2, set.size());
+        assertEquals(6L, set.bulkSize());
+        assertEquals(4L, set.get(traverser("b", 1)).bulk());
+        assertEquals("b", set.remove().get());
+        assertEquals(2L, set.bulkSize());
+        assertEquals("a", set.peek().get());
+        assertEquals("a", set.poll().get());
+        assertTrue(set.isEmpty());
+        assertEquals(0L, set.bulkSize());
+        assertNull(set.poll());
+        assertNull(set.peek());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldThrowOnRemoveWhenEmpty() {
+        new TraverserSet<String>().remove();
+    }
+
+    @Test
+    public void shouldSortStably() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            set.add(traverser(i, 1));
+        }
+        set.sort((a, b) -> Integer.compare(a.get() % 10, b.get() % 10));
+        final List<Integer> sorted = new ArrayList<>();
+        set.forEach(t -> sorted.add(t.get()));
+        for (int i = 1; i < sorted.size(); i++) {
+            final int previous = sorted.get(i - 1);
+            final int current = sorted.get(i);
+            assertTrue(previous % 10 < current % 10 || (previous % 10 == current % 10 && previous < current));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(set.contains(traverser(i, 1)));
+        }
+    }
+
+    @Test
+    public void shouldBehaveLikeLinkedHashMap() throws Exception {
+        final Random random = new Random(1234567890L);
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        final Map<Integer, Long> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            final int value = random.nextInt(1000);
+            final int operation = random.nextInt(10);
+            if (operation < 5) {
+                final long bulk = 1 + random.nextInt(3);
+                assertEquals(!expected.containsKey(value), set.add(traverser(value, bulk)));
+                expected.merge(value, bulk, Long::sum);
+            } else if (operation < 7) {
+                if (expected.isEmpty())
+                    assertNull(set.poll());
+                else {
+                    final Integer first = expected.keySet().iterator().next();
+                    final Traverser.Admin<Integer> traverser = set.remove();
+                    assertEquals(first, traverser.get());
+                    assertEquals(expected.remove(first).longValue(), traverser.bulk());
+                }
+            } else if (operation < 9) {
+                assertEquals(null != expected.remove(value), set.remove(traverser(value, 1)));
+            } else {
+                final Iterator<Traverser.Admin<Integer>> traversers = set.iterator();
+                final Iterator<Integer> values = expected.keySet().iterator();
+                while (traversers.hasNext()) {
+                    final Traverser.Admin<Integer> traverser = traversers.next();
+                    assertEquals(values.next(), traverser.get());
+                    if (traverser.get() % 7 == 0) {
+                        traversers.remove();
+                        values.remove();
+                    }
+                }
+                assertFalse(values.hasNext());
+            }
+            assertEquals(expected.size(), set.size());
+            assertEquals(expected.values().stream().mapToLong(Long::longValue).sum(), set.bulkSize());
+        }
+
+        final TraverserSet<Integer> copy = (TraverserSet<Integer>) Serializer.deserializeObject(Serializer.serializeObject(set));
+        assertEquals(set.size(), copy.size());
+        assertEquals(set.bulkSize(), copy.bulkSize());
+        assertEquals(set.toString(), copy.toString());
+    }
+
+    private static <S> Traverser.Admin<S> traverser(final S s, final long bulk) {
+        return new B_O_Traverser<>(s, bulk);
+    }
+}
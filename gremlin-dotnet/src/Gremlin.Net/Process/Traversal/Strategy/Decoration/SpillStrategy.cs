@@ -0,0 +1,45 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Decoration
+{
+    /// <summary>
+    ///     Lets the order, dedup and group steps of a traversal write what they hold to temporary files once they
+    ///     hold more than a threshold of objects.
+    /// </summary>
+    public class SpillStrategy : AbstractTraversalStrategy
+    {
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="SpillStrategy" /> class.
+        /// </summary>
+        /// <param name="threshold">The number of objects a step holds in memory before it spills them.</param>
+        /// <param name="dedup">Lets the dedup step spill as well, which changes the order of its output once it does.</param>
+        public SpillStrategy(int? threshold = null, bool? dedup = null)
+        {
+            if (threshold != null)
+                Configuration["threshold"] = threshold;
+            if (dedup != null)
+                Configuration["dedup"] = dedup;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Finalization
+{
+    /// <summary>
+    ///     Runs the steps of a read-only traversal up to its first barrier on several threads of the server.
+    /// </summary>
+    public class ParallelStrategy : AbstractTraversalStrategy
+    {
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="ParallelStrategy" /> class.
+        /// </summary>
+        /// <param name="workers">The number of threads to run the traversal on.</param>
+        /// <param name="batchSize">The number of start traversers a worker takes at a time.</param>
+        public ParallelStrategy(int? workers = null, int? batchSize = null)
+        {
+            if (workers != null)
+                Configuration["workers"] = workers;
+            if (batchSize != null)
+                Configuration["batchSize"] = batchSize;
+        }
+    }
+}
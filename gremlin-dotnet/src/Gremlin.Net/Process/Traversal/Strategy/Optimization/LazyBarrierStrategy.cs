@@ -29,5 +29,20 @@ namespace Gremlin.Net.Process.Traversal.Strategy.Optimization
     /// </summary>
     public class LazyBarrierStrategy : AbstractTraversalStrategy
     {
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="LazyBarrierStrategy" /> class.
+        /// </summary>
+        /// <param name="minBarrierSize">The smallest window of an adaptive barrier.</param>
+        /// <param name="maxBarrierSize">The largest window of a barrier.</param>
+        /// <param name="pathAware">Specifies whether barriers are also inserted where traversers carry paths.</param>
+        public LazyBarrierStrategy(int? minBarrierSize = null, int? maxBarrierSize = null, bool? pathAware = null)
+        {
+            if (minBarrierSize != null)
+                Configuration["minBarrierSize"] = minBarrierSize;
+            if (maxBarrierSize != null)
+                Configuration["maxBarrierSize"] = maxBarrierSize;
+            if (pathAware != null)
+                Configuration["pathAware"] = pathAware;
+        }
     }
 }
\ No newline at end of file
@@ -167,6 +167,7 @@ public final class Cluster {
         final Builder builder = new Builder(settings.hosts.get(0))
                 .port(settings.port)
                 .enableSsl(settings.connectionPool.enableSsl)
+                .enableCompression(settings.connectionPool.enableCompression)
                 .trustCertificateChainFile(settings.connectionPool.trustCertChainFile)
                 .keepAliveInterval(settings.connectionPool.keepAliveInterval)
                 .keyCertChainFile(settings.connectionPool.keyCertChainFile)
@@ -176,9 +177,11 @@ public final class Cluster {
                 .workerPoolSize(settings.workerPoolSize)
                 .reconnectInterval(settings.connectionPool.reconnectInterval)
                 .resultIterationBatchSize(settings.connectionPool.resultIterationBatchSize)
+                .maxResultQueueSize(settings.connectionPool.maxResultQueueSize)
                 .channelizer(settings.connectionPool.channelizer)
                 .maxContentLength(settings.connectionPool.maxContentLength)
                 .maxWaitForConnection(settings.connectionPool.maxWaitForConnection)
+                .maxRequestsPerFlush(settings.connectionPool.maxRequestsPerFlush)
                 .maxInProcessPerConnection(settings.connectionPool.maxInProcessPerConnection)
                 .minInProcessPerConnection(settings.connectionPool.minInProcessPerConnection)
                 .maxSimultaneousUsagePerConnection(settings.connectionPool.maxSimultaneousUsagePerConnection)
@@ -299,6 +302,13 @@ public final class Cluster {
         return manager.connectionPoolSettings.enableSsl;
     }
 
+    /**
+     * Determines if the client asks the server to compress messages.
+     */
+    public boolean isCompressionEnabled() {
+        return manager.connectionPoolSettings.enableCompression;
+    }
+
     /**
      * Gets the minimum number of in-flight requests that can occur on a {@link Connection} before it is considered
      * for closing on return to the {@link ConnectionPool}.
@@ -350,6 +360,13 @@ public final class Cluster {
         return manager.connectionPoolSettings.resultIterationBatchSize;
     }
 
+    /**
+     * Gets the number of results held for a request before the connection stops reading from the server.
+     */
+    public int getMaxResultQueueSize() {
+        return manager.connectionPoolSettings.maxResultQueueSize;
+    }
+
     /**
      * Gets the maximum amount of time to wait for a connection to be borrowed from the connection pool.
      */
@@ -364,6 +381,13 @@ public final class Cluster {
         return manager.connectionPoolSettings.maxWaitForSessionClose;
     }
 
+    /**
+     * Gets the maximum number of requests written to a connection between flushes.
+     */
+    public int getMaxRequestsPerFlush() {
+        return manager.connectionPoolSettings.maxRequestsPerFlush;
+    }
+
     /**
      * Gets the maximum size in bytes of any request sent to the server.
      */
@@ -480,12 +504,15 @@ public final class Cluster {
         private int minInProcessPerConnection = Connection.MIN_IN_PROCESS;
         private int maxWaitForConnection = Connection.MAX_WAIT_FOR_CONNECTION;
         private int maxWaitForSessionClose = Connection.MAX_WAIT_FOR_SESSION_CLOSE;
+        private int maxRequestsPerFlush = Connection.MAX_REQUESTS_PER_FLUSH;
         private int maxContentLength = Connection.MAX_CONTENT_LENGTH;
         private int reconnectInterval = Connection.RECONNECT_INTERVAL;
         private int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        private int maxResultQueueSize = Connection.MAX_RESULT_QUEUE_SIZE;
         private long keepAliveInterval = Connection.KEEP_ALIVE_INTERVAL;
         private String channelizer = Channelizer.WebSocketChannelizer.class.getName();
         private boolean enableSsl = false;
+        private boolean enableCompression = false;
         private String trustCertChainFile = null;
         private String keyCertChainFile = null;
         private String keyFile = null;
@@ -555,6 +582,15 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * Offers the permessage-deflate extension in the websocket handshake so that messages are compressed in both
+         * directions when the server has compression enabled. Against a server without it, messages are sent as usual.
+         */
+        public Builder enableCompression(final boolean enable) {
+            this.enableCompression = enable;
+            return this;
+        }
+
         /**
          * Explicitly set the {@code SslContext} for when more flexibility is required in the configuration than is
          * allowed by the {@link Builder}. If this value is set to something other than {@code null} then all other
@@ -682,6 +718,16 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * The number of results held for a single request before the connection stops reading from the server until
+         * those results are consumed. As the connection is shared with other requests, it keeps reading while any
+         * other request on it has a consumer waiting on results. The default is 0 which means there is no limit.
+         */
+        public Builder maxResultQueueSize(final int size) {
+            this.maxResultQueueSize = size;
+            return this;
+        }
+
         /**
          * The maximum amount of time to wait for a connection to be borrowed from the connection pool.
          */
@@ -700,6 +746,16 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * Requests submitted to a connection faster than they can be written are written together and flushed once
+         * for up to this many requests, which saves a system call per request under load. The default value is 64.
+         * Set to 1 to flush each request on its own.
+         */
+        public Builder maxRequestsPerFlush(final int maxRequestsPerFlush) {
+            this.maxRequestsPerFlush = maxRequestsPerFlush;
+            return this;
+        }
+
         /**
          * The maximum size in bytes of any request sent to the server.   This number should not exceed the same
          * setting defined on the server.
@@ -872,10 +928,13 @@ public final class Cluster {
             connectionPoolSettings.minSize = builder.minConnectionPoolSize;
             connectionPoolSettings.maxWaitForConnection = builder.maxWaitForConnection;
             connectionPoolSettings.maxWaitForSessionClose = builder.maxWaitForSessionClose;
+            connectionPoolSettings.maxRequestsPerFlush = builder.maxRequestsPerFlush;
             connectionPoolSettings.maxContentLength = builder.maxContentLength;
             connectionPoolSettings.reconnectInterval = builder.reconnectInterval;
             connectionPoolSettings.resultIterationBatchSize = builder.resultIterationBatchSize;
+            connectionPoolSettings.maxResultQueueSize = builder.maxResultQueueSize;
             connectionPoolSettings.enableSsl = builder.enableSsl;
+            connectionPoolSettings.enableCompression = builder.enableCompression;
             connectionPoolSettings.trustCertChainFile = builder.trustCertChainFile;
             connectionPoolSettings.keyCertChainFile = builder.keyCertChainFile;
             connectionPoolSettings.keyFile = builder.keyFile;
@@ -929,6 +988,9 @@ public final class Cluster {
             if (builder.maxWaitForSessionClose < 1)
                 throw new IllegalArgumentException("maxWaitForSessionClose must be greater than zero");
 
+            if (builder.maxRequestsPerFlush < 1)
+                throw new IllegalArgumentException("maxRequestsPerFlush must be greater than zero");
+
             if (builder.maxContentLength < 1)
                 throw new IllegalArgumentException("maxContentLength must be greater than zero");
 
@@ -938,6 +1000,9 @@ public final class Cluster {
             if (builder.resultIterationBatchSize < 1)
                 throw new IllegalArgumentException("resultIterationBatchSize must be greater than zero");
 
+            if (builder.maxResultQueueSize < 0)
+                throw new IllegalArgumentException("maxResultQueueSize must be greater than or equal to zero");
+
             if (builder.nioPoolSize < 1)
                 throw new IllegalArgumentException("nioPoolSize must be greater than zero");
 
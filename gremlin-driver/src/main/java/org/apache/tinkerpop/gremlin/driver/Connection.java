@@ -34,7 +34,6 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -64,9 +63,11 @@ final class Connection {
     public static final int MAX_WAIT_FOR_CONNECTION = 3000;
     public static final int MAX_WAIT_FOR_SESSION_CLOSE = 3000;
     public static final int MAX_CONTENT_LENGTH = 65536;
+    public static final int MAX_REQUESTS_PER_FLUSH = 64;
 
     public static final int RECONNECT_INTERVAL = 1000;
     public static final int RESULT_ITERATION_BATCH_SIZE = 64;
+    public static final int MAX_RESULT_QUEUE_SIZE = 0;
     public static final long KEEP_ALIVE_INTERVAL = 1800000;
 
     /**
@@ -83,6 +84,7 @@ final class Connection {
     private final String connectionLabel;
 
     private final Channelizer channelizer;
+    private final RequestCoalescer requestCoalescer;
 
     private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
     private final AtomicBoolean shutdownInitiated = new AtomicBoolean(false);
@@ -112,6 +114,7 @@ final class Connection {
 
             channel = b.connect(uri.getHost(), uri.getPort()).sync().channel();
             channelizer.connected();
+            requestCoalescer = new RequestCoalescer(channel, cluster.connectionPoolSettings().maxRequestsPerFlush);
 
             logger.info("Created new connection for {}", uri);
         } catch (Exception ie) {
@@ -205,7 +208,6 @@ final class Connection {
                         thisConnection.returnToPool();
                         cluster.executor().submit(() -> future.completeExceptionally(f.cause()));
                     } else {
-                        final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
                         final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
 
                         // the callback for when the read was successful, meaning that ResultQueue.markComplete()
@@ -243,13 +245,14 @@ final class Connection {
                             return null;
                         });
 
-                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
+                        final ResultQueue handler = new ResultQueue(readCompleted, channel,
+                                cluster.connectionPoolSettings().maxResultQueueSize);
                         pending.put(requestMessage.getRequestId(), handler);
                         cluster.executor().submit(() -> future.complete(
                                 new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
                     }
                 });
-        channel.writeAndFlush(requestMessage, requestPromise);
+        requestCoalescer.write(requestMessage, requestPromise);
 
         // try to keep the connection alive if the channel allows such things - websockets will
         if (channelizer.supportsKeepAlive() && keepAliveInterval > 0) {
@@ -38,6 +38,10 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -64,6 +68,7 @@ final class ConnectionPool {
     private final String poolLabel;
 
     private final AtomicInteger scheduledForCreation = new AtomicInteger();
+    private final AtomicInteger selectionOffset = new AtomicInteger();
 
     private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
 
@@ -148,22 +153,16 @@ final class ConnectionPool {
             considerNewConnection();
         }
 
-        while (true) {
-            final int borrowed = leastUsedConn.borrowed.get();
-            final int availableInProcess = leastUsedConn.availableInProcess();
-
-            if (borrowed >= maxSimultaneousUsagePerConnection && leastUsedConn.availableInProcess() == 0) {
-                logger.debug("Least used connection selected from pool for {} but borrowed [{}] >= availableInProcess [{}] - wait",
-                        host, borrowed, availableInProcess);
-                return waitForConnection(timeout, unit);
-            }
-
-            if (leastUsedConn.borrowed.compareAndSet(borrowed, borrowed + 1)) {
-                if (logger.isDebugEnabled())
-                    logger.debug("Return least used {} on {}", leastUsedConn.getConnectionInfo(), host);
-                return leastUsedConn;
-            }
+        final Connection claimed = claim(leastUsedConn, this::selectLeastUsed, c -> c.borrowed, Connection::availableInProcess,
+                maxSimultaneousUsagePerConnection);
+        if (null == claimed) {
+            logger.debug("Least used connection selected from pool for {} is saturated or was removed - wait", host);
+            return waitForConnection(timeout, unit);
         }
+
+        if (logger.isDebugEnabled())
+            logger.debug("Return least used {} on {}", claimed.getConnectionInfo(), host);
+        return claimed;
     }
 
     public void returnConnection(final Connection connection) throws ConnectionException {
@@ -430,18 +429,63 @@ final class ConnectionPool {
     }
 
     private Connection selectLeastUsed() {
+        return selectLeastUsed(connections, selectionOffset.getAndIncrement(),
+                c -> c.borrowed.get(), Connection::isDead);
+    }
+
+    /**
+     * Selects the live connection with the fewest borrows without locking. The scan starts at an offset that the
+     * caller rotates so that concurrent borrowers split up over connections that are tied rather than all going for
+     * the first one. The connections are iterated in place, which for a {@code CopyOnWriteArrayList} walks a
+     * consistent snapshot without copying it, so ties are broken by their distance past the offset instead.
+     */
+    static <C> C selectLeastUsed(final List<C> connections, final int rotation, final ToIntFunction<C> borrowed,
+                                 final Predicate<C> isDead) {
+        final int size = connections.size();
+        if (size == 0) return null;
+
+        final int offset = (rotation & Integer.MAX_VALUE) % size;
         int minInFlight = Integer.MAX_VALUE;
-        Connection leastBusy = null;
-        for (Connection connection : connections) {
-            int inFlight = connection.borrowed.get();
-            if (!connection.isDead() && inFlight < minInFlight) {
+        int minDistance = Integer.MAX_VALUE;
+        C leastBusy = null;
+        int i = 0;
+        for (final C connection : connections) {
+            // connections before the offset come after all those at or past it
+            final int distance = i >= offset ? i - offset : Integer.MAX_VALUE / 2 + i;
+            i++;
+            if (isDead.test(connection)) continue;
+            final int inFlight = borrowed.applyAsInt(connection);
+            if (inFlight < minInFlight || (inFlight == minInFlight && distance < minDistance)) {
                 minInFlight = inFlight;
+                minDistance = distance;
                 leastBusy = connection;
             }
         }
         return leastBusy;
     }
 
+    /**
+     * Takes a borrow on the candidate connection. Losing the race for it to another borrower means that it may no
+     * longer be the least used, so another is selected rather than retrying the same one. Returns {@code null} if
+     * the selected connection is saturated or if no connection is left to select, in which case the caller waits.
+     */
+    static <C> C claim(final C candidate, final Supplier<C> reselect, final Function<C, AtomicInteger> borrowed,
+                       final ToIntFunction<C> availableInProcess, final int maxSimultaneousUsage) {
+        C current = candidate;
+        while (current != null) {
+            final AtomicInteger counter = borrowed.apply(current);
+            final int inFlight = counter.get();
+            if (inFlight >= maxSimultaneousUsage && availableInProcess.applyAsInt(current) == 0)
+                return null;
+
+            if (counter.compareAndSet(inFlight, inFlight + 1))
+                return current;
+
+            current = reselect.get();
+        }
+        return null;
+    }
+
     private void awaitAvailableConnection(long timeout, TimeUnit unit) throws InterruptedException {
         logger.debug("Wait {} {} for an available connection on {} with {}", timeout, unit, host, Thread.currentThread());
 
@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import java.net.InetSocketAddress;
 import java.security.PrivilegedExceptionAction;
 import java.security.PrivilegedActionException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
@@ -217,7 +218,9 @@ final class Handler {
                         if (data instanceof List) {
                             // unrolls the collection into individual results to be handled by the queue.
                             final List<Object> listToUnroll = (List<Object>) data;
-                            listToUnroll.forEach(item -> queue.add(new Result(item)));
+                            final List<Result> results = new ArrayList<>(listToUnroll.size());
+                            listToUnroll.forEach(item -> results.add(new Result(item)));
+                            queue.addAll(results);
                         } else {
                             // since this is not a list it can just be added to the queue
                             queue.add(new Result(response.getResult().getData()));
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the requests of a {@link Connection} so that requests submitted while earlier ones are still waiting to be
+ * written share a flush, and so the system call that goes with it. Requests from any thread go into a queue that a
+ * single task on the event loop of the {@code Channel} drains, writing up to {@code maxRequestsPerFlush} requests per
+ * flush. A request submitted on its own is written and flushed right away.
+ */
+final class RequestCoalescer {
+    private final Channel channel;
+    private final int maxRequestsPerFlush;
+    private final Queue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final Runnable drain = this::drain;
+
+    RequestCoalescer(final Channel channel, final int maxRequestsPerFlush) {
+        this.channel = channel;
+        this.maxRequestsPerFlush = maxRequestsPerFlush;
+    }
+
+    void write(final RequestMessage requestMessage, final ChannelPromise promise) {
+        queue.offer(new PendingWrite(requestMessage, promise));
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                channel.eventLoop().execute(drain);
+            } catch (RejectedExecutionException ree) {
+                // the event loop is shutting down so nothing in the queue will ever be written
+                drainScheduled.set(false);
+                PendingWrite pending;
+                while ((pending = queue.poll()) != null) {
+                    pending.promise.tryFailure(ree);
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        // reset before polling so that a request offered after the last poll below schedules another drain rather
+        // than being left in the queue
+        drainScheduled.set(false);
+
+        int written = 0;
+        PendingWrite pending;
+        while (written < maxRequestsPerFlush && (pending = queue.poll()) != null) {
+            channel.write(pending.requestMessage, pending.promise);
+            written++;
+        }
+
+        if (written > 0) channel.flush();
+
+        // give the event loop back to reads between batches and come back for the rest
+        if (!queue.isEmpty() && drainScheduled.compareAndSet(false, true))
+            channel.eventLoop().execute(drain);
+    }
+
+    private static final class PendingWrite {
+        private final RequestMessage requestMessage;
+        private final ChannelPromise promise;
+
+        private PendingWrite(final RequestMessage requestMessage, final ChannelPromise promise) {
+            this.requestMessage = requestMessage;
+            this.promise = promise;
+        }
+    }
+}
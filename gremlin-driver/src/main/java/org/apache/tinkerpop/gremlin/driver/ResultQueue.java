@@ -18,14 +18,17 @@
  */
 package org.apache.tinkerpop.gremlin.driver;
 
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
-import org.javatuples.Pair;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,19 +37,44 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A queue of incoming {@link Result} objects.  The queue is updated by the {@link Handler.GremlinResponseHandler}
  * until a response terminator is identified.
+ * <p/>
+ * Results are held in segments where each segment is the batch of results from one response so that a response is
+ * appended at once. The queue takes no locks. Results are only ever removed by the thread that wins the right to drain
+ * the queue, which then completes waiting futures in order until none can be completed. Any other thread that finds
+ * a drain in progress leaves it to that thread to do its work.
+ * <p/>
+ * When constructed with a {@code Channel} and a maximum size, the queue asks to stop reading from the channel when it
+ * holds more than that many results and withdraws that once it has been drained to half of that size. The channel is
+ * shared by every request on the connection, so it only stops reading while at least one of its queues is over its
+ * maximum and none of them has a consumer waiting on results that have not arrived yet. Otherwise a consumer that
+ * reads one request after another would wait forever on results stuck behind the unread ones of an earlier request.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
 final class ResultQueue {
 
-    private final LinkedBlockingQueue<Result> resultLinkedBlockingQueue;
+    private static final AttributeKey<ReadGate> READ_GATE = AttributeKey.valueOf("resultQueueReadGate");
+
+    private final Queue<List<Result>> segments = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    /**
+     * The segment currently being drained and the index of its next result which are only accessed by the thread
+     * that holds the drain.
+     */
+    private List<Result> head = null;
+    private int headIndex = 0;
+
+    private final AtomicInteger drains = new AtomicInteger(0);
 
     private Object aggregatedResult = null;
 
@@ -54,11 +82,28 @@ final class ResultQueue {
 
     private final CompletableFuture<Void> readComplete;
 
-    private final Queue<Pair<CompletableFuture<List<Result>>,Integer>> waiting = new ConcurrentLinkedQueue<>();
+    private final Queue<Waiting> waiting = new ConcurrentLinkedQueue<>();
+
+    private final ReadGate readGate;
+
+    private final int maxSize;
+
+    private final AtomicBoolean paused = new AtomicBoolean(false);
 
-    public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
-        this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
+    /**
+     * Whether this queue counts towards the consumers waiting on results, which is only accessed by the thread that
+     * holds the drain.
+     */
+    private boolean starved = false;
+
+    public ResultQueue(final CompletableFuture<Void> readComplete) {
+        this(readComplete, null, 0);
+    }
+
+    public ResultQueue(final CompletableFuture<Void> readComplete, final Channel channel, final int maxSize) {
         this.readComplete = readComplete;
+        this.readGate = maxSize > 0 ? ReadGate.of(channel) : null;
+        this.maxSize = maxSize;
     }
 
     /**
@@ -67,8 +112,25 @@ final class ResultQueue {
      * @param result a return value from the {@link Traversal} or script submitted for execution
      */
     public void add(final Result result) {
-        this.resultLinkedBlockingQueue.offer(result);
-        tryDrainNextWaiting(false);
+        addAll(Collections.singletonList(result));
+    }
+
+    /**
+     * Adds the {@link Result} objects of a response to the queue at once which will be later read by the
+     * {@link ResultSet}.
+     *
+     * @param results return values from the {@link Traversal} or script submitted for execution
+     */
+    public void addAll(final List<Result> results) {
+        if (results.isEmpty()) return;
+
+        this.segments.offer(results);
+        final int current = this.size.addAndGet(results.size());
+
+        if (this.maxSize > 0 && current > this.maxSize) pause();
+
+        // a consumer that starts waiting after this check will drain on its own
+        if (!this.waiting.isEmpty()) drain();
     }
 
     /**
@@ -135,18 +197,34 @@ final class ResultQueue {
         return (V) aggregatedResult;
     }
 
+    /**
+     * Returns a future that completes when the number of items specified are available or when the stream is
+     * complete, in which case there may be fewer than that number.
+     */
     public CompletableFuture<List<Result>> await(final int items) {
+        return await(items, items);
+    }
+
+    /**
+     * Returns a future that completes with up to the number of items specified as soon as there is at least one
+     * available or when the stream is complete.
+     */
+    public CompletableFuture<List<Result>> awaitAny(final int items) {
+        return await(1, items);
+    }
+
+    private CompletableFuture<List<Result>> await(final int minimum, final int items) {
         final CompletableFuture<List<Result>> result = new CompletableFuture<>();
-        waiting.add(Pair.with(result, items));
+        waiting.add(new Waiting(result, minimum, items));
 
-        tryDrainNextWaiting(false);
+        drain();
 
         return result;
     }
 
     public int size() {
         if (error.get() != null) throw new RuntimeException(error.get());
-        return this.resultLinkedBlockingQueue.size();
+        return this.size.get();
     }
 
     public boolean isEmpty() {
@@ -158,9 +236,25 @@ final class ResultQueue {
         return readComplete.isDone();
     }
 
+    /**
+     * Determines if the stream is complete and every result has been taken from the queue.
+     */
+    boolean isExhausted() {
+        return readComplete.isDone() && this.size.get() == 0;
+    }
+
+    /**
+     * Takes whatever results are available now without waiting for more to arrive. It only waits for a thread that is
+     * handing results to waiting futures at the same time to finish.
+     */
     void drainTo(final Collection<Result> collection) {
         if (error.get() != null) throw new RuntimeException(error.get());
-        resultLinkedBlockingQueue.drainTo(collection);
+
+        while (!drains.compareAndSet(0, 1)) {
+            Thread.yield();
+        }
+        collection.addAll(take(Integer.MAX_VALUE));
+        drainHeld();
     }
 
     void markComplete() {
@@ -171,46 +265,143 @@ final class ResultQueue {
 
         this.readComplete.complete(null);
 
-        this.drainAllWaiting();
+        this.resume();
+        this.drain();
     }
 
     void markError(final Throwable throwable) {
         error.set(throwable);
         this.readComplete.completeExceptionally(throwable);
-        this.drainAllWaiting();
+        this.resume();
+        this.drain();
+    }
+
+    private void pause() {
+        if (null != this.readGate && this.paused.compareAndSet(false, true))
+            this.readGate.update(1, 0);
+    }
+
+    /**
+     * Withdraws the request of this queue to stop reading from the channel, which is also done once nothing more will
+     * arrive for it.
+     */
+    private void resume() {
+        if (null != this.readGate && this.paused.compareAndSet(true, false))
+            this.readGate.update(-1, 0);
+    }
+
+    /**
+     * Completes waiting futures in order for as long as the next one can be completed. Only one thread drains at a
+     * time and a thread that calls this method while another is draining makes that thread go around again.
+     */
+    private void drain() {
+        if (drains.getAndIncrement() != 0) return;
+        drainHeld();
+    }
+
+    /**
+     * Does the work of {@link #drain()} for the thread that already holds it and then lets go of it.
+     */
+    private void drainHeld() {
+        int missed = 1;
+        do {
+            // need to peek because the number of available items needs to be >= the expected size for that future.
+            // if not it needs to keep waiting
+            Waiting nextWaiting;
+            while ((nextWaiting = waiting.peek()) != null &&
+                    (readComplete.isDone() || size.get() >= nextWaiting.minimum)) {
+                final List<Result> results = take(nextWaiting.items);
+                waiting.poll();
+
+                // it's important to check for error here because a future may have already been queued in "waiting"
+                // prior to the first response back from the server. if that happens, any "waiting" futures should be
+                // completed exceptionally otherwise it will look like success.
+                if (null == error.get())
+                    nextWaiting.future.complete(results);
+                else
+                    nextWaiting.future.completeExceptionally(error.get());
+            }
+
+            // a consumer left waiting needs the channel to keep reading even if another queue on it is full
+            if (null != readGate) {
+                final boolean nowStarved = !waiting.isEmpty() && !readComplete.isDone();
+                if (nowStarved != starved) {
+                    starved = nowStarved;
+                    readGate.update(0, nowStarved ? 1 : -1);
+                }
+            }
+
+            missed = drains.addAndGet(-missed);
+        } while (missed != 0);
     }
 
     /**
-     * Completes the next waiting future if there is one.
+     * Removes up to the number of items specified from the front of the queue. Must only be called by the thread
+     * that holds the drain.
      */
-    private synchronized void tryDrainNextWaiting(final boolean force) {
-        // need to peek because the number of available items needs to be >= the expected size for that future. if not
-        // it needs to keep waiting
-        final Pair<CompletableFuture<List<Result>>, Integer> nextWaiting = waiting.peek();
-        if (nextWaiting != null && (force || (resultLinkedBlockingQueue.size() >= nextWaiting.getValue1() || readComplete.isDone()))) {
-            final int items = nextWaiting.getValue1();
-            final CompletableFuture<List<Result>> future = nextWaiting.getValue0();
-            final List<Result> results = new ArrayList<>(items);
-            resultLinkedBlockingQueue.drainTo(results, items);
-
-            // it's important to check for error here because a future may have already been queued in "waiting" prior
-            // to the first response back from the server. if that happens, any "waiting" futures should be completed
-            // exceptionally otherwise it will look like success.
-            if (null == error.get())
-                future.complete(results);
-            else
-                future.completeExceptionally(error.get());
-
-            waiting.remove(nextWaiting);
+    private List<Result> take(final int items) {
+        final List<Result> results = new ArrayList<>(Math.min(items, size.get()));
+        while (results.size() < items) {
+            if (null == head || headIndex == head.size()) {
+                head = segments.poll();
+                headIndex = 0;
+                if (null == head) break;
+                continue;
+            }
+
+            final int count = Math.min(items - results.size(), head.size() - headIndex);
+            results.addAll(head.subList(headIndex, headIndex + count));
+            headIndex = headIndex + count;
         }
+
+        // let go of a fully read segment so that it can be collected
+        if (null != head && headIndex == head.size()) head = null;
+
+        if (size.addAndGet(-results.size()) <= maxSize / 2) resume();
+
+        return results;
     }
 
     /**
-     * Completes all remaining futures.
+     * Decides whether a {@code Channel} that is shared by the queues of several requests reads from the server. It
+     * stops reading while any of the queues holds too many results, unless one of them has a consumer waiting on
+     * results that have not arrived yet.
      */
-    private void drainAllWaiting() {
-        while (!waiting.isEmpty()) {
-            tryDrainNextWaiting(true);
+    static final class ReadGate {
+        private final Channel channel;
+        private int paused = 0;
+        private int starved = 0;
+
+        private ReadGate(final Channel channel) {
+            this.channel = channel;
+        }
+
+        static ReadGate of(final Channel channel) {
+            final Attribute<ReadGate> attribute = channel.attr(READ_GATE);
+            final ReadGate gate = attribute.get();
+            if (null != gate) return gate;
+
+            final ReadGate created = new ReadGate(channel);
+            final ReadGate existing = attribute.setIfAbsent(created);
+            return null == existing ? created : existing;
+        }
+
+        synchronized void update(final int pausedChange, final int starvedChange) {
+            this.paused = this.paused + pausedChange;
+            this.starved = this.starved + starvedChange;
+            this.channel.config().setAutoRead(this.paused == 0 || this.starved > 0);
+        }
+    }
+
+    private static final class Waiting {
+        private final CompletableFuture<List<Result>> future;
+        private final int minimum;
+        private final int items;
+
+        private Waiting(final CompletableFuture<List<Result>> future, final int minimum, final int items) {
+            this.future = future;
+            this.minimum = minimum;
+            this.items = items;
         }
     }
 }
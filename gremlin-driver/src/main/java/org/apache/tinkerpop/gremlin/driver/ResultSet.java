@@ -19,6 +19,9 @@
 package org.apache.tinkerpop.gremlin.driver;
 
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -28,6 +31,7 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -43,11 +47,16 @@ import java.util.stream.StreamSupport;
  * by {@link #all()} will make it so that the {@link List} of results returned from {@link #all()} have one
  * {@link Result} missing from the total set as it was already retrieved by {@link #one}.
  * <p/>
+ * A {@code ResultSet} is also a {@link Publisher} of its results for a single {@link Subscriber} which receives them
+ * as it requests them. Results that are not requested stay on the client unless the connection is configured with a
+ * {@link Cluster.Builder#maxResultQueueSize(int)} in which case the connection stops reading from the server while
+ * too many of them are held.
+ * <p/>
  * This class is not thread-safe.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public final class ResultSet implements Iterable<Result> {
+public final class ResultSet implements Iterable<Result>, Publisher<Result> {
     private final ResultQueue resultQueue;
     private final ExecutorService executor;
     private final RequestMessage originalRequestMessage;
@@ -55,6 +64,8 @@ public final class ResultSet implements Iterable<Result> {
 
     private final CompletableFuture<Void> readCompleted;
 
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
     public ResultSet(final ResultQueue resultQueue, final ExecutorService executor,
                      final CompletableFuture<Void> readCompleted, final RequestMessage originalRequestMessage,
                      final Host host) {
@@ -134,6 +145,36 @@ public final class ResultSet implements Iterable<Result> {
         }, executor);
     }
 
+    /**
+     * Subscribes to the results that remain in this {@code ResultSet}. Only one {@link Subscriber} is allowed and
+     * any other is signalled an {@code IllegalStateException}. Results are signalled from the driver executor and
+     * should not be read by other means once subscribed.
+     */
+    @Override
+    public void subscribe(final Subscriber<? super Result> subscriber) {
+        if (null == subscriber) throw new NullPointerException("The subscriber cannot be null");
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A ResultSet only allows a single subscriber"));
+            return;
+        }
+
+        final ResultSubscription subscription = new ResultSubscription(resultQueue, executor, subscriber);
+        subscriber.onSubscribe(subscription);
+
+        // signal completion of a stream whose results were already delivered without waiting for more demand
+        readCompleted.whenComplete((v, t) -> subscription.tryRead());
+    }
+
     /**
      * Stream items with a blocking iterator.
      */
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@link Subscription} of the single {@link Subscriber} of a {@link ResultSet}. Results are taken from the
+ * {@link ResultQueue} in batches of up to the outstanding demand and signalled from the driver executor. Only one
+ * batch is read at a time, which keeps the signals to the {@link Subscriber} serialized.
+ */
+final class ResultSubscription implements Subscription {
+
+    private final ResultQueue resultQueue;
+    private final ExecutorService executor;
+    private final Subscriber<? super Result> subscriber;
+
+    private final AtomicLong requested = new AtomicLong(0);
+    private final AtomicBoolean reading = new AtomicBoolean(false);
+    private final AtomicReference<Throwable> invalidRequest = new AtomicReference<>();
+    private volatile boolean done = false;
+
+    ResultSubscription(final ResultQueue resultQueue, final ExecutorService executor,
+                       final Subscriber<? super Result> subscriber) {
+        this.resultQueue = resultQueue;
+        this.executor = executor;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long n) {
+        if (done) return;
+
+        if (n <= 0)
+            invalidRequest.compareAndSet(null, new IllegalArgumentException("The number of requested results must be greater than zero"));
+        else
+            requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+
+        tryRead();
+    }
+
+    @Override
+    public void cancel() {
+        done = true;
+    }
+
+    /**
+     * Reads the next batch if there is demand and no batch is being read. A completed stream is read without demand
+     * so that completion is signalled as soon as the last result is delivered.
+     */
+    void tryRead() {
+        if (done || (requested.get() == 0 && null == invalidRequest.get() && !resultQueue.isExhausted())) return;
+        if (!reading.compareAndSet(false, true)) return;
+
+        if (null != invalidRequest.get()) {
+            done = true;
+            subscriber.onError(invalidRequest.get());
+            return;
+        }
+
+        final int items = (int) Math.max(1, Math.min(requested.get(), Integer.MAX_VALUE));
+        resultQueue.awaitAny(items).whenCompleteAsync(this::deliver, executor);
+    }
+
+    private void deliver(final List<Result> results, final Throwable t) {
+        if (done) return;
+
+        if (t != null) {
+            done = true;
+            subscriber.onError(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            return;
+        }
+
+        // an empty batch is only returned once the stream is complete and nothing remains
+        if (results.isEmpty()) {
+            done = true;
+            subscriber.onComplete();
+            return;
+        }
+
+        for (final Result result : results) {
+            if (done) return;
+            subscriber.onNext(result);
+        }
+
+        if (requested.get() != Long.MAX_VALUE) requested.addAndGet(-results.size());
+
+        reading.set(false);
+        tryRead();
+    }
+}
@@ -169,6 +169,9 @@ final class Settings {
             if (connectionPoolConf.containsKey("enableSsl"))
                 cpSettings.enableSsl = connectionPoolConf.getBoolean("enableSsl");
 
+            if (connectionPoolConf.containsKey("enableCompression"))
+                cpSettings.enableCompression = connectionPoolConf.getBoolean("enableCompression");
+
             if (connectionPoolConf.containsKey("keyCertChainFile"))
                 cpSettings.keyCertChainFile = connectionPoolConf.getString("keyCertChainFile");
 
@@ -202,6 +205,9 @@ final class Settings {
             if (connectionPoolConf.containsKey("maxWaitForConnection"))
                 cpSettings.maxWaitForConnection = connectionPoolConf.getInt("maxWaitForConnection");
 
+            if (connectionPoolConf.containsKey("maxRequestsPerFlush"))
+                cpSettings.maxRequestsPerFlush = connectionPoolConf.getInt("maxRequestsPerFlush");
+
             if (connectionPoolConf.containsKey("maxContentLength"))
                 cpSettings.maxContentLength = connectionPoolConf.getInt("maxContentLength");
 
@@ -211,6 +217,9 @@ final class Settings {
             if (connectionPoolConf.containsKey("resultIterationBatchSize"))
                 cpSettings.resultIterationBatchSize = connectionPoolConf.getInt("resultIterationBatchSize");
 
+            if (connectionPoolConf.containsKey("maxResultQueueSize"))
+                cpSettings.maxResultQueueSize = connectionPoolConf.getInt("maxResultQueueSize");
+
             if (connectionPoolConf.containsKey("keepAliveInterval"))
                 cpSettings.keepAliveInterval = connectionPoolConf.getLong("keepAliveInterval");
 
@@ -227,6 +236,12 @@ final class Settings {
          */
         public boolean enableSsl = false;
 
+        /**
+         * Determines if the client offers the permessage-deflate extension to the server so that messages can be
+         * compressed. Defaults to {@code false}.
+         */
+        public boolean enableCompression = false;
+
         /**
          * The trusted certificate in PEM format.
          */
@@ -302,6 +317,12 @@ final class Settings {
          */
         public int maxWaitForSessionClose = Connection.MAX_WAIT_FOR_SESSION_CLOSE;
 
+        /**
+         * The maximum number of requests that are written to a connection between flushes when they are submitted
+         * faster than they can be written. The default value is 64.
+         */
+        public int maxRequestsPerFlush = Connection.MAX_REQUESTS_PER_FLUSH;
+
         /**
          * The maximum length in bytes that a message can be sent to the server. This number can be no greater than
          * the setting of the same name in the server configuration. The default value is 65536.
@@ -320,6 +341,14 @@ final class Settings {
          */
         public int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
 
+        /**
+         * The number of results that may be held on the client for a single request before the connection stops
+         * reading from the server until the results are consumed. As a connection is shared by requests, reading
+         * resumes only once the results of that request are consumed, so a limit should only be used when results
+         * are always consumed. The default value is 0 which means there is no limit.
+         */
+        public int maxResultQueueSize = Connection.MAX_RESULT_QUEUE_SIZE;
+
         /**
          * The constructor for the channel that connects to the server. This value should be the fully qualified
          * class name of a Gremlin Driver {@link Channelizer} implementation.  By default this value is set to
@@ -49,6 +49,7 @@ public final class Tokens {
     public static final String ARGS_SIDE_EFFECT = "sideEffect";
     public static final String ARGS_AGGREGATE_TO = "aggregateTo";
     public static final String ARGS_SIDE_EFFECT_KEY = "sideEffectKey";
+    public static final String ARGS_STREAM = "stream";
 
     /**
      * @deprecated As of release 3.1.0-incubating, replaced by {@link #ARGS_ALIASES}.
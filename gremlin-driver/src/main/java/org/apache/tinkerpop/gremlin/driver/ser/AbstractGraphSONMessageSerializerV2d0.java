@@ -21,6 +21,8 @@ package org.apache.tinkerpop.gremlin.driver.ser;
 import groovy.json.JsonBuilder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -43,6 +45,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.UUID;
 
@@ -81,9 +85,10 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
     public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
         try {
-            final byte[] payload = mapper.writeValueAsBytes(responseMessage);
-            encodedMessage = allocator.buffer(payload.length);
-            encodedMessage.writeBytes(payload);
+            // write straight into the pooled buffer rather than through an intermediate byte[]
+            encodedMessage = allocator.buffer();
+            final OutputStream outputStream = new ByteBufOutputStream(encodedMessage);
+            mapper.writeValue(outputStream, responseMessage);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -99,11 +104,11 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
         ByteBuf encodedMessage = null;
         try {
             final byte[] header = obtainHeader();
-            final byte[] payload = mapper.writeValueAsBytes(requestMessage);
 
-            encodedMessage = allocator.buffer(header.length + payload.length);
+            encodedMessage = allocator.buffer();
             encodedMessage.writeBytes(header);
-            encodedMessage.writeBytes(payload);
+            final OutputStream outputStream = new ByteBufOutputStream(encodedMessage);
+            mapper.writeValue(outputStream, requestMessage);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -117,9 +122,8 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
     @Override
     public RequestMessage deserializeRequest(final ByteBuf msg) throws SerializationException {
         try {
-            final byte[] payload = new byte[msg.readableBytes()];
-            msg.readBytes(payload);
-            return mapper.readValue(payload, RequestMessage.class);
+            final InputStream inputStream = new ByteBufInputStream(msg);
+            return mapper.readValue(inputStream, RequestMessage.class);
         } catch (Exception ex) {
             logger.warn("Request [{}] could not be deserialized by {}.", msg, AbstractGraphSONMessageSerializerV2d0.class.getName());
             throw new SerializationException(ex);
@@ -129,9 +133,8 @@ public abstract class AbstractGraphSONMessageSerializerV2d0 extends AbstractMess
     @Override
     public ResponseMessage deserializeResponse(final ByteBuf msg) throws SerializationException {
         try {
-            final byte[] payload = new byte[msg.readableBytes()];
-            msg.readBytes(payload);
-            return mapper.readValue(payload, ResponseMessage.class);
+            final InputStream inputStream = new ByteBufInputStream(msg);
+            return mapper.readValue(inputStream, ResponseMessage.class);
         } catch (Exception ex) {
             logger.warn("Response [{}] could not be deserialized by {}.", msg, AbstractGraphSONMessageSerializerV2d0.class.getName());
             throw new SerializationException(ex);
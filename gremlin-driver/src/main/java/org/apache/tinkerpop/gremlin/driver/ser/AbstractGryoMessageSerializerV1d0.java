@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.driver.ser;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -33,7 +35,6 @@ import org.apache.tinkerpop.shaded.kryo.Serializer;
 import org.apache.tinkerpop.shaded.kryo.io.Input;
 import org.apache.tinkerpop.shaded.kryo.io.Output;
 
-import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.util.Collection;
@@ -57,6 +58,21 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
         }
     };
 
+    // kryo reads and writes through the buffers of an Input and an Output, so each thread reuses its own rather than
+    // allocating them per message, and points them at the ByteBuf being read or written
+    private ThreadLocal<Input> inputThreadLocal = new ThreadLocal<Input>() {
+        @Override
+        protected Input initialValue() {
+            return new Input(bufferSize);
+        }
+    };
+    private ThreadLocal<Output> outputThreadLocal = new ThreadLocal<Output>() {
+        @Override
+        protected Output initialValue() {
+            return new Output(bufferSize);
+        }
+    };
+
     private static final Charset UTF8 = Charset.forName("UTF-8");
 
     public static final String TOKEN_CUSTOM = "custom";
@@ -153,9 +169,9 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
     public ResponseMessage deserializeResponse(final ByteBuf msg) throws SerializationException {
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            final byte[] payload = new byte[msg.capacity()];
-            msg.readBytes(payload);
-            try (final Input input = new Input(payload)) {
+            final Input input = inputThreadLocal.get();
+            input.setInputStream(new ByteBufInputStream(msg));
+            try {
                 final UUID requestId = kryo.readObjectOrNull(input, UUID.class);
                 final int status = input.readShort();
                 final String statusMsg = input.readString();
@@ -170,6 +186,8 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
                         .result(result)
                         .responseMetaData(metaAttributes)
                         .create();
+            } finally {
+                input.setInputStream(null);
             }
         } catch (Exception ex) {
             logger.warn("Response [{}] could not be deserialized by {}.", msg, GryoMessageSerializerV1d0.class.getName());
@@ -182,8 +200,10 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
         ByteBuf encodedMessage = null;
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                final Output output = new Output(baos, bufferSize);
+            encodedMessage = allocator.buffer(bufferSize);
+            final Output output = outputThreadLocal.get();
+            output.setOutputStream(new ByteBufOutputStream(encodedMessage));
+            try {
 
                 // request id - if present
                 kryo.writeObjectOrNull(output, responseMessage.getRequestId() != null ? responseMessage.getRequestId() : null, UUID.class);
@@ -197,13 +217,9 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
                 kryo.writeClassAndObject(output, serializeToString ? serializeResultToString(responseMessage) : responseMessage.getResult().getData());
                 kryo.writeClassAndObject(output, responseMessage.getResult().getMeta());
 
-                final long size = output.total();
-                if (size > Integer.MAX_VALUE)
-                    throw new SerializationException(String.format("Message size of %s exceeds allocatable space", size));
-
                 output.flush();
-                encodedMessage = allocator.buffer((int) size);
-                encodedMessage.writeBytes(baos.toByteArray());
+            } finally {
+                output.setOutputStream(null);
             }
 
             return encodedMessage;
@@ -219,9 +235,9 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
     public RequestMessage deserializeRequest(final ByteBuf msg) throws SerializationException {
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            final byte[] payload = new byte[msg.readableBytes()];
-            msg.readBytes(payload);
-            try (final Input input = new Input(payload)) {
+            final Input input = inputThreadLocal.get();
+            input.setInputStream(new ByteBufInputStream(msg));
+            try {
                 // by the time the message gets here, the mime length/type have been already read, so this part just
                 // needs to process the payload.
                 final UUID id = kryo.readObject(input, UUID.class);
@@ -235,6 +251,8 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
                 final Map<String, Object> args = kryo.readObject(input, HashMap.class);
                 args.forEach(builder::addArg);
                 return builder.create();
+            } finally {
+                input.setInputStream(null);
             }
         } catch (Exception ex) {
             logger.warn("Request [{}] could not be deserialized by {}.", msg, GryoMessageSerializerV1d0.class.getName());
@@ -247,8 +265,10 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
         ByteBuf encodedMessage = null;
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                final Output output = new Output(baos, bufferSize);
+            encodedMessage = allocator.buffer(bufferSize);
+            final Output output = outputThreadLocal.get();
+            output.setOutputStream(new ByteBufOutputStream(encodedMessage));
+            try {
                 final String mimeType = mimeTypesSupported()[0];
                 output.writeByte(mimeType.length());
                 output.write(mimeType.getBytes(UTF8));
@@ -258,13 +278,9 @@ public abstract class AbstractGryoMessageSerializerV1d0 extends AbstractMessageS
                 output.writeString(requestMessage.getOp());
                 kryo.writeObject(output, requestMessage.getArgs());
 
-                final long size = output.total();
-                if (size > Integer.MAX_VALUE)
-                    throw new SerializationException(String.format("Message size of %s exceeds allocatable space", size));
-
                 output.flush();
-                encodedMessage = allocator.buffer((int) size);
-                encodedMessage.writeBytes(baos.toByteArray());
+            } finally {
+                output.setOutputStream(null);
             }
 
             return encodedMessage;
@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.driver.ser;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -32,7 +34,6 @@ import org.apache.tinkerpop.shaded.kryo.Serializer;
 import org.apache.tinkerpop.shaded.kryo.io.Input;
 import org.apache.tinkerpop.shaded.kryo.io.Output;
 
-import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.util.Collection;
@@ -54,6 +55,21 @@ public abstract class AbstractGryoMessageSerializerV3d0 extends AbstractMessageS
         }
     };
 
+    // kryo reads and writes through the buffers of an Input and an Output, so each thread reuses its own rather than
+    // allocating them per message, and points them at the ByteBuf being read or written
+    private ThreadLocal<Input> inputThreadLocal = new ThreadLocal<Input>() {
+        @Override
+        protected Input initialValue() {
+            return new Input(bufferSize);
+        }
+    };
+    private ThreadLocal<Output> outputThreadLocal = new ThreadLocal<Output>() {
+        @Override
+        protected Output initialValue() {
+            return new Output(bufferSize);
+        }
+    };
+
     private static final Charset UTF8 = Charset.forName("UTF-8");
 
     public static final String TOKEN_CUSTOM = "custom";
@@ -149,10 +165,12 @@ public abstract class AbstractGryoMessageSerializerV3d0 extends AbstractMessageS
     public ResponseMessage deserializeResponse(final ByteBuf msg) throws SerializationException {
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            final byte[] payload = new byte[msg.capacity()];
-            msg.readBytes(payload);
-            try (final Input input = new Input(payload)) {
+            final Input input = inputThreadLocal.get();
+            input.setInputStream(new ByteBufInputStream(msg));
+            try {
                 return kryo.readObject(input, ResponseMessage.class);
+            } finally {
+                input.setInputStream(null);
             }
         } catch (Exception ex) {
             logger.warn("Response [{}] could not be deserialized by {}.", msg, GryoMessageSerializerV3d0.class.getName());
@@ -165,8 +183,10 @@ public abstract class AbstractGryoMessageSerializerV3d0 extends AbstractMessageS
         ByteBuf encodedMessage = null;
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                final Output output = new Output(baos, bufferSize);
+            encodedMessage = allocator.buffer(bufferSize);
+            final Output output = outputThreadLocal.get();
+            output.setOutputStream(new ByteBufOutputStream(encodedMessage));
+            try {
                 final ResponseMessage msgToWrite = !serializeToString ? responseMessage :
                         ResponseMessage.build(responseMessage.getRequestId())
                             .code(responseMessage.getStatus().getCode())
@@ -176,13 +196,9 @@ public abstract class AbstractGryoMessageSerializerV3d0 extends AbstractMessageS
                             .statusMessage(responseMessage.getStatus().getMessage()).create();
                 kryo.writeObject(output, msgToWrite);
 
-                final long size = output.total();
-                if (size > Integer.MAX_VALUE)
-                    throw new SerializationException(String.format("Message size of %s exceeds allocatable space", size));
-
                 output.flush();
-                encodedMessage = allocator.buffer((int) size);
-                encodedMessage.writeBytes(baos.toByteArray());
+            } finally {
+                output.setOutputStream(null);
             }
 
             return encodedMessage;
@@ -198,12 +214,14 @@ public abstract class AbstractGryoMessageSerializerV3d0 extends AbstractMessageS
     public RequestMessage deserializeRequest(final ByteBuf msg) throws SerializationException {
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            final byte[] payload = new byte[msg.readableBytes()];
-            msg.readBytes(payload);
-            try (final Input input = new Input(payload)) {
+            final Input input = inputThreadLocal.get();
+            input.setInputStream(new ByteBufInputStream(msg));
+            try {
                 // by the time the message gets here, the mime length/type have been already read, so this part just
                 // needs to process the payload.
                 return kryo.readObject(input, RequestMessage.class);
+            } finally {
+                input.setInputStream(null);
             }
         } catch (Exception ex) {
             logger.warn("Request [{}] could not be deserialized by {}.", msg, GryoMessageSerializerV3d0.class.getName());
@@ -216,21 +234,19 @@ public abstract class AbstractGryoMessageSerializerV3d0 extends AbstractMessageS
         ByteBuf encodedMessage = null;
         try {
             final Kryo kryo = kryoThreadLocal.get();
-            try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                final Output output = new Output(baos, bufferSize);
+            encodedMessage = allocator.buffer(bufferSize);
+            final Output output = outputThreadLocal.get();
+            output.setOutputStream(new ByteBufOutputStream(encodedMessage));
+            try {
                 final String mimeType = mimeTypesSupported()[0];
                 output.writeByte(mimeType.length());
                 output.write(mimeType.getBytes(UTF8));
 
                 kryo.writeObject(output, requestMessage);
 
-                final long size = output.total();
-                if (size > Integer.MAX_VALUE)
-                    throw new SerializationException(String.format("Message size of %s exceeds allocatable space", size));
-
                 output.flush();
-                encodedMessage = allocator.buffer((int) size);
-                encodedMessage.writeBytes(baos.toByteArray());
+            } finally {
+                output.setOutputStream(null);
             }
 
             return encodedMessage;
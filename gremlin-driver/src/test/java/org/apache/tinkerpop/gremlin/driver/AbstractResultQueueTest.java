@@ -24,7 +24,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -37,9 +36,8 @@ public abstract class AbstractResultQueueTest {
 
     @Before
     public void setup() {
-        final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
         readCompleted = new CompletableFuture<>();
-        resultQueue = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
+        resultQueue = new ResultQueue(readCompleted);
     }
 
     protected Thread addToQueue(final int numberOfItemsToAdd, final long pauseBetweenItemsInMillis,
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ConnectionPoolTest {
+
+    @Test
+    public void shouldSelectLeastUsedConnection() {
+        final FakeConnection[] connections = {new FakeConnection(3), new FakeConnection(1), new FakeConnection(2)};
+        for (int rotation = 0; rotation < connections.length; rotation++) {
+            assertSame(connections[1], select(connections, rotation));
+        }
+    }
+
+    @Test
+    public void shouldSkipDeadConnections() {
+        final FakeConnection[] connections = {new FakeConnection(5), new FakeConnection(0), new FakeConnection(1)};
+        connections[1].dead = true;
+        assertSame(connections[2], select(connections, 0));
+
+        connections[0].dead = true;
+        connections[2].dead = true;
+        assertNull(select(connections, 0));
+        assertNull(select(new FakeConnection[0], 0));
+    }
+
+    @Test
+    public void shouldSpreadTiedConnectionsWithRotatingOffset() {
+        final FakeConnection[] connections = {new FakeConnection(2), new FakeConnection(2), new FakeConnection(2), new FakeConnection(7)};
+        final Set<FakeConnection> selected = new HashSet<>();
+        for (int rotation = 0; rotation < connections.length; rotation++) {
+            selected.add(select(connections, rotation));
+        }
+        assertEquals(3, selected.size());
+
+        // the first tied connection after the offset wins
+        assertSame(connections[1], select(connections, 1));
+        assertSame(connections[0], select(connections, 3));
+    }
+
+    @Test
+    public void shouldHandleNegativeRotation() {
+        final FakeConnection[] connections = {new FakeConnection(1), new FakeConnection(1)};
+        assertSame(connections[0], select(connections, Integer.MIN_VALUE));
+        assertSame(connections[1], select(connections, -1));
+    }
+
+    @Test
+    public void shouldClaimCandidate() {
+        final FakeConnection connection = new FakeConnection(3);
+        assertSame(connection, claim(connection, () -> null, 16));
+        assertEquals(4, connection.borrowed.get());
+    }
+
+    @Test
+    public void shouldNotClaimSaturatedCandidate() {
+        final FakeConnection connection = new FakeConnection(16);
+        connection.available = 0;
+        assertNull(claim(connection, () -> null, 16));
+        assertEquals(16, connection.borrowed.get());
+
+        connection.available = 1;
+        assertSame(connection, claim(connection, () -> null, 16));
+        assertEquals(17, connection.borrowed.get());
+    }
+
+    @Test
+    public void shouldSelectAgainAfterLosingRace() {
+        // another borrower takes the first connection between reading its count and claiming it
+        final FakeConnection first = new FakeConnection(16);
+        first.onAvailableInProcess = () -> first.borrowed.incrementAndGet();
+        final FakeConnection second = new FakeConnection(2);
+        final List<FakeConnection> reselected = new ArrayList<>();
+        final FakeConnection claimed = claim(first, () -> {
+            reselected.add(second);
+            return second;
+        }, 16);
+
+        assertSame(second, claimed);
+        assertEquals(1, reselected.size());
+        assertEquals(17, first.borrowed.get());
+        assertEquals(3, second.borrowed.get());
+    }
+
+    @Test
+    public void shouldNotClaimWhenNoConnectionIsLeftAfterLosingRace() {
+        final FakeConnection connection = new FakeConnection(16);
+        connection.onAvailableInProcess = () -> connection.borrowed.incrementAndGet();
+        assertNull(claim(connection, () -> null, 16));
+        assertEquals(17, connection.borrowed.get());
+    }
+
+    private static FakeConnection select(final FakeConnection[] connections, final int rotation) {
+        return ConnectionPool.selectLeastUsed(new CopyOnWriteArrayList<>(connections), rotation, c -> c.borrowed.get(), c -> c.dead);
+    }
+
+    private static FakeConnection claim(final FakeConnection candidate, final Supplier<FakeConnection> reselect, final int max) {
+        return ConnectionPool.claim(candidate, reselect, c -> c.borrowed, FakeConnection::availableInProcess, max);
+    }
+
+    private static final class FakeConnection {
+        private final AtomicInteger borrowed;
+        private boolean dead = false;
+        private int available = 1;
+        private Runnable onAvailableInProcess = null;
+
+        private FakeConnection(final int borrowed) {
+            this.borrowed = new AtomicInteger(borrowed);
+        }
+
+        private int availableInProcess() {
+            if (null != onAvailableInProcess) {
+                onAvailableInProcess.run();
+                onAvailableInProcess = null;
+            }
+            return available;
+        }
+    }
+}
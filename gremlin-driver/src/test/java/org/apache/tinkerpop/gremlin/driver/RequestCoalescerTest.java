@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RequestCoalescerTest {
+
+    @Test
+    public void shouldFlushOncePerBatch() {
+        final RecordingHandler handler = new RecordingHandler();
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+        final RequestCoalescer coalescer = new RequestCoalescer(channel, 2);
+
+        final List<RequestMessage> requests = new ArrayList<>();
+        final List<ChannelPromise> promises = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL).create();
+            final ChannelPromise promise = channel.newPromise();
+            requests.add(request);
+            promises.add(promise);
+            coalescer.write(request, promise);
+        }
+
+        // nothing is written until the event loop runs the drain
+        assertTrue(handler.written.isEmpty());
+        assertEquals(0, handler.flushes);
+
+        channel.runPendingTasks();
+        assertEquals(requests, handler.written);
+        assertEquals(3, handler.flushes);
+        promises.forEach(promise -> assertTrue(promise.isSuccess()));
+    }
+
+    @Test
+    public void shouldWriteSingleRequestWithOneFlush() {
+        final RecordingHandler handler = new RecordingHandler();
+        final EmbeddedChannel channel = new EmbeddedChannel(handler);
+        final RequestCoalescer coalescer = new RequestCoalescer(channel, 16);
+
+        for (int i = 1; i <= 3; i++) {
+            coalescer.write(RequestMessage.build(Tokens.OPS_EVAL).create(), channel.newPromise());
+            channel.runPendingTasks();
+            assertEquals(i, handler.written.size());
+            assertEquals(i, handler.flushes);
+        }
+    }
+
+    @Test
+    public void shouldFailWritesIfEventLoopRejectsDrain() {
+        final EventLoop eventLoop = mock(EventLoop.class);
+        doThrow(new RejectedExecutionException("shutting down")).when(eventLoop).execute(any(Runnable.class));
+        final Channel channel = mock(Channel.class);
+        when(channel.eventLoop()).thenReturn(eventLoop);
+        final RequestCoalescer coalescer = new RequestCoalescer(channel, 16);
+
+        final EmbeddedChannel promises = new EmbeddedChannel();
+        final ChannelPromise first = promises.newPromise();
+        coalescer.write(RequestMessage.build(Tokens.OPS_EVAL).create(), first);
+        assertFalse(first.isSuccess());
+        assertThat(first.cause(), instanceOf(RejectedExecutionException.class));
+
+        // the failed schedule is forgotten so a later write tries again rather than waiting on a drain that never runs
+        final ChannelPromise second = promises.newPromise();
+        coalescer.write(RequestMessage.build(Tokens.OPS_EVAL).create(), second);
+        assertThat(second.cause(), instanceOf(RejectedExecutionException.class));
+        verify(eventLoop, times(2)).execute(any(Runnable.class));
+    }
+
+    private static final class RecordingHandler extends ChannelOutboundHandlerAdapter {
+        private final List<Object> written = new ArrayList<>();
+        private int flushes = 0;
+
+        @Override
+        public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+            written.add(msg);
+            ctx.write(msg, promise);
+        }
+
+        @Override
+        public void flush(final ChannelHandlerContext ctx) throws Exception {
+            flushes++;
+            ctx.flush();
+        }
+    }
+}
@@ -18,12 +18,14 @@
  */
 package org.apache.tinkerpop.gremlin.driver;
 
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -257,6 +259,25 @@ public class ResultQueueTest extends AbstractResultQueueTest {
         assertThat(resultQueue.isEmpty(), is(true));
     }
 
+    @Test
+    public void shouldAwaitAcrossBatchesAddedAtOnce() throws Exception {
+        final CompletableFuture<List<Result>> first = resultQueue.await(3);
+        final CompletableFuture<List<Result>> second = resultQueue.awaitAny(10);
+
+        resultQueue.addAll(Arrays.asList(new Result("test-0"), new Result("test-1")));
+        assertThat(first.isDone(), is(false));
+
+        resultQueue.addAll(Arrays.asList(new Result("test-2"), new Result("test-3")));
+        assertThat(first.isDone(), is(true));
+        assertThat(second.isDone(), is(true));
+
+        assertEquals(3, first.get().size());
+        assertEquals("test-2", first.get().get(2).getString());
+        assertEquals(1, second.get().size());
+        assertEquals("test-3", second.get().get(0).getString());
+        assertThat(resultQueue.isEmpty(), is(true));
+    }
+
     @Test
     public void shouldDrainAsItemsArrive() throws Exception {
         final Thread t = addToQueue(1000, 1, true);
@@ -406,4 +427,51 @@ public class ResultQueueTest extends AbstractResultQueueTest {
         assertEquals("daniel", list.get("d"));
         assertEquals("marko", list.get("m"));
     }
+
+    @Test
+    public void shouldKeepChannelPausedWhileAnyQueueIsFull() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final ResultQueue first = new ResultQueue(new CompletableFuture<>(), channel, 2);
+        final ResultQueue second = new ResultQueue(new CompletableFuture<>(), channel, 2);
+
+        first.addAll(Arrays.asList(new Result(1), new Result(2), new Result(3)));
+        second.addAll(Arrays.asList(new Result(1), new Result(2), new Result(3)));
+        assertThat(channel.config().isAutoRead(), is(false));
+
+        // the second queue is still full so draining the first must not start reading again
+        first.drainTo(new ArrayList<>());
+        assertThat(channel.config().isAutoRead(), is(false));
+
+        second.drainTo(new ArrayList<>());
+        assertThat(channel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void shouldReadWhileConsumerWaitsOnAnotherQueue() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final ResultQueue full = new ResultQueue(new CompletableFuture<>(), channel, 2);
+        final ResultQueue starved = new ResultQueue(new CompletableFuture<>(), channel, 2);
+
+        full.addAll(Arrays.asList(new Result(1), new Result(2), new Result(3)));
+        assertThat(channel.config().isAutoRead(), is(false));
+
+        // a consumer waiting on the other request could never be served if the channel stayed paused
+        final CompletableFuture<List<Result>> future = starved.await(1);
+        assertThat(channel.config().isAutoRead(), is(true));
+
+        starved.add(new Result("test"));
+        assertEquals("test", future.get(1000, TimeUnit.MILLISECONDS).get(0).getString());
+        assertThat(channel.config().isAutoRead(), is(false));
+    }
+
+    @Test
+    public void shouldDrainWithoutWaitingOnEarlierConsumers() {
+        final CompletableFuture<List<Result>> future = resultQueue.await(5);
+        resultQueue.addAll(Arrays.asList(new Result(1), new Result(2)));
+
+        final List<Result> drain = new ArrayList<>();
+        resultQueue.drainTo(drain);
+        assertEquals(2, drain.size());
+        assertThat(future.isDone(), is(false));
+    }
 }
@@ -21,16 +21,22 @@ package org.apache.tinkerpop.gremlin.driver;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.junit.Before;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -205,6 +211,78 @@ public class ResultSetTest extends AbstractResultQueueTest {
         assertEquals(100, counter.get());
     }
     
+    @Test
+    public void shouldPublishRequestedResults() throws Exception {
+        final List<Result> received = new CopyOnWriteArrayList<>();
+        final AtomicReference<Subscription> subscription = new AtomicReference<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        resultSet.subscribe(new Subscriber<Result>() {
+            @Override
+            public void onSubscribe(final Subscription s) {
+                subscription.set(s);
+            }
+
+            @Override
+            public void onNext(final Result result) {
+                received.add(result);
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                fail("Should not have failed");
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        addToQueue(100, 0, true, true);
+
+        subscription.get().request(10);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(10, received.size());
+        assertThat(completed.getCount(), is(1L));
+
+        subscription.get().request(Long.MAX_VALUE);
+        assertThat(completed.await(3000, TimeUnit.MILLISECONDS), is(true));
+        assertEquals(100, received.size());
+        assertEquals("test-0", received.get(0).getString());
+        assertEquals("test-99", received.get(99).getString());
+    }
+
+    @Test
+    public void shouldSignalErrorOnInvalidRequest() throws Exception {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch failed = new CountDownLatch(1);
+        resultSet.subscribe(new Subscriber<Result>() {
+            @Override
+            public void onSubscribe(final Subscription s) {
+                s.request(0);
+            }
+
+            @Override
+            public void onNext(final Result result) {
+                fail("Should not have received a result");
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                error.set(t);
+                failed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                fail("Should not have completed");
+            }
+        });
+
+        assertThat(failed.await(3000, TimeUnit.MILLISECONDS), is(true));
+        assertThat(error.get(), instanceOf(IllegalArgumentException.class));
+    }
+
     @Test
     public void shouldCallHasNextWithoutSideEffect() throws Exception {
         final Iterator itty = resultSet.iterator();
@@ -45,6 +45,7 @@ public class SettingsTest {
         conf.setProperty("serializer.className", "my.serializers.MySerializer");
         conf.setProperty("serializer.config.any", "thing");
         conf.setProperty("connectionPool.enableSsl", true);
+        conf.setProperty("connectionPool.enableCompression", true);
         conf.setProperty("connectionPool.keyCertChainFile", "X.509");
         conf.setProperty("connectionPool.keyFile", "PKCS#8");
         conf.setProperty("connectionPool.keyPassword", "password1");
@@ -59,6 +60,8 @@ public class SettingsTest {
         conf.setProperty("connectionPool.maxContentLength", 800);
         conf.setProperty("connectionPool.reconnectInterval", 900);
         conf.setProperty("connectionPool.resultIterationBatchSize", 1100);
+        conf.setProperty("connectionPool.maxResultQueueSize", 2200);
+        conf.setProperty("connectionPool.maxRequestsPerFlush", 3300);
         conf.setProperty("connectionPool.channelizer", "channelizer0");
 
         final Settings settings = Settings.from(conf);
@@ -73,6 +76,7 @@ public class SettingsTest {
         assertEquals("my.serializers.MySerializer", settings.serializer.className);
         assertEquals("thing", settings.serializer.config.get("any"));
         assertEquals(true, settings.connectionPool.enableSsl);
+        assertEquals(true, settings.connectionPool.enableCompression);
         assertEquals("X.509", settings.connectionPool.keyCertChainFile);
         assertEquals("PKCS#8", settings.connectionPool.keyFile);
         assertEquals("password1", settings.connectionPool.keyPassword);
@@ -87,6 +91,8 @@ public class SettingsTest {
         assertEquals(800, settings.connectionPool.maxContentLength);
         assertEquals(900, settings.connectionPool.reconnectInterval);
         assertEquals(1100, settings.connectionPool.resultIterationBatchSize);
+        assertEquals(2200, settings.connectionPool.maxResultQueueSize);
+        assertEquals(3300, settings.connectionPool.maxRequestsPerFlush);
         assertEquals("channelizer0", settings.connectionPool.channelizer);
     }
 }
@@ -58,6 +58,15 @@ class PartitionStrategy(TraversalStrategy):
             self.configuration["includeMetaProperties"] = include_meta_properties
 
 
+class SpillStrategy(TraversalStrategy):
+    def __init__(self, threshold=None, dedup=None):
+        TraversalStrategy.__init__(self)
+        if threshold is not None:
+            self.configuration["threshold"] = threshold
+        if dedup is not None:
+            self.configuration["dedup"] = dedup
+
+
 class SubgraphStrategy(TraversalStrategy):
     def __init__(self, vertices=None, edges=None, vertex_properties=None):
         TraversalStrategy.__init__(self)
@@ -100,6 +109,15 @@ class MatchAlgorithmStrategy(TraversalStrategy):
             self.configuration["matchAlgorithm"] = match_algorithm
 
 
+class ParallelStrategy(TraversalStrategy):
+    def __init__(self, workers=None, batch_size=None):
+        TraversalStrategy.__init__(self)
+        if workers is not None:
+            self.configuration["workers"] = workers
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
 ###########################
 # OPTIMIZATION STRATEGIES #
 ###########################
@@ -114,6 +132,11 @@ class FilterRankingStrategy(TraversalStrategy):
         TraversalStrategy.__init__(self)
 
 
+class FrontierStrategy(TraversalStrategy):
+    def __init__(self):
+        TraversalStrategy.__init__(self)
+
+
 class IdentityRemovalStrategy(TraversalStrategy):
     def __init__(self):
         TraversalStrategy.__init__(self)
@@ -130,8 +153,14 @@ class InlineFilterStrategy(TraversalStrategy):
 
 
 class LazyBarrierStrategy(TraversalStrategy):
-    def __init__(self):
-        TraversalStrategy.__init__(self)
+    def __init__(self, min_barrier_size=None, max_barrier_size=None, path_aware=None):
+        TraversalStrategy.__init__(self)
+        if min_barrier_size is not None:
+            self.configuration["minBarrierSize"] = min_barrier_size
+        if max_barrier_size is not None:
+            self.configuration["maxBarrierSize"] = max_barrier_size
+        if path_aware is not None:
+            self.configuration["pathAware"] = path_aware
 
 
 class MatchPredicateStrategy(TraversalStrategy):
@@ -90,6 +90,8 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
     protected static final String PIPELINE_OP_SELECTOR = "op-selector";
     protected static final String PIPELINE_OP_EXECUTOR = "op-executor";
     protected static final String PIPELINE_HTTP_REQUEST_DECODER = "http-request-decoder";
+    protected static final String PIPELINE_WS_COMPRESSION = "ws-compression";
+    public static final String PIPELINE_HTTP_COMPRESSION = "http-compression";
 
     protected static final String GREMLIN_ENDPOINT = "/gremlin";
 
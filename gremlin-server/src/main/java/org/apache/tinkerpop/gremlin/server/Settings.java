@@ -29,8 +29,11 @@ import org.apache.tinkerpop.gremlin.server.auth.AllowAllAuthenticator;
 import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.util.DefaultExecutorServiceFactory;
 import org.apache.tinkerpop.gremlin.server.util.DefaultGraphManager;
+import org.apache.tinkerpop.gremlin.server.util.ExecutorServiceFactory;
 import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
+import org.apache.tinkerpop.gremlin.server.util.VirtualThreadExecutorServiceFactory;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.yaml.snakeyaml.TypeDescription;
 import org.yaml.snakeyaml.Yaml;
@@ -181,6 +184,23 @@ public class Settings {
      */
     public String graphManager = DefaultGraphManager.class.getName();
 
+    /**
+     * The full class name of the {@link ExecutorServiceFactory} that creates the threads used to evaluate requests
+     * for the Gremlin pool and for sessions. Set to {@link VirtualThreadExecutorServiceFactory} to use virtual
+     * threads on a JVM that supports them.
+     */
+    public String executorServiceFactory = DefaultExecutorServiceFactory.class.getName();
+
+    private ExecutorServiceFactory executorServiceFactoryInstance;
+
+    /**
+     * The maximum number of sessionless requests that {@link VirtualThreadExecutorServiceFactory} evaluates at once.
+     * Requests beyond this limit wait for a running evaluation to finish. The {@link #gremlinPool} setting is not
+     * used by that factory, so this is the only bound on concurrent evaluations. Defaults to a setting of 0 which
+     * indicates no limit.
+     */
+    public int virtualThreadLimit = 0;
+
     /**
      * Configured metrics for Gremlin Server.
      */
@@ -210,6 +230,11 @@ public class Settings {
 
     public AuthenticationSettings authentication = new AuthenticationSettings();
 
+    /**
+     * Configures compression of responses for the WebSocket and HTTP channelizers.
+     */
+    public CompressionSettings compression = new CompressionSettings();
+
     /**
      * Custom settings for {@link OpProcessor} implementations. Implementations are loaded via
      * {@link ServiceLoader} but custom configurations can be supplied through this configuration.
@@ -234,6 +259,16 @@ public class Settings {
         return Optional.ofNullable(ssl);
     }
 
+    /**
+     * Gets the {@link ExecutorServiceFactory} named by {@link #executorServiceFactory}. It is instantiated on the
+     * first call and the same instance is then shared by the Gremlin pool and every session that is opened.
+     */
+    public synchronized ExecutorServiceFactory getExecutorServiceFactoryInstance() {
+        if (null == executorServiceFactoryInstance || !executorServiceFactoryInstance.getClass().getName().equals(executorServiceFactory))
+            executorServiceFactoryInstance = ExecutorServiceFactory.create(this);
+        return executorServiceFactoryInstance;
+    }
+
     /**
      * Read configuration from a file into a new {@link Settings} object.
      *
@@ -281,6 +316,9 @@ public class Settings {
         final TypeDescription authenticationSettings = new TypeDescription(AuthenticationSettings.class);
         constructor.addTypeDescription(authenticationSettings);
 
+        final TypeDescription compressionSettings = new TypeDescription(CompressionSettings.class);
+        constructor.addTypeDescription(compressionSettings);
+
         final TypeDescription serverMetricsDescription = new TypeDescription(ServerMetrics.class);
         constructor.addTypeDescription(serverMetricsDescription);
 
@@ -476,6 +514,27 @@ public class Settings {
         }
     }
 
+    /**
+     * Settings to configure compression of responses.
+     */
+    public static class CompressionSettings {
+        /**
+         * Enables negotiation of the permessage-deflate extension for WebSockets and of gzip or deflate through the
+         * {@code Accept-Encoding} header for HTTP. Responses are only compressed for clients that ask for it.
+         */
+        public boolean enabled = false;
+
+        /**
+         * The deflate level from 0 (none) to 9 (smallest).
+         */
+        public int compressionLevel = 6;
+
+        /**
+         * WebSocket frames and HTTP responses with less content than this number of bytes are sent uncompressed.
+         */
+        public int minimumFrameSize = 1024;
+    }
+
     /**
      * Settings for {@code Metrics} recorded by Gremlin Server.
      */
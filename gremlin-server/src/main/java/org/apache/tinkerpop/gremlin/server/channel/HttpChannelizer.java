@@ -23,6 +23,8 @@ import org.apache.tinkerpop.gremlin.server.Channelizer;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AllowAllAuthenticator;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.handler.CompressionMetricsHandler;
+import org.apache.tinkerpop.gremlin.server.handler.HttpCompressionHandler;
 import org.apache.tinkerpop.gremlin.server.handler.HttpBasicAuthenticationHandler;
 import org.apache.tinkerpop.gremlin.server.handler.HttpGremlinEndpointHandler;
 import io.netty.channel.ChannelPipeline;
@@ -63,6 +65,13 @@ public class HttpChannelizer extends AbstractChannelizer {
 
         pipeline.addLast(new HttpObjectAggregator(settings.maxContentLength));
 
+        if (settings.compression.enabled) {
+            pipeline.addLast("http-compressed-metrics", CompressionMetricsHandler.COMPRESSED);
+            pipeline.addLast(PIPELINE_HTTP_COMPRESSION, new HttpCompressionHandler(
+                    settings.compression.compressionLevel, settings.compression.minimumFrameSize));
+            pipeline.addLast("http-uncompressed-metrics", CompressionMetricsHandler.UNCOMPRESSED);
+        }
+
         if (authenticator != null) {
             // Cannot add the same handler instance to multiple times unless
             // it is marked as @Sharable, indicating a race condition will
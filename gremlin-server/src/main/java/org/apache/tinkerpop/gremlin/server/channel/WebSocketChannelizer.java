@@ -21,6 +21,8 @@ package org.apache.tinkerpop.gremlin.server.channel;
 import org.apache.tinkerpop.gremlin.server.AbstractChannelizer;
 import org.apache.tinkerpop.gremlin.server.auth.AllowAllAuthenticator;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.handler.CompressionMetricsHandler;
+import org.apache.tinkerpop.gremlin.server.handler.WsCompressionFrameFilter;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.SaslAuthenticationHandler;
 import org.apache.tinkerpop.gremlin.server.handler.WsGremlinBinaryRequestDecoder;
@@ -33,6 +35,10 @@ import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.compression.DeflateFrameServerExtensionHandshaker;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
@@ -54,6 +60,7 @@ public class WebSocketChannelizer extends AbstractChannelizer {
     private WsGremlinResponseFrameEncoder wsGremlinResponseFrameEncoder;
     private WsGremlinCloseRequestDecoder wsGremlinCloseRequestDecoder;
     private AbstractAuthenticationHandler authenticationHandler;
+    private WsCompressionFrameFilter wsCompressionFrameFilter;
 
     @Override
     public void init(final ServerGremlinExecutor serverGremlinExecutor) {
@@ -65,6 +72,9 @@ public class WebSocketChannelizer extends AbstractChannelizer {
         wsGremlinCloseRequestDecoder = new WsGremlinCloseRequestDecoder(serializers);
         wsGremlinResponseFrameEncoder = new WsGremlinResponseFrameEncoder();
 
+        if (settings.compression.enabled)
+            wsCompressionFrameFilter = new WsCompressionFrameFilter(PIPELINE_WS_COMPRESSION, settings.compression.minimumFrameSize);
+
         // configure authentication - null means don't bother to add authentication to the pipeline
         if (authenticator != null)
             authenticationHandler = authenticator.getClass() == AllowAllAuthenticator.class ?
@@ -94,7 +104,22 @@ public class WebSocketChannelizer extends AbstractChannelizer {
 
         pipeline.addLast(PIPELINE_HTTP_RESPONSE_ENCODER, new HttpResponseEncoder());
 
-        pipeline.addLast(PIPELINE_REQUEST_HANDLER, new WebSocketServerProtocolHandler(GREMLIN_ENDPOINT, null, false, settings.maxContentLength));
+        // the extension handler negotiates permessage-deflate during the handshake and then adds the deflate
+        // encoder and decoder after itself. the metrics handlers on either side of it see the frames before and
+        // after compression
+        final boolean compression = settings.compression.enabled;
+        if (compression) {
+            final int level = settings.compression.compressionLevel;
+            pipeline.addLast("ws-compressed-metrics", CompressionMetricsHandler.COMPRESSED);
+            pipeline.addLast(PIPELINE_WS_COMPRESSION, new WebSocketServerExtensionHandler(
+                    new PerMessageDeflateServerExtensionHandshaker(level, ZlibCodecFactory.isSupportingWindowSizeAndMemLevel(),
+                            PerMessageDeflateServerExtensionHandshaker.MAX_WINDOW_SIZE, false, false),
+                    new DeflateFrameServerExtensionHandshaker(level)));
+            pipeline.addLast("ws-compression-filter", wsCompressionFrameFilter);
+            pipeline.addLast("ws-uncompressed-metrics", CompressionMetricsHandler.UNCOMPRESSED);
+        }
+
+        pipeline.addLast(PIPELINE_REQUEST_HANDLER, new WebSocketServerProtocolHandler(GREMLIN_ENDPOINT, null, compression, settings.maxContentLength));
 
         if (logger.isDebugEnabled())
             pipeline.addLast(new LoggingHandler("log-aggregator-encoder", LogLevel.DEBUG));
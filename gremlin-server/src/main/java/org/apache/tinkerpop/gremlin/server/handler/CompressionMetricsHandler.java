@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import com.codahale.metrics.Meter;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Marks the content bytes of outgoing WebSocket frames and HTTP content on a {@link Meter}. One instance sits on each
+ * side of the compression handlers so that the metrics show the bytes before and after compression.
+ */
+@ChannelHandler.Sharable
+public class CompressionMetricsHandler extends ChannelOutboundHandlerAdapter {
+
+    /**
+     * Placed on the side of the compression handlers that the responses are written from.
+     */
+    public static final CompressionMetricsHandler UNCOMPRESSED = new CompressionMetricsHandler(
+            MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "compression", "bytes", "uncompressed")));
+
+    /**
+     * Placed on the side of the compression handlers that is closest to the network.
+     */
+    public static final CompressionMetricsHandler COMPRESSED = new CompressionMetricsHandler(
+            MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "compression", "bytes", "compressed")));
+
+    private final Meter bytes;
+
+    private CompressionMetricsHandler(final Meter bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        if (msg instanceof ByteBufHolder)
+            bytes.mark(((ByteBufHolder) msg).content().readableBytes());
+        ctx.write(msg, promise);
+    }
+}
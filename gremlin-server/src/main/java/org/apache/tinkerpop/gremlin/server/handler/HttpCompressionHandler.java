@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponse;
+
+/**
+ * Compresses HTTP responses with gzip or deflate as the {@code Accept-Encoding} of the request allows, except for
+ * responses with a {@code Content-Length} below the minimum size. Chunked responses have no length up front and are
+ * always compressed.
+ */
+public class HttpCompressionHandler extends HttpContentCompressor {
+
+    private final int minimumSize;
+
+    /**
+     * @param compressionLevel the deflate level from 0 (none) to 9 (smallest)
+     * @param minimumSize responses with a shorter content length than this number of bytes are not compressed
+     */
+    public HttpCompressionHandler(final int compressionLevel, final int minimumSize) {
+        super(compressionLevel);
+        this.minimumSize = minimumSize;
+    }
+
+    @Override
+    protected Result beginEncode(final HttpResponse headers, final String acceptEncoding) throws Exception {
+        final long contentLength = HttpHeaders.getContentLength(headers, -1L);
+        if (contentLength >= 0 && contentLength < minimumSize)
+            return null;
+        return super.beginEncode(headers, acceptEncoding);
+    }
+}
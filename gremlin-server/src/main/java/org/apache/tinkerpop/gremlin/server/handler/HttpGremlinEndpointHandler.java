@@ -22,6 +22,7 @@ import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import io.netty.handler.codec.TooLongFrameException;
 import org.apache.commons.lang.exception.ExceptionUtils;
+import org.apache.commons.lang.time.StopWatch;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -45,10 +46,14 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
@@ -57,7 +62,7 @@ import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.jackson.databind.node.ArrayNode;
 import org.apache.tinkerpop.shaded.jackson.databind.node.ObjectNode;
 import org.javatuples.Pair;
-import org.javatuples.Quartet;
+import org.javatuples.Sextet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,6 +79,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -95,7 +103,11 @@ import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
 /**
- * Handler that processes HTTP requests to the HTTP Gremlin endpoint.
+ * Handler that processes HTTP requests to the HTTP Gremlin endpoint. By default the full result is serialized into a
+ * single response. A request with the {@code stream} argument set to {@code true} is instead answered with a chunked
+ * response of newline-delimited {@link ResponseMessage} objects, each holding up to {@code batchSize} results (or
+ * {@link Settings#resultIterationBatchSize}), written as results are iterated and paused while the channel is above
+ * its {@code writeBufferHighWaterMark}.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -165,9 +177,9 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 return;
             }
 
-            final Quartet<String, Map<String, Object>, String, Map<String, String>> requestArguments;
+            final Sextet<String, Map<String, Object>, String, Map<String, String>, Boolean, Integer> requestArguments;
             try {
-                requestArguments = getRequestArguments(req);
+                requestArguments = getRequestArguments(req, settings.resultIterationBatchSize);
             } catch (IllegalArgumentException iae) {
                 sendError(ctx, BAD_REQUEST, iae.getMessage());
                 ReferenceCountUtil.release(msg);
@@ -196,12 +208,14 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                     if (address.startsWith("/") && address.length() > 1) address = address.substring(1);
                     auditLogger.info("User with address {} requested: {}", address, requestArguments.getValue0());
                 }
+                final boolean stream = requestArguments.getValue4();
+                final AtomicBoolean streamStarted = new AtomicBoolean(false);
                 final ChannelPromise promise = ctx.channel().newPromise();
                 final AtomicReference<Object> resultHolder = new AtomicReference<>();
                 promise.addListener(future -> {
                     // if failed then the error was already written back to the client as part of the eval future
-                    // processing of the exception
-                    if (future.isSuccess()) {
+                    // processing of the exception. a streamed response was already written as it was iterated.
+                    if (future.isSuccess() && !stream) {
                         logger.debug("Preparing HTTP response for request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                 requestArguments.getValue0(), requestArguments.getValue1(), resultHolder.get(), Thread.currentThread().getName());
                         final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, (ByteBuf) resultHolder.get());
@@ -242,6 +256,13 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
 
                             logger.debug("Transforming result of request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                     requestArguments.getValue0(), requestArguments.getValue1(), o, Thread.currentThread().getName());
+
+                            if (stream) {
+                                streamResponse(ctx, o, serializer, origin, keepAlive, requestArguments.getValue5(),
+                                        requestArguments.getValue3(), streamStarted);
+                                return null;
+                            }
+
                             final ResponseMessage responseMessage = ResponseMessage.build(UUID.randomUUID())
                                     .code(ResponseStatusCode.SUCCESS)
                                     .result(IteratorUtils.asList(o)).create();
@@ -260,7 +281,15 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                             }
                         }));
 
-                evalFuture.exceptionally(t -> {		
+                evalFuture.exceptionally(t -> {
+                    // once the headers of a streamed response are written the error can only be reported in the
+                    // stream itself which streamResponse() has done
+                    if (streamStarted.get()) {
+                        errorMeter.mark();
+                        promise.setFailure(t);
+                        return null;
+                    }
+
 					if (t.getMessage() != null)
 						sendError(ctx, INTERNAL_SERVER_ERROR, t.getMessage(), Optional.of(t));
 					else
@@ -350,7 +379,112 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         return null;
     }
 
-    private static Quartet<String, Map<String, Object>, String, Map<String,String>> getRequestArguments(final FullHttpRequest request) {
+    /**
+     * Writes the results of a script as a chunked response where each line is a {@link ResponseMessage} of up to
+     * {@code batchSize} results, all but the last with {@link ResponseStatusCode#PARTIAL_CONTENT}. Iteration pauses
+     * while the channel is not writable in the same way that {@code AbstractOpProcessor} does for websockets. A
+     * failure after the headers are written is reported as a final line with {@link ResponseStatusCode#SERVER_ERROR}.
+     */
+    private void streamResponse(final ChannelHandlerContext ctx, final Object result,
+                                final Pair<String, MessageTextSerializer> serializer, final String origin,
+                                final boolean keepAlive, final int batchSize, final Map<String, String> aliases,
+                                final AtomicBoolean streamStarted) throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        final Iterator itty = IteratorUtils.asIterator(result);
+
+        final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        response.headers().set(CONTENT_TYPE, serializer.getValue0());
+        HttpHeaders.setTransferEncodingChunked(response);
+        if (origin != null) response.headers().set(ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        if (keepAlive) response.headers().set(CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+        ctx.writeAndFlush(response);
+        streamStarted.set(true);
+
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        boolean warnOnce = false;
+
+        try {
+            List<Object> aggregate = new ArrayList<>(batchSize);
+
+            // an empty result still gets a single line with the SUCCESS code so that the client knows it is done
+            boolean hasMore = true;
+            while (hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // keep iterating into the batch while the client catches up, but not beyond the batch size
+                if (aggregate.size() < batchSize && itty.hasNext()) aggregate.add(itty.next());
+
+                if (ctx.channel().isWritable()) {
+                    if (aggregate.size() == batchSize || !itty.hasNext()) {
+                        final boolean moreInIterator = itty.hasNext();
+
+                        // commit before serializing the last batch to be consistent with the full response
+                        if (!moreInIterator) {
+                            attemptCommit(aliases, graphManager, settings.strictTransactionManagement);
+                            hasMore = false;
+                        }
+
+                        final ResponseMessage responseMessage = ResponseMessage.build(requestId)
+                                .code(moreInIterator ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS)
+                                .result(aggregate).create();
+                        ctx.writeAndFlush(new DefaultHttpContent(serializeLine(ctx, serializer.getValue1(), responseMessage)));
+                        if (moreInIterator) aggregate = new ArrayList<>(batchSize);
+                    }
+                } else {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        logger.warn("Pausing streamed HTTP response as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", ctx.channel());
+                        warnOnce = true;
+                    }
+
+                    // this isn't blocking the IO thread - just a worker.
+                    TimeUnit.MILLISECONDS.sleep(10);
+                }
+
+                stopWatch.split();
+                if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
+                    final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
+                            warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
+                    throw new TimeoutException(timeoutMsg.trim());
+                }
+
+                stopWatch.unsplit();
+            }
+        } catch (Exception ex) {
+            logger.warn(String.format("Error while streaming HTTP response for request %s", requestId), ex);
+            final ResponseMessage error = ResponseMessage.build(requestId)
+                    .code(ResponseStatusCode.SERVER_ERROR)
+                    .statusMessage(null == ex.getMessage() ? ex.getClass().getName() : ex.getMessage()).create();
+            try {
+                ctx.write(new DefaultHttpContent(serializeLine(ctx, serializer.getValue1(), error)));
+            } catch (Exception inner) {
+                logger.warn(String.format("Could not serialize the error for request %s", requestId), inner);
+            }
+
+            endStream(ctx, keepAlive);
+            throw ex;
+        }
+
+        stopWatch.stop();
+        endStream(ctx, keepAlive);
+    }
+
+    private static ByteBuf serializeLine(final ChannelHandlerContext ctx, final MessageTextSerializer serializer,
+                                         final ResponseMessage responseMessage) throws Exception {
+        final ByteBuf line = serializer.serializeResponseAsBinary(responseMessage, ctx.alloc());
+        return line.writeByte('\n');
+    }
+
+    private static void endStream(final ChannelHandlerContext ctx, final boolean keepAlive) {
+        if (!keepAlive)
+            ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ChannelFutureListener.CLOSE);
+        else
+            ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    private static Sextet<String, Map<String, Object>, String, Map<String,String>, Boolean, Integer> getRequestArguments(final FullHttpRequest request,
+                                                                                                                        final int defaultBatchSize) {
         if (request.getMethod() == GET) {
             final QueryStringDecoder decoder = new QueryStringDecoder(request.getUri());
             final List<String> gremlinParms = decoder.parameters().get(Tokens.ARGS_GREMLIN);
@@ -381,7 +515,22 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             final List<String> languageParms = decoder.parameters().get(Tokens.ARGS_LANGUAGE);
             final String language = (null == languageParms || languageParms.size() == 0) ? null : languageParms.get(0);
 
-            return Quartet.with(script, bindings, language, aliases);
+            final List<String> streamParms = decoder.parameters().get(Tokens.ARGS_STREAM);
+            final boolean stream = null != streamParms && streamParms.size() > 0 && Boolean.parseBoolean(streamParms.get(0));
+
+            // batchSize only shapes a streamed response so it is ignored otherwise
+            final List<String> batchSizeParms = decoder.parameters().get(Tokens.ARGS_BATCH_SIZE);
+            int batchSize = defaultBatchSize;
+            if (stream && null != batchSizeParms && batchSizeParms.size() > 0) {
+                try {
+                    batchSize = Integer.parseInt(batchSizeParms.get(0));
+                } catch (NumberFormatException nfe) {
+                    throw new IllegalArgumentException("batchSize must be an integer", nfe);
+                }
+                if (batchSize < 1) throw new IllegalArgumentException("batchSize must be greater than zero");
+            }
+
+            return Sextet.with(script, bindings, language, aliases, stream, batchSize);
         } else {
             final JsonNode body;
             try {
@@ -421,7 +570,20 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
             final JsonNode languageNode = body.get(Tokens.ARGS_LANGUAGE);
             final String language = null == languageNode ? null : languageNode.asText();
 
-            return Quartet.with(scriptNode.asText(), bindings, language, aliases);
+            final JsonNode streamNode = body.get(Tokens.ARGS_STREAM);
+            final boolean stream = null != streamNode && streamNode.asBoolean();
+
+            // batchSize only shapes a streamed response so it is ignored otherwise
+            final JsonNode batchSizeNode = body.get(Tokens.ARGS_BATCH_SIZE);
+            int batchSize = defaultBatchSize;
+            if (stream && batchSizeNode != null) {
+                if (!batchSizeNode.isIntegralNumber())
+                    throw new IllegalArgumentException("batchSize must be an integer");
+                batchSize = batchSizeNode.asInt();
+                if (batchSize < 1) throw new IllegalArgumentException("batchSize must be greater than zero");
+            }
+
+            return Sextet.with(scriptNode.asText(), bindings, language, aliases, stream, batchSize);
         }
     }
 
@@ -28,6 +28,7 @@ import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
 import io.netty.handler.codec.http.HttpServerCodec;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
 import org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer;
+import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.HttpGremlinEndpointHandler;
 import org.apache.tinkerpop.gremlin.server.handler.WsAndHttpChannelizerHandler;
 import org.apache.tinkerpop.gremlin.server.handler.WebSocketHandlerUtil;
@@ -36,6 +37,7 @@ import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
 import static io.netty.handler.codec.http.HttpHeaders.Names.UPGRADE;
 import static io.netty.handler.codec.http.HttpHeaders.Names.CONNECTION;
 import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_AUTHENTICATOR;
+import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_HTTP_COMPRESSION;
 import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_REQUEST_HANDLER;
 import static org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer.PIPELINE_HTTP_RESPONSE_ENCODER;
 
@@ -49,11 +51,13 @@ public class WsAndHttpChannelizerHandler extends ChannelInboundHandlerAdapter {
 
     private final WebSocketChannelizer wsChannelizer = new WebSocketChannelizer();
     private HttpGremlinEndpointHandler httpGremlinEndpointHandler;
+    private Settings.CompressionSettings compressionSettings;
 
     public void init(final ServerGremlinExecutor serverGremlinExecutor, final HttpGremlinEndpointHandler httpGremlinEndpointHandler) {
         //WebSocketChannelizer has everything needed for the http endpoint to work
         wsChannelizer.init(serverGremlinExecutor);
         this.httpGremlinEndpointHandler = httpGremlinEndpointHandler;
+        this.compressionSettings = serverGremlinExecutor.getSettings().compression;
     }
 
     public void configure(final ChannelPipeline pipeline) {
@@ -63,7 +67,10 @@ public class WsAndHttpChannelizerHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object obj) {
         final ChannelPipeline pipeline = ctx.pipeline();
-        if (obj instanceof HttpMessage && !WebSocketHandlerUtil.isWebSocket((HttpMessage)obj)) {
+        // the pipeline only has to be switched over to http once per channel as the endpoint handler then stays in
+        // place for the requests that follow on a keep-alive connection
+        if (obj instanceof HttpMessage && !WebSocketHandlerUtil.isWebSocket((HttpMessage)obj)
+                && pipeline.get(PIPELINE_REQUEST_HANDLER) != this.httpGremlinEndpointHandler) {
             if (null != pipeline.get(PIPELINE_AUTHENTICATOR)) {
                 pipeline.remove(PIPELINE_REQUEST_HANDLER);
                 final ChannelHandler authenticator = pipeline.get(PIPELINE_AUTHENTICATOR);
@@ -74,6 +81,17 @@ public class WsAndHttpChannelizerHandler extends ChannelInboundHandlerAdapter {
                 pipeline.remove(PIPELINE_REQUEST_HANDLER);
                 pipeline.addAfter(PIPELINE_HTTP_RESPONSE_ENCODER, PIPELINE_REQUEST_HANDLER, this.httpGremlinEndpointHandler);
             }
+
+            // the compressor has to see each request to know the accepted encodings so it goes in right after the
+            // encoder, ahead of the handlers that were just moved there, and negotiates the encoding of every
+            // response from there on. the websocket compression in the pipeline only acts on an upgrade so http
+            // responses pass through it
+            if (compressionSettings.enabled && null == pipeline.get(PIPELINE_HTTP_COMPRESSION)) {
+                pipeline.addAfter(PIPELINE_HTTP_RESPONSE_ENCODER, "http-uncompressed-metrics", CompressionMetricsHandler.UNCOMPRESSED);
+                pipeline.addAfter(PIPELINE_HTTP_RESPONSE_ENCODER, PIPELINE_HTTP_COMPRESSION, new HttpCompressionHandler(
+                        compressionSettings.compressionLevel, compressionSettings.minimumFrameSize));
+                pipeline.addAfter(PIPELINE_HTTP_RESPONSE_ENCODER, "http-compressed-metrics", CompressionMetricsHandler.COMPRESSED);
+            }
         }
         ctx.fireChannelRead(obj);
     }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+
+/**
+ * Sends final text and binary frames smaller than the minimum frame size around the WebSocket compression extension
+ * so that they go out uncompressed, which a frame without the RSV1 bit tells the client. Deflate costs more than it
+ * saves on small frames. This handler must be placed after the compression extension handler in the pipeline.
+ */
+@ChannelHandler.Sharable
+public class WsCompressionFrameFilter extends ChannelOutboundHandlerAdapter {
+
+    private final String compressionHandlerName;
+    private final int minimumFrameSize;
+
+    /**
+     * @param compressionHandlerName the name of the WebSocket extension handler in the pipeline
+     * @param minimumFrameSize frames with less content than this number of bytes are not compressed
+     */
+    public WsCompressionFrameFilter(final String compressionHandlerName, final int minimumFrameSize) {
+        this.compressionHandlerName = compressionHandlerName;
+        this.minimumFrameSize = minimumFrameSize;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        final ChannelHandlerContext compressionContext = ctx.pipeline().context(compressionHandlerName);
+        if (compressionContext != null && isUncompressed(msg)) {
+            // writing from the context of the extension handler starts with the handler in front of it and so skips
+            // the encoder the extension added after itself
+            compressionContext.write(msg, promise);
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    private boolean isUncompressed(final Object msg) {
+        if (!(msg instanceof TextWebSocketFrame) && !(msg instanceof BinaryWebSocketFrame)) return false;
+        final WebSocketFrame frame = (WebSocketFrame) msg;
+        return frame.isFinalFragment() && frame.rsv() == 0 && frame.content().readableBytes() < minimumFrameSize;
+    }
+}
@@ -23,8 +23,8 @@ import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.MeteredExecutorService;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
-import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,10 +33,8 @@ import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -69,13 +67,11 @@ public class Session {
      */
     private final GremlinExecutor gremlinExecutor;
 
-    private final ThreadFactory threadFactoryWorker = ThreadFactoryUtil.create("session-%d");
-
     /**
      * By binding the session to run ScriptEngine evaluations in a specific thread, each request will respect
      * the ThreadLocal nature of Graph implementations.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactoryWorker);
+    private final ExecutorService executor;
 
     private final ConcurrentHashMap<String, Session> sessions;
 
@@ -95,6 +91,8 @@ public class Session {
         this.configuredPerGraphCloseTimeout = Long.parseLong(processorSettings.config.getOrDefault(
                 SessionOpProcessor.CONFIG_PER_GRAPH_CLOSE_TIMEOUT, SessionOpProcessor.DEFAULT_PER_GRAPH_CLOSE_TIMEOUT).toString());
 
+        this.executor = new MeteredExecutorService(settings.getExecutorServiceFactoryInstance().
+                createSessionExecutorService(settings, session), "session-pool");
         this.gremlinExecutor = initializeGremlinExecutor().create();
 
         settings.scriptEngines.keySet().forEach(this::registerMetrics);
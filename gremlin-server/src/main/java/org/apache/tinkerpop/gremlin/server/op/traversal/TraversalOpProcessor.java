@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -32,6 +33,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.server.Context;
@@ -51,6 +53,7 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,11 +62,14 @@ import javax.script.SimpleBindings;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
@@ -82,6 +88,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     private static final ObjectMapper mapper = GraphSONMapper.build().version(GraphSONVersion.V2_0).create().createMapper();
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
+    public static final Counter traversalCacheHits = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "cache", "hits"));
+    public static final Counter traversalCacheMisses = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "cache", "misses"));
 
     public static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
 
@@ -105,16 +113,59 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
      */
     public static final long DEFAULT_CACHE_MAX_SIZE = 1000;
 
+    /**
+     * Configuration setting for the maximum number of compiled traversals to hold in the traversal cache. A value of
+     * zero disables the cache.
+     */
+    public static final String CONFIG_TRAVERSAL_CACHE_MAX_SIZE = "traversalCacheMaxSize";
+
+    /**
+     * Default size of the traversal cache is zero which means that it is disabled.
+     */
+    public static final long DEFAULT_TRAVERSAL_CACHE_MAX_SIZE = 0;
+
+    /**
+     * Configuration setting for how long a compiled traversal will be available before it is evicted from the
+     * traversal cache.
+     */
+    public static final String CONFIG_TRAVERSAL_CACHE_EXPIRATION_TIME = "traversalCacheExpirationTime";
+
+    /**
+     * Default timeout for a compiled traversal is ten minutes.
+     */
+    public static final long DEFAULT_TRAVERSAL_CACHE_EXPIRATION_TIME = 600000;
+
+    /**
+     * The source instructions that may appear in {@link Bytecode} for its traversal to be cached. Instructions like
+     * {@code withSideEffect()} and {@code withSack()} are left out because their initial values would be shared by
+     * every clone of the cached traversal and {@code withStrategies()} is left out because strategy instances do not
+     * generally implement {@code equals()} and so would never produce a cache hit.
+     */
+    private static final Set<String> CACHEABLE_SOURCE_INSTRUCTIONS = new HashSet<>(Arrays.asList(
+            TraversalSource.Symbols.withoutStrategies, GraphTraversalSource.Symbols.withBulk,
+            GraphTraversalSource.Symbols.withPath));
+
     static {
         DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
         DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
             put(CONFIG_CACHE_EXPIRATION_TIME, DEFAULT_CACHE_EXPIRATION_TIME);
             put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+            put(CONFIG_TRAVERSAL_CACHE_EXPIRATION_TIME, DEFAULT_TRAVERSAL_CACHE_EXPIRATION_TIME);
+            put(CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE);
         }};
     }
 
     protected static Cache<UUID, TraversalSideEffects> cache = null;
 
+    /**
+     * Traversals with strategies already applied, keyed by the name of the {@link TraversalSource} and the shape of
+     * the {@link Bytecode} that produced them, which is the bytecode with each binding value replaced by the name of
+     * the binding. Each request executes a clone of the cached traversal with its own binding values rebound. Where
+     * the binding values cannot be rebound, the shape maps to an entry without a traversal and the traversal is
+     * cached by its full bytecode instead. This cache is {@code null} when it is disabled.
+     */
+    protected static Cache<Pair<String, Bytecode>, CachedTraversal> traversalCache = null;
+
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
     public TraversalOpProcessor() {
@@ -146,6 +197,23 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         logger.info("Initialized cache for {} with size {} and expiration time of {} ms",
                 TraversalOpProcessor.class.getSimpleName(), maxSize, expirationTime);
+
+        final long traversalCacheMaxSize = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE).toString());
+        final long traversalCacheExpirationTime = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_TRAVERSAL_CACHE_EXPIRATION_TIME, DEFAULT_TRAVERSAL_CACHE_EXPIRATION_TIME).toString());
+
+        if (traversalCacheMaxSize > 0) {
+            traversalCache = Caffeine.newBuilder()
+                    .expireAfterAccess(traversalCacheExpirationTime, TimeUnit.MILLISECONDS)
+                    .maximumSize(traversalCacheMaxSize)
+                    .build();
+
+            logger.info("Initialized traversal cache for {} with size {} and expiration time of {} ms",
+                    TraversalOpProcessor.class.getSimpleName(), traversalCacheMaxSize, traversalCacheExpirationTime);
+        } else {
+            traversalCache = null;
+        }
     }
 
     @Override
@@ -360,11 +428,34 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final String traversalSourceName = aliases.entrySet().iterator().next().getValue();
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
+        // a cached traversal is already compiled so each request only needs to clone it and rebind its values
+        final List<Bytecode.Binding> bindings = new ArrayList<>();
+        final Pair<String, Bytecode> shapeKey = isCacheable(bytecode) ?
+                Pair.with(traversalSourceName, TraversalTemplate.shape(bytecode, bindings)) : null;
+        final CachedTraversal cachedShape = null == shapeKey ? null : traversalCache.getIfPresent(shapeKey);
+        final boolean rebindable = null == cachedShape || cachedShape.source != g || null != cachedShape.template;
+        final Pair<String, Bytecode> cacheKey = rebindable ? shapeKey : Pair.with(traversalSourceName, bytecode);
+        final CachedTraversal cachedTraversal = rebindable ? cachedShape : traversalCache.getIfPresent(cacheKey);
+        final boolean compiled = null != cachedTraversal && cachedTraversal.source == g && null != cachedTraversal.template;
+        if (null != cacheKey) {
+            if (compiled)
+                traversalCacheHits.inc();
+            else
+                traversalCacheMisses.inc();
+        }
+
+        // the traversal for a new shape is translated from bytecode with binding values that can be found by
+        // identity once strategies are applied so that the places to rebind them are known
+        final List<Object> probeValues = new ArrayList<>();
+        final Bytecode probe = null != cacheKey && !compiled && rebindable ? TraversalTemplate.probe(bytecode, probeValues) : null;
+
         final Traversal.Admin<?, ?> traversal;
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
-                traversal = JavaTranslator.of(g).translate(bytecode);
+            if (compiled)
+                traversal = cachedTraversal.template.instantiate(bindings);
+            else if (!lambdaLanguage.isPresent())
+                traversal = JavaTranslator.of(g).translate(null == probe ? bytecode : probe);
             else
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
         } catch (Exception ex) {
@@ -385,7 +476,14 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
                 try {
                     // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
+                    if (!compiled) {
+                        traversal.applyStrategies();
+
+                        // cache a clone before iteration so that it never holds traversers or side-effect values
+                        if (null != cacheKey)
+                            cacheTraversal(traversalSourceName, g, bytecode, cacheKey, traversal, probe, probeValues);
+                    }
+
                     handleIterator(context, new TraverserIterator(traversal), graph);
                 } catch (Exception ex) {
                     Throwable t = ex;
@@ -427,6 +525,40 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
     }
 
+    private static void cacheTraversal(final String traversalSourceName, final TraversalSource g, final Bytecode bytecode,
+                                       final Pair<String, Bytecode> cacheKey, final Traversal.Admin<?, ?> traversal,
+                                       final Bytecode probe, final List<Object> probeValues) {
+        final TraversalTemplate template = null == probe ? null : TraversalTemplate.create(traversal, probeValues);
+        if (null != template) {
+            traversalCache.put(cacheKey, new CachedTraversal(g, template));
+            return;
+        }
+
+        // the values cannot be rebound so the shape is marked as such and the traversal is cached by its bytecode
+        final Pair<String, Bytecode> bytecodeKey = Pair.with(traversalSourceName, bytecode);
+        if (!bytecodeKey.equals(cacheKey))
+            traversalCache.put(cacheKey, new CachedTraversal(g, null));
+        final TraversalTemplate exact = TraversalTemplate.create(traversal, Collections.emptyList());
+        if (null != exact)
+            traversalCache.put(bytecodeKey, new CachedTraversal(g, exact));
+    }
+
+    /**
+     * Determines if the traversal for the {@link Bytecode} can be served from the traversal cache. Lambdas are never
+     * cached as their evaluation is left to the script engine.
+     */
+    private static boolean isCacheable(final Bytecode bytecode) {
+        if (null == traversalCache || BytecodeHelper.getLambdaLanguage(bytecode).isPresent())
+            return false;
+
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            if (!CACHEABLE_SOURCE_INSTRUCTIONS.contains(instruction.getOperator()))
+                return false;
+        }
+
+        return true;
+    }
+
     @Override
     protected void iterateComplete(final ChannelHandlerContext ctx, final RequestMessage msg, final Iterator itty) {
         if (itty instanceof TraverserIterator) {
@@ -592,4 +724,19 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             }
         }
     }
+
+    /**
+     * A compiled traversal along with the {@link TraversalSource} that it was translated from so that a cache entry
+     * is not used if the source is replaced in the {@link GraphManager}. The template is {@code null} for a shape of
+     * {@link Bytecode} whose binding values cannot be rebound.
+     */
+    protected static final class CachedTraversal {
+        private final TraversalSource source;
+        private final TraversalTemplate template;
+
+        private CachedTraversal(final TraversalSource source, final TraversalTemplate template) {
+            this.source = source;
+            this.template = template;
+        }
+    }
 }
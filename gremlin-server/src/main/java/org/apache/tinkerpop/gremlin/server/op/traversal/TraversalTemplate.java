@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A strategy-applied traversal that serves every request whose {@link Bytecode} has the same shape. The shape is the
+ * bytecode with the value of each {@link Bytecode.Binding} replaced by the name of the binding and the class of its
+ * value. Each request gets a clone of the compiled traversal with its own binding values written into the places
+ * where the values of the first request ended up.
+ * <p/>
+ * A value can only be rebound where the compiled traversal reads it during iteration rather than while strategies
+ * are applied, so only the values of a {@link P} held by a {@link HasContainer} and the ids of a {@link GraphStep}
+ * are rebound, and only for bindings given directly to {@code V()}, {@code E()} and the {@code has()} steps. To find
+ * those places, the traversal for the first request is compiled from a copy of its bytecode in which each binding
+ * value is a new instance that can be told apart by identity. If a strategy copied a value elsewhere or combined it
+ * into a new value, the binding is not found in those places and no template is created for the shape.
+ */
+final class TraversalTemplate {
+
+    private static final Set<String> REBINDABLE_OPERATORS = new HashSet<>(Arrays.asList(
+            GraphTraversal.Symbols.V, GraphTraversal.Symbols.E, GraphTraversal.Symbols.has,
+            GraphTraversal.Symbols.hasId, GraphTraversal.Symbols.hasLabel, GraphTraversal.Symbols.hasValue));
+
+    private final Traversal.Admin<?, ?> traversal;
+    private final List<PredicateSlot> predicateSlots;
+    private final List<IdSlot> idSlots;
+
+    private TraversalTemplate(final Traversal.Admin<?, ?> traversal, final List<PredicateSlot> predicateSlots,
+                              final List<IdSlot> idSlots) {
+        this.traversal = traversal;
+        this.predicateSlots = predicateSlots;
+        this.idSlots = idSlots;
+    }
+
+    /**
+     * Gets the shape of the {@link Bytecode}, which is equal for any two bytecode instances that differ only in the
+     * values of their bindings (where those values are of the same class). The bindings of the bytecode are added to
+     * the supplied list in the order that {@link #instantiate(List)} expects them.
+     */
+    static Bytecode shape(final Bytecode bytecode, final List<Bytecode.Binding> bindings) {
+        final Bytecode shape = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            shape.addSource(instruction.getOperator(), shapeArguments(instruction.getArguments(), bindings));
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            shape.addStep(instruction.getOperator(), shapeArguments(instruction.getArguments(), bindings));
+        }
+        return shape;
+    }
+
+    private static Object[] shapeArguments(final Object[] arguments, final List<Bytecode.Binding> bindings) {
+        final Object[] shaped = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            shaped[i] = shapeArgument(arguments[i], bindings);
+        }
+        return shaped;
+    }
+
+    private static Object shapeArgument(final Object argument, final List<Bytecode.Binding> bindings) {
+        if (argument instanceof Bytecode.Binding) {
+            final Bytecode.Binding<?> binding = (Bytecode.Binding<?>) argument;
+            bindings.add(binding);
+            return new BindingShape(binding.variable(), null == binding.value() ? null : binding.value().getClass());
+        } else if (argument instanceof Bytecode)
+            return shape((Bytecode) argument, bindings);
+        else if (argument instanceof Map) {
+            final Map<Object, Object> map = new LinkedHashMap<>();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) argument).entrySet()) {
+                map.put(shapeArgument(entry.getKey(), bindings), shapeArgument(entry.getValue(), bindings));
+            }
+            return map;
+        } else if (argument instanceof List) {
+            final List<Object> list = new ArrayList<>();
+            for (final Object item : (List<?>) argument) {
+                list.add(shapeArgument(item, bindings));
+            }
+            return list;
+        } else if (argument instanceof Set) {
+            final Set<Object> set = new LinkedHashSet<>();
+            for (final Object item : (Set<?>) argument) {
+                set.add(shapeArgument(item, bindings));
+            }
+            return set;
+        } else
+            return argument;
+    }
+
+    /**
+     * Copies the {@link Bytecode} with each binding value replaced by a new but equal instance, so that the places
+     * the values end up in the compiled traversal can be found by identity. The new values are added to the supplied
+     * list in binding order. Returns {@code null} if a binding is given to a step that cannot be rebound or holds a
+     * value that cannot be copied, in which case the bytecode has no template.
+     */
+    static Bytecode probe(final Bytecode bytecode, final List<Object> probeValues) {
+        final Bytecode probe = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            final Object[] arguments = probeArguments(instruction, probeValues);
+            if (null == arguments) return null;
+            probe.addSource(instruction.getOperator(), arguments);
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            final Object[] arguments = probeArguments(instruction, probeValues);
+            if (null == arguments) return null;
+            probe.addStep(instruction.getOperator(), arguments);
+        }
+        return probe;
+    }
+
+    private static Object[] probeArguments(final Bytecode.Instruction instruction, final List<Object> probeValues) {
+        final Object[] arguments = instruction.getArguments();
+        final Object[] probed = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            final Object argument = arguments[i];
+            if (argument instanceof Bytecode.Binding) {
+                final Object copy = copyOf(((Bytecode.Binding<?>) argument).value());
+                if (null == copy || !REBINDABLE_OPERATORS.contains(instruction.getOperator()))
+                    return null;
+                probeValues.add(copy);
+                probed[i] = new Bytecode.Binding<>(((Bytecode.Binding<?>) argument).variable(), copy);
+            } else if (argument instanceof Bytecode) {
+                probed[i] = probe((Bytecode) argument, probeValues);
+                if (null == probed[i]) return null;
+            } else if (containsBinding(argument))
+                return null;
+            else
+                probed[i] = argument;
+        }
+        return probed;
+    }
+
+    private static boolean containsBinding(final Object argument) {
+        if (argument instanceof Bytecode.Binding || argument instanceof Bytecode)
+            return true;
+        else if (argument instanceof Map)
+            return ((Map<?, ?>) argument).entrySet().stream().anyMatch(e -> containsBinding(e.getKey()) || containsBinding(e.getValue()));
+        else if (argument instanceof Iterable) {
+            for (final Object item : (Iterable<?>) argument) {
+                if (containsBinding(item)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a new instance of the value that is equal to it but not identical, or {@code null} if that is not
+     * possible for its class.
+     */
+    @SuppressWarnings("UnnecessaryBoxing")
+    private static Object copyOf(final Object value) {
+        if (value instanceof String)
+            return new String((String) value);
+        else if (value instanceof Integer)
+            return new Integer((Integer) value);
+        else if (value instanceof Long)
+            return new Long((Long) value);
+        else if (value instanceof Double)
+            return new Double((Double) value);
+        else if (value instanceof Float)
+            return new Float((Float) value);
+        else if (value instanceof Short)
+            return new Short((Short) value);
+        else if (value instanceof Byte)
+            return new Byte((Byte) value);
+        else
+            return null;
+    }
+
+    /**
+     * Creates a template from a traversal that had its strategies applied after it was translated from the
+     * bytecode returned by {@link #probe(Bytecode, List)}. Returns {@code null} if any of the probe values cannot be
+     * found where it can be rebound or if clones of the traversal would share the objects that are rebound.
+     */
+    static TraversalTemplate create(final Traversal.Admin<?, ?> compiled, final List<Object> probeValues) {
+        final Traversal.Admin<?, ?> traversal = compiled.clone();
+        final List<P<?>> predicates = new ArrayList<>();
+        final List<GraphStep<?, ?>> graphSteps = new ArrayList<>();
+        collect(traversal, predicates, graphSteps);
+
+        final boolean[] found = new boolean[probeValues.size()];
+        final List<PredicateSlot> predicateSlots = new ArrayList<>();
+        for (int i = 0; i < predicates.size(); i++) {
+            final int binding = indexOfIdentical(probeValues, predicates.get(i).getValue());
+            if (binding >= 0) {
+                predicateSlots.add(new PredicateSlot(i, binding));
+                found[binding] = true;
+            }
+        }
+        final List<IdSlot> idSlots = new ArrayList<>();
+        for (int i = 0; i < graphSteps.size(); i++) {
+            final Object[] ids = graphSteps.get(i).getIds();
+            for (int j = 0; j < ids.length; j++) {
+                final int binding = indexOfIdentical(probeValues, ids[j]);
+                if (binding >= 0) {
+                    idSlots.add(new IdSlot(i, j, binding));
+                    found[binding] = true;
+                }
+            }
+        }
+        for (final boolean f : found) {
+            if (!f) return null;
+        }
+
+        // a graph step reads its ids and containers through an iterator supplier that may still point at the step
+        // it was cloned from, which is only known not to be the case where the step class takes care of its clone
+        if (!predicateSlots.isEmpty() || !idSlots.isEmpty()) {
+            for (final GraphStep<?, ?> graphStep : graphSteps) {
+                if (!clonesOwnState(graphStep)) return null;
+            }
+        }
+
+        // the predicates are changed in place on each clone so a step that does not clone them is not safe to use
+        final List<P<?>> clonedPredicates = new ArrayList<>();
+        collect(traversal.clone(), clonedPredicates, new ArrayList<>());
+        if (clonedPredicates.size() != predicates.size())
+            return null;
+        for (final PredicateSlot slot : predicateSlots) {
+            if (clonedPredicates.get(slot.predicate) == predicates.get(slot.predicate))
+                return null;
+        }
+
+        return new TraversalTemplate(traversal, predicateSlots, idSlots);
+    }
+
+    /**
+     * Gets a clone of the compiled traversal bound to the values of the supplied bindings, which must come from
+     * bytecode with the same shape as the one the template was created from.
+     */
+    Traversal.Admin<?, ?> instantiate(final List<Bytecode.Binding> bindings) {
+        final Traversal.Admin<?, ?> clone = this.traversal.clone();
+        if (this.predicateSlots.isEmpty() && this.idSlots.isEmpty())
+            return clone;
+
+        final List<P<?>> predicates = new ArrayList<>();
+        final List<GraphStep<?, ?>> graphSteps = new ArrayList<>();
+        collect(clone, predicates, graphSteps);
+        for (final PredicateSlot slot : this.predicateSlots) {
+            ((P<Object>) predicates.get(slot.predicate)).setValue(bindings.get(slot.binding).value());
+        }
+
+        // graph steps share their id array with the template so each one gets a new array
+        final Map<Integer, Object[]> ids = new LinkedHashMap<>();
+        for (final IdSlot slot : this.idSlots) {
+            ids.computeIfAbsent(slot.graphStep, i -> graphSteps.get(i).getIds().clone())[slot.id] = bindings.get(slot.binding).value();
+        }
+        ids.forEach((i, newIds) -> {
+            final GraphStep<?, ?> graphStep = graphSteps.get(i);
+            graphStep.clearIds();
+            graphStep.addIds(newIds);
+        });
+        return clone;
+    }
+
+    private static boolean clonesOwnState(final GraphStep<?, ?> graphStep) {
+        if (GraphStep.class == graphStep.getClass())
+            return true;
+        try {
+            graphStep.getClass().getDeclaredMethod("clone");
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void collect(final Traversal.Admin<?, ?> traversal, final List<P<?>> predicates,
+                                final List<GraphStep<?, ?>> graphSteps) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    collect(hasContainer.getPredicate(), predicates);
+                }
+            }
+            if (step instanceof GraphStep)
+                graphSteps.add((GraphStep<?, ?>) step);
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    collect(child, predicates, graphSteps);
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    collect(child, predicates, graphSteps);
+                }
+            }
+        }
+    }
+
+    private static void collect(final P<?> predicate, final List<P<?>> predicates) {
+        if (predicate instanceof ConnectiveP) {
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                collect(p, predicates);
+            }
+        } else
+            predicates.add(predicate);
+    }
+
+    private static int indexOfIdentical(final List<Object> values, final Object value) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == value) return i;
+        }
+        return -1;
+    }
+
+    private static final class PredicateSlot {
+        private final int predicate;
+        private final int binding;
+
+        private PredicateSlot(final int predicate, final int binding) {
+            this.predicate = predicate;
+            this.binding = binding;
+        }
+    }
+
+    private static final class IdSlot {
+        private final int graphStep;
+        private final int id;
+        private final int binding;
+
+        private IdSlot(final int graphStep, final int id, final int binding) {
+            this.graphStep = graphStep;
+            this.id = id;
+            this.binding = binding;
+        }
+    }
+
+    /**
+     * Stands in for a {@link Bytecode.Binding} in the shape of {@link Bytecode}.
+     */
+    private static final class BindingShape {
+        private final String variable;
+        private final Class<?> valueClass;
+
+        private BindingShape(final String variable, final Class<?> valueClass) {
+            this.variable = variable;
+            this.valueClass = valueClass;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof BindingShape &&
+                    this.variable.equals(((BindingShape) other).variable) &&
+                    Objects.equals(this.valueClass, ((BindingShape) other).valueClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.variable.hashCode() ^ Objects.hashCode(this.valueClass);
+        }
+
+        @Override
+        public String toString() {
+            return this.variable;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.server.Settings;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The default {@link ExecutorServiceFactory} which runs sessionless requests in a fixed pool of
+ * {@link Settings#gremlinPool} platform threads and gives each session a dedicated platform thread.
+ */
+public class DefaultExecutorServiceFactory implements ExecutorServiceFactory {
+
+    @Override
+    public ExecutorService createGremlinExecutorService(final Settings settings) {
+        return Executors.newFixedThreadPool(settings.gremlinPool, ThreadFactoryUtil.create("exec-%d"));
+    }
+
+    @Override
+    public ExecutorService createSessionExecutorService(final Settings settings, final String sessionId) {
+        return Executors.newSingleThreadExecutor(ThreadFactoryUtil.create("session-%d"));
+    }
+}
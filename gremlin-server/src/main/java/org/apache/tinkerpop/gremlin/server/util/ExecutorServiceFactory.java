@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.server.Settings;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the {@link ExecutorService} instances that Gremlin Server uses to evaluate requests. Implementations are
+ * configured by class name with {@link Settings#executorServiceFactory} and must have a no-arg constructor.
+ */
+public interface ExecutorServiceFactory {
+
+    /**
+     * Creates the pool that evaluates sessionless requests. Implementations should generally respect
+     * {@link Settings#gremlinPool} when they bound the number of threads they use.
+     */
+    public ExecutorService createGremlinExecutorService(final Settings settings);
+
+    /**
+     * Creates the executor for a single session. Graph transactions are bound to the thread that opened them, so
+     * the returned {@link ExecutorService} must run every task it is given on the same thread, one at a time.
+     */
+    public ExecutorService createSessionExecutorService(final Settings settings, final String sessionId);
+
+    /**
+     * Instantiates the {@code ExecutorServiceFactory} named by {@link Settings#executorServiceFactory}. Callers that
+     * need the configured factory should use {@link Settings#getExecutorServiceFactoryInstance()}, which only
+     * instantiates it once.
+     */
+    public static ExecutorServiceFactory create(final Settings settings) {
+        try {
+            return (ExecutorServiceFactory) Class.forName(settings.executorServiceFactory).newInstance();
+        } catch (Exception ex) {
+            throw new IllegalStateException(String.format("Could not instantiate ExecutorServiceFactory defined by " +
+                    "the 'executorServiceFactory' setting as: %s", settings.executorServiceFactory), ex);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Wraps an {@link ExecutorService} to record how its threads are used. The metrics are registered under the
+ * {@link GremlinServer} prefix and the supplied pool name:
+ * <ul>
+ *     <li>{@code queued} - the number of tasks waiting to start</li>
+ *     <li>{@code active} - the number of tasks that are running</li>
+ *     <li>{@code queue-wait} - the time between submitting a task and the start of its execution</li>
+ * </ul>
+ * Several executors may share one pool name, in which case their metrics are combined.
+ */
+public class MeteredExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final Counter queued;
+    private final Counter active;
+    private final Timer queueWait;
+
+    public MeteredExecutorService(final ExecutorService delegate, final String poolName) {
+        this.delegate = delegate;
+        this.queued = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, poolName, "queued"));
+        this.active = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, poolName, "active"));
+        this.queueWait = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, poolName, "queue-wait"));
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        final long submitted = System.nanoTime();
+        queued.inc();
+        try {
+            delegate.execute(() -> {
+                queued.dec();
+                queueWait.update(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                active.inc();
+                try {
+                    command.run();
+                } finally {
+                    active.dec();
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            queued.dec();
+            throw ree;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        // tasks that never started will not run so they no longer count as queued
+        final List<Runnable> neverStarted = delegate.shutdownNow();
+        queued.dec(neverStarted.size());
+        return neverStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
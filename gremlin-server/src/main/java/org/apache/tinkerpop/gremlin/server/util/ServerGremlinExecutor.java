@@ -67,8 +67,10 @@ public class ServerGremlinExecutor {
     /**
      * Create a new object from {@link Settings} where thread pools are externally assigned. Note that if the
      * {@code scheduleExecutorServiceClass} is set to {@code null} it will be created via
-     * {@link Executors#newScheduledThreadPool(int, ThreadFactory)}.  If either of the {@link ExecutorService}
-     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size.
+     * {@link Executors#newScheduledThreadPool(int, ThreadFactory)}.  If the {@code gremlinExecutorService} is
+     * set to {@code null} it will be created by the {@link ExecutorServiceFactory} configured in
+     * {@link Settings#executorServiceFactory}.  If either of the {@link ExecutorService} instances are supplied, the
+     * {@link Settings#gremlinPool} value will be ignored for the pool size.
      */
     public ServerGremlinExecutor(final Settings settings, final ExecutorService gremlinExecutorService,
                                  final ScheduledExecutorService scheduledExecutorService) {
@@ -92,8 +94,8 @@ public class ServerGremlinExecutor {
         }
 
         if (null == gremlinExecutorService) {
-            final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
-            this.gremlinExecutorService = Executors.newFixedThreadPool(settings.gremlinPool, threadFactoryGremlin);
+            this.gremlinExecutorService = new MeteredExecutorService(
+                    settings.getExecutorServiceFactoryInstance().createGremlinExecutorService(settings), "gremlin-pool");
         } else {
             this.gremlinExecutorService = gremlinExecutorService;
         }
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link ExecutorServiceFactory} that runs requests on virtual threads when the JVM supports them. Each
+ * sessionless request gets its own virtual thread. {@link Settings#gremlinPool} is ignored, so the number of
+ * evaluations that run at once is only limited by {@link Settings#virtualThreadLimit}, which is unbounded by
+ * default. Each session is served by a single virtual thread, which keeps transactions bound to
+ * one thread across requests. On a JVM without virtual threads this factory falls back to the behavior of
+ * {@link DefaultExecutorServiceFactory}.
+ */
+public class VirtualThreadExecutorServiceFactory extends DefaultExecutorServiceFactory {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadExecutorServiceFactory.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            // looked up reflectively so that the server continues to build and run on JVMs without virtual threads
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Exception ex) {
+            logger.warn("Virtual threads are not supported by this JVM - Gremlin Server will use platform threads");
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    /**
+     * Determines if the JVM supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    public ExecutorService createGremlinExecutorService(final Settings settings) {
+        if (!isSupported()) return super.createGremlinExecutorService(settings);
+
+        try {
+            final ExecutorService executor = (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, createThreadFactory("exec-"));
+            return settings.virtualThreadLimit > 0 ? new BoundedExecutorService(executor, settings.virtualThreadLimit) : executor;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not create virtual thread executor for the Gremlin pool", ex);
+        }
+    }
+
+    @Override
+    public ExecutorService createSessionExecutorService(final Settings settings, final String sessionId) {
+        if (!isSupported()) return super.createSessionExecutorService(settings, sessionId);
+
+        try {
+            return Executors.newSingleThreadExecutor(createThreadFactory("session-"));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not create virtual thread executor for session " + sessionId, ex);
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(final String prefix) throws Exception {
+        final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), "gremlin-server-virtual-" + prefix, 0L);
+        return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+    }
+
+    /**
+     * Limits how many tasks run at once. Every task still gets its own virtual thread, but that thread waits for a
+     * permit before it runs the task, which is cheap for a virtual thread.
+     */
+    static class BoundedExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        BoundedExecutorService(final ExecutorService delegate, final int limit) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(limit, true);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException ie) {
+                    // cancelled while waiting so the task never runs
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -148,6 +148,10 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldWorkOverNioTransport":
                 settings.channelizer = NioChannelizer.class.getName();
                 break;
+            case "shouldWorkWithCompression":
+                settings.compression.enabled = true;
+                settings.compression.minimumFrameSize = 64;
+                break;
             case "shouldFailWithBadClientSideSerialization":
                 final List<String> custom = Arrays.asList(
                         JsonBuilder.class.getName() + ";" + JsonBuilderGryoSerializer.class.getName(),
@@ -494,6 +498,40 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldWriteRequestsSubmittedTogetherInBatches() throws Exception {
+        final Cluster cluster = TestClientFactory.build().maxRequestsPerFlush(8).maxInProcessPerConnection(64)
+                .maxSimultaneousUsagePerConnection(64).create();
+        final Client client = cluster.connect();
+
+        final List<CompletableFuture<List<Result>>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final Map<String, Object> bindings = new HashMap<>();
+            bindings.put("x", i);
+            futures.add(client.submitAsync("x + 1", bindings).thenCompose(ResultSet::all));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i + 1, futures.get(i).get(30, TimeUnit.SECONDS).get(0).getInt());
+        }
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldWorkWithCompression() throws Exception {
+        final Cluster cluster = TestClientFactory.build().enableCompression(true).create();
+        final Client client = cluster.connect();
+
+        // one frame above the minimum size which gets compressed and one below it which does not
+        final List<Result> large = client.submit("(1..1000).collect{'x' * 10}").all().get();
+        assertEquals(1000, large.size());
+        assertEquals("xxxxxxxxxx", large.get(999).getString());
+        assertEquals(1, client.submit("1").all().get().get(0).getInt());
+
+        cluster.close();
+    }
+
     @Test
     public void shouldWorkOverNioTransport() throws Exception {
         final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.NioChannelizer.class.getName()).create();
@@ -46,10 +46,12 @@ import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Integration tests for server-side settings and processing.
@@ -72,10 +74,16 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
             case "should413OnPostWithResultTooLarge":
                 settings.maxContentLength = 31;
                 break;
+            case "should200OnPOSTWithGzipCompressedResult":
+                settings.compression.enabled = true;
+                settings.compression.minimumFrameSize = 64;
+                break;
             case "should200OnGETWithGremlinQueryStringArgumentWithIteratorResult":
             case "should200OnPOSTWithGremlinJsonEndcodedBodyWithIteratorResult":
             case "should200OnPOSTWithGremlinJsonEndcodedBodyWithIteratorResultAndAliases":
             case "should200OnGETWithGremlinQueryStringArgumentWithIteratorResultAndAliases":
+            case "should200OnPOSTWithStreamedChunkedResult":
+            case "should200OnGETWithStreamedChunkedResult":
                 final Map<String,Object> m = new HashMap<>();
                 m.put("files", Collections.singletonList("scripts/generate-classic.groovy"));
                 settings.scriptEngines.get("gremlin-groovy").plugins.put(ScriptFileGremlinPlugin.class.getName(), m);
@@ -809,6 +817,120 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test
+    public void should200OnPOSTWithStreamedChunkedResult() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"g.V()\", \"stream\":true, \"batchSize\":4}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("application/json", response.getEntity().getContentType().getValue());
+            assertEquals(true, response.getEntity().isChunked());
+            final String[] lines = EntityUtils.toString(response.getEntity()).split("\n");
+            assertEquals(2, lines.length);
+
+            final JsonNode first = mapper.readTree(lines[0]);
+            assertEquals(206, first.get("status").get("code").asInt());
+            assertEquals(4, first.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+
+            final JsonNode last = mapper.readTree(lines[1]);
+            assertEquals(200, last.get("status").get("code").asInt());
+            assertEquals(2, last.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+            assertEquals(first.get("requestId").asText(), last.get("requestId").asText());
+        }
+    }
+
+    @Test
+    public void should200OnGETWithStreamedChunkedResult() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpGet httpget = new HttpGet(TestClientFactory.createURLString("?gremlin=g.V()&stream=true&batchSize=1"));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httpget)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final String[] lines = EntityUtils.toString(response.getEntity()).split("\n");
+            assertEquals(6, lines.length);
+            for (int i = 0; i < lines.length; i++) {
+                final JsonNode node = mapper.readTree(lines[i]);
+                assertEquals(i < lines.length - 1 ? 206 : 200, node.get("status").get("code").asInt());
+                assertEquals(1, node.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+            }
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithStreamedEmptyResult() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"[]\", \"stream\":true}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final String[] lines = EntityUtils.toString(response.getEntity()).split("\n");
+            assertEquals(1, lines.length);
+            final JsonNode node = mapper.readTree(lines[0]);
+            assertEquals(200, node.get("status").get("code").asInt());
+            assertEquals(0, node.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+        }
+    }
+
+    @Test
+    public void should400OnPOSTWithStreamAndBadBatchSize() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"g.V()\", \"stream\":true, \"batchSize\":0}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(400, response.getStatusLine().getStatusCode());
+        }
+    }
+
+    @Test
+    public void should200WithoutStreamAndBadBatchSize() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"1+1\", \"batchSize\":0}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+        }
+
+        final HttpGet httpget = new HttpGet(TestClientFactory.createURLString("?gremlin=1-1&batchSize=x"));
+        try (final CloseableHttpResponse response = httpclient.execute(httpget)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithGzipCompressedResult() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.custom().disableContentCompression().build();
+
+        final HttpPost large = new HttpPost(TestClientFactory.createURLString());
+        large.addHeader("Content-Type", "application/json");
+        large.addHeader("Accept-Encoding", "gzip");
+        large.setEntity(new StringEntity("{\"gremlin\":\"(1..1000).collect{'x' * 10}\"}", Consts.UTF_8));
+        try (final CloseableHttpResponse response = httpclient.execute(large)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("gzip", response.getFirstHeader("Content-Encoding").getValue());
+            final JsonNode node = mapper.readTree(new GZIPInputStream(response.getEntity().getContent()));
+            assertEquals(1000, node.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+        }
+
+        // below the minimum size so it is not compressed
+        final HttpGet small = new HttpGet(TestClientFactory.createURLString("?gremlin=1"));
+        small.addHeader("Accept-Encoding", "gzip");
+        try (final CloseableHttpResponse response = httpclient.execute(small)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertNull(response.getFirstHeader("Content-Encoding"));
+            final JsonNode node = mapper.readTree(EntityUtils.toString(response.getEntity()));
+            assertEquals(1, node.get("result").get("data").get(GraphSONTokens.VALUEPROP).get(0).get(GraphSONTokens.VALUEPROP).asInt());
+        }
+    }
+
     @Test
     public void should500OnGETWithGremlinEvalFailure() throws Exception {
         final CloseableHttpClient httpclient = HttpClients.createDefault();
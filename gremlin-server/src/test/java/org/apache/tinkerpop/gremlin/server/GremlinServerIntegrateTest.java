@@ -47,6 +47,7 @@ import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.SimpleSandboxExtension;
 import org.apache.tinkerpop.gremlin.jsr223.ScriptFileGremlinPlugin;
 import org.apache.tinkerpop.gremlin.process.remote.RemoteGraph;
+import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -54,6 +55,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -235,6 +237,15 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldTimeOutRemoteTraversal":
                 settings.scriptEvaluationTimeout = 500;
                 break;
+            case "shouldCacheCompiledTraversalsUsingWithRemote":
+            case "shouldRebindCachedTraversalsUsingWithRemote":
+                final Settings.ProcessorSettings processorSettingsTraversal = new Settings.ProcessorSettings();
+                processorSettingsTraversal.className = TraversalOpProcessor.class.getName();
+                processorSettingsTraversal.config = new HashMap<>(TraversalOpProcessor.DEFAULT_SETTINGS.config);
+                processorSettingsTraversal.config.put(TraversalOpProcessor.CONFIG_TRAVERSAL_CACHE_MAX_SIZE, 100);
+                settings.processors.removeIf(p -> p.className.equals(TraversalOpProcessor.class.getName()));
+                settings.processors.add(processorSettingsTraversal);
+                break;
         }
 
         return settings;
@@ -955,6 +966,48 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         assertEquals(50L, g.V().hasLabel("person").map(Lambda.function("it.get().value('age') + 10")).sum().next());
     }
 
+    @Test
+    public void shouldCacheCompiledTraversalsUsingWithRemote() throws Exception {
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+        g.addV("person").property("age", 20).iterate();
+        g.addV("person").property("age", 10).iterate();
+
+        final long hits = TraversalOpProcessor.traversalCacheHits.getCount();
+        final long misses = TraversalOpProcessor.traversalCacheMisses.getCount();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2L, g.V().hasLabel("person").count().next().longValue());
+        }
+
+        assertEquals(9L, TraversalOpProcessor.traversalCacheHits.getCount() - hits);
+        assertEquals(1L, TraversalOpProcessor.traversalCacheMisses.getCount() - misses);
+
+        // lambdas are never cached
+        assertEquals(50L, g.V().hasLabel("person").map(Lambda.function("it.get().value('age') + 10")).sum().next());
+        assertEquals(9L, TraversalOpProcessor.traversalCacheHits.getCount() - hits);
+        assertEquals(1L, TraversalOpProcessor.traversalCacheMisses.getCount() - misses);
+    }
+
+    @Test
+    public void shouldRebindCachedTraversalsUsingWithRemote() throws Exception {
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+        g.addV("person").property("name", "marko").property("age", 29).iterate();
+        g.addV("person").property("name", "josh").property("age", 32).iterate();
+
+        final Bindings b = Bindings.instance();
+        final long hits = TraversalOpProcessor.traversalCacheHits.getCount();
+        final long misses = TraversalOpProcessor.traversalCacheMisses.getCount();
+        assertEquals(29, g.V().has("name", b.of("name", "marko")).values("age").next());
+        assertEquals(0L, TraversalOpProcessor.traversalCacheHits.getCount() - hits);
+        assertEquals(1L, TraversalOpProcessor.traversalCacheMisses.getCount() - misses);
+
+        // only the binding value differs so the compiled traversal is reused with the new value
+        assertEquals(32, g.V().has("name", b.of("name", "josh")).values("age").next());
+        assertEquals(1L, TraversalOpProcessor.traversalCacheHits.getCount() - hits);
+        assertEquals(1L, TraversalOpProcessor.traversalCacheMisses.getCount() - misses);
+    }
+
     @Test
     public void shouldGetSideEffectKeysUsingWithRemote() throws Exception {
         final Graph graph = EmptyGraph.instance();
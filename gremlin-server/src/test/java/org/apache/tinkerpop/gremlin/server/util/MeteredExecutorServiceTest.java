@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MeteredExecutorServiceTest {
+
+    @Test
+    public void shouldRecordOccupancyAndQueueWait() throws Exception {
+        final ExecutorService executor = new MeteredExecutorService(Executors.newSingleThreadExecutor(), "test-occupancy");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final Future<?> first = executor.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            final Future<?> second = executor.submit(() -> {});
+
+            assertTrue(started.await(30000, TimeUnit.MILLISECONDS));
+            assertEquals(1, MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "test-occupancy", "active")).getCount());
+            assertEquals(1, MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "test-occupancy", "queued")).getCount());
+
+            release.countDown();
+            first.get(30000, TimeUnit.MILLISECONDS);
+            second.get(30000, TimeUnit.MILLISECONDS);
+
+            assertEquals(0, MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "test-occupancy", "active")).getCount());
+            assertEquals(0, MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "test-occupancy", "queued")).getCount());
+            assertEquals(2, MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "test-occupancy", "queue-wait")).getCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldReleaseQueuedTasksOnShutdownNow() throws Exception {
+        final ExecutorService executor = new MeteredExecutorService(Executors.newSingleThreadExecutor(), "test-shutdown");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        executor.submit(() -> {});
+        executor.submit(() -> {});
+
+        assertTrue(started.await(30000, TimeUnit.MILLISECONDS));
+        assertEquals(2, executor.shutdownNow().size());
+        assertEquals(0, MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "test-shutdown", "queued")).getCount());
+        assertTrue(executor.awaitTermination(30000, TimeUnit.MILLISECONDS));
+        assertEquals(0, MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "test-shutdown", "active")).getCount());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualThreadExecutorServiceFactoryTest {
+
+    @Test
+    public void shouldCreateConfiguredFactory() {
+        final Settings settings = new Settings();
+        settings.executorServiceFactory = VirtualThreadExecutorServiceFactory.class.getName();
+        assertThat(ExecutorServiceFactory.create(settings), instanceOf(VirtualThreadExecutorServiceFactory.class));
+    }
+
+    @Test
+    public void shouldResolveConfiguredFactoryOnce() {
+        final Settings settings = new Settings();
+        settings.executorServiceFactory = VirtualThreadExecutorServiceFactory.class.getName();
+        final ExecutorServiceFactory factory = settings.getExecutorServiceFactoryInstance();
+        assertThat(factory, instanceOf(VirtualThreadExecutorServiceFactory.class));
+        assertSame(factory, settings.getExecutorServiceFactoryInstance());
+
+        settings.executorServiceFactory = DefaultExecutorServiceFactory.class.getName();
+        assertThat(settings.getExecutorServiceFactoryInstance(), instanceOf(DefaultExecutorServiceFactory.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCreateUnknownFactory() {
+        final Settings settings = new Settings();
+        settings.executorServiceFactory = "not.a.real.ExecutorServiceFactory";
+        ExecutorServiceFactory.create(settings);
+    }
+
+    @Test
+    public void shouldRunAllSessionTasksOnOneThread() throws Exception {
+        final Settings settings = new Settings();
+        final ExecutorService executor = new VirtualThreadExecutorServiceFactory().createSessionExecutorService(settings, "x");
+        final Set<Thread> threads = new HashSet<>();
+        try {
+            for (int ix = 0; ix < 100; ix++) {
+                threads.add(executor.submit(Thread::currentThread).get(30000, TimeUnit.MILLISECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, threads.size());
+    }
+
+    @Test
+    public void shouldRunGremlinTasksOnVirtualThreads() throws Exception {
+        Assume.assumeTrue(VirtualThreadExecutorServiceFactory.isSupported());
+
+        final ExecutorService executor = new VirtualThreadExecutorServiceFactory().createGremlinExecutorService(new Settings());
+        try {
+            final Thread thread = executor.submit(Thread::currentThread).get(30000, TimeUnit.MILLISECONDS);
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldLimitConcurrentGremlinTasks() throws Exception {
+        Assume.assumeTrue(VirtualThreadExecutorServiceFactory.isSupported());
+
+        final Settings settings = new Settings();
+        settings.virtualThreadLimit = 2;
+        final ExecutorService executor = new VirtualThreadExecutorServiceFactory().createGremlinExecutorService(settings);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final Set<Future<?>> futures = new HashSet<>();
+        try {
+            for (int ix = 0; ix < 10; ix++) {
+                futures.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    release.await(30000, TimeUnit.MILLISECONDS);
+                    running.decrementAndGet();
+                    return null;
+                }));
+            }
+
+            Thread.sleep(500);
+            assertEquals(2, running.get());
+            release.countDown();
+            for (Future<?> f : futures) {
+                f.get(30000, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, maxRunning.get());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeltaPageRankVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldConvergeToPageRank() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult pageRankResult = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().epsilon(0.0d).iterations(100).create(graph)).submit().get();
+            final ComputerResult deltaResult = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(DeltaPageRankVertexProgram.build().epsilon(0.0001d).iterations(100).create(graph)).submit().get();
+            final Map<String, Double> pageRanks = ranks(pageRankResult);
+            final Map<String, Double> deltaRanks = ranks(deltaResult);
+            assertEquals(6, deltaRanks.size());
+            for (final Map.Entry<String, Double> entry : pageRanks.entrySet()) {
+                assertEquals(entry.getValue(), deltaRanks.get(entry.getKey()), 0.001d);
+            }
+            assertTrue(deltaResult.memory().getIteration() < 100);
+            assertEquals(0, deltaResult.memory().asMap().size());
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecutePersonalizedPageRank() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(DeltaPageRankVertexProgram.build().seeds(__.<Vertex>has("name", "marko").asAdmin()).property("rank").iterations(100).create(graph)).submit().get();
+            final Map<String, Double> ranks = new HashMap<>();
+            result.graph().traversal().V().forEachRemaining(v -> ranks.put(v.value("name"), v.value("rank")));
+            assertEquals(6, ranks.size());
+            assertEquals(1.0d, ranks.values().stream().mapToDouble(Double::doubleValue).sum(), 0.001d);
+            assertEquals(0.0d, ranks.get("peter"), 0.0d); // peter can not be reached from marko
+            ranks.forEach((name, rank) -> {
+                if (!name.equals("marko"))
+                    assertTrue(ranks.get("marko") > rank);
+            });
+            assertTrue(ranks.get("ripple") > 0.0d);
+        }
+    }
+
+    private static Map<String, Double> ranks(final ComputerResult result) {
+        final Map<String, Double> ranks = new HashMap<>();
+        result.graph().traversal().V().forEachRemaining(v -> ranks.put(v.value("name"), v.value(PageRankVertexProgram.PAGE_RANK)));
+        return ranks;
+    }
+}
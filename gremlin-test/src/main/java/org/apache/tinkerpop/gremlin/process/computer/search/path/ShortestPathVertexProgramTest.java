@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.search.path;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ShortestPathVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldFindShortestPathsFromASource() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final Object marko = convertToVertexId("marko");
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ShortestPathVertexProgram.build().source(__.<Vertex>hasId(marko).asAdmin()).create(graph)).submit().get();
+            result.graph().traversal().V().forEachRemaining(v -> {
+                final String name = v.value("name");
+                if (name.equals("peter")) {
+                    assertFalse(v.property(ShortestPathVertexProgram.PATH).isPresent());
+                    return;
+                }
+                final Map<Object, Double> distances = v.value(ShortestPathVertexProgram.DISTANCE);
+                final Map<Object, List<Object>> paths = v.value(ShortestPathVertexProgram.PATH);
+                assertEquals(1, distances.size());
+                assertEquals(1, paths.size());
+                if (name.equals("marko")) {
+                    assertEquals(0.0d, distances.get(marko), 0.0d);
+                    assertEquals(Arrays.asList(marko), paths.get(marko));
+                } else if (name.equals("ripple")) {
+                    assertEquals(2.0d, distances.get(marko), 0.0d);
+                    assertEquals(Arrays.asList(marko, convertToVertexId("josh"), v.id()), paths.get(marko));
+                } else {
+                    assertEquals(1.0d, distances.get(marko), 0.0d);
+                    assertEquals(Arrays.asList(marko, v.id()), paths.get(marko));
+                }
+            });
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldFindWeightedShortestPaths() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final Object marko = convertToVertexId("marko");
+            final Object lop = convertToVertexId("lop");
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ShortestPathVertexProgram.build()
+                            .source(__.<Vertex>hasId(marko).asAdmin())
+                            .target(__.<Vertex>hasId(lop).asAdmin())
+                            .distance(__.<Edge, Double>values("weight").asAdmin())
+                            .create(graph)).submit().get();
+            result.graph().traversal().V().forEachRemaining(v -> {
+                if (v.id().equals(lop)) {
+                    // marko-created->lop weighs 0.4, which is less than marko-knows->josh-created->lop at 1.4
+                    assertEquals(0.4d, v.<Map<Object, Double>>value(ShortestPathVertexProgram.DISTANCE).get(marko), 0.0001d);
+                    assertEquals(Arrays.asList(marko, lop), v.<Map<Object, List<Object>>>value(ShortestPathVertexProgram.PATH).get(marko));
+                } else
+                    assertFalse(v.property(ShortestPathVertexProgram.PATH).isPresent());
+            });
+        }
+    }
+}
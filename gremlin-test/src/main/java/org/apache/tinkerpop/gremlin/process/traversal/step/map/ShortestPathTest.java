@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
+
+    public abstract Traversal<Vertex, Map<Object, List<Object>>> get_g_V_hasXname_rippleX_shortestPath_fromXhasXname_markoXX_valuesXpathX();
+
+    public abstract Traversal<Vertex, Map<Object, List<Object>>> get_g_V_shortestPath_fromXhasXname_vadasXX_byXbothEX_byXpathX_toXhasXname_peterXX_valuesXpathX();
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_V_hasXname_rippleX_shortestPath_fromXhasXname_markoXX_valuesXpathX() {
+        final Traversal<Vertex, Map<Object, List<Object>>> traversal = get_g_V_hasXname_rippleX_shortestPath_fromXhasXname_markoXX_valuesXpathX();
+        printTraversalForm(traversal);
+        final Map<Object, List<Object>> paths = traversal.next();
+        assertFalse(traversal.hasNext());
+        assertEquals(1, paths.size());
+        assertEquals(Arrays.asList(convertToVertexId("marko"), convertToVertexId("josh"), convertToVertexId("ripple")),
+                paths.get(convertToVertexId("marko")));
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_V_shortestPath_fromXhasXname_vadasXX_byXbothEX_byXpathX_toXhasXname_peterXX_valuesXpathX() {
+        final Traversal<Vertex, Map<Object, List<Object>>> traversal = get_g_V_shortestPath_fromXhasXname_vadasXX_byXbothEX_byXpathX_toXhasXname_peterXX_valuesXpathX();
+        printTraversalForm(traversal);
+        final Map<Object, List<Object>> paths = traversal.next();
+        assertFalse(traversal.hasNext());
+        assertEquals(Arrays.asList(convertToVertexId("vadas"), convertToVertexId("marko"), convertToVertexId("lop"), convertToVertexId("peter")),
+                paths.get(convertToVertexId("vadas")));
+    }
+
+    public static class Traversals extends ShortestPathTest {
+
+        @Override
+        public Traversal<Vertex, Map<Object, List<Object>>> get_g_V_hasXname_rippleX_shortestPath_fromXhasXname_markoXX_valuesXpathX() {
+            return g.V().has("name", "ripple").shortestPath().from(__.<Vertex>has("name", "marko")).values(ShortestPathVertexProgram.PATH);
+        }
+
+        @Override
+        public Traversal<Vertex, Map<Object, List<Object>>> get_g_V_shortestPath_fromXhasXname_vadasXX_byXbothEX_byXpathX_toXhasXname_peterXX_valuesXpathX() {
+            return g.V().shortestPath().from(__.<Vertex>has("name", "vadas")).by(__.bothE()).by("path").to(__.<Vertex>has("name", "peter")).values("path");
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.junit.Test;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.Profiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
@@ -29,7 +30,9 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Base class for all TinkerPop OpenJDK JMH benchmarks.  Based upon Netty's approach to running JMH benchmarks
@@ -70,6 +73,8 @@ public abstract class AbstractBenchmarkBase {
             runnerOptions.forks(getForks());
         }
 
+        getProfilers().forEach(runnerOptions::addProfiler);
+
         if (getReportDir() != null) {
             final String dtmStr = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
             final String filePath = getReportDir() + className + "-" + dtmStr + ".json";
@@ -104,6 +109,13 @@ public abstract class AbstractBenchmarkBase {
         return System.getProperty("benchmarkReportDir", DEFAULT_BENCHMARK_DIRECTORY);
     }
 
+    /**
+     * Profilers to attach to the run, such as {@code GCProfiler} for benchmarks that measure allocation.
+     */
+    protected List<Class<? extends Profiler>> getProfilers() {
+        return Collections.emptyList();
+    }
+
     protected String[] getJvmArgs() {
         return System.getProperty("jvmArgs", DEFAULT_JVM_ARGS).split(" ");
     }
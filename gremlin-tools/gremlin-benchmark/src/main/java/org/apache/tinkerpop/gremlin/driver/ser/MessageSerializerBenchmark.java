@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.ser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.Profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Measures the time and, through the {@link GCProfiler}, the allocation of writing a {@link ResponseMessage} of
+ * vertices to a pooled direct {@link ByteBuf} and of reading it back, as Gremlin Server and the driver do for each
+ * message.
+ */
+@State(Scope.Thread)
+public class MessageSerializerBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"graphson-v2", "graphson-v3", "gryo-v3"})
+    public String serializer;
+
+    @Param({"64"})
+    public int resultCount;
+
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private MessageSerializer messageSerializer;
+    private ResponseMessage response;
+    private ByteBuf serialized;
+
+    @Setup
+    public void prepare() throws Exception {
+        switch (serializer) {
+            case "graphson-v2":
+                messageSerializer = new GraphSONMessageSerializerV2d0();
+                break;
+            case "graphson-v3":
+                messageSerializer = new GraphSONMessageSerializerV3d0();
+                break;
+            case "gryo-v3":
+                messageSerializer = new GryoMessageSerializerV3d0();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown serializer: " + serializer);
+        }
+
+        final Graph graph = TinkerFactory.createModern();
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        final List<Vertex> results = new ArrayList<>(resultCount);
+        for (int i = 0; i < resultCount; i++) {
+            results.add(DetachedFactory.detach(vertices.get(i % vertices.size()), true));
+        }
+        response = ResponseMessage.build(UUID.randomUUID()).result(results).create();
+        serialized = messageSerializer.serializeResponseAsBinary(response, allocator);
+    }
+
+    @TearDown
+    public void release() {
+        serialized.release();
+    }
+
+    @Benchmark
+    public int serializeResponse() throws Exception {
+        final ByteBuf buffer = messageSerializer.serializeResponseAsBinary(response, allocator);
+        try {
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Benchmark
+    public ResponseMessage deserializeResponse() throws Exception {
+        return messageSerializer.deserializeResponse(serialized.duplicate());
+    }
+
+    @Override
+    protected List<Class<? extends Profiler>> getProfilers() {
+        return Collections.singletonList(GCProfiler.class);
+    }
+}
@@ -56,6 +56,16 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().out().out().out().path().toList();
     }
 
+    @Benchmark
+    public List<Path> g_V_out_out_out_simplePath_path() throws Exception {
+        return g.V().out().out().out().simplePath().path().toList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> g_V_asXaX_out_asXbX_out_asXcX_out_asXdX_selectXa_b_c_dX() throws Exception {
+        return g.V().as("a").out().as("b").out().as("c").out().as("d").<Object>select("a", "b", "c", "d").toList();
+    }
+
     @Benchmark
     public List<Vertex> g_V_repeatXoutX_timesX2X() throws Exception {
         return g.V().repeat(out()).times(2).toList();
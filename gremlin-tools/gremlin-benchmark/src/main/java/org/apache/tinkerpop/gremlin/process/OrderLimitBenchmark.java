@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.Order.decr;
+
+/**
+ * Compares {@code order().limit()} where {@code OrderLimitStrategy} lets the order keep only the limited number of
+ * traversers in a bounded heap against the full sort of every traverser that is done without the strategy.
+ */
+@State(Scope.Thread)
+public class OrderLimitBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"1000000"})
+    public int vertexCount;
+
+    @Param({"10", "1000"})
+    public int limit;
+
+    private GraphTraversalSource g;
+    private GraphTraversalSource gFullSort;
+
+    @Setup
+    public void prepare() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(123456789L);
+        for (int i = 0; i < vertexCount; i++) {
+            graph.addVertex("score", random.nextInt(vertexCount));
+        }
+        g = graph.traversal();
+        gFullSort = g.withoutStrategies(OrderLimitStrategy.class);
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_order_byXscore_decrX_limit() {
+        return g.V().order().by("score", decr).limit(limit).toList();
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_order_byXscore_decrX_limit_fullSort() {
+        return gFullSort.V().order().by("score", decr).limit(limit).toList();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.PeerPressureVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures whole {@code TinkerGraphComputer} runs on a randomly generated graph with a skewed degree distribution.
+ * {@link PageRankVertexProgram} sends its messages with a combiner while {@link PeerPressureVertexProgram} does not,
+ * so together they cover both ways the message board stores messages. Running the benchmark on two revisions of
+ * TinkerGraph compares their scheduling and message passing.
+ */
+@State(Scope.Thread)
+public class TinkerGraphComputerBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"50000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    private TinkerGraph graph;
+
+    @Setup
+    public void prepare() {
+        // the computer rejects more workers than there are processors
+        workers = Math.min(workers, Runtime.getRuntime().availableProcessors());
+        graph = TinkerGraph.open();
+        final Random random = new Random(123456789L);
+        final List<Vertex> vertices = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            vertices.add(graph.addVertex());
+        }
+
+        // skew the in-vertex choice toward low ids so that some vertices become supernodes
+        final long edgeCount = (long) vertexCount * averageDegree;
+        for (long i = 0; i < edgeCount; i++) {
+            final Vertex out = vertices.get(random.nextInt(vertexCount));
+            final Vertex in = vertices.get((int) (vertexCount * Math.pow(random.nextDouble(), 3)));
+            out.addEdge("link", in);
+        }
+    }
+
+    @Benchmark
+    public ComputerResult pageRank() throws Exception {
+        return graph.compute().workers(workers).program(PageRankVertexProgram.build().iterations(10).create(graph)).submit().get();
+    }
+
+    @Benchmark
+    public ComputerResult peerPressure() throws Exception {
+        return graph.compute().workers(workers).program(PeerPressureVertexProgram.build().maxIterations(10).create(graph)).submit().get();
+    }
+}
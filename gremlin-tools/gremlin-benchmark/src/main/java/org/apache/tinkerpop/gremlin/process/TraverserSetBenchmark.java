@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Measures the operations of {@link TraverserSet} that barriers and step iterators depend on, with traversers that
+ * bulk into {@code distinct} traversers, as those of {@code g.V().out().out().out()} do. The traversal itself is
+ * measured by {@link GraphTraversalBenchmark}.
+ */
+@State(Scope.Thread)
+public class TraverserSetBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"100000"})
+    public int traverserCount;
+
+    @Param({"100", "10000", "100000"})
+    public int distinct;
+
+    private Traverser.Admin<Integer>[] traversers;
+
+    @Setup
+    public void prepare() {
+        final Random random = new Random(123456789L);
+        traversers = new Traverser.Admin[traverserCount];
+        for (int i = 0; i < traverserCount; i++) {
+            traversers[i] = new B_O_Traverser<>(random.nextInt(distinct), 1L);
+        }
+    }
+
+    @Benchmark
+    public long addThenRemove() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            set.add(traverser.split());
+        }
+        long bulk = 0L;
+        while (!set.isEmpty()) {
+            bulk = bulk + set.remove().bulk();
+        }
+        return bulk;
+    }
+
+    @Benchmark
+    public long addOneRemoveOne() {
+        // the pattern of the starts of a step that pulls one traverser at a time
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        long bulk = 0L;
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            set.add(traverser.split());
+            bulk = bulk + set.remove().bulk();
+        }
+        return bulk;
+    }
+
+    @Benchmark
+    public long addWithBulkSize() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        long bulk = 0L;
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            set.add(traverser.split());
+            bulk = bulk + set.bulkSize();
+        }
+        return bulk;
+    }
+
+    @Benchmark
+    public TraverserSet<Integer> addThenSort() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            set.add(traverser.split());
+        }
+        set.sort((a, b) -> Integer.compare(a.get(), b.get()));
+        return set;
+    }
+}
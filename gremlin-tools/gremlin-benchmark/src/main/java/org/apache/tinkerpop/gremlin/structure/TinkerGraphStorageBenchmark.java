@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.benchmark.util.HeapUsageProfiler;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.Profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the default {@link TinkerGraph} storage with {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_STORAGE} on a
+ * randomly generated power-law-ish graph. The benchmarks measure {@code VertexStep} expansions while the
+ * {@link HeapUsageProfiler} adds the heap held by each storage mode to the results so that the footprint can be
+ * compared as well.
+ */
+@State(Scope.Thread)
+public class TinkerGraphStorageBenchmark extends AbstractBenchmarkBase {
+
+    private static final String[] LABELS = {"knows", "created", "follows", "likes"};
+
+    @Param({"false", "true"})
+    public boolean compactStorage;
+
+    @Param({"100000"})
+    public int vertexCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    private GraphTraversalSource g;
+
+    @Setup
+    public void prepare() {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_STORAGE, compactStorage);
+
+        final TinkerGraph graph = TinkerGraph.open(configuration);
+        final Random random = new Random(123456789L);
+        final List<Vertex> vertices = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            vertices.add(graph.addVertex(T.label, "person", "name", "v" + i, "age", random.nextInt(100)));
+        }
+
+        // skew the in-vertex choice toward low ids so that some vertices become supernodes
+        final long edgeCount = (long) vertexCount * averageDegree;
+        for (long i = 0; i < edgeCount; i++) {
+            final Vertex out = vertices.get(random.nextInt(vertexCount));
+            final Vertex in = vertices.get((int) (vertexCount * Math.pow(random.nextDouble(), 3)));
+            out.addEdge(LABELS[random.nextInt(LABELS.length)], in, "weight", random.nextDouble());
+        }
+
+        g = graph.traversal();
+    }
+
+    @Override
+    protected List<Class<? extends Profiler>> getProfilers() {
+        return Collections.singletonList(HeapUsageProfiler.class);
+    }
+
+    @Benchmark
+    public long g_V_out_count() {
+        return g.V().out().count().next();
+    }
+
+    @Benchmark
+    public long g_V_outXknowsX_count() {
+        return g.V().out("knows").count().next();
+    }
+
+    @Benchmark
+    public long g_V_both_both_count() {
+        return g.V().limit(1000).both().both().count().next();
+    }
+
+    @Benchmark
+    public long g_V_outEXcreated_likesX_valuesXweightX_count() {
+        return g.V().outE("created", "likes").values("weight").count().next();
+    }
+}
@@ -32,6 +32,7 @@ import scala.Tuple2;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiFunction;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -63,7 +64,8 @@ public final class SparkMessenger<M> implements Messenger<M> {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
             final Traversal.Admin<Vertex, Edge> incidentTraversal = SparkMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
             final Direction direction = SparkMessenger.getOppositeDirection(incidentTraversal);
-            incidentTraversal.forEachRemaining(edge -> this.outgoingMessages.add(new Tuple2<>(edge.vertices(direction).next().id(), message)));
+            final BiFunction<M, Edge, M> edgeFunction = localMessageScope.getEdgeFunction();
+            incidentTraversal.forEachRemaining(edge -> this.outgoingMessages.add(new Tuple2<>(SparkMessenger.getReceiver(this.vertex, edge, direction).id(), edgeFunction.apply(message, edge))));
         } else {
             ((MessageScope.Global) messageScope).vertices().forEach(v -> this.outgoingMessages.add(new Tuple2<>(v.id(), message)));
         }
@@ -76,6 +78,13 @@ public final class SparkMessenger<M> implements Messenger<M> {
         return (T) incidentTraversal;
     }
 
+    private static Vertex getReceiver(final Vertex sender, final Edge edge, final Direction direction) {
+        if (Direction.BOTH != direction)
+            return edge.vertices(direction).next();
+        // the receiver of a message along both directions is the other end of the edge
+        return edge.outVertex().id().equals(sender.id()) ? edge.inVertex() : edge.outVertex();
+    }
+
     private static Direction getOppositeDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection().opposite();
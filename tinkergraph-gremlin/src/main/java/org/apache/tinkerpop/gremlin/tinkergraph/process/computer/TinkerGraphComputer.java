@@ -23,13 +23,17 @@ import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization.GraphFilterStrategy;
 import org.apache.tinkerpop.gremlin.process.computer.util.ComputerGraph;
 import org.apache.tinkerpop.gremlin.process.computer.util.DefaultComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -38,9 +42,11 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -49,6 +55,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -68,7 +75,7 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
@@ -82,6 +89,25 @@ public final class TinkerGraphComputer implements GraphComputer {
      */
     private final ExecutorService computerService = Executors.newSingleThreadExecutor(threadFactoryBoss);
 
+    /**
+     * Configuration key that, when set to {@code true} with {@link #configure(String, Object)}, adds the busy time of
+     * each worker to the {@link Memory} of the result under {@link #WORKER_BUSY_TIMES}.
+     */
+    public static final String TRACK_WORKER_BUSY_TIMES = "tinkergraph.computer.trackWorkerBusyTimes";
+
+    /**
+     * The {@link Memory} key holding a {@code List<Long>} with the nanoseconds each worker spent executing the vertex
+     * program and map-reduce jobs when {@link #TRACK_WORKER_BUSY_TIMES} is enabled.
+     */
+    public static final String WORKER_BUSY_TIMES = "tinkergraph.workerBusyTimes";
+
+    /**
+     * The number of vertices or map entries a map-reduce worker claims from the shared cursor at a time.
+     */
+    private static final int MAP_REDUCE_CHUNK_SIZE = 256;
+
+    private boolean trackWorkerBusyTimes = false;
+
     public TinkerGraphComputer(final TinkerGraph graph) {
         this.graph = graph;
     }
@@ -128,6 +154,13 @@ public final class TinkerGraphComputer implements GraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer configure(final String key, final Object value) {
+        if (TRACK_WORKER_BUSY_TIMES.equals(key))
+            this.trackWorkerBusyTimes = value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value.toString());
+        return this;
+    }
+
     @Override
     public Future<ComputerResult> submit() {
         // a graph computer can only be executed once
@@ -154,6 +187,8 @@ public final class TinkerGraphComputer implements GraphComputer {
 
         // initialize the memory
         this.memory = new TinkerMemory(this.vertexProgram, this.mapReducers);
+        if (this.trackWorkerBusyTimes)
+            this.memory.memoryKeys.put(WORKER_BUSY_TIMES, MemoryComputeKey.of(WORKER_BUSY_TIMES, Operator.assign, false, false));
         final Future<ComputerResult> result = computerService.submit(() -> {
             final long time = System.currentTimeMillis();
             final TinkerGraphComputerView view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, null != this.vertexProgram ? this.vertexProgram.getVertexComputeKeys() : Collections.emptySet());
@@ -162,18 +197,21 @@ public final class TinkerGraphComputer implements GraphComputer {
                 if (null != this.vertexProgram) {
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
+                    this.messageBoard = new TinkerMessageBoard<>(this.graph.vertices());
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
                         this.memory.completeSubRound();
                         workers.setVertexProgram(this.vertexProgram);
                         workers.executeVertexProgram((vertices, vertexProgram, workerMemory) -> {
                             vertexProgram.workerIterationStart(workerMemory.asImmutable());
+                            final TinkerMessenger<?> messenger = new TinkerMessenger<>(null, this.messageBoard, vertexProgram.getMessageCombiner());
                             while (vertices.hasNext()) {
                                 final Vertex vertex = vertices.next();
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
+                                messenger.setVertex(vertex);
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        messenger,
                                         workerMemory);
                             }
                             vertexProgram.workerIterationEnd(workerMemory.asImmutable());
@@ -194,15 +232,14 @@ public final class TinkerGraphComputer implements GraphComputer {
                 // execute mapreduce jobs
                 for (final MapReduce mapReduce : mapReducers) {
                     final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                    final ChunkedCursor<Vertex> vertexCursor = new ChunkedCursor<>(this.graph.vertices());
                     workers.setMapReduce(mapReduce);
                     workers.executeMapReduce(workerMapReduce -> {
                         workerMapReduce.workerStart(MapReduce.Stage.MAP);
-                        while (true) {
+                        final Iterator<Vertex> vertices = vertexCursor.iterator();
+                        while (vertices.hasNext()) {
                             if (Thread.interrupted()) throw new TraversalInterruptedException();
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) break;
-                            workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                            workerMapReduce.map(ComputerGraph.mapReduce(vertices.next()), mapEmitter);
                         }
                         workerMapReduce.workerEnd(MapReduce.Stage.MAP);
                     });
@@ -212,13 +249,13 @@ public final class TinkerGraphComputer implements GraphComputer {
                     // no need to run combiners as this is single machine
                     if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                         final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
+                        final ChunkedCursor<Map.Entry<?, Queue<?>>> keyValueCursor = new ChunkedCursor<>((Iterator) mapEmitter.reduceMap.entrySet().iterator());
                         workers.executeMapReduce(workerMapReduce -> {
                             workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
-                            while (true) {
+                            final Iterator<Map.Entry<?, Queue<?>>> keyValues = keyValueCursor.iterator();
+                            while (keyValues.hasNext()) {
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
                                 final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                if (null == entry) break;
                                 workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
                             }
                             workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
@@ -229,6 +266,8 @@ public final class TinkerGraphComputer implements GraphComputer {
                         mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
                     }
                 }
+                if (this.trackWorkerBusyTimes)
+                    this.memory.set(WORKER_BUSY_TIMES, workers.getWorkerBusyTimes());
                 // update runtime and return the newly computed graph
                 this.memory.setRuntime(System.currentTimeMillis() - time);
                 this.memory.complete(); // drop all transient properties and set iteration
@@ -255,16 +294,44 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
-    private static class SynchronizedIterator<V> {
+    /**
+     * Shares a snapshot of an iterator among the map-reduce workers, each of which claims chunks of
+     * {@link #MAP_REDUCE_CHUNK_SIZE} items with a single atomic increment rather than locking for every item.
+     */
+    private static class ChunkedCursor<V> {
 
-        private final Iterator<V> iterator;
+        private final Object[] items;
+        private final AtomicInteger cursor = new AtomicInteger(0);
 
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
+        public ChunkedCursor(final Iterator<V> iterator) {
+            final List<V> list = new ArrayList<>();
+            iterator.forEachRemaining(list::add);
+            this.items = list.toArray();
         }
 
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int position = 0;
+                private int end = 0;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.position < this.end)
+                        return true;
+                    if (cursor.get() >= items.length)
+                        return false;
+                    this.position = Math.min(cursor.getAndAdd(MAP_REDUCE_CHUNK_SIZE), items.length);
+                    this.end = Math.min(this.position + MAP_REDUCE_CHUNK_SIZE, items.length);
+                    return this.position < this.end;
+                }
+
+                @Override
+                public V next() {
+                    if (!this.hasNext())
+                        throw FastNoSuchElementException.instance();
+                    return (V) items[this.position++];
+                }
+            };
         }
     }
 
@@ -18,29 +18,63 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Holds the messages of a {@link TinkerGraphComputer} in one {@link TinkerMessageStore} per {@link MessageScope},
+ * indexed by a dense vertex index assigned when the board is created. The stores are double-buffered: those sent to
+ * in the current iteration become the ones received from in the next, and the stores received from are cleared and
+ * kept for reuse rather than reallocated every iteration.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
-    public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    private final Map<Object, Integer> vertexIndices = new HashMap<>();
+    private Map<MessageScope, TinkerMessageStore<M>> sendMessages = new ConcurrentHashMap<>();
+    private Map<MessageScope, TinkerMessageStore<M>> receiveMessages = new ConcurrentHashMap<>();
+    private Map<MessageScope, TinkerMessageStore<M>> freeStores = new ConcurrentHashMap<>();
+
+    public TinkerMessageBoard(final Iterator<Vertex> vertices) {
+        int index = 0;
+        while (vertices.hasNext()) {
+            this.vertexIndices.put(vertices.next().id(), index++);
+        }
+    }
+
+    /**
+     * Gets the dense index of the vertex or {@code -1} if the vertex is not part of the graph.
+     */
+    public int indexOf(final Vertex vertex) {
+        final Integer index = this.vertexIndices.get(vertex.id());
+        return null == index ? -1 : index;
+    }
+
+    public TinkerMessageStore<M> getSendStore(final MessageScope messageScope, final MessageCombiner<M> combiner) {
+        return this.sendMessages.computeIfAbsent(messageScope, scope -> {
+            final TinkerMessageStore<M> store = this.freeStores.remove(scope);
+            return null == store ? TinkerMessageStore.create(scope, combiner, this.vertexIndices.size()) : store;
+        });
+    }
+
+    public Collection<TinkerMessageStore<M>> getReceiveStores() {
+        return this.receiveMessages.values();
+    }
 
     public void completeIteration() {
+        final Map<MessageScope, TinkerMessageStore<M>> received = this.receiveMessages;
+        received.values().forEach(TinkerMessageStore::clear);
+        received.putAll(this.freeStores);
+        this.freeStores = received;
         this.receiveMessages = this.sendMessages;
         this.sendMessages = new ConcurrentHashMap<>();
-        this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
     }
 }
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankMessageCombiner;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+/**
+ * The messages sent with a single {@link MessageScope} during one iteration of a {@link TinkerGraphComputer}, held in
+ * arrays indexed by the dense vertex index of the {@link TinkerMessageBoard}. A {@link MessageScope.Local} message is
+ * stored at the sending vertex, which is only ever executed by one worker per iteration, while a
+ * {@link MessageScope.Global} message is stored at each receiving vertex and so may be written by several workers at
+ * once.
+ */
+abstract class TinkerMessageStore<M> {
+
+    protected final MessageScope messageScope;
+    protected final int size;
+
+    /**
+     * The direction of the incident traversal of a {@link MessageScope.Local}, which is the direction to walk from a
+     * received edge to the vertex that sent the message.
+     */
+    protected Direction direction = null;
+
+    /**
+     * The edge labels of a {@link MessageScope.Local} whose incident traversal is a single {@link VertexStep}, so that
+     * receiving vertices can read their edges directly instead of building and reversing a traversal for each vertex.
+     */
+    protected String[] edgeLabels = null;
+
+    private TinkerMessageStore(final MessageScope messageScope, final int size) {
+        this.messageScope = messageScope;
+        this.size = size;
+        if (messageScope instanceof MessageScope.Local) {
+            final Traversal.Admin<?, ?> incidentTraversal = ((MessageScope.Local<?>) messageScope).getIncidentTraversal().get().asAdmin();
+            final List<Step> steps = incidentTraversal.getSteps();
+            if (1 == steps.size() && steps.get(0) instanceof VertexStep && ((VertexStep<?>) steps.get(0)).returnsEdge()) {
+                this.direction = ((VertexStep<?>) steps.get(0)).getDirection();
+                this.edgeLabels = ((VertexStep<?>) steps.get(0)).getEdgeLabels();
+            }
+        }
+    }
+
+    public static <M> TinkerMessageStore<M> create(final MessageScope messageScope, final MessageCombiner<M> combiner, final int size) {
+        if (null == combiner)
+            return new QueueStore<>(messageScope, size);
+        else if (combiner instanceof PageRankMessageCombiner && messageScope instanceof MessageScope.Local)
+            return (TinkerMessageStore<M>) new DoubleSumStore(messageScope, size);
+        else
+            return new CombiningStore<>(messageScope, combiner, size);
+    }
+
+    public MessageScope getMessageScope() {
+        return this.messageScope;
+    }
+
+    public boolean isAdjacent() {
+        return null != this.edgeLabels;
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public String[] getEdgeLabels() {
+        return this.edgeLabels;
+    }
+
+    /**
+     * Adds a message for the vertex at the index, combining it with the one already there if a combiner is present.
+     */
+    public abstract void add(final int index, final M message);
+
+    /**
+     * Adds the messages held for the vertex at the index to the list, passing each through the edge function first
+     * if one is given.
+     */
+    public abstract void collect(final int index, final Edge edge, final BiFunction<M, Edge, M> edgeFunction, final List<M> messages);
+
+    /**
+     * Drops all messages so that the store can be reused in a later iteration.
+     */
+    public abstract void clear();
+
+    ///////////
+
+    private static final class QueueStore<M> extends TinkerMessageStore<M> {
+
+        private final AtomicReferenceArray<Queue<M>> queues;
+
+        private QueueStore(final MessageScope messageScope, final int size) {
+            super(messageScope, size);
+            this.queues = new AtomicReferenceArray<>(size);
+        }
+
+        @Override
+        public void add(final int index, final M message) {
+            Queue<M> queue = this.queues.get(index);
+            if (null == queue) {
+                this.queues.compareAndSet(index, null, new ConcurrentLinkedQueue<>());
+                queue = this.queues.get(index);
+            }
+            queue.add(message);
+        }
+
+        @Override
+        public void collect(final int index, final Edge edge, final BiFunction<M, Edge, M> edgeFunction, final List<M> messages) {
+            final Queue<M> queue = this.queues.get(index);
+            if (null == queue)
+                return;
+            for (final M message : queue) {
+                messages.add(null == edgeFunction ? message : edgeFunction.apply(message, edge));
+            }
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < this.size; i++) {
+                this.queues.lazySet(i, null);
+            }
+        }
+    }
+
+    private static final class CombiningStore<M> extends TinkerMessageStore<M> {
+
+        private final MessageCombiner<M> combiner;
+        private final AtomicReferenceArray<M> messages;
+
+        private CombiningStore(final MessageScope messageScope, final MessageCombiner<M> combiner, final int size) {
+            super(messageScope, size);
+            this.combiner = combiner;
+            this.messages = new AtomicReferenceArray<>(size);
+        }
+
+        @Override
+        public void add(final int index, final M message) {
+            while (true) {
+                final M current = this.messages.get(index);
+                if (this.messages.compareAndSet(index, current, null == current ? message : this.combiner.combine(current, message)))
+                    return;
+            }
+        }
+
+        @Override
+        public void collect(final int index, final Edge edge, final BiFunction<M, Edge, M> edgeFunction, final List<M> messages) {
+            final M message = this.messages.get(index);
+            if (null != message)
+                messages.add(null == edgeFunction ? message : edgeFunction.apply(message, edge));
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < this.size; i++) {
+                this.messages.lazySet(i, null);
+            }
+        }
+    }
+
+    /**
+     * Sums {@link PageRankMessageCombiner} messages in place in a primitive array. It is only used for
+     * {@link MessageScope.Local} where each slot has a single writer, so no synchronization is needed within an
+     * iteration.
+     */
+    private static final class DoubleSumStore extends TinkerMessageStore<Double> {
+
+        private final double[] sums;
+        private final boolean[] present;
+
+        private DoubleSumStore(final MessageScope messageScope, final int size) {
+            super(messageScope, size);
+            this.sums = new double[size];
+            this.present = new boolean[size];
+        }
+
+        @Override
+        public void add(final int index, final Double message) {
+            if (this.present[index])
+                this.sums[index] = this.sums[index] + message;
+            else {
+                this.sums[index] = message;
+                this.present[index] = true;
+            }
+        }
+
+        @Override
+        public void collect(final int index, final Edge edge, final BiFunction<Double, Edge, Double> edgeFunction, final List<Double> messages) {
+            if (this.present[index])
+                messages.add(null == edgeFunction ? this.sums[index] : edgeFunction.apply(this.sums[index], edge));
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(this.present, false);
+        }
+    }
+}
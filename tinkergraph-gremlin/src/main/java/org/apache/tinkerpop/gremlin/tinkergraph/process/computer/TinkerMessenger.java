@@ -24,89 +24,102 @@ import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
-import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import java.util.function.BiFunction;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerMessenger<M> implements Messenger<M> {
 
-    private final Vertex vertex;
+    private Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
     private final MessageCombiner<M> combiner;
 
+    /**
+     * The stores sent to so far, keyed by identity so that a {@link MessageScope.Local} does not have to build its
+     * incident traversal to compute its hash code for every message.
+     */
+    private final Map<MessageScope, TinkerMessageStore<M>> sendStores = new IdentityHashMap<>();
+
     public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
         this.vertex = vertex;
         this.messageBoard = messageBoard;
         this.combiner = combiner.isPresent() ? combiner.get() : null;
     }
 
+    /**
+     * Points the messenger at the next vertex to execute, which allows a worker to use a single messenger for all of
+     * the vertices it executes in an iteration.
+     */
+    void setVertex(final Vertex vertex) {
+        this.vertex = vertex;
+    }
+
     @Override
     public Iterator<M> receiveMessages() {
-        final MultiIterator<M> multiIterator = new MultiIterator<>();
-        for (final MessageScope messageScope : this.messageBoard.receiveMessages.keySet()) {
-//        for (final MessageScope messageScope : this.messageBoard.previousMessageScopes) {
-            if (messageScope instanceof MessageScope.Local) {
-                final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) messageScope;
-                final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
-                final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
-                final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
-                multiIterator.addIterator(StreamSupport.stream(Spliterators.spliteratorUnknownSize(VertexProgramHelper.reverse(incidentTraversal.asAdmin()), Spliterator.IMMUTABLE | Spliterator.SIZED), false)
-                        .map(e -> this.messageBoard.receiveMessages.get(messageScope).get((edge[0] = e).vertices(direction).next()))
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0]))
-                        .iterator());
-
+        final List<M> messages = new ArrayList<>();
+        for (final TinkerMessageStore<M> store : this.messageBoard.getReceiveStores()) {
+            if (store.getMessageScope() instanceof MessageScope.Local) {
+                final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) store.getMessageScope();
+                final BiFunction<M, Edge, M> edgeFunction = localMessageScope.getEdgeFunction();
+                final Direction direction;
+                final Iterator<Edge> edges;
+                if (store.isAdjacent()) {
+                    direction = store.getDirection();
+                    edges = this.vertex.edges(direction.opposite(), store.getEdgeLabels());
+                } else {
+                    final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
+                    direction = TinkerMessenger.getDirection(incidentTraversal);
+                    edges = VertexProgramHelper.reverse(incidentTraversal);
+                }
+                while (edges.hasNext()) {
+                    final Edge edge = edges.next();
+                    // the message is stored at the vertex that sent it
+                    final int index = this.messageBoard.indexOf(TinkerMessenger.getSender(this.vertex, edge, direction));
+                    if (index >= 0)
+                        store.collect(index, edge, edgeFunction, messages);
+                }
             } else {
-                multiIterator.addIterator(Stream.of(this.vertex)
-                        .map(this.messageBoard.receiveMessages.get(messageScope)::get)
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .iterator());
+                final int index = this.messageBoard.indexOf(this.vertex);
+                if (index >= 0)
+                    store.collect(index, null, null, messages);
             }
         }
-        return multiIterator;
+        return messages.iterator();
     }
 
     @Override
     public void sendMessage(final MessageScope messageScope, final M message) {
-//        this.messageBoard.currentMessageScopes.add(messageScope);
+        TinkerMessageStore<M> store = this.sendStores.get(messageScope);
+        if (null == store) {
+            store = this.messageBoard.getSendStore(messageScope, this.combiner);
+            this.sendStores.put(messageScope, store);
+        }
+
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message, messageScope);
+            final int index = this.messageBoard.indexOf(this.vertex);
+            if (index >= 0)
+                store.add(index, message);
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message, messageScope));
+            for (final Vertex v : ((MessageScope.Global) messageScope).vertices()) {
+                final int index = this.messageBoard.indexOf(v);
+                if (index >= 0)
+                    store.add(index, message);
+            }
         }
     }
 
-    private void addMessage(final Vertex vertex, final M message, MessageScope messageScope) {
-        this.messageBoard.sendMessages.compute(messageScope, (ms, messages) -> {
-            if(null==messages) messages = new ConcurrentHashMap<>();
-            return messages;
-        });
-        this.messageBoard.sendMessages.get(messageScope).compute(vertex, (v, queue) -> {
-            if (null == queue) queue = new ConcurrentLinkedQueue<>();
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
-            return queue;
-        });
-    }
-
     ///////////
 
     private static <T extends Traversal.Admin<Vertex, Edge>> T setVertexStart(final Traversal.Admin<Vertex, Edge> incidentTraversal, final Vertex vertex) {
@@ -114,6 +127,15 @@ public final class TinkerMessenger<M> implements Messenger<M> {
         return (T) incidentTraversal;
     }
 
+    private static Vertex getSender(final Vertex receiver, final Edge edge, final Direction direction) {
+        if (Direction.IN == direction)
+            return edge.inVertex();
+        else if (Direction.OUT == direction)
+            return edge.outVertex();
+        else // the sender of a message along both directions is the other end of the edge
+            return edge.outVertex().id().equals(receiver.id()) ? edge.inVertex() : edge.outVertex();
+    }
+
     private static Direction getDirection(final Traversal.Admin<Vertex, Edge> incidentTraversal) {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection();
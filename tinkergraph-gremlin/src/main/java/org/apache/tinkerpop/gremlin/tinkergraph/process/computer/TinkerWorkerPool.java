@@ -23,9 +23,11 @@ import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
 
 import java.util.ArrayList;
@@ -37,9 +39,19 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
 
 /**
+ * Executes {@link VertexProgram} iterations and {@link MapReduce} jobs over a fixed number of worker threads.
+ * <p/>
+ * For vertex programs the vertices are cut into small chunks of roughly equal weight, where the weight of a vertex is
+ * one plus its number of incident edges, so that a supernode ends up in a chunk of its own. Each worker owns a
+ * contiguous range of chunks of about the same total weight and takes chunks from the front of that range. Once its
+ * own range is exhausted it steals chunks from the back of the ranges of the other workers, so the workers that drew
+ * the expensive vertices of a power-law graph no longer hold back the whole iteration. A range is a single
+ * {@code AtomicLong} holding both of its ends so owner and thieves coordinate through compare-and-set alone.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -47,6 +59,12 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The number of chunks each worker is given at the start of an iteration, which bounds how unbalanced the
+     * workers can be before stealing evens them out.
+     */
+    private static final int CHUNKS_PER_WORKER = 16;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
@@ -54,7 +72,12 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+
+    private final Vertex[] vertices;
+    private final int[] chunkStarts;
+    private final long[] workerRanges;
+    private final AtomicLongArray currentRanges;
+    private final long[] busyTimes;
 
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
@@ -62,26 +85,52 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
-        }
-        int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
+        }
+        this.busyTimes = new long[this.numberOfWorkers];
+
+        final List<Vertex> vertexList = new ArrayList<>(TinkerHelper.getVertices(graph).size());
+        graph.vertices().forEachRemaining(vertexList::add);
+        this.vertices = vertexList.toArray(new Vertex[vertexList.size()]);
+        final long[] weights = new long[this.vertices.length];
+        long totalWeight = 0;
+        for (int i = 0; i < this.vertices.length; i++) {
+            weights[i] = 1 + TinkerHelper.getEdgeCount((TinkerVertex) this.vertices[i]);
+            totalWeight = totalWeight + weights[i];
+        }
+
+        // cut the vertices into chunks that close once they reach the target weight
+        final long chunkWeight = Math.max(1, totalWeight / ((long) this.numberOfWorkers * CHUNKS_PER_WORKER));
+        final List<Integer> starts = new ArrayList<>();
+        final List<Long> chunkWeights = new ArrayList<>();
+        long currentWeight = 0;
+        for (int i = 0; i < this.vertices.length; i++) {
+            if (0 == currentWeight)
+                starts.add(i);
+            currentWeight = currentWeight + weights[i];
+            if (currentWeight >= chunkWeight || i == this.vertices.length - 1) {
+                chunkWeights.add(currentWeight);
+                currentWeight = 0;
+            }
+        }
+        this.chunkStarts = new int[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            this.chunkStarts[i] = starts.get(i);
+        }
+        this.chunkStarts[starts.size()] = this.vertices.length;
+
+        // give each worker a contiguous range of chunks of about the same total weight
+        this.workerRanges = new long[this.numberOfWorkers];
+        final long workerWeight = Math.max(1, totalWeight / this.numberOfWorkers);
+        int chunk = 0;
+        for (int i = 0; i < this.numberOfWorkers; i++) {
+            final int first = chunk;
+            long assignedWeight = 0;
+            while (chunk < chunkWeights.size() && (assignedWeight < workerWeight || i == this.numberOfWorkers - 1)) {
+                assignedWeight = assignedWeight + chunkWeights.get(chunk++);
             }
+            this.workerRanges[i] = range(first, chunk);
         }
+        this.currentRanges = new AtomicLongArray(this.numberOfWorkers);
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -93,38 +142,62 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        for (int i = 0; i < this.numberOfWorkers; i++) {
+            this.currentRanges.set(i, this.workerRanges[i]);
+        }
         for (int i = 0; i < this.numberOfWorkers; i++) {
             final int index = i;
             this.completionService.submit(() -> {
+                final long start = System.nanoTime();
                 final VertexProgram vp = this.vertexProgramPool.take();
                 final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
+                worker.accept(new WorkerVertexIterator(index), vp, workerMemory);
                 this.vertexProgramPool.offer(vp);
                 this.workerMemoryPool.offer(workerMemory);
+                this.busyTimes[index] = this.busyTimes[index] + (System.nanoTime() - start);
                 return null;
             });
         }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
-        }
+        this.awaitWorkers();
     }
 
     public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
+            final int index = i;
             this.completionService.submit(() -> {
+                final long start = System.nanoTime();
                 final MapReduce mr = this.mapReducePool.take();
                 worker.accept(mr);
                 this.mapReducePool.offer(mr);
+                this.busyTimes[index] = this.busyTimes[index] + (System.nanoTime() - start);
                 return null;
             });
         }
+        this.awaitWorkers();
+    }
+
+    /**
+     * Gets the time in nanoseconds that each worker has spent executing vertex programs and map-reduce jobs so far.
+     * Comparing the values shows how well the load is balanced across workers.
+     */
+    public List<Long> getWorkerBusyTimes() {
+        final List<Long> times = new ArrayList<>(this.numberOfWorkers);
+        for (final long time : this.busyTimes) {
+            times.add(time);
+        }
+        return times;
+    }
+
+    public void closeNow() throws Exception {
+        this.workerPool.shutdownNow();
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.workerPool.shutdown();
+    }
+
+    private void awaitWorkers() throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
             try {
                 this.completionService.take().get();
@@ -136,12 +209,85 @@ public final class TinkerWorkerPool implements AutoCloseable {
         }
     }
 
-    public void closeNow() throws Exception {
-        this.workerPool.shutdownNow();
+    /**
+     * Takes the next chunk for the worker, first from the front of its own range and then from the back of the
+     * ranges of the other workers, returning {@code -1} once every range is empty.
+     */
+    private int nextChunk(final int worker) {
+        final int own = this.takeFirst(worker);
+        if (own >= 0)
+            return own;
+        for (int i = 1; i < this.numberOfWorkers; i++) {
+            final int stolen = this.takeLast((worker + i) % this.numberOfWorkers);
+            if (stolen >= 0)
+                return stolen;
+        }
+        return -1;
     }
 
-    @Override
-    public void close() throws Exception {
-        this.workerPool.shutdown();
+    private int takeFirst(final int worker) {
+        while (true) {
+            final long current = this.currentRanges.get(worker);
+            final int first = first(current);
+            final int last = last(current);
+            if (first >= last)
+                return -1;
+            if (this.currentRanges.compareAndSet(worker, current, range(first + 1, last)))
+                return first;
+        }
+    }
+
+    private int takeLast(final int worker) {
+        while (true) {
+            final long current = this.currentRanges.get(worker);
+            final int first = first(current);
+            final int last = last(current);
+            if (first >= last)
+                return -1;
+            if (this.currentRanges.compareAndSet(worker, current, range(first, last - 1)))
+                return last - 1;
+        }
+    }
+
+    private static long range(final int first, final int last) {
+        return ((long) first << 32) | (last & 0xFFFFFFFFL);
+    }
+
+    private static int first(final long range) {
+        return (int) (range >>> 32);
+    }
+
+    private static int last(final long range) {
+        return (int) range;
+    }
+
+    private final class WorkerVertexIterator implements Iterator<Vertex> {
+
+        private final int worker;
+        private int position = 0;
+        private int end = 0;
+
+        private WorkerVertexIterator(final int worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.position >= this.end) {
+                final int chunk = nextChunk(this.worker);
+                if (chunk < 0)
+                    return false;
+                this.position = chunkStarts[chunk];
+                this.end = chunkStarts[chunk + 1];
+            }
+            return true;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            return vertices[this.position++];
+        }
     }
-}
\ No newline at end of file
+}
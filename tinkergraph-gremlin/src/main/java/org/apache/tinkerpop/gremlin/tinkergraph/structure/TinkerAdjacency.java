@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The adjacency of a {@link TinkerVertex} in one direction when the graph is configured with
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_STORAGE}. Rather than a {@code HashMap} of {@code HashSet} instances,
+ * which costs a map node per label and per edge, the edges of each label are held in a plain array that grows as
+ * edges are added. The labels themselves are interned by the graph so every vertex shares the same {@code String}
+ * instances and a label lookup is usually a reference comparison over a handful of slots.
+ * <p/>
+ * The {@code Map} and {@code Set} views let the rest of TinkerGraph treat it like the default storage. Adding an edge
+ * is an amortized constant time append, while removing one is linear in the degree of its label as the array has to
+ * be searched, which is the price paid for the smaller footprint.
+ */
+final class TinkerAdjacency extends AbstractMap<String, Set<Edge>> {
+
+    private static final String[] NO_LABELS = new String[0];
+    private static final Edge[][] NO_EDGES = new Edge[0][];
+    private static final int[] NO_SIZES = new int[0];
+
+    private String[] labels = NO_LABELS;
+    private Edge[][] edges = NO_EDGES;
+    private int[] sizes = NO_SIZES;
+
+    /**
+     * Appends the edge to the array for its label, creating a slot for the label if this is its first edge.
+     */
+    void add(final String label, final Edge edge) {
+        int slot = this.slot(label);
+        if (-1 == slot) {
+            slot = this.labels.length;
+            this.labels = Arrays.copyOf(this.labels, slot + 1);
+            this.edges = Arrays.copyOf(this.edges, slot + 1);
+            this.sizes = Arrays.copyOf(this.sizes, slot + 1);
+            this.labels[slot] = label;
+            this.edges[slot] = new Edge[1];
+        }
+
+        final int size = this.sizes[slot];
+        if (size == this.edges[slot].length)
+            this.edges[slot] = Arrays.copyOf(this.edges[slot], size < 4 ? size + 1 : size + (size >> 1));
+        this.edges[slot][size] = edge;
+        this.sizes[slot] = size + 1;
+    }
+
+    private boolean remove(final int slot, final Object edge) {
+        final Edge[] labelEdges = this.edges[slot];
+        final int size = this.sizes[slot];
+        for (int i = 0; i < size; i++) {
+            if (labelEdges[i].equals(edge)) {
+                // order does not matter so the last edge fills the hole
+                labelEdges[i] = labelEdges[size - 1];
+                labelEdges[size - 1] = null;
+                this.sizes[slot] = size - 1;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int slot(final Object label) {
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i] == label) return i;
+        }
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i].equals(label)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public Set<Edge> get(final Object label) {
+        final int slot = this.slot(label);
+        return -1 == slot || 0 == this.sizes[slot] ? null : new LabelEdges(slot);
+    }
+
+    @Override
+    public boolean containsKey(final Object label) {
+        return null != this.get(label);
+    }
+
+    @Override
+    public Set<Edge> put(final String label, final Set<Edge> labelEdges) {
+        final Set<Edge> old = this.remove(label);
+        labelEdges.forEach(edge -> this.add(label, edge));
+        return old;
+    }
+
+    @Override
+    public Set<Edge> remove(final Object label) {
+        final int slot = this.slot(label);
+        if (-1 == slot || 0 == this.sizes[slot])
+            return null;
+
+        final Set<Edge> old = new LabelEdges(slot).copy();
+        this.clear(slot);
+        return old;
+    }
+
+    private void clear(final int slot) {
+        Arrays.fill(this.edges[slot], null);
+        this.sizes[slot] = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Set<Edge>>> entrySet() {
+        return new AbstractSet<Entry<String, Set<Edge>>>() {
+            @Override
+            public Iterator<Entry<String, Set<Edge>>> iterator() {
+                return new Iterator<Entry<String, Set<Edge>>>() {
+                    private int current = -1;
+                    private int next = this.seek(0);
+
+                    private int seek(final int from) {
+                        int slot = from;
+                        while (slot < TinkerAdjacency.this.labels.length && 0 == TinkerAdjacency.this.sizes[slot]) {
+                            slot++;
+                        }
+                        return slot;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.next < TinkerAdjacency.this.labels.length;
+                    }
+
+                    @Override
+                    public Entry<String, Set<Edge>> next() {
+                        if (!this.hasNext())
+                            throw FastNoSuchElementException.instance();
+                        this.current = this.next;
+                        this.next = this.seek(this.current + 1);
+                        return new SimpleImmutableEntry<>(TinkerAdjacency.this.labels[this.current], new LabelEdges(this.current));
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (-1 == this.current)
+                            throw new IllegalStateException();
+                        TinkerAdjacency.this.clear(this.current);
+                        this.current = -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (final int labelSize : TinkerAdjacency.this.sizes) {
+                    if (labelSize > 0) size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    /**
+     * A live view of the edges of one label.
+     */
+    private final class LabelEdges extends AbstractSet<Edge> {
+        private final int slot;
+
+        private LabelEdges(final int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < TinkerAdjacency.this.sizes[slot];
+                }
+
+                @Override
+                public Edge next() {
+                    if (!this.hasNext())
+                        throw FastNoSuchElementException.instance();
+                    return TinkerAdjacency.this.edges[slot][this.index++];
+                }
+
+                @Override
+                public void remove() {
+                    if (0 == this.index)
+                        throw new IllegalStateException();
+                    // the last edge is swapped into the removed position so it has to be visited next
+                    this.index--;
+                    TinkerAdjacency.this.remove(slot, TinkerAdjacency.this.edges[slot][this.index]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return TinkerAdjacency.this.sizes[this.slot];
+        }
+
+        @Override
+        public boolean add(final Edge edge) {
+            if (this.contains(edge))
+                return false;
+            TinkerAdjacency.this.add(TinkerAdjacency.this.labels[this.slot], edge);
+            return true;
+        }
+
+        @Override
+        public boolean remove(final Object edge) {
+            return TinkerAdjacency.this.remove(this.slot, edge);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOf(TinkerAdjacency.this.edges[this.slot], this.size(), Object[].class);
+        }
+
+        private Set<Edge> copy() {
+            return new HashSet<>(this);
+        }
+    }
+}
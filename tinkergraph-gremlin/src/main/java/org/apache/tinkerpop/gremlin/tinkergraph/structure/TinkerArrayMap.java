@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A {@code Map} that stores its keys and values interleaved in a single array and looks keys up with a linear scan.
+ * Elements rarely have more than a few property keys so this is both smaller and, at that size, faster than a
+ * {@code HashMap} which needs a table plus a node per entry. It is used for element properties when the graph is
+ * configured with {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_STORAGE}.
+ */
+final class TinkerArrayMap<K, V> extends AbstractMap<K, V> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] table = EMPTY;
+    private int size = 0;
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.table[i << 1] == key) return i;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.table[i << 1].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return -1 != this.indexOf(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int index = this.indexOf(key);
+        return -1 == index ? null : (V) this.table[(index << 1) + 1];
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final int index = this.indexOf(key);
+        if (-1 != index) {
+            final V old = (V) this.table[(index << 1) + 1];
+            this.table[(index << 1) + 1] = value;
+            return old;
+        }
+
+        if (this.size << 1 == this.table.length)
+            this.table = Arrays.copyOf(this.table, (this.size + 1) << 1);
+        this.table[this.size << 1] = key;
+        this.table[(this.size << 1) + 1] = value;
+        this.size++;
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final int index = this.indexOf(key);
+        if (-1 == index)
+            return null;
+
+        final V old = (V) this.table[(index << 1) + 1];
+        this.removeAt(index);
+        return old;
+    }
+
+    private void removeAt(final int index) {
+        System.arraycopy(this.table, (index + 1) << 1, this.table, index << 1, (this.size - index - 1) << 1);
+        this.size--;
+        this.table[this.size << 1] = null;
+        this.table[(this.size << 1) + 1] = null;
+    }
+
+    @Override
+    public void clear() {
+        this.table = EMPTY;
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    private int index = 0;
+                    private boolean removable = false;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < TinkerArrayMap.this.size;
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (!this.hasNext())
+                            throw FastNoSuchElementException.instance();
+                        final int i = this.index++;
+                        this.removable = true;
+                        return new SimpleEntry<K, V>((K) TinkerArrayMap.this.table[i << 1], (V) TinkerArrayMap.this.table[(i << 1) + 1]) {
+                            @Override
+                            public V setValue(final V value) {
+                                TinkerArrayMap.this.table[(i << 1) + 1] = value;
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (!this.removable)
+                            throw new IllegalStateException();
+                        this.removable = false;
+                        TinkerArrayMap.this.removeAt(--this.index);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TinkerArrayMap.this.size;
+            }
+        };
+    }
+}
@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -57,9 +56,17 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         ElementHelper.validateProperty(key, value);
         final Property oldProperty = super.property(key);
         final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            if (null == this.properties) this.properties = TinkerHelper.createPropertyMap(graph);
+            this.properties.put(key, newProperty);
+            TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+            // properties attached while the edge is being added are logged with the edge itself
+            if (null != graph.log && graph.edges.containsKey(this.id)) graph.log.addProperty(newProperty);
+        } finally {
+            TinkerHelper.endMutation(graph);
+        }
         return newProperty;
 
     }
@@ -91,7 +98,16 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         }
 
         TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            if (null != graph.edges.remove(this.id())) {
+                TinkerHelper.countLabel(graph.edgeLabelCounts, this.label, -1);
+                if (null != graph.log) graph.log.removeEdge(this);
+            }
+        } finally {
+            TinkerHelper.endMutation(graph);
+        }
         this.properties = null;
         this.removed = true;
     }
@@ -34,6 +34,7 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
@@ -42,6 +43,7 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -52,6 +54,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 /**
@@ -65,7 +68,7 @@ import java.util.stream.Stream;
 @Graph.OptIn(Graph.OptIn.SUITE_STRUCTURE_INTEGRATE)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_STANDARD)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_COMPUTER)
-public final class TinkerGraph implements Graph {
+public final class TinkerGraph implements Graph, GraphStatistics {
 
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
@@ -83,22 +86,35 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_STORAGE = "gremlin.tinkergraph.compactStorage";
+    public static final String GREMLIN_TINKERGRAPH_MMAP_SNAPSHOT_THRESHOLD = "gremlin.tinkergraph.mmap.snapshotThreshold";
+
+    /**
+     * The {@link #GREMLIN_TINKERGRAPH_GRAPH_FORMAT} that persists every mutation to a memory-mapped log as it happens
+     * rather than writing the whole graph on {@link #close()}.
+     */
+    public static final String GRAPH_FORMAT_MMAP = "mmap";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected AtomicLong currentId = new AtomicLong(-1L);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
+    protected Map<String, LongAdder> vertexLabelCounts = new ConcurrentHashMap<>();
+    protected Map<String, LongAdder> edgeLabelCounts = new ConcurrentHashMap<>();
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerMappedLog log = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final boolean compactStorage;
+    private final Map<String, String> internedLabels = new ConcurrentHashMap<>();
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -115,6 +131,8 @@ public final class TinkerGraph implements Graph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
 
+        compactStorage = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_STORAGE, false);
+
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
 
@@ -122,7 +140,12 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
-        if (graphLocation != null) loadGraph();
+        if (graphLocation != null) {
+            if (graphFormat.equals(GRAPH_FORMAT_MMAP))
+                openLog(configuration.getLong(GREMLIN_TINKERGRAPH_MMAP_SNAPSHOT_THRESHOLD, 256L * 1024 * 1024));
+            else
+                loadGraph();
+        }
     }
 
     /**
@@ -160,7 +183,7 @@ public final class TinkerGraph implements Graph {
     public Vertex addVertex(final Object... keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
-        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        final String label = this.intern(ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL));
 
         if (null != idValue) {
             if (this.vertices.containsKey(idValue))
@@ -170,7 +193,14 @@ public final class TinkerGraph implements Graph {
         }
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+        TinkerHelper.beginMutation(this);
+        try {
+            this.vertices.put(vertex.id(), vertex);
+            TinkerHelper.countLabel(this.vertexLabelCounts, label, 1);
+            if (null != this.log) this.log.addVertex(vertex);
+        } finally {
+            TinkerHelper.endMutation(this);
+        }
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -211,23 +241,38 @@ public final class TinkerGraph implements Graph {
     }
 
     public void clear() {
-        this.vertices.clear();
-        this.edges.clear();
-        this.variables = null;
-        this.currentId.set(-1L);
-        this.vertexIndex = null;
-        this.edgeIndex = null;
-        this.graphComputerView = null;
+        TinkerHelper.beginMutation(this);
+        try {
+            this.vertices.clear();
+            this.edges.clear();
+            this.vertexLabelCounts.clear();
+            this.edgeLabelCounts.clear();
+            this.variables = null;
+            this.currentId.set(-1L);
+            this.vertexIndex = null;
+            this.edgeIndex = null;
+            this.graphComputerView = null;
+            if (null != this.log) this.log.clear();
+        } finally {
+            TinkerHelper.endMutation(this);
+        }
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
-     * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * data in the graph is persisted to that location. With the {@link #GRAPH_FORMAT_MMAP} format the data is already
+     * there and this method only flushes the log to disk. This method may be called multiple times and does not
+     * release resources.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != this.log) {
+            try {
+                this.log.close();
+            } catch (IOException ioe) {
+                throw new RuntimeException(String.format("Could not close the log at %s", graphLocation), ioe);
+            }
+        } else if (graphLocation != null) saveGraph();
     }
 
     @Override
@@ -269,6 +314,14 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    private void openLog(final long snapshotThreshold) {
+        try {
+            this.log = TinkerMappedLog.open(this, graphLocation, snapshotThreshold);
+        } catch (Exception ex) {
+            throw new RuntimeException(String.format("Could not load graph at %s with %s", graphLocation, graphFormat), ex);
+        }
+    }
+
     private void saveGraph() {
         final File f = new File(graphLocation);
         if (f.exists()) {
@@ -297,6 +350,17 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * When {@link #GREMLIN_TINKERGRAPH_COMPACT_STORAGE} is enabled, returns the single shared instance of the label
+     * so that the many elements (and adjacency lists) holding it do not each keep their own copy.
+     */
+    String intern(final String label) {
+        if (!this.compactStorage)
+            return label;
+        final String interned = this.internedLabels.putIfAbsent(label, label);
+        return null == interned ? label : interned;
+    }
+
     private <T extends Element> Iterator<T> createElementIterator(final Class<T> clazz, final Map<Object, T> elements,
                                                                   final IdManager idManager,
                                                                   final Object... ids) {
@@ -322,6 +386,39 @@ public final class TinkerGraph implements Graph {
                 iterator;
     }
 
+    ////////////// STATISTICS //////////////////
+
+    @Override
+    public long count(final Class<? extends Element> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass))
+            return this.vertices.size();
+        else if (Edge.class.isAssignableFrom(elementClass))
+            return this.edges.size();
+        else
+            return UNKNOWN;
+    }
+
+    @Override
+    public long countWithLabel(final Class<? extends Element> elementClass, final String label) {
+        final Map<String, LongAdder> labelCounts = Vertex.class.isAssignableFrom(elementClass) ? this.vertexLabelCounts :
+                Edge.class.isAssignableFrom(elementClass) ? this.edgeLabelCounts : null;
+        if (null == labelCounts)
+            return UNKNOWN;
+        final LongAdder count = labelCounts.get(label);
+        return null == count ? 0 : count.sum();
+    }
+
+    /**
+     * Counts the elements with the property from the index of its key, and so returns {@link #UNKNOWN} for keys
+     * that are not indexed.
+     */
+    @Override
+    public long countWithProperty(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? this.vertexIndex :
+                Edge.class.isAssignableFrom(elementClass) ? this.edgeIndex : null;
+        return null == index || !index.getIndexedKeys().contains(key) ? UNKNOWN : index.count(key, value);
+    }
+
     /**
      * Return TinkerGraph feature set.
      * <p/>
@@ -466,18 +563,33 @@ public final class TinkerGraph implements Graph {
      * Create an index for said element class ({@link Vertex} or {@link Edge}) and said property key.
      * Whenever an element has the specified key mutated, the index is updated.
      * When the index is created, all existing elements are indexed to ensure that they are captured by the index.
+     * This method creates a {@link IndexType#HASH} index.
      *
      * @param key          the property key to index
      * @param elementClass the element class to index
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. Creating an index for a key that is already indexed with a different type replaces the
+     * existing index.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -517,6 +629,22 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * The kinds of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash index that serves {@code eq} and {@code within} lookups.
+         */
+        HASH,
+
+        /**
+         * A sorted index that serves everything a {@link #HASH} index does as well as {@code gt}, {@code gte},
+         * {@code lt}, {@code lte}, {@code inside} and {@code between} lookups with a logarithmic seek.
+         */
+        RANGE
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -37,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 /**
@@ -47,10 +49,12 @@ public final class TinkerHelper {
     private TinkerHelper() {
     }
 
-    protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
-        ElementHelper.validateLabel(label);
+    protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String edgeLabel, final Object... keyValues) {
+        ElementHelper.validateLabel(edgeLabel);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
+        final String label = graph.intern(edgeLabel);
+
         Object idValue = graph.edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
 
         final Edge edge;
@@ -63,14 +67,46 @@ public final class TinkerHelper {
 
         edge = new TinkerEdge(idValue, outVertex, label, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
+        beginMutation(graph);
+        try {
+            graph.edges.put(edge.id(), edge);
+            countLabel(graph.edgeLabelCounts, label, 1);
+            TinkerHelper.addOutEdge(outVertex, label, edge);
+            TinkerHelper.addInEdge(inVertex, label, edge);
+            if (null != graph.log) graph.log.addEdge(edge);
+        } finally {
+            endMutation(graph);
+        }
         return edge;
 
     }
 
+    /**
+     * Holds off a snapshot of the mapped log, if the graph has one, until {@link #endMutation(TinkerGraph)} so that a
+     * change to the graph and the record of it in the log are never split between a snapshot and the log after it.
+     */
+    static void beginMutation(final TinkerGraph graph) {
+        if (null != graph.log) graph.log.beginMutation();
+    }
+
+    static void endMutation(final TinkerGraph graph) {
+        if (null != graph.log) graph.log.endMutation();
+    }
+
+    /**
+     * Keeps the number of elements per label that {@link TinkerGraph#countWithLabel(Class, String)} reports.
+     */
+    protected static void countLabel(final Map<String, LongAdder> labelCounts, final String label, final long delta) {
+        labelCounts.computeIfAbsent(label, k -> new LongAdder()).add(delta);
+    }
+
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (((TinkerGraph) vertex.graph()).compactStorage) {
+            if (null == vertex.outEdges) vertex.outEdges = new TinkerAdjacency();
+            ((TinkerAdjacency) vertex.outEdges).add(label, edge);
+            return;
+        }
+
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
@@ -81,6 +117,12 @@ public final class TinkerHelper {
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (((TinkerGraph) vertex.graph()).compactStorage) {
+            if (null == vertex.inEdges) vertex.inEdges = new TinkerAdjacency();
+            ((TinkerAdjacency) vertex.inEdges).add(label, edge);
+            return;
+        }
+
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
@@ -90,6 +132,14 @@ public final class TinkerHelper {
         edges.add(edge);
     }
 
+    /**
+     * Creates the map that holds the properties of an element, which is a {@link TinkerArrayMap} when the graph is
+     * configured for {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_STORAGE}.
+     */
+    protected static <K, V> Map<K, V> createPropertyMap(final TinkerGraph graph) {
+        return graph.compactStorage ? new TinkerArrayMap<>() : new HashMap<>();
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
         return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
     }
@@ -98,6 +148,24 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Lazily iterates the vertices from the most selective index lookup that can serve the containers or returns
+     * {@code null} if none of them are indexed. The result may contain vertices that do not match all of the
+     * containers.
+     */
+    public static Iterator<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.query(hasContainers);
+    }
+
+    /**
+     * Lazily iterates the edges from the most selective index lookup that can serve the containers or returns
+     * {@code null} if none of them are indexed. The result may contain edges that do not match all of the
+     * containers.
+     */
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.query(hasContainers);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -204,6 +272,24 @@ public final class TinkerHelper {
         return (Iterator) vertices.iterator();
     }
 
+    /**
+     * Counts the incident edges of a vertex without materializing them.
+     */
+    public static int getEdgeCount(final TinkerVertex vertex) {
+        int count = 0;
+        if (vertex.outEdges != null) {
+            for (final Set<Edge> edges : vertex.outEdges.values()) {
+                count = count + edges.size();
+            }
+        }
+        if (vertex.inEdges != null) {
+            for (final Set<Edge> edges : vertex.inEdges.values()) {
+                count = count + edges.size();
+            }
+        }
+        return count;
+    }
+
     public static Map<Object, Vertex> getVertices(final TinkerGraph graph) {
         return graph.vertices;
     }
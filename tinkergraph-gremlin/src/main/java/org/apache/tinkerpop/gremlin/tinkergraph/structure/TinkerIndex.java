@@ -18,27 +18,65 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiPredicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the values of a {@link TinkerGraph.IndexType#RANGE} index. Numbers of any type sort together by their
+     * numeric value and ahead of everything else, other values sort by class and then by their natural order.
+     * Values of the same class that are not {@code Comparable} fall back to their hash code, which may place unequal
+     * values in the same bucket - that is acceptable as index results are always re-tested against the predicates.
+     */
+    static final Comparator<Object> RANGE_ORDER = (a, b) -> {
+        final boolean aNumber = a instanceof Number;
+        final boolean bNumber = b instanceof Number;
+        if (aNumber && bNumber)
+            return compareNumbers((Number) a, (Number) b);
+        else if (aNumber != bNumber)
+            return aNumber ? -1 : 1;
+        else if (a.getClass().equals(b.getClass()) && a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+        else {
+            final int c = a.getClass().getName().compareTo(b.getClass().getName());
+            return 0 != c ? c : Integer.compare(a.hashCode(), b.hashCode());
+        }
+    };
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Map<String, TinkerGraph.IndexType> indexedKeys = new HashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -49,12 +87,13 @@ final class TinkerIndex<T extends Element> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
+            keyMap = this.isRangeIndex(key) ? new ConcurrentSkipListMap<>(RANGE_ORDER) : new ConcurrentHashMap<>();
             this.index.put(key, keyMap);
         }
+        // buckets are concurrent so that lookups can iterate them lazily while the graph is being mutated
         Set<T> objects = keyMap.get(value);
         if (null == objects) {
-            objects = new HashSet<>();
+            objects = ConcurrentHashMap.newKeySet();
             keyMap.put(value, objects);
         }
         objects.add(element);
@@ -74,6 +113,64 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Lazily iterates the elements whose value for the key falls between the bounds, where a {@code null} bound
+     * leaves that side open. Only values that sort in the same group as the bounds (numbers with numbers, strings
+     * with strings, etc.) are considered. The key must be indexed as {@link TinkerGraph.IndexType#RANGE}.
+     */
+    public Iterator<T> getRange(final String key, final Object lower, final boolean lowerInclusive,
+                                final Object upper, final boolean upperInclusive) {
+        final NavigableMap<Object, Set<T>> range = this.range(key, lower, lowerInclusive, upper, upperInclusive);
+        if (null == range)
+            return Collections.emptyIterator();
+
+        final Object bound = null == lower ? upper : lower;
+        return this.distinct(key, IteratorUtils.flatMap(whileSameGroup(bound, range.entrySet().iterator()),
+                entry -> entry.getValue().iterator()));
+    }
+
+    /**
+     * Counts the entries that {@link #getRange(String, Object, boolean, Object, boolean)} would visit, giving up
+     * once the count exceeds {@code limit} since the caller only needs to know that the range is not more
+     * selective than what it already has.
+     */
+    public long countRange(final String key, final Object lower, final boolean lowerInclusive,
+                           final Object upper, final boolean upperInclusive, final long limit) {
+        final NavigableMap<Object, Set<T>> range = this.range(key, lower, lowerInclusive, upper, upperInclusive);
+        if (null == range)
+            return 0;
+
+        final Object bound = null == lower ? upper : lower;
+        long count = 0;
+        for (final Map.Entry<Object, Set<T>> entry : range.entrySet()) {
+            if (!sameGroup(bound, entry.getKey())) break;
+            count = count + entry.getValue().size();
+            if (count > limit) break;
+        }
+        return count;
+    }
+
+    private NavigableMap<Object, Set<T>> range(final String key, final Object lower, final boolean lowerInclusive,
+                                               final Object upper, final boolean upperInclusive) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (!(keyMap instanceof NavigableMap) || (null == lower && null == upper))
+            return null;
+
+        final NavigableMap<Object, Set<T>> sorted = (NavigableMap<Object, Set<T>>) keyMap;
+        if (null != lower && null != upper)
+            return RANGE_ORDER.compare(lower, upper) > 0 ? null : sorted.subMap(lower, lowerInclusive, upper, upperInclusive);
+        else if (null != lower)
+            return sorted.tailMap(lower, lowerInclusive);
+        else
+            return sorted.headMap(upper, upperInclusive).descendingMap();
+    }
+
+    private Iterator<T> iterate(final String key, final Object value) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Set<T> set = null == keyMap ? null : keyMap.get(value);
+        return null == set ? Collections.emptyIterator() : set.iterator();
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -111,7 +208,7 @@ final class TinkerIndex<T extends Element> {
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key)) {
+        if (this.indexedKeys.containsKey(key)) {
             if (oldValue != null)
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
@@ -119,19 +216,23 @@ final class TinkerIndex<T extends Element> {
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key))
+        if (this.indexedKeys.containsKey(key))
             this.remove(key, oldValue, element);
     }
 
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
-        if (this.indexedKeys.contains(key))
+        // re-creating a key with a different type rebuilds the index from scratch
+        if (indexType == this.indexedKeys.get(key))
             return;
-        this.indexedKeys.add(key);
+        this.dropKeyIndex(key);
+        this.indexedKeys.put(key, indexType);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().<T>parallelStream() :
@@ -149,6 +250,226 @@ final class TinkerIndex<T extends Element> {
     }
 
     public Set<String> getIndexedKeys() {
-        return this.indexedKeys;
+        return this.indexedKeys.keySet();
+    }
+
+    public boolean isRangeIndex(final String key) {
+        return TinkerGraph.IndexType.RANGE == this.indexedKeys.get(key);
+    }
+
+    /**
+     * Finds the most selective lookup that this index can serve for the given {@link HasContainer} list and returns
+     * a lazy iterator over its elements, or {@code null} if no container can be served by the index. Equality and {@code within} can be
+     * served by any index type, while {@code gt}, {@code gte}, {@code lt} and {@code lte} (and therefore
+     * {@code inside} and {@code between} which arrive as a pair of those) require a range index and are merged per
+     * key into a single bounded scan. The returned elements are a superset of the matches so callers must still test
+     * them against all the containers.
+     */
+    public Iterator<T> query(final List<HasContainer> hasContainers) {
+        final List<Lookup> lookups = new ArrayList<>();
+        final Map<String, RangeLookup> ranges = new LinkedHashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            final String key = hasContainer.getKey();
+            if (!this.indexedKeys.containsKey(key))
+                continue;
+
+            final BiPredicate<?, ?> biPredicate = hasContainer.getPredicate().getBiPredicate();
+            final Object value = hasContainer.getPredicate().getValue();
+            if (null == value)
+                continue;
+
+            if (biPredicate == Compare.eq)
+                lookups.add(new EqualsLookup(key, value));
+            else if (biPredicate == Contains.within && value instanceof Collection && !((Collection) value).contains(null))
+                lookups.add(new WithinLookup(key, (Collection<?>) value));
+            else if (this.isRangeIndex(key) && (biPredicate == Compare.gt || biPredicate == Compare.gte ||
+                    biPredicate == Compare.lt || biPredicate == Compare.lte))
+                ranges.computeIfAbsent(key, RangeLookup::new).bound((Compare) biPredicate, value);
+        }
+        lookups.addAll(ranges.values());
+
+        Lookup best = null;
+        long bestCount = Long.MAX_VALUE;
+        for (final Lookup lookup : lookups) {
+            final long count = lookup.count(bestCount);
+            if (null == best || count < bestCount) {
+                best = lookup;
+                bestCount = count;
+            }
+        }
+        return null == best ? null : best.iterator();
+    }
+
+    /**
+     * A vertex with several values for a key can sit in more than one bucket of a range or {@code within} lookup, so
+     * those vertices are remembered to avoid returning them twice. Single-valued elements, which are by far the
+     * common case, pass straight through so that memory stays flat while the lookup is iterated.
+     */
+    private Iterator<T> distinct(final String key, final Iterator<T> elements) {
+        final Set<T> multiValued = new HashSet<>();
+        return IteratorUtils.filter(elements, element -> !isMultiValued(key, element) || multiValued.add(element));
+    }
+
+    private static boolean isMultiValued(final String key, final Element element) {
+        if (!(element instanceof TinkerVertex) || null == ((TinkerVertex) element).properties)
+            return false;
+        final List<VertexProperty> properties = ((TinkerVertex) element).properties.get(key);
+        return null != properties && properties.size() > 1;
+    }
+
+    private static <V> Iterator<Map.Entry<Object, V>> whileSameGroup(final Object bound, final Iterator<Map.Entry<Object, V>> entries) {
+        return new Iterator<Map.Entry<Object, V>>() {
+            private Map.Entry<Object, V> nextEntry = null;
+            private boolean done = false;
+
+            @Override
+            public boolean hasNext() {
+                if (null == this.nextEntry && !this.done) {
+                    if (entries.hasNext()) {
+                        final Map.Entry<Object, V> entry = entries.next();
+                        if (sameGroup(bound, entry.getKey()))
+                            this.nextEntry = entry;
+                        else
+                            this.done = true;
+                    } else
+                        this.done = true;
+                }
+                return null != this.nextEntry;
+            }
+
+            @Override
+            public Map.Entry<Object, V> next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                final Map.Entry<Object, V> entry = this.nextEntry;
+                this.nextEntry = null;
+                return entry;
+            }
+        };
+    }
+
+    private static boolean sameGroup(final Object a, final Object b) {
+        return (a instanceof Number && b instanceof Number) || a.getClass().equals(b.getClass());
+    }
+
+    private static int compareNumbers(final Number a, final Number b) {
+        if (a.getClass().equals(b.getClass()))
+            return ((Comparable) a).compareTo(b);
+        else if (!isFinite(a) || !isFinite(b))
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        else
+            return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+    }
+
+    private static boolean isFinite(final Number number) {
+        return !(number instanceof Double || number instanceof Float) ||
+                !(Double.isNaN(number.doubleValue()) || Double.isInfinite(number.doubleValue()));
+    }
+
+    private abstract class Lookup {
+        protected final String key;
+
+        private Lookup(final String key) {
+            this.key = key;
+        }
+
+        /**
+         * Counts the elements this lookup would return. Implementations may stop counting once {@code limit} has
+         * been passed.
+         */
+        abstract long count(final long limit);
+
+        abstract Iterator<T> iterator();
+    }
+
+    private final class EqualsLookup extends Lookup {
+        private final Object value;
+
+        private EqualsLookup(final String key, final Object value) {
+            super(key);
+            this.value = value;
+        }
+
+        @Override
+        long count(final long limit) {
+            return TinkerIndex.this.count(this.key, this.value);
+        }
+
+        @Override
+        Iterator<T> iterator() {
+            return TinkerIndex.this.iterate(this.key, this.value);
+        }
+    }
+
+    private final class WithinLookup extends Lookup {
+        private final Collection<?> values;
+
+        private WithinLookup(final String key, final Collection<?> values) {
+            super(key);
+            this.values = values;
+        }
+
+        @Override
+        long count(final long limit) {
+            long count = 0;
+            for (final Object value : this.values) {
+                count = count + TinkerIndex.this.count(this.key, value);
+                if (count > limit) break;
+            }
+            return count;
+        }
+
+        @Override
+        Iterator<T> iterator() {
+            // values that land in the same bucket must only be visited once
+            final Collection<Object> distinctValues = TinkerIndex.this.isRangeIndex(this.key) ?
+                    new TreeSet<>(RANGE_ORDER) : new LinkedHashSet<>();
+            distinctValues.addAll(this.values);
+            return TinkerIndex.this.distinct(this.key, IteratorUtils.flatMap(distinctValues.iterator(),
+                    value -> TinkerIndex.this.iterate(this.key, value)));
+        }
+    }
+
+    private final class RangeLookup extends Lookup {
+        private Object lower = null;
+        private boolean lowerInclusive = true;
+        private Object upper = null;
+        private boolean upperInclusive = true;
+
+        private RangeLookup(final String key) {
+            super(key);
+        }
+
+        /**
+         * Narrows the range with another predicate on the same key, keeping the tighter of the two bounds.
+         */
+        void bound(final Compare compare, final Object value) {
+            final boolean inclusive = compare == Compare.gte || compare == Compare.lte;
+            if (compare == Compare.gt || compare == Compare.gte) {
+                final int c = null == this.lower ? 1 : RANGE_ORDER.compare(value, this.lower);
+                if (c > 0) {
+                    this.lower = value;
+                    this.lowerInclusive = inclusive;
+                } else if (0 == c)
+                    this.lowerInclusive = this.lowerInclusive && inclusive;
+            } else {
+                final int c = null == this.upper ? -1 : RANGE_ORDER.compare(value, this.upper);
+                if (c < 0) {
+                    this.upper = value;
+                    this.upperInclusive = inclusive;
+                } else if (0 == c)
+                    this.upperInclusive = this.upperInclusive && inclusive;
+            }
+        }
+
+        @Override
+        long count(final long limit) {
+            return TinkerIndex.this.countRange(this.key, this.lower, this.lowerInclusive, this.upper, this.upperInclusive, limit);
+        }
+
+        @Override
+        Iterator<T> iterator() {
+            return TinkerIndex.this.getRange(this.key, this.lower, this.lowerInclusive, this.upper, this.upperInclusive);
+        }
     }
 }
@@ -0,0 +1,632 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Persists a {@link TinkerGraph} as a snapshot plus an append-only log of every mutation made since that snapshot.
+ * The log is written through a memory-mapped {@code FileChannel} region so each mutation costs a copy into the page
+ * cache rather than a system call, and the data survives a crash of the JVM as soon as the mutation returns. Every
+ * record carries its length and a CRC32 so that a record torn by a crash is detected and dropped on replay, along with
+ * anything after it.
+ * <p/>
+ * Snapshots use the same Gryo-serialized record format as the log, holding just the records needed to re-create each
+ * vertex, vertex property and edge, which keeps element, property and meta-property identifiers (and multi-properties)
+ * intact across a restart. The graph location is a directory holding {@code snapshot-N.bin} and {@code log-N.bin}
+ * where {@code N} is a generation number. Once the log grows past the configured threshold a snapshot of generation
+ * {@code N+1} is written to a temporary file, atomically moved into place and a new empty log is started, after which
+ * the files of generation {@code N} are deleted. On open, the newest complete snapshot is loaded and only its own log
+ * is replayed, so a crash at any point in that sequence leaves a consistent pair of files behind.
+ * <p/>
+ * Every mutation is logged only once the graph reflects it, so a snapshot taken in the middle of a compound mutation
+ * (e.g. between a vertex property and its meta-properties) is still consistent with the log that follows it.
+ * <p/>
+ * The graph may be mutated from several threads. Each mutation holds the shared side of a read-write lock from the
+ * change to the graph through to the append of its record (see {@link #beginMutation()}), while a snapshot holds the
+ * exclusive side, so a snapshot never sees a change whose record is then appended to the log that follows it.
+ * Encoding and appending a record also hold the monitor of the log, which keeps the shared Kryo {@code Output},
+ * checksum and mapped position of one record from interleaving with another. Records from different threads are
+ * appended in the order they reach the log, so mutations that depend on one another (e.g. an edge to a vertex that
+ * another thread is still adding) must still be ordered by the caller.
+ * <p/>
+ * A snapshot is written by a background thread once a mutation takes the log past the threshold, so that the
+ * mutation which happens to cross it does not pay for writing the whole graph.
+ */
+final class TinkerMappedLog {
+
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte ADD_VERTEX_PROPERTY = 3;
+    private static final byte ADD_META_PROPERTY = 4;
+    private static final byte ADD_EDGE_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX = 6;
+    private static final byte REMOVE_EDGE = 7;
+    private static final byte REMOVE_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_META_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            // Java 9 and later release a mapped region through Unsafe, while Java 8 uses the cleaner of the buffer
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+        } catch (Exception ex) {
+            invokeCleaner = null;
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private final TinkerGraph graph;
+    private final File directory;
+    private final long snapshotThreshold;
+    private final Kryo kryo;
+    private final Output output = new Output(1024, -1);
+    private final CRC32 crc = new CRC32();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long generation = 0;
+    private FileChannel channel = null;
+    private MappedByteBuffer buffer = null;
+    private long bufferStart = 0;
+    private long position = 0;
+    private boolean replaying = false;
+    private Thread snapshotThread = null;
+    private IOException snapshotFailure = null;
+
+    private TinkerMappedLog(final TinkerGraph graph, final File directory, final long snapshotThreshold) {
+        this.graph = graph;
+        this.directory = directory;
+        this.snapshotThreshold = snapshotThreshold;
+        this.kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+    }
+
+    /**
+     * Loads the graph from the newest snapshot and log found in the directory, creating the directory if it does not
+     * exist, and leaves the log open for appending.
+     */
+    static TinkerMappedLog open(final TinkerGraph graph, final String location, final long snapshotThreshold) throws IOException {
+        final File directory = new File(location);
+        if (directory.exists() && !directory.isDirectory())
+            throw new IllegalStateException(String.format("The mmap graph location must be a directory: %s", location));
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IOException(String.format("Could not create directory %s", location));
+
+        final TinkerMappedLog log = new TinkerMappedLog(graph, directory, snapshotThreshold);
+        log.load();
+        return log;
+    }
+
+    private void load() throws IOException {
+        final File[] files = this.directory.listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                final Matcher matcher = SNAPSHOT_FILE.matcher(file.getName());
+                if (matcher.matches())
+                    this.generation = Math.max(this.generation, Long.parseLong(matcher.group(1)));
+            }
+        }
+
+        this.replaying = true;
+        try {
+            this.replay(this.snapshotFile(this.generation), false);
+            this.replay(this.logFile(this.generation), true);
+        } finally {
+            this.replaying = false;
+        }
+
+        this.deleteOtherGenerations();
+    }
+
+    private void replay(final File logFile, final boolean truncate) throws IOException {
+        if (!logFile.exists())
+            return;
+
+        long validPosition = 0;
+        try (final FileChannel readChannel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+            final long size = readChannel.size();
+            final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            ByteBuffer payload = ByteBuffer.allocate(1024);
+            while (validPosition + RECORD_HEADER_SIZE <= size) {
+                header.clear();
+                readFully(readChannel, header, validPosition);
+                header.flip();
+                final int length = header.getInt();
+                final int checksum = header.getInt();
+
+                // a zero length is unwritten space at the end of the mapped region and anything that does not fit
+                // in the file was torn by a crash
+                if (length <= 0 || validPosition + RECORD_HEADER_SIZE + length > size)
+                    break;
+
+                if (payload.capacity() < length)
+                    payload = ByteBuffer.allocate(Math.max(length, payload.capacity() * 2));
+                payload.clear();
+                payload.limit(length);
+                readFully(readChannel, payload, validPosition + RECORD_HEADER_SIZE);
+
+                this.crc.reset();
+                this.crc.update(payload.array(), 0, length);
+                if ((int) this.crc.getValue() != checksum)
+                    break;
+
+                this.apply(new Input(payload.array(), 0, length));
+                validPosition = validPosition + RECORD_HEADER_SIZE + length;
+            }
+        }
+
+        // drop the torn tail (and the unwritten end of the last mapped region) so that appends follow the last
+        // good record
+        if (!truncate)
+            return;
+        try (final FileChannel writeChannel = FileChannel.open(logFile.toPath(), StandardOpenOption.WRITE)) {
+            writeChannel.truncate(validPosition);
+            writeChannel.force(true);
+        }
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, current);
+            if (read < 0)
+                throw new IOException("Unexpected end of log");
+            current = current + read;
+        }
+    }
+
+    private void apply(final Input input) {
+        final byte operation = input.readByte();
+        switch (operation) {
+            case ADD_VERTEX:
+                this.graph.addVertex(T.id, this.read(input), T.label, this.read(input));
+                break;
+            case ADD_EDGE: {
+                final Object id = this.read(input);
+                final String label = this.read(input);
+                final Vertex outVertex = this.vertex(this.read(input));
+                final Vertex inVertex = this.vertex(this.read(input));
+                final Object[] keyValues = new Object[2 + input.readInt(true) * 2];
+                keyValues[0] = T.id;
+                keyValues[1] = id;
+                for (int i = 2; i < keyValues.length; i++) {
+                    keyValues[i] = this.read(input);
+                }
+                outVertex.addEdge(label, inVertex, keyValues);
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = this.vertex(this.read(input));
+                final Object id = this.read(input);
+                vertex.property(VertexProperty.Cardinality.list, this.read(input), this.read(input), T.id, id);
+                break;
+            }
+            case ADD_META_PROPERTY:
+                this.vertexProperty(this.vertex(this.read(input)), this.read(input), this.read(input))
+                        .property(this.read(input), this.read(input));
+                break;
+            case ADD_EDGE_PROPERTY:
+                this.edge(this.read(input)).property(this.read(input), this.read(input));
+                break;
+            case REMOVE_VERTEX:
+                this.vertex(this.read(input)).remove();
+                break;
+            case REMOVE_EDGE:
+                this.edge(this.read(input)).remove();
+                break;
+            case REMOVE_VERTEX_PROPERTY:
+                this.vertexProperty(this.vertex(this.read(input)), this.read(input), this.read(input)).remove();
+                break;
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.vertexProperty(this.vertex(this.read(input)), this.read(input), this.read(input));
+                vertexProperty.property(this.<String>read(input)).remove();
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY:
+                this.edge(this.read(input)).property(this.<String>read(input)).remove();
+                break;
+            case CLEAR:
+                this.graph.clear();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown operation %s in log for generation %s", operation, this.generation));
+        }
+    }
+
+    private <V> V read(final Input input) {
+        return (V) this.kryo.readClassAndObject(input);
+    }
+
+    private Vertex vertex(final Object id) {
+        final Vertex vertex = this.graph.vertices.get(id);
+        if (null == vertex)
+            throw new IllegalStateException(String.format("Log refers to vertex %s which does not exist", id));
+        return vertex;
+    }
+
+    private Edge edge(final Object id) {
+        final Edge edge = this.graph.edges.get(id);
+        if (null == edge)
+            throw new IllegalStateException(String.format("Log refers to edge %s which does not exist", id));
+        return edge;
+    }
+
+    private VertexProperty<?> vertexProperty(final Vertex vertex, final Object id, final String key) {
+        final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties(key);
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<Object> vertexProperty = vertexProperties.next();
+            if (Objects.equals(id, vertexProperty.id()))
+                return vertexProperty;
+        }
+        throw new IllegalStateException(String.format("Log refers to vertex property %s on vertex %s which does not exist", id, vertex.id()));
+    }
+
+    ////////////// MUTATIONS //////////////////
+
+    /**
+     * Marks the start of a change to the graph that will be logged, holding off any snapshot until the matching
+     * {@link #endMutation()} so that the snapshot either includes the change and the log after it does not, or the
+     * other way around. Mutations may nest and run concurrently with one another.
+     */
+    void beginMutation() {
+        this.lock.readLock().lock();
+    }
+
+    void endMutation() {
+        this.lock.readLock().unlock();
+    }
+
+    void addVertex(final Vertex vertex) {
+        this.append(ADD_VERTEX, vertex.id(), vertex.label());
+    }
+
+    /**
+     * Logs an edge along with its properties as the properties of a {@link TinkerEdge} are attached before it is
+     * added to the graph.
+     */
+    synchronized void addEdge(final Edge edge) {
+        if (this.replaying)
+            return;
+        this.encode(ADD_EDGE, edge.id(), edge.label(), edge.outVertex().id(), edge.inVertex().id());
+        this.encodeProperties(edge);
+        this.append();
+    }
+
+    void addVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.append(ADD_VERTEX_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key(), vertexProperty.value());
+    }
+
+    void addProperty(final Property<?> property) {
+        if (property.element() instanceof Edge)
+            this.append(ADD_EDGE_PROPERTY, property.element().id(), property.key(), property.value());
+        else {
+            final VertexProperty<?> vertexProperty = (VertexProperty<?>) property.element();
+            this.append(ADD_META_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key(), property.key(), property.value());
+        }
+    }
+
+    void removeVertex(final Vertex vertex) {
+        this.append(REMOVE_VERTEX, vertex.id());
+    }
+
+    void removeEdge(final Edge edge) {
+        this.append(REMOVE_EDGE, edge.id());
+    }
+
+    void removeVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.append(REMOVE_VERTEX_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key());
+    }
+
+    void removeProperty(final Property<?> property) {
+        if (property.element() instanceof Edge)
+            this.append(REMOVE_EDGE_PROPERTY, property.element().id(), property.key());
+        else {
+            final VertexProperty<?> vertexProperty = (VertexProperty<?>) property.element();
+            this.append(REMOVE_META_PROPERTY, vertexProperty.element().id(), vertexProperty.id(), vertexProperty.key(), property.key());
+        }
+    }
+
+    void clear() {
+        this.append(CLEAR);
+    }
+
+    private synchronized void append(final byte operation, final Object... fields) {
+        if (this.replaying)
+            return;
+        this.encode(operation, fields);
+        this.append();
+    }
+
+    private void encode(final byte operation, final Object... fields) {
+        this.output.clear();
+        this.output.writeByte(operation);
+        for (final Object field : fields) {
+            this.kryo.writeClassAndObject(this.output, field);
+        }
+    }
+
+    private void encodeProperties(final Edge edge) {
+        final Iterator<? extends Property<Object>> properties = edge.properties();
+        final Map<String, Object> keyValues = new LinkedHashMap<>();
+        properties.forEachRemaining(property -> keyValues.put(property.key(), property.value()));
+        this.output.writeInt(keyValues.size(), true);
+        keyValues.forEach((key, value) -> {
+            this.kryo.writeClassAndObject(this.output, key);
+            this.kryo.writeClassAndObject(this.output, value);
+        });
+    }
+
+    private int checksum() {
+        this.crc.reset();
+        this.crc.update(this.output.getBuffer(), 0, this.output.position());
+        return (int) this.crc.getValue();
+    }
+
+    /**
+     * Appends the currently encoded record to the mapped log.
+     */
+    private void append() {
+        final int length = this.output.position();
+        final int checksum = this.checksum();
+        try {
+            this.ensureCapacity(RECORD_HEADER_SIZE + length);
+            this.buffer.putInt(length);
+            this.buffer.putInt(checksum);
+            this.buffer.put(this.output.getBuffer(), 0, length);
+            this.position = this.position + RECORD_HEADER_SIZE + length;
+        } catch (IOException ioe) {
+            throw new IllegalStateException(String.format("Could not append to the log in %s", this.directory), ioe);
+        }
+
+        if (null != this.snapshotFailure)
+            throw new IllegalStateException(String.format("Could not snapshot the log in %s", this.directory), this.snapshotFailure);
+        if (this.position >= this.snapshotThreshold && null == this.snapshotThread) {
+            this.snapshotThread = new Thread(this::snapshotInBackground, "tinkergraph-snapshot-" + this.directory.getName());
+            this.snapshotThread.setDaemon(true);
+            this.snapshotThread.start();
+        }
+    }
+
+    private void snapshotInBackground() {
+        this.lock.writeLock().lock();
+        try {
+            // the log may have been closed and started over since the threshold was crossed
+            synchronized (this) {
+                if (this.position >= this.snapshotThreshold)
+                    this.snapshot();
+            }
+        } catch (IOException ioe) {
+            synchronized (this) {
+                this.snapshotFailure = ioe;
+            }
+        } finally {
+            synchronized (this) {
+                this.snapshotThread = null;
+            }
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(final int recordSize) throws IOException {
+        if (null == this.channel) {
+            this.channel = FileChannel.open(this.logFile(this.generation).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.position = this.channel.size();
+        }
+
+        if (null == this.buffer || this.position + recordSize > this.bufferStart + this.buffer.capacity()) {
+            if (null != this.buffer) {
+                this.buffer.force();
+                unmap(this.buffer);
+            }
+            // mapping past the end of the file grows it, zero-filled, which replay treats as the end of the log
+            this.bufferStart = this.position;
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, this.bufferStart, Math.max(SEGMENT_SIZE, recordSize));
+        }
+    }
+
+    /**
+     * Writes a new snapshot generation and starts an empty log for it. The caller must hold the exclusive side of the
+     * lock so that no mutation is half way between the graph and the log.
+     */
+    private synchronized void snapshot() throws IOException {
+        final long nextGeneration = this.generation + 1;
+        final File snapshot = this.snapshotFile(nextGeneration);
+        final File temporary = new File(this.directory, snapshot.getName() + ".tmp");
+        try (final FileOutputStream stream = new FileOutputStream(temporary)) {
+            final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+            final Iterator<Vertex> vertices = this.graph.vertices.values().iterator();
+            while (vertices.hasNext()) {
+                final Vertex vertex = vertices.next();
+                this.encode(ADD_VERTEX, vertex.id(), vertex.label());
+                this.write(data);
+                final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties();
+                while (vertexProperties.hasNext()) {
+                    final VertexProperty<Object> vertexProperty = vertexProperties.next();
+                    this.encode(ADD_VERTEX_PROPERTY, vertex.id(), vertexProperty.id(), vertexProperty.key(), vertexProperty.value());
+                    this.write(data);
+                    final Iterator<Property<Object>> metaProperties = vertexProperty.properties();
+                    while (metaProperties.hasNext()) {
+                        final Property<Object> metaProperty = metaProperties.next();
+                        this.encode(ADD_META_PROPERTY, vertex.id(), vertexProperty.id(), vertexProperty.key(), metaProperty.key(), metaProperty.value());
+                        this.write(data);
+                    }
+                }
+            }
+            final Iterator<Edge> edges = this.graph.edges.values().iterator();
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                this.encode(ADD_EDGE, edge.id(), edge.label(), edge.outVertex().id(), edge.inVertex().id());
+                this.encodeProperties(edge);
+                this.write(data);
+            }
+            data.flush();
+            stream.getFD().sync();
+        }
+        Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        this.closeChannel();
+        this.generation = nextGeneration;
+        this.position = 0;
+        this.deleteOtherGenerations();
+    }
+
+    private void write(final DataOutputStream data) throws IOException {
+        data.writeInt(this.output.position());
+        data.writeInt(this.checksum());
+        data.write(this.output.getBuffer(), 0, this.output.position());
+    }
+
+    /**
+     * Waits for a snapshot in progress, then flushes the log to disk and releases the file. Further mutations re-open
+     * it.
+     */
+    void close() throws IOException {
+        final Thread running;
+        synchronized (this) {
+            running = this.snapshotThread;
+        }
+        if (null != running) {
+            try {
+                running.join();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(String.format("Interrupted while waiting for the snapshot in %s", this.directory));
+            }
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (null != this.snapshotFailure)
+                    throw this.snapshotFailure;
+                this.closeChannel();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (null == this.channel)
+            return;
+
+        // the region must be unmapped before the file is truncated beneath it, otherwise the truncation fails on some
+        // platforms and leaves a mapping past the end of the file on others. If it cannot be unmapped, the
+        // zero-filled tail is left in place and dropped on replay instead.
+        boolean unmapped = true;
+        if (null != this.buffer) {
+            this.buffer.force();
+            unmapped = unmap(this.buffer);
+        }
+        this.buffer = null;
+        if (unmapped)
+            this.channel.truncate(this.position);
+        this.channel.force(true);
+        this.channel.close();
+        this.channel = null;
+    }
+
+    /**
+     * Releases a mapped region right away rather than when it is garbage collected. The buffer must not be used
+     * afterwards.
+     */
+    private static boolean unmap(final MappedByteBuffer buffer) {
+        try {
+            if (null != INVOKE_CLEANER) {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } else {
+                final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                final Object cleaner = cleanerMethod.invoke(buffer);
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+            return true;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private void deleteOtherGenerations() throws IOException {
+        final File[] files = this.directory.listFiles();
+        if (null == files)
+            return;
+
+        final String snapshotName = this.snapshotFile(this.generation).getName();
+        final String logName = this.logFile(this.generation).getName();
+        for (final File file : files) {
+            final String name = file.getName();
+            if ((name.startsWith("snapshot-") || name.startsWith("log-")) && !name.equals(snapshotName) && !name.equals(logName))
+                Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    private File snapshotFile(final long generation) {
+        return new File(this.directory, "snapshot-" + generation + ".bin");
+    }
+
+    private File logFile(final long generation) {
+        return new File(this.directory, "log-" + generation + ".bin");
+    }
+}
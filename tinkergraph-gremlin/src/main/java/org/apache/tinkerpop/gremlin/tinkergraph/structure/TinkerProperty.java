@@ -76,11 +76,21 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
-        } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+        final TinkerGraph graph = this.element instanceof Edge ?
+                (TinkerGraph) this.element.graph() :
+                (TinkerGraph) ((TinkerVertexProperty) this.element).element().graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            final boolean removed;
+            if (this.element instanceof Edge) {
+                removed = null != ((TinkerEdge) this.element).properties.remove(this.key);
+                TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+            } else {
+                removed = null != ((TinkerVertexProperty) this.element).properties.remove(this.key);
+            }
+            if (removed && null != graph.log) graph.log.removeProperty(this);
+        } finally {
+            TinkerHelper.endMutation(graph);
         }
     }
 }
@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -100,11 +99,20 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
             final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
 
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            TinkerHelper.autoUpdateIndex(this, key, value, null);
+            TinkerHelper.beginMutation(this.graph);
+            try {
+                if (null == this.properties) this.properties = TinkerHelper.createPropertyMap(this.graph);
+                List<VertexProperty> list = this.properties.get(key);
+                if (null == list) {
+                    list = this.graph.compactStorage ? new ArrayList<>(1) : new ArrayList<>();
+                    this.properties.put(key, list);
+                }
+                list.add(vertexProperty);
+                TinkerHelper.autoUpdateIndex(this, key, value, null);
+                if (null != this.graph.log) this.graph.log.addVertexProperty(vertexProperty);
+            } finally {
+                TinkerHelper.endMutation(this.graph);
+            }
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         }
@@ -130,9 +138,17 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         final List<Edge> edges = new ArrayList<>();
         this.edges(Direction.BOTH).forEachRemaining(edges::add);
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
-        TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
+        TinkerHelper.beginMutation(this.graph);
+        try {
+            this.properties = null;
+            TinkerHelper.removeElementIndex(this);
+            if (null != this.graph.vertices.remove(this.id)) {
+                TinkerHelper.countLabel(this.graph.vertexLabelCounts, this.label, -1);
+                if (null != this.graph.log) this.graph.log.removeVertex(this);
+            }
+        } finally {
+            TinkerHelper.endMutation(this.graph);
+        }
         this.removed = true;
     }
 
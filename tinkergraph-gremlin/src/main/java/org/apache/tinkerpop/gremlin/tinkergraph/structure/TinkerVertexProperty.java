@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -118,8 +117,15 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     public <U> Property<U> property(final String key, final U value) {
         if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
         final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            if (this.properties == null) this.properties = TinkerHelper.createPropertyMap(graph);
+            this.properties.put(key, property);
+            if (null != graph.log && !TinkerHelper.inComputerMode(graph)) graph.log.addProperty(property);
+        } finally {
+            TinkerHelper.endMutation(graph);
+        }
         return property;
     }
 
@@ -130,6 +136,16 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            this.removeAndLog(graph);
+        } finally {
+            TinkerHelper.endMutation(graph);
+        }
+    }
+
+    private void removeAndLog(final TinkerGraph graph) {
         if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
             this.vertex.properties.get(this.key).remove(this);
             if (this.vertex.properties.get(this.key).size() == 0) {
@@ -144,6 +160,7 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
             if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
             this.properties = null;
             this.removed = true;
+            if (null != graph.log) graph.log.removeVertexProperty(this);
         }
     }
 
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+
+public class SpillStrategyTest {
+
+    private File directory;
+    private TinkerGraph graph;
+
+    @Before
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("gremlin-spill-test").toFile();
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(SpillStrategy.GREMLIN_SPILL_DIRECTORY, this.directory.getAbsolutePath());
+        this.graph = TinkerGraph.open(conf);
+
+        Vertex previous = null;
+        for (int i = 0; i < 500; i++) {
+            final Vertex vertex = this.graph.addVertex(T.label, i % 2 == 0 ? "person" : "software", "name", "v" + i, "age", i % 37);
+            if (null != previous)
+                previous.addEdge(i % 3 == 0 ? "knows" : "created", vertex, "weight", (i % 11) / 10.0d);
+            previous = vertex;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        this.graph.close();
+        this.directory.delete();
+    }
+
+    @Test
+    public void shouldOrderElementsWithSpill() {
+        assertSameWithSpill(g -> g.V().order().by("age").by("name"), true);
+        assertSameWithSpill(g -> g.E().order().by("weight", Order.decr).by(T.id), true);
+        assertSameWithSpill(g -> g.V().order().by("age").by("name").values("name"), true);
+        assertAttached(g -> g.V().order().by("age").toList());
+        assertAttached(g -> g.E().order().by("weight").toList());
+    }
+
+    @Test
+    public void shouldDedupElementsWithSpill() {
+        assertSameWithSpill(g -> g.V().both().dedup(), false);
+        assertSameWithSpill(g -> g.V().bothE().dedup(), false);
+        assertSameWithSpill(g -> g.V().out().dedup().by("age"), false);
+        assertAttached(g -> g.V().both().dedup().toList());
+        assertAttached(g -> g.V().bothE().dedup().toList());
+    }
+
+    @Test
+    public void shouldGroupElementsWithSpill() {
+        assertSameWithSpill(g -> g.E().group().by(__.inV()).by(__.outV().fold()), true);
+        assertSameWithSpill(g -> g.V().group().by("age").by(__.outE().fold()), true);
+        assertAttached(g -> {
+            final Map<Vertex, List<Edge>> groups = g.V().<Vertex, List<Edge>>group().by().by(__.outE().fold()).next();
+            final List<Object> elements = new ArrayList<>(groups.keySet());
+            groups.values().forEach(elements::addAll);
+            return elements;
+        });
+    }
+
+    @Test
+    public void shouldTraverseFromPathsWithSpill() {
+        assertSameWithSpill(g -> g.V().as("a").out().order().by("name").by(T.id).select("a").out().values("name"), true);
+        assertSameWithSpill(g -> g.V().as("a").out().dedup().select("a").out().values("name"), false);
+        assertSameWithSpill(g -> g.V().as("a").outE().as("e").order().by("weight").by(T.id).select("e").inV().select("a").outE().count(), true);
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesOnceRead() {
+        final Traversal.Admin<Vertex, Vertex> traversal = spilling().V().order().by("age").asAdmin();
+        assertEquals(0, traversal.next().<Integer>value("age").intValue());
+        assertThat(TraversalHelper.getFirstStepOfAssignableClass(Spilling.class, traversal).get().getSpilledBytes(), greaterThan(0L));
+        traversal.iterate();
+        assertEquals(0, this.directory.list().length);
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesOnClose() throws Exception {
+        final Traversal.Admin<Vertex, Vertex> traversal = spilling().V().order().by("age").asAdmin();
+        traversal.next();
+        assertThat(this.directory.list().length, greaterThan(0));
+        traversal.close();
+        assertEquals(0, this.directory.list().length);
+    }
+
+    private GraphTraversalSource spilling() {
+        return this.graph.traversal().withStrategies(SpillStrategy.build().threshold(10).dedup(true).create());
+    }
+
+    private <E> void assertSameWithSpill(final Function<GraphTraversalSource, Traversal<?, E>> traversal, final boolean ordered) {
+        final List<E> expected = traversal.apply(this.graph.traversal()).toList();
+        final List<E> actual = traversal.apply(spilling()).toList();
+        if (ordered)
+            assertEquals(expected, actual);
+        else {
+            assertEquals(expected.size(), actual.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        }
+        assertEquals(0, this.directory.list().length);
+    }
+
+    private void assertAttached(final Function<GraphTraversalSource, List<?>> traversal) {
+        for (final Object element : traversal.apply(spilling())) {
+            assertThat(element, element instanceof Vertex ? instanceOf(TinkerVertex.class) : instanceOf(TinkerEdge.class));
+        }
+    }
+}
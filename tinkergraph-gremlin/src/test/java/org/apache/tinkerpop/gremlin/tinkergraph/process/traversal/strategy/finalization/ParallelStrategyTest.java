@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelStrategyTest {
+
+    private GraphTraversalSource g;
+    private GraphTraversalSource p;
+
+    @Before
+    public void setup() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(ParallelStrategy.GREMLIN_PARALLEL_MAX_WORKERS, 4);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Random random = new Random(42);
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            vertices.add(graph.addVertex(T.id, i, T.label, i % 3 == 0 ? "person" : "software", "age", i % 80));
+        }
+        for (int i = 0; i < 20000; i++) {
+            vertices.get(random.nextInt(vertices.size())).addEdge("knows", vertices.get(random.nextInt(vertices.size())));
+        }
+        this.g = graph.traversal();
+        this.p = graph.traversal().withStrategies(ParallelStrategy.build().workers(4).batchSize(17).create());
+    }
+
+    @Test
+    public void shouldReturnTheSameResultsAsASerialTraversal() {
+        assertEquals(g.V().out().out().count().next(), p.V().out().out().count().next());
+        assertEquals(g.V().has("age", P.gt(30)).out().groupCount().by(T.id).next(), p.V().has("age", P.gt(30)).out().groupCount().by(T.id).next());
+        assertEquals(g.V().out().group().by(T.label).by(__.values("age").sum()).next(), p.V().out().group().by(T.label).by(__.values("age").sum()).next());
+        assertEquals(g.V().out().order().by(T.id).by("age").toList(), p.V().out().order().by(T.id).by("age").toList());
+        assertEquals(g.E().inV().order().by("age").by(T.id).limit(10).toList(), p.E().inV().order().by("age").by(T.id).limit(10).toList());
+        assertEquals(new HashSet<>(g.V().out().dedup().toList()), new HashSet<>(p.V().out().dedup().toList()));
+        assertEquals(g.V().out().dedup().count().next(), p.V().out().dedup().count().next());
+        assertEquals(g.V().has("age", P.gt(100)).count().next(), p.V().has("age", P.gt(100)).count().next());
+    }
+
+    @Test
+    public void shouldAttachElementsLeavingTheBarrier() {
+        p.V().out().order().by(T.id).forEachRemaining(vertex -> assertEquals(TinkerVertex.class, vertex.getClass()));
+        assertEquals(g.V().out().dedup().out().count().next(), p.V().out().dedup().out().count().next());
+    }
+
+    @Test
+    public void shouldWrapTheStepsUpToTheFirstBarrier() {
+        final Traversal.Admin<?, ?> traversal = p.V().out().out().groupCount().unfold().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(ParallelStep.class, traversal.getSteps().get(1).getClass());
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getSteps().get(1);
+        assertEquals(4, parallelStep.getWorkers());
+        assertEquals(17, parallelStep.getBatchSize());
+        assertEquals(GroupCountStep.class, parallelStep.getGlobalChildren().get(0).getEndStep().getClass());
+        assertEquals(3, traversal.getSteps().size());
+    }
+
+    @Test
+    public void shouldCapWorkersWithGraphConfiguration() {
+        final Traversal.Admin<?, ?> traversal = capped(2).V().out().count().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(2, TraversalHelper.getFirstStepOfAssignableClass(ParallelStep.class, traversal).get().getWorkers());
+        assertNotParallel(capped(1).V().out().count().asAdmin());
+    }
+
+    @Test
+    public void shouldShareOneThreadPool() {
+        for (int i = 0; i < 20; i++) {
+            assertEquals(g.V().out().count().next(), p.V().out().count().next());
+        }
+        final long threads = Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("gremlin-parallel-")).count();
+        assertThat(threads, lessThanOrEqualTo((long) Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Test
+    public void shouldNotApplyToUnsafeTraversals() {
+        assertNotParallel(p.V().out().limit(10).count().asAdmin());
+        assertNotParallel(p.V().out().map(t -> t.get()).count().asAdmin());
+        assertNotParallel(p.V().out().aggregate("x").count().asAdmin());
+        assertNotParallel(p.V().out().where(__.out().store("x")).count().asAdmin());
+        assertNotParallel(p.V().out().property("seen", true).count().asAdmin());
+        assertNotParallel(p.V().out().count().profile().asAdmin());
+        assertNotParallel(p.V().out().values("age").asAdmin());
+        assertNotParallel(p.inject(1, 2, 3).count().asAdmin());
+    }
+
+    private static GraphTraversalSource capped(final int maxWorkers) {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(ParallelStrategy.GREMLIN_PARALLEL_MAX_WORKERS, maxWorkers);
+        return TinkerGraph.open(conf).traversal().withStrategies(ParallelStrategy.build().workers(64).create());
+    }
+
+    private static void assertNotParallel(final Traversal.Admin<?, ?> traversal) {
+        traversal.applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfClass(ParallelStep.class, traversal));
+        assertTrue(traversal.getSteps().size() > 1);
+    }
+}
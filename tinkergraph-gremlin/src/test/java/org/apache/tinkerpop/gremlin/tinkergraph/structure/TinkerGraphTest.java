@@ -22,13 +22,27 @@ import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FrontierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.VerificationException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
@@ -42,6 +56,7 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1d0;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -59,18 +74,29 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -302,6 +328,183 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseRangeIndexForVertexRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27L);
+        g.addVertex("name", "josh", "age", 32);
+        g.addVertex("name", "peter", "age", 35.0d);
+        g.addVertex("name", "lop", "age", "old");
+
+        // spy on the names that make it past the index. only vertices in the range should ever be tested
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.between(28, 35)).count().next());
+
+        assertEquals(new Long(3), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.lte(32L)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.within(27L, 35.0d)).count().next());
+
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gte("a")).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.inside(29, 29)).count().next());
+    }
+
+    @Test
+    public void shouldUpdateRangeIndexOnPropertyChanges() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("name", "marko", "age", 29);
+        final Vertex v = g.addVertex("name", "stephen", "age", 35);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(30)).count().next());
+
+        v.property("age", 25);
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gt(30)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("age", P.lt(30)).count().next());
+
+        v.remove();
+        assertEquals(new Long(1), g.traversal().V().has("age", P.lt(30)).count().next());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        for (int i = 0; i < 10; i++) {
+            g.addVertex("name", "stephen", "age", i);
+        }
+
+        // the name index matches all ten vertices but the age range only matches one of them so only that
+        // vertex should make it into the pipeline
+        assertEquals(new Long(1), g.traversal().V().has("age", P.test((t, u) -> {
+            assertEquals(9, t);
+            return true;
+        }, 9)).has("name", "stephen").has("age", P.gte(9)).count().next());
+    }
+
+    @Test
+    public void shouldUseRangeIndexForEdgeRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.RANGE);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5f);
+        v.addEdge("friend", v, "oid", "2", "weight", 0.6f);
+        v.addEdge("friend", v, "oid", "3", "weight", 0.9d);
+
+        assertEquals(new Long(2), g.traversal().E().has("oid", P.test((t, u) -> {
+            assertTrue(t.equals("2") || t.equals("3"));
+            return true;
+        }, "x")).has("weight", P.gt(0.55d)).count().next());
+    }
+
+    @Test
+    public void shouldNotDuplicateMultiPropertyVerticesInIndexLookups() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        g.createIndex("name", Vertex.class);
+
+        g.addVertex("name", "marko", "name", "okram", "age", 29, "age", 30);
+        g.addVertex("name", "stephen", "age", 35);
+
+        assertEquals(new Long(2), g.traversal().V().has("age", P.gt(20)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", P.within(29, 30)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.within("marko", "okram")).count().next());
+    }
+
+    @Test
+    public void shouldSnapshotStartElementsWhenTraversalMutatesGraph() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        for (int i = 0; i < 10; i++) {
+            g.addVertex("name", "marko");
+        }
+
+        // new vertices must not be picked up by the start step that is still being iterated. the results are listed
+        // rather than counted as TinkerGraphCountStrategy would otherwise fold V().addV().count() into a count of V()
+        assertEquals(10, g.traversal().V().addV().property("name", "marko").toList().size());
+        assertEquals(new Long(20), g.traversal().V().has("name", "marko").count().next());
+        assertEquals(20, g.traversal().V().has("name", "marko").addV().property("name", "marko").toList().size());
+        assertEquals(40, IteratorUtils.count(g.vertices()));
+    }
+
+    @Test
+    public void shouldIterateStartElementsLazily() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        for (int i = 0; i < 10; i++) {
+            g.addVertex("name", "marko");
+        }
+
+        // mutating the graph outside of the traversal while it is being iterated must not fail
+        final Iterator<Vertex> vertices = g.traversal().V().has("name", "marko");
+        assertTrue(vertices.hasNext());
+        vertices.next().remove();
+        g.addVertex("name", "stephen");
+        int count = 1;
+        while (vertices.hasNext()) {
+            vertices.next();
+            count++;
+        }
+        assertEquals(10, count);
+    }
+
+    @Test
+    public void shouldTraverseAndMutateWithCompactStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_STORAGE, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex a = graph.addVertex(T.label, "person", "name", "a", "age", 29);
+        final Vertex b = graph.addVertex(T.label, "person", "name", "b");
+        final Vertex c = graph.addVertex(T.label, "person", "name", "c");
+        final Edge ab = a.addEdge("knows", b, "weight", 0.5d);
+        a.addEdge("knows", c, "weight", 1.0d);
+        a.addEdge("created", c);
+        b.addEdge("knows", a);
+
+        assertEquals(3, IteratorUtils.count(a.edges(Direction.OUT)));
+        assertEquals(2, IteratorUtils.count(a.edges(Direction.OUT, "knows")));
+        assertEquals(4, IteratorUtils.count(a.edges(Direction.BOTH)));
+        assertEquals(2, IteratorUtils.count(c.edges(Direction.IN, "created", "knows", "missing")));
+        assertEquals(Arrays.asList("b", "c"), g.V(a).out("knows").<String>values("name").order().toList());
+        assertEquals(0.5d, g.V(a).outE("knows").has("weight", 0.5d).values("weight").next());
+
+        ab.remove();
+        assertEquals(1, IteratorUtils.count(a.edges(Direction.OUT, "knows")));
+        assertEquals(0, IteratorUtils.count(b.edges(Direction.IN)));
+
+        a.property(VertexProperty.Cardinality.single, "age", 30);
+        a.property(VertexProperty.Cardinality.list, "nick", "x");
+        a.property(VertexProperty.Cardinality.list, "nick", "y");
+        assertEquals(30, (int) a.<Integer>value("age"));
+        assertEquals(2, IteratorUtils.count(a.properties("nick")));
+        a.properties("age").forEachRemaining(Property::remove);
+        assertEquals(new HashSet<>(Arrays.asList("name", "nick")), a.keys());
+
+        c.remove();
+        assertEquals(0, IteratorUtils.count(a.edges(Direction.OUT)));
+        assertEquals(new Long(1), g.E().count().next());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -367,6 +570,80 @@ public class TinkerGraphTest {
         }
     }
 
+    @Test
+    public void shouldReadGraphFromGryoWhenStreaming() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            graph.io(IoCore.gryo()).writer().create().writeGraph(out, graph);
+            try (final ByteArrayInputStream inputStream = new ByteArrayInputStream(out.toByteArray())) {
+                // a small batch splits the graph into chunks so that edges cross chunk boundaries in both directions
+                final TinkerGraph target = TinkerGraph.open();
+                graph.io(IoCore.gryo()).reader().streaming(true).batchSize(2).create().readGraph(inputStream, target);
+                IoTest.assertModernGraph(target, true, false);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadWriteGryoBlocksWithWorkers() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createTheCrew();
+        for (final int workers : Arrays.asList(1, 3)) {
+            try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                graph.io(IoCore.gryo()).writer().blockSize(2).workers(workers).create().writeGraph(out, graph);
+                try (final ByteArrayInputStream inputStream = new ByteArrayInputStream(out.toByteArray())) {
+                    final Configuration conf = new BaseConfiguration();
+                    conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+                    final TinkerGraph target = TinkerGraph.open(conf);
+                    graph.io(IoCore.gryo()).reader().workers(workers).create().readGraph(inputStream, target);
+                    IoTest.assertCrewGraph(target, false);
+                }
+            }
+        }
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void shouldNotReadTruncatedGryoBlocks() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            graph.io(IoCore.gryo()).writer().blockSize(2).create().writeGraph(out, graph);
+            final byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() / 2);
+            try (final ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes)) {
+                graph.io(IoCore.gryo()).reader().create().readGraph(inputStream, TinkerGraph.open());
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotReadGryoBlocksThatDoNotMatchTheirIndex() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            graph.io(IoCore.gryo()).writer().blockSize(2).create().writeGraph(out, graph);
+
+            // the index ends with its own offset and starts with the number of blocks, so claim one block more
+            final ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+            final int indexOffset = (int) bytes.getLong(bytes.limit() - 8);
+            bytes.putInt(indexOffset, bytes.getInt(indexOffset) + 1);
+            try (final ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes.array())) {
+                graph.io(IoCore.gryo()).reader().create().readGraph(inputStream, TinkerGraph.open());
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadGraphWithMultiPropertiesFromGraphSONWhenStreaming() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createTheCrew();
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            graph.io(IoCore.graphson()).writer().create().writeGraph(out, graph);
+            try (final ByteArrayInputStream inputStream = new ByteArrayInputStream(out.toByteArray())) {
+                final Configuration conf = new BaseConfiguration();
+                conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+                final TinkerGraph target = TinkerGraph.open(conf);
+                graph.io(IoCore.graphson()).reader().streaming(true).batchSize(3).create().readGraph(inputStream, target);
+                IoTest.assertCrewGraph(target, false);
+            }
+        }
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldRequireGraphLocationIfFormatIsSet() {
         final Configuration conf = new BaseConfiguration();
@@ -538,6 +815,300 @@ public class TinkerGraphTest {
         assertEquals(TestIoBuilder.calledCreate, 1);
     }
 
+    @Test
+    public void shouldPersistToMappedLogAndHandleMultiProperties() throws Exception {
+        final Configuration conf = createMappedLogConfiguration("shouldPersistToMappedLogMulti");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldRecoverMappedLogWithoutClose() throws Exception {
+        final Configuration conf = createMappedLogConfiguration("shouldRecoverMappedLogWithoutClose");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphTraversalSource g = graph.traversal();
+        g.V().has("name", "marko").property("age", 30).iterate();
+        g.V().has("name", "peter").drop().iterate();
+        g.E().has("weight", 1.0d).properties("weight").drop().iterate();
+        final Vertex stephen = graph.addVertex(T.id, 100, T.label, "person", "name", "stephen");
+        stephen.addEdge("knows", g.V(1).next(), T.id, 100, "weight", 0.1d);
+        g.V(stephen).property(VertexProperty.Cardinality.list, "location", "virginia", "startTime", 2012).iterate();
+
+        // the first instance is never closed, which is about as close to a crash of the JVM as a test can get
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = reloadedGraph.traversal();
+        assertEquals(6, r.V().count().next().intValue());
+        assertEquals(6, r.E().count().next().intValue());
+        assertEquals(30, r.V(1).values("age").next());
+        assertEquals(false, r.V().has("name", "peter").hasNext());
+        assertEquals(2, r.E().not(__.has("weight")).count().next().intValue());
+        assertEquals(0.1d, r.E(100).values("weight").next());
+        assertEquals(2012, r.V(100).properties("location").values("startTime").next());
+        assertEquals("stephen", r.E(100).outV().values("name").next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldSnapshotMappedLogPastThreshold() throws Exception {
+        final Configuration conf = createMappedLogConfiguration("shouldSnapshotMappedLogPastThreshold");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MMAP_SNAPSHOT_THRESHOLD, 512);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        for (int i = 0; i < 100; i++) {
+            final Vertex v = graph.addVertex(T.id, i, "name", "v" + i);
+            if (i > 0) v.addEdge("next", graph.vertices(i - 1).next(), "weight", i);
+        }
+        graph.vertices(50).next().remove();
+        graph.close();
+
+        final File directory = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION));
+        final String[] snapshots = directory.list((dir, name) -> name.startsWith("snapshot-"));
+        assertEquals(1, snapshots.length);
+        assertTrue(snapshots[0].matches("snapshot-[1-9][0-9]*\\.bin"));
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(99, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals(97, IteratorUtils.count(reloadedGraph.edges()));
+        assertEquals(99, reloadedGraph.traversal().V(99).outE().values("weight").next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldReplayMappedLogWrittenFromSeveralThreads() throws Exception {
+        final Configuration conf = createMappedLogConfiguration("shouldReplayMappedLogWrittenFromSeveralThreads");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final int threads = 8;
+        final int verticesPerThread = 250;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                // each thread works on its own vertices so that only the log itself is shared between them
+                futures.add(executor.submit(() -> {
+                    Vertex previous = null;
+                    for (int i = 0; i < verticesPerThread; i++) {
+                        final Vertex v = graph.addVertex(T.label, "t" + thread, "name", thread + "-" + i);
+                        v.property("index", i);
+                        if (null != previous)
+                            previous.addEdge("next", v, "weight", (double) i);
+                        if (i % 10 == 0)
+                            v.property("index").remove();
+                        previous = v;
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the first instance is never closed so the log is replayed as it was left by the concurrent appends
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = reloadedGraph.traversal();
+        assertEquals(threads * verticesPerThread, r.V().count().next().intValue());
+        assertEquals(threads * (verticesPerThread - 1), r.E().count().next().intValue());
+        assertEquals(threads * (verticesPerThread - verticesPerThread / 10), r.V().has("index").count().next().intValue());
+        for (int t = 0; t < threads; t++) {
+            assertEquals(verticesPerThread, r.V().hasLabel("t" + t).count().next().intValue());
+            assertEquals(7, r.V().has("name", t + "-7").values("index").next());
+            assertEquals(8.0d, r.V().has("name", t + "-7").outE("next").values("weight").next());
+        }
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldSnapshotMappedLogWhileSeveralThreadsMutate() throws Exception {
+        final Configuration conf = createMappedLogConfiguration("shouldSnapshotMappedLogWhileSeveralThreadsMutate");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_MMAP_SNAPSHOT_THRESHOLD, 65536);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final int threads = 8;
+        final int verticesPerThread = 5000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < verticesPerThread; i++) {
+                        graph.addVertex();
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        graph.close();
+
+        // several snapshots are taken while the threads add vertices, none of which may also be in the log after it
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(threads * verticesPerThread, IteratorUtils.count(reloadedGraph.vertices()));
+        reloadedGraph.close();
+    }
+
+    private static Configuration createMappedLogConfiguration(final String name) {
+        final File directory = TestHelper.makeTestDataPath(TinkerGraphTest.class, name);
+        final File[] files = directory.listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraph.GRAPH_FORMAT_MMAP);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, directory.getAbsolutePath());
+        return conf;
+    }
+
+    @Test
+    public void shouldComputeSkewedGraphWithWorkStealingAndReportBusyTimes() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex hub = graph.addVertex(T.id, 0);
+        for (int i = 1; i < 1000; i++) {
+            final Vertex v = graph.addVertex(T.id, i);
+            v.addEdge("link", hub);
+            if (i > 1) v.addEdge("link", graph.vertices(i - 1).next());
+        }
+
+        final int workers = Math.min(4, Runtime.getRuntime().availableProcessors());
+        final ComputerResult single = graph.compute().workers(1)
+                .program(PageRankVertexProgram.build().create(graph)).submit().get();
+        final ComputerResult multiple = graph.compute().workers(workers)
+                .configure(TinkerGraphComputer.TRACK_WORKER_BUSY_TIMES, true)
+                .program(PageRankVertexProgram.build().create(graph)).submit().get();
+
+        assertFalse(single.memory().exists(TinkerGraphComputer.WORKER_BUSY_TIMES));
+        final List<Long> busyTimes = multiple.memory().get(TinkerGraphComputer.WORKER_BUSY_TIMES);
+        assertEquals(workers, busyTimes.size());
+        assertEquals(1000, IteratorUtils.count(multiple.graph().vertices()));
+        multiple.graph().vertices().forEachRemaining(v -> assertEquals(
+                single.graph().vertices(v.id()).next().<Double>value(PageRankVertexProgram.PAGE_RANK),
+                v.<Double>value(PageRankVertexProgram.PAGE_RANK), 0.0000001d));
+    }
+
+    @Test
+    public void shouldCountElementsByLabelAndIndexedProperty() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        assertEquals(6, graph.count(Vertex.class));
+        assertEquals(6, graph.count(Edge.class));
+        assertEquals(4, graph.countWithLabel(Vertex.class, "person"));
+        assertEquals(2, graph.countWithLabel(Edge.class, "knows"));
+        assertEquals(4, graph.countWithLabel(Edge.class, "created"));
+        assertEquals(0, graph.countWithLabel(Vertex.class, "company"));
+        assertEquals(GraphStatistics.UNKNOWN, graph.countWithProperty(Vertex.class, "name", "marko"));
+
+        graph.createIndex("name", Vertex.class);
+        assertEquals(1, graph.countWithProperty(Vertex.class, "name", "marko"));
+        assertEquals(0, graph.countWithProperty(Vertex.class, "name", "stephen"));
+
+        graph.vertices(1).next().remove();
+        assertEquals(5, graph.count(Vertex.class));
+        assertEquals(3, graph.countWithLabel(Vertex.class, "person"));
+        assertEquals(0, graph.countWithLabel(Edge.class, "knows"));
+        assertEquals(3, graph.countWithLabel(Edge.class, "created"));
+        assertEquals(0, graph.countWithProperty(Vertex.class, "name", "marko"));
+
+        graph.clear();
+        assertEquals(0, graph.countWithLabel(Vertex.class, "person"));
+    }
+
+    @Test
+    public void shouldHashJoinMatchWithCostMatchAlgorithm() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource cost = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.CostMatchAlgorithm.class).create());
+        assertEquals(new HashSet<>(g.V().match(
+                __.as("a").out("created").as("b"),
+                __.as("b").in("created").as("c"),
+                __.as("c").has("age", P.gt(30))).select("a", "b", "c").by("name").toList()),
+                new HashSet<>(cost.V().match(
+                        __.as("a").out("created").as("b"),
+                        __.as("b").in("created").as("c"),
+                        __.as("c").has("age", P.gt(30))).select("a", "b", "c").by("name").toList()));
+        assertEquals(new HashSet<>(g.V().match(
+                __.as("a").out("knows").as("b"),
+                __.as("a").out("created").as("c"),
+                __.as("b").out("created").as("c")).select("a", "b", "c").by("name").toList()),
+                new HashSet<>(cost.V().match(
+                        __.as("a").out("knows").as("b"),
+                        __.as("a").out("created").as("c"),
+                        __.as("b").out("created").as("c")).select("a", "b", "c").by("name").toList()));
+
+        final TraversalMetrics metrics = cost.V().match(
+                __.as("a").out("created").as("b"),
+                __.as("b").in("created").as("c")).select("a", "c").profile().next();
+        final Metrics matchMetrics = metrics.getMetrics().stream().filter(m -> m.getName().startsWith(MatchStep.class.getSimpleName())).findFirst().get();
+        assertEquals(2, ((String) matchMetrics.getAnnotation(MatchStep.SELECTIVITY)).split("]=").length - 1);
+        assertEquals(2, ((String) matchMetrics.getAnnotation(MatchStep.ESTIMATED_SELECTIVITY)).split("]=").length - 1);
+        assertEquals(8L, matchMetrics.getAnnotation(MatchStep.JOIN_PROBES)); // every "a" and then lop and ripple as "b"
+        assertEquals(2L, matchMetrics.getAnnotation(MatchStep.JOIN_HITS)); // josh and peter also created lop
+    }
+
+    @Test
+    public void shouldNotHashJoinMatchInMutatingTraversal() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource cost = TinkerFactory.createModern().traversal().withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.CostMatchAlgorithm.class).create());
+
+        // every "created" edge added while the traversal runs has to be seen by the patterns of later traversers
+        g.V().match(
+                __.as("a").out("created").as("b"),
+                __.as("b").in("created").as("c")).addE("created").from("c").to("a").iterate();
+        final TraversalMetrics metrics = cost.V().match(
+                __.as("a").out("created").as("b"),
+                __.as("b").in("created").as("c")).addE("created").from("c").to("a").profile().next();
+        final Metrics matchMetrics = metrics.getMetrics().stream().filter(m -> m.getName().startsWith(MatchStep.class.getSimpleName())).findFirst().get();
+        assertNull(matchMetrics.getAnnotation(MatchStep.JOIN_PROBES));
+        assertEquals(g.E().hasLabel("created").count().next(), cost.E().hasLabel("created").count().next());
+    }
+
+    @Test
+    public void shouldLoopRepeatInFrontiers() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource frontier = g.withStrategies(FrontierStrategy.instance());
+        assertEquals(g.V(1).repeat(__.out()).times(2).dedup().values("name").toSet(),
+                frontier.V(1).repeat(__.out()).times(2).dedup().values("name").toSet());
+        assertEquals(g.V().repeat(__.both()).emit().times(3).count().next(),
+                frontier.V().repeat(__.both()).emit().times(3).count().next());
+        assertEquals(g.V().repeat(__.both()).emit().times(3).groupCount().by("name").next(),
+                frontier.V().repeat(__.both()).emit().times(3).groupCount().by("name").next());
+        assertEquals(g.V(1).repeat(__.both()).emit().times(3).dedup().values("name").toSet(),
+                frontier.V(1).repeat(__.both()).emit().dedup().values("name").toSet()); // ends as marko is visited
+
+        final TraversalMetrics metrics = frontier.V(1).repeat(__.out()).times(2).dedup().profile().next();
+        final Metrics repeatMetrics = metrics.getMetrics().stream().filter(m -> m.getName().startsWith(RepeatStep.class.getSimpleName())).findFirst().get();
+        assertEquals("1, 3", repeatMetrics.getAnnotation(RepeatStep.FRONTIER_SIZES)); // marko and then lop, vadas and josh
+    }
+
+    @Test
+    public void shouldRunGraphAlgorithmStepsInStandardTraversals() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        assertEquals(Collections.singletonList(Arrays.asList(1, 4, 5)),
+                g.V(5).shortestPath().from(__.hasId(1)).<Map<Object, List<Object>>>values(ShortestPathVertexProgram.PATH).
+                        map(m -> m.get().get(1)).toList());
+        assertEquals(Collections.singletonList(Arrays.asList(2, 1, 3, 6)),
+                g.V(6).shortestPath().from(g.V(2).next()).by(__.bothE()).<Map<Object, List<Object>>>values(ShortestPathVertexProgram.PATH).
+                        map(m -> m.get().get(2)).toList());
+    }
+
+    @Test(expected = VerificationException.class)
+    public void shouldRequireComputerForConnectedComponentInStandardTraversals() {
+        TinkerFactory.createModern().traversal().V().hasLabel("person").connectedComponent().iterate();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireFromForShortestPathInStandardTraversals() {
+        TinkerFactory.createModern().traversal().V(5).shortestPath().iterate();
+    }
+
     @Test
     public void shouldSerializeWithColorClassResolverToTinkerGraph() throws Exception {
         final Map<String,Color> colors = new HashMap<>();